@@ -3,7 +3,12 @@ package edu.curtin.city_planning_app;
 
 import java.util.logging.Logger;
 
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
 import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
 
 // Responsible for validating the build request
 // Depending on the validation rules of the city, the request may or may not be valid
@@ -12,43 +17,64 @@ public class CheckBuildValidation {
 
      // Validate a build request.
      // Check if the given build request is valid according to the city's building rules.
-    public String validate(GridSquare square, int floors, String foundation, String material) {
-        if (square.isContaminated()) { // contaminated land
+    public String validate(GridSquare square, int floors, Foundation foundation, Material material) {
+        long start = System.nanoTime();
+        String result = validate(square.getTerrain(), square.getHeritage(), square.isContaminated(),
+                square.hasHeightLimit(), square.hasHeightLimit() ? square.getHeightLimit() : 0, square.hasFloodRisk(),
+                square.hasFloodRisk() ? square.getFloodRisk() : 0, floors, foundation, material);
+        PipelineMetrics.getInstance().record(PipelinePhase.VALIDATION, start);
+        return result;
+    }
+
+    // Same rules, reading the square's zoning straight from the grid so no GridSquare is needed.
+    public String validate(CityGrid grid, int row, int col, int floors, Foundation foundation,
+            Material material) {
+        long start = System.nanoTime();
+        String result = validate(grid.getTerrain(row, col), grid.getHeritage(row, col),
+                grid.isContaminated(row, col), grid.hasHeightLimit(row, col), grid.getHeightLimit(row, col),
+                grid.hasFloodRisk(row, col), grid.getFloodRisk(row, col), floors, foundation, material);
+        PipelineMetrics.getInstance().record(PipelinePhase.VALIDATION, start);
+        return result;
+    }
+
+    private String validate(GridSquare.TerrainType terrain, Material heritage, boolean contaminated,
+            boolean hasHeightLimit, int heightLimit, boolean hasFloodRisk, double floodRisk, int floors,
+            Foundation foundation, Material material) {
+        if (contaminated) { // contaminated land
             logger.info("Validation failed: contaminated land.");
             return "Cannot build on contaminated land.";
         }
 
         // building slab foundation in SWAMPY
-        if (square.getTerrain() == GridSquare.TerrainType.SWAMPY && "slab".equals(foundation)) {
+        if (!foundation.isAllowedOn(terrain)) {
             logger.info("Validation failed: slab foundation in swampy terrain.");
             return "Cannot build slab foundation on swampy terrain.";
         }
 
         // building wooden structure in SWAMPY
-        if (square.getTerrain() == GridSquare.TerrainType.SWAMPY && "wood".equals(material)) {
+        if (!material.isAllowedOn(terrain)) {
             logger.info("Validation failed: wooden structure in swampy terrain.");
             return "Cannot build a wooden structure in a swamp.";
         }
 
         // validate heritage rule
-        if (square.getHeritage() != null && !material.equals(square.getHeritage())) {
+        if (heritage != null && material != heritage) {
             logger.info("Validation failed: heritage zoning rule mismatch.");
             return "Cannot build a structure with material " + material + " due to heritage zoning requiring "
-                    + square.getHeritage() + ".";
+                    + heritage + ".";
         }
 
         // validate height limit
-        if (square.hasHeightLimit() && floors > square.getHeightLimit()) {
-            logger.info(() -> "Validation failed: height limit exceeded. Max floors: " + square.getHeightLimit()
+        if (hasHeightLimit && floors > heightLimit) {
+            logger.info(() -> "Validation failed: height limit exceeded. Max floors: " + heightLimit
                     + ", requested: " + floors);
-            return "Cannot build structure with " + floors + " floors. Height limit is " + square.getHeightLimit()
-                    + ".";
+            return "Cannot build structure with " + floors + " floors. Height limit is " + heightLimit + ".";
         }
 
         // validate flood risk
-        if (square.hasFloodRisk() && floors < 2) {
+        if (hasFloodRisk && floors < 2) {
             logger.info(() -> "Validation failed: insufficient floors for flood-risk area. Flood risk: "
-                    + square.getFloodRisk());
+                    + floodRisk);
             return "A structure in a flood-risk zone must have at least two floors.";
         }
 
@@ -3,8 +3,20 @@ package edu.curtin.city_planning_app;
 
 import edu.curtin.city_planning_app.decorators.*;
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
 import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
+import edu.curtin.city_planning_app.metrics.StrategyRunEvent;
+import edu.curtin.city_planning_app.outcomes.BuildOutcome;
+import edu.curtin.city_planning_app.outcomes.BuildOutcomePublisher;
+import edu.curtin.city_planning_app.scheduling.ConstructionJobs;
+import edu.curtin.city_planning_app.statistics.CostStatistics;
 import edu.curtin.city_planning_app.strategies.TemplateStrategy;
+import edu.curtin.city_planning_app.versions.BuildEditor;
+import edu.curtin.city_planning_app.versions.BuildHistory;
+import edu.curtin.city_planning_app.versions.BuildState;
 
 import java.text.NumberFormat;
 import java.util.Locale;
@@ -15,54 +27,62 @@ public class CityBuilderManager {
     private TemplateStrategy currentStrategy;
     private int totalBuiltStructures; // To track the total structures built
     private double totalFinalCost; // To track the final total cost of building all structures
+    private CentsAccumulator totalCents = new CentsAccumulator(); // Exact total when costing in cents
     private CityGrid cityGrid; // Add CityGrid dependency
+    private CheckBuildValidation checkBuild = new CheckBuildValidation(); // Stateless, shared by every build
+    private CostParameters prices = new CostParameters(); // Prices used for every structure
+    private CostContributions contributions = new CostContributions(); // Cost drivers of the last build
+    private CostStatistics statistics = new CostStatistics(); // Cost percentiles and top sites of the last build
+    private ConstructionJobs jobs = new ConstructionJobs(); // Structures of the last build, to schedule
+    private BuildHistory history; // Versions of what is built, for undo, snapshots and comparisons
+    private BuildEditor edit; // Version being built by the current city build, null between builds
+    private BuildOutcomePublisher outcomes; // Per-square outcomes of every build
+    private long run; // Number of the current build, for the outcomes
 
     public CityBuilderManager(CityGrid cityGrid) {
+        this(cityGrid, BuildOutcomePublisher.DEFAULT_BUFFER_CAPACITY);
+    }
+
+    // 'outcomeBufferCapacity' is how many outcomes each subscriber can fall behind before it misses some
+    public CityBuilderManager(CityGrid cityGrid, int outcomeBufferCapacity) {
         this.cityGrid = cityGrid; // Initialize CityGrid
         this.totalFinalCost = 0; // Initialize totalFinalCost to 0
+        this.outcomes = new BuildOutcomePublisher(outcomeBufferCapacity);
+        this.history = new BuildHistory(BuildState.empty(cityGrid.getHeight(), cityGrid.getWidth()));
     }
 
-    /* --- For 'Build Structure' option --- */
+    /* --- For 'Place Structure' option --- */
 
     // Handles individual build structure, check validation, and cost calculation.
     // Also used for build city where runned multiple times with selected strategy
-    public double buildStructure(int row, int col, int floors, String foundation, String material,
+    public double buildStructure(int row, int col, int floors, Foundation foundation, Material material,
             CityDisplayer display) {
         if (!cityGrid.isValidGridSquarePosition(row, col)) {
             logger.warning("Invalid grid coordinates.");
             return -1; // Return -1 to indicate failure
         }
 
-        GridSquare square = cityGrid.getGridSquare(row, col);
         logger.info(() -> "Attempting to build structure at (" + row + ", " + col + ")");
 
-        // Validate the structure
-        CheckBuildValidation checkBuild = new CheckBuildValidation();
-        String validationMessage = checkBuild.validate(square, floors, foundation, material);
+        // Validate the structure, reading the zoning straight from the grid
+        String validationMessage = checkBuild.validate(cityGrid, row, col, floors, foundation, material);
         if (!validationMessage.equals("valid")) { // Structure cannot be built
             System.out.println("\nValidation failed: " + validationMessage);
             return -1; // Return -1 if validation fails
         }
 
         // Using Decorators to add additional costs
-        HandleCostCalculation costCalculation = new BaseCost(floors, material);
-        if (square.isContaminated()) {
-            costCalculation = new ContaminationCost(costCalculation);
-        }
-        if (square.hasFloodRisk()) {
-            costCalculation = new FloodRiskCost(costCalculation, square.getFloodRisk());
-        }
-        if (square.getHeritage() != null) {
-            costCalculation = new HeritageCost(costCalculation);
-        }
-        costCalculation = new TerrainCost(costCalculation, square.getTerrain(), floors);
+        long costStart = System.nanoTime();
+        HandleCostCalculation costCalculation = CostChain.forSquare(cityGrid, row, col, floors, material,
+                prices);
 
         // Calculate total cost (this is for a single structure)
-        double structureCost = costCalculation.calculateCost();
-        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
-        String formattedTotalCost = currencyFormatter.format(structureCost);
+        double structureCost = prices.getMode().calculate(costCalculation);
+        PipelineMetrics.getInstance().record(PipelinePhase.COST, costStart);
 
-        logger.info(() -> "Total cost for the structure calculated: " + formattedTotalCost);
+        // The currency format is only created when the message is logged
+        logger.info(() -> "Total cost for the structure calculated: "
+                + NumberFormat.getCurrencyInstance(Locale.US).format(structureCost));
 
         return structureCost; // Return the total cost for this structure on success
     }
@@ -98,15 +118,42 @@ public class CityBuilderManager {
             // Reset the total built structures and total final cost before building
             totalBuiltStructures = 0;
             totalFinalCost = 0; // Reset total final cost before starting
+            totalCents.reset();
+            contributions.reset();
+            statistics.reset();
+            jobs.reset();
+            run++;
 
             // Call the buildCity method within TemplateStrategy with the chosen strategy
-            currentStrategy.buildCity();
+            long start = System.nanoTime();
+            StrategyRunEvent event = new StrategyRunEvent();
+            event.begin();
+            edit = BuildState.empty(cityGrid.getHeight(), cityGrid.getWidth()).edit();
+            try {
+                currentStrategy.buildCity();
+                history.commit(edit.commit()); // the whole build is one version, undone in one step
+            } finally {
+                edit = null;
+            }
+            long squares = (long) cityGrid.getHeight() * cityGrid.getWidth();
+            event.end();
+            if (event.shouldCommit()) {
+                event.strategy = getStrategyName();
+                event.squares = squares;
+                event.built = totalBuiltStructures;
+                event.totalCost = totalFinalCost;
+                event.commit();
+            }
+            PipelineMetrics metrics = PipelineMetrics.getInstance();
+            metrics.recordRun(squares, System.nanoTime() - start);
 
             // Display the total final cost after the city is built
             NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
             String formattedTotalFinalCost = currencyFormatter.format(totalFinalCost);
             System.out.println("\n--- City Built Successfully! ---");
-            System.out.println("Total Final Cost for Building the City: " + formattedTotalFinalCost + "\n");
+            System.out.println("Total Final Cost for Building the City: " + formattedTotalFinalCost);
+            System.out.printf("Processed %d squares in %.1f ms (%,.0f squares/sec)%n%n", squares,
+                    metrics.getLastRunMillis(), metrics.getLastRunSquaresPerSecond());
         }
     }
 
@@ -122,9 +169,148 @@ public class CityBuilderManager {
         return totalFinalCost;
     }
 
+    // Getter for the prices used to cost structures, changes apply to the next build
+    public CostParameters getCostParameters() {
+        return prices;
+    }
+
+    // Getter for the cost drivers recorded during the last build, to re-price it without rebuilding
+    public CostContributions getCostContributions() {
+        return contributions;
+    }
+
+    // Getter for the cost percentiles and most expensive structures of the last build
+    public CostStatistics getCostStatistics() {
+        return statistics;
+    }
+
+    // Getter for the structures of the last build in the order they were built, to schedule their construction
+    public ConstructionJobs getConstructionJobs() {
+        return jobs;
+    }
+
+    // Getter for the versions of what is built: every city build and placed structure is one.
+    // Move between versions with undo, redo and restoreSnapshot so the totals follow.
+    public BuildHistory getBuildHistory() {
+        return history;
+    }
+
+    // Adds a structure from 'Place Structure' to the current version, as a change that can be undone.
+    // Returns the cost, or -1 if the structure is not valid here.
+    public double placeStructure(int row, int col, int floors, Foundation foundation, Material material,
+            CityDisplayer display) {
+        double cost = buildStructure(row, col, floors, foundation, material, display);
+        if (cost >= 0) {
+            history.commit(history.getCurrent().withStructure(row, col, floors, foundation, material, cost));
+            showCurrentVersion(display);
+        }
+        return cost;
+    }
+
+    // Goes back to the previous version, and shows it on 'display'. Returns false if there is nothing to undo.
+    public boolean undo(CityDisplayer display) {
+        boolean undone = history.undo();
+        if (undone) {
+            showCurrentVersion(display);
+        }
+        return undone;
+    }
+
+    // Goes forward to the version last undone, and shows it on 'display'. Returns false if there is nothing
+    // to redo.
+    public boolean redo(CityDisplayer display) {
+        boolean redone = history.redo();
+        if (redone) {
+            showCurrentVersion(display);
+        }
+        return redone;
+    }
+
+    // Makes a named snapshot the current version and shows it on 'display'.
+    // Throws IllegalArgumentException if there is no snapshot with that name.
+    public void restoreSnapshot(String name, CityDisplayer display) {
+        history.restoreSnapshot(name);
+        showCurrentVersion(display);
+    }
+
+    // Recounts the totals, statistics, contributions and jobs from the current version, as if it had just
+    // been built, and marks exactly its structures on 'display'
+    private void showCurrentVersion(CityDisplayer display) {
+        BuildState current = history.getCurrent();
+        totalBuiltStructures = 0;
+        totalFinalCost = 0;
+        totalCents.reset();
+        contributions.reset();
+        statistics.reset();
+        jobs.reset();
+        boolean fixedPoint = prices.getMode() == CostMode.FIXED_POINT;
+        current.forEachStructure((row, col, floors, foundation, material, cost) -> {
+            if (fixedPoint) {
+                totalCents.add(Money.toCents(cost));
+            } else {
+                totalFinalCost += cost;
+            }
+            countStructure(row, col, floors, foundation, material, cost);
+        });
+        if (fixedPoint) {
+            totalFinalCost = totalCents.getDollars();
+        }
+        display.showVersion(current);
+        logger.info(() -> "Showing a version with " + current.getStructures() + " structures");
+    }
+
+    // Getter for the publisher of per-square outcomes, subscribe to it to follow builds as they run
+    public BuildOutcomePublisher getOutcomePublisher() {
+        return outcomes;
+    }
+
     // Increment the built structures and total final cost (called by the strategy)
-    public void addStructure(double cost) {
-        totalBuiltStructures++;
+    // and record what the structure at (row, col) contributes to each cost parameter
+    public void addStructure(int row, int col, int floors, Foundation foundation, Material material, double cost) {
+        if (prices.getMode() == CostMode.FIXED_POINT) {
+            addStructureCents(row, col, floors, foundation, material, Money.toCents(cost));
+            return;
+        }
         totalFinalCost += cost; // Accumulate the final total cost
+        recordStructure(row, col, floors, foundation, material, cost);
+    }
+
+    // addStructure for a cost already in whole cents (CostMode.FIXED_POINT), eg. from
+    // RowCostEvaluator.evaluateRowCents, so it is not converted to dollars and back
+    public void addStructureCents(int row, int col, int floors, Foundation foundation, Material material,
+            long cents) {
+        // Summed in cents, so the total doesn't depend on the order structures are built in
+        totalCents.add(cents);
+        totalFinalCost = totalCents.getDollars();
+        recordStructure(row, col, floors, foundation, material, Money.toDollars(cents));
+    }
+
+    // Counts the structure and records it in the statistics, contributions, version, jobs and outcomes
+    private void recordStructure(int row, int col, int floors, Foundation foundation, Material material,
+            double cost) {
+        countStructure(row, col, floors, foundation, material, cost);
+        if (edit != null) {
+            edit.set(row, col, floors, foundation, material, cost);
+        }
+        if (outcomes.hasSubscribers()) {
+            outcomes.publish(BuildOutcome.built(run, row, col, floors, material, cost));
+        }
+    }
+
+    // Counts the structure and records it in the statistics, contributions and jobs
+    private void countStructure(int row, int col, int floors, Foundation foundation, Material material,
+            double cost) {
+        totalBuiltStructures++;
+        contributions.record(cityGrid, row, col, floors, material);
+        statistics.record(row, col, floors, material, cost);
+        jobs.record(row, col, floors, foundation, material,
+                cityGrid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY, cost);
+    }
+
+    // Tell subscribers nothing was built at (row, col) (called by the template)
+    public void rejectSquare(int row, int col) {
+        if (outcomes.hasSubscribers()) {
+            outcomes.publish(BuildOutcome.rejected(run, row, col));
+        }
     }
 }
@@ -1,6 +1,11 @@
 // CityDisplayer.java
 package edu.curtin.city_planning_app;
 
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
+import edu.curtin.city_planning_app.versions.BuildState;
+
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 // Responsible for displaying the grid, showing where structures were built
@@ -23,10 +28,34 @@ public class CityDisplayer {
         }
     }
 
+    // Mark exactly the structures built in 'version', eg. after an undo
+    public void showVersion(BuildState version) {
+        for (boolean[] row : builtStructures) {
+            Arrays.fill(row, false);
+        }
+        version.forEachStructure((row, col, floors, foundation, material, cost) -> builtStructures[row][col] = true);
+    }
+
+    // Check if a structure is marked as built at (row, col)
+    public boolean isMarked(int row, int col) {
+        return isWithinGridBounds(row, col) && builtStructures[row][col];
+    }
+
     // Display the grid showing where structures were built
     public void displayBuiltStructures() {
-        System.out.println("\n--- Display Built Structures in Grid ---\n");
-        logger.info("Displaying built structures");
+        display("Display Built Structures in Grid", (row, col) -> builtStructures[row][col]);
+    }
+
+    // Display the grid showing where structures are built in a version of the build
+    public void displayBuiltStructures(BuildState version) {
+        display("Display Version (" + version.getStructures() + " structures)", version::isBuilt);
+    }
+
+    // Draws the grid, marking the squares 'built' is true for
+    private void display(String title, BuiltCheck built) {
+        long start = System.nanoTime();
+        System.out.println("\n--- " + title + " ---\n");
+        logger.info(() -> "Displaying " + title);
 
         // Add grid border
         System.out.println("     " + createColumnHeaders(builtStructures[0].length)); // Column numbers
@@ -35,7 +64,7 @@ public class CityDisplayer {
         for (int row = 0; row < builtStructures.length; row++) {
             System.out.printf("%2d | ", row); // Row numbers
             for (int col = 0; col < builtStructures[row].length; col++) {
-                char displayChar = builtStructures[row][col] ? 'X' : '.';
+                char displayChar = built.isBuilt(row, col) ? 'X' : '.';
                 System.out.print(displayChar + "  ");
             }
             System.out.println("|");
@@ -43,6 +72,7 @@ public class CityDisplayer {
 
         System.out.println("    " + createHorizontalBorder(builtStructures[0].length));
         displayLegend();
+        PipelineMetrics.getInstance().record(PipelinePhase.RENDER, start);
     }
 
     
@@ -74,6 +104,11 @@ public class CityDisplayer {
         return valid;
     }
 
+    // Whether a structure is built at a square
+    private interface BuiltCheck {
+        boolean isBuilt(int row, int col);
+    }
+
     // Display legend for visual representation
     private void displayLegend() {
         System.out.println("\nLegend:");
@@ -2,10 +2,32 @@
 package edu.curtin.city_planning_app;
 
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.GridErrorCategory;
+import edu.curtin.city_planning_app.grids.GridLintError;
+import edu.curtin.city_planning_app.grids.GridLintReport;
 import edu.curtin.city_planning_app.grids.GridLoader;
-import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.GridRegistry;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.LazyGridFile;
+import edu.curtin.city_planning_app.grids.OffHeapGrid;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.partition.PartitionCoordinator;
+import edu.curtin.city_planning_app.partition.PartitionSummary;
+import edu.curtin.city_planning_app.pipeline.BuildPipeline;
+import edu.curtin.city_planning_app.pipeline.PipelineSummary;
+import edu.curtin.city_planning_app.pipeline.ZoningImpactAnalyzer;
+import edu.curtin.city_planning_app.pipeline.ZoningImpactReport;
+import edu.curtin.city_planning_app.statistics.CostQuantileSketch;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.logging.Logger;
@@ -13,45 +35,256 @@ import java.util.logging.Logger;
 public class CityPlannerMain {
     private static final Logger logger = Logger.getLogger(CityPlannerMain.class.getName());
 
+    private static final String USAGE = "Usage: ./gradlew run --args=\"YourGridFile.txt [--threads N] [--lazy]"
+            + " [--off-heap] [--cache-mb N] [--lint [--max-errors N]]"
+            + " [--headless central|uniform:<material>:<floors>:<foundation> [--impact RevisedGridFile.txt]"
+            + " [--partitions N] [--output FILE]]\"";
+    private static final int LAZY_CACHE_SIZE = 4096; // squares kept parsed by a lazy grid
+    private static final long BYTES_PER_MB = 1024L * 1024;
+    private static final int DEFAULT_MAX_ERRORS = 20; // errors of each category listed by --lint
+
+    public static final String GRID_DIRECTORY = "src/main/resources"; // where grid files are looked up
+
     // The main entry point of the City Planner application.
-    // Accepts the name of the grid data file as a command-line argument.
+    // Accepts the name of the grid data file as a command-line argument, optionally followed by
+    // --threads N to load large grids in parallel, --lazy to only parse squares when used,
+    // or --off-heap to keep the zoning outside the Java heap.
+    // --lint checks the whole file and lists every error (at most --max-errors N of each kind)
+    // instead of loading it, using every core unless --threads is given.
+    // --cache-mb N sets the memory budget of the grids kept loaded for the menu's Switch City option.
+    // --headless PLAN builds the whole city with a BuildPipeline instead of showing the menu,
+    // writing the built squares to --output FILE (or standard output) and the summary to stderr.
+    // With --impact REVISED it instead reports how the plan's results change from the grid file
+    // to the revised one, one CSV line per changed square.
+    // With --partitions N it builds the city in N worker JVMs instead, each reading only its bands of rows.
     // And then Loads the grid and displays the menu
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.err.println("You must include the grid data file name as a command-line argument.\n" +
-                    "Usage: ./gradlew run --args=\"YourGridFile.txt\"");
+        if (args.length == 0) {
+            System.err.println("You must include the grid data file name as a command-line argument.\n" + USAGE);
             return;
         }
 
         String filename = args[0];
+        int threads = 1;
+        boolean lazy = false;
+        boolean offHeap = false;
+        String headlessPlan = null;
+        String output = null;
+        String revised = null;
+        int partitions = 0;
+        long cacheBytes = GridRegistry.DEFAULT_BUDGET_BYTES;
+        boolean lint = false;
+        int maxErrors = DEFAULT_MAX_ERRORS;
+        boolean threadsGiven = false;
+        int i = 1; // cursor over the options, moved past each option and its value
+        while (i < args.length) {
+            String option = args[i++];
+            boolean hasValue = i < args.length;
+            if ("--lazy".equals(option)) {
+                lazy = true;
+            } else if ("--lint".equals(option)) {
+                lint = true;
+            } else if ("--max-errors".equals(option) && hasValue) {
+                try {
+                    maxErrors = Integer.parseInt(args[i++]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Maximum errors must be an integer.");
+                    return;
+                }
+            } else if ("--off-heap".equals(option)) {
+                offHeap = true;
+            } else if ("--headless".equals(option) && hasValue) {
+                headlessPlan = args[i++];
+            } else if ("--impact".equals(option) && hasValue) {
+                revised = args[i++];
+            } else if ("--output".equals(option) && hasValue) {
+                output = args[i++];
+            } else if ("--partitions".equals(option) && hasValue) {
+                try {
+                    partitions = Integer.parseInt(args[i++]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Partition count must be an integer.");
+                    return;
+                }
+            } else if ("--cache-mb".equals(option) && hasValue) {
+                try {
+                    cacheBytes = Long.parseLong(args[i++]) * BYTES_PER_MB;
+                } catch (NumberFormatException e) {
+                    System.err.println("Cache size must be an integer number of MB.");
+                    return;
+                }
+                if (cacheBytes <= 0) {
+                    System.err.println("Cache size must be positive.");
+                    return;
+                }
+            } else if ("--threads".equals(option) && hasValue) {
+                try {
+                    threads = Integer.parseInt(args[i++]);
+                    threadsGiven = true;
+                } catch (NumberFormatException e) {
+                    System.err.println("Thread count must be an integer.");
+                    return;
+                }
+            } else {
+                System.err.println("Unknown option: " + option + "\n" + USAGE);
+                return;
+            }
+        }
+        if (headlessPlan == null && (output != null || revised != null)) {
+            System.err.println("--output and --impact can only be used with --headless.\n" + USAGE);
+            return;
+        }
+        if (partitions != 0 && (headlessPlan == null || revised != null)) {
+            System.err.println("--partitions can only be used with --headless, and not with --impact.\n" + USAGE);
+            return;
+        }
+        if (headlessPlan != null && (lazy || offHeap)) {
+            System.err.println("--headless streams the grid, so it can't be combined with --lazy or --off-heap.");
+            return;
+        }
+        if (lint && (headlessPlan != null || lazy || offHeap)) {
+            System.err.println("--lint only checks the grid file, so it can't be combined with --headless, --lazy"
+                    + " or --off-heap.\n" + USAGE);
+            return;
+        }
+        PipelineMetrics.register(); // phase timings are readable over JMX while the menu runs
         GridLoader loader = new GridLoader();
 
         // Handling the file path here and passing it to GridLoader
-        Path resourcePath = Paths.get("src/main/resources", filename);
+        Path resourcePath = Paths.get(GRID_DIRECTORY, filename);
 
         try {
-            GridSquare[][] gridArray = loader.loadGrid(resourcePath);
-
-            if (gridArray.length == 0 || gridArray[0].length == 0) {
-                System.err.println("Error: Grid cannot be empty. Make sure grid has valid dimensions.");
+            if (lint) {
+                runLint(loader, resourcePath, threadsGiven ? threads : Runtime.getRuntime().availableProcessors(),
+                        maxErrors);
                 return;
             }
-
-            CityGrid grid = new CityGrid(gridArray);
+            if (revised != null) {
+                runImpact(loader, resourcePath, Paths.get(GRID_DIRECTORY, revised), headlessPlan, output);
+                return;
+            }
+            if (partitions != 0) {
+                runPartitioned(resourcePath, headlessPlan, output, partitions);
+                return;
+            }
+            if (headlessPlan != null) {
+                runHeadless(loader, resourcePath, headlessPlan, output, threads);
+                return;
+            }
+            GridRegistry registry = new GridRegistry(loader, cacheBytes, threads);
+            CityGrid grid;
+            if (lazy) {
+                LazyGridFile lazyFile = loader.openLazy(resourcePath, LAZY_CACHE_SIZE);
+                if (lazyFile.getHeight() == 0 || lazyFile.getWidth() == 0) {
+                    System.err.println("Error: Grid cannot be empty. Make sure grid has valid dimensions.");
+                    return;
+                }
+                grid = new CityGrid(lazyFile);
+            } else if (offHeap) {
+                OffHeapGrid offHeapGrid = loader.loadGridOffHeap(resourcePath, null);
+                if (offHeapGrid.getHeight() == 0 || offHeapGrid.getWidth() == 0) {
+                    System.err.println("Error: Grid cannot be empty. Make sure grid has valid dimensions.");
+                    return;
+                }
+                grid = new CityGrid(offHeapGrid);
+            } else {
+                // Loaded through the registry, so switching back to this city later is a cache hit
+                grid = registry.get(resourcePath);
+            }
             System.out.println("Grid loaded successfully. Proceeding with city planning...");
 
             // Create a Menu instance and load the menu
-            Menu menu = new Menu(grid);
+            Menu menu = new Menu(grid, registry);
             menu.displayMenu();
 
         } catch (IOException e) {
             logger.severe(() -> "Error loading grid file: " + e.getMessage());
             System.err.println();
             System.err.println("Error loading grid file: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            logger.severe(() -> "Error loading grid file: " + e.getMessage());
+            System.err.println();
+            System.err.println(e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.warning(() -> "Validation Error: " + e.getMessage());
             System.err.println();
             System.err.println("Validation Error: " + e.getMessage());
         }
     }
+
+    // Checks every line of the grid file and lists the errors found, grouped by category
+    private static void runLint(GridLoader loader, Path resourcePath, int threads, int maxErrors)
+            throws IOException {
+        GridLintReport report = loader.lintGrid(resourcePath, threads, maxErrors);
+        for (GridLintError error : report.getErrors()) {
+            System.out.println(error);
+        }
+        System.out.printf("%n%,d errors in %,d square lines%n", report.getErrorCount(), report.getSquareLines());
+        for (GridErrorCategory category : GridErrorCategory.values()) {
+            long count = report.getCount(category);
+            if (count > 0) {
+                int shown = report.getErrors(category).size();
+                System.out.printf("  %-22s %,12d%s%n", category.getLabel(), count,
+                        shown < count ? " (first " + shown + " listed)" : "");
+            }
+        }
+        System.err.printf("Linted %,.1f MB in %.1f ms (%,.0f MB/s) with %d threads%n",
+                report.getBytes() / (double) BYTES_PER_MB, report.getWallMillis(), report.getMegabytesPerSecond(),
+                threads);
+    }
+
+    // Builds the whole city through a BuildPipeline without loading the grid into memory
+    private static void runHeadless(GridLoader loader, Path resourcePath, String planSpec, String output,
+            int threads) throws IOException {
+        try (GridRowReader reader = loader.openRows(resourcePath);
+                Writer out = output == null
+                        ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                        : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            SquarePlan plan = SquarePlan.parse(planSpec, reader.getHeight(), reader.getWidth());
+            BuildPipeline pipeline = new BuildPipeline(plan, new CostParameters(), Math.max(1, threads),
+                    BuildPipeline.DEFAULT_QUEUE_CAPACITY);
+            PipelineSummary summary = pipeline.run(reader, out);
+            System.err.printf("Built %d of %d squares, total cost $%,.2f%n", summary.getBuilt(),
+                    (long) summary.getHeight() * summary.getWidth(), summary.getTotalCost());
+            System.err.printf("Wall %.1f ms (load %.1f ms, build %.1f ms, write %.1f ms), at most %d rows in memory%n",
+                    summary.getWallMillis(), summary.getLoadMillis(), summary.getBuildMillis(),
+                    summary.getWriteMillis(), summary.getMaxRowsInFlight());
+            CostQuantileSketch sketch = summary.getStatistics().getSketch();
+            System.err.printf("Cost per structure: median $%,.2f, p95 $%,.2f, max $%,.2f%n", sketch.getPercentile(50),
+                    sketch.getPercentile(95), sketch.getPercentile(100));
+        }
+    }
+
+    // Builds the whole city in worker JVMs, each reading only the bands of rows it is given
+    private static void runPartitioned(Path resourcePath, String planSpec, String output, int partitions)
+            throws IOException {
+        PartitionCoordinator coordinator = new PartitionCoordinator(resourcePath, planSpec, new CostParameters(),
+                partitions);
+        PartitionSummary summary = coordinator.run(output == null ? null : Paths.get(output));
+        System.err.printf("Built %d of %d squares, total cost $%,.2f%n", summary.getBuilt(),
+                (long) summary.getHeight() * summary.getWidth(), summary.getTotalCost());
+        System.err.printf("Wall %.1f ms with %d workers over %d bands (build %.1f ms summed), %d bands reassigned,"
+                + " %d workers restarted%n", summary.getWallMillis(), summary.getWorkers(), summary.getBands(),
+                summary.getBuildMillis(), summary.getReassignedBands(), summary.getWorkerRestarts());
+    }
+
+    // Reports how the plan's results change between two versions of the grid, reading both in lockstep
+    private static void runImpact(GridLoader loader, Path beforePath, Path afterPath, String planSpec,
+            String output) throws IOException {
+        try (GridRowReader before = loader.openRows(beforePath);
+                GridRowReader after = loader.openRows(afterPath);
+                Writer out = output == null
+                        ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                        : Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            SquarePlan plan = SquarePlan.parse(planSpec, before.getHeight(), before.getWidth());
+            ZoningImpactReport report = new ZoningImpactAnalyzer(plan, new CostParameters()).analyze(before, after,
+                    out);
+            System.err.printf("%d of %d squares changed zoning in %.1f ms%n", report.getChanged(),
+                    report.getSquares(), report.getWallMillis());
+            System.err.printf("Buildable squares: %+d (%d newly blocked, %d newly buildable)%n",
+                    report.getBuildableDelta(), report.getNewlyBlocked(), report.getNewlyBuildable());
+            System.err.printf("Cost of changed squares: $%,.2f -> $%,.2f (%+,.2f)%n", report.getCostBefore(),
+                    report.getCostAfter(), report.getCostDelta());
+        }
+    }
 }
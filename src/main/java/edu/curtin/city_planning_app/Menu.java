@@ -1,25 +1,71 @@
 // Menu.java
 package edu.curtin.city_planning_app;
 
+import edu.curtin.city_planning_app.decorators.CostContributions;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.CostSensitivity;
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRegistry;
 import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.LatencyHistogram;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
+import edu.curtin.city_planning_app.scheduling.ConstructionJobs;
+import edu.curtin.city_planning_app.scheduling.ConstructionSchedule;
+import edu.curtin.city_planning_app.scheduling.ConstructionScheduler;
+import edu.curtin.city_planning_app.scheduling.ScheduleParameters;
+import edu.curtin.city_planning_app.statistics.CostQuantileSketch;
+import edu.curtin.city_planning_app.statistics.CostStatistics;
+import edu.curtin.city_planning_app.statistics.StructureCost;
 import edu.curtin.city_planning_app.strategies.*;
-
+import edu.curtin.city_planning_app.versions.BuildDiff;
+import edu.curtin.city_planning_app.versions.BuildHistory;
+import edu.curtin.city_planning_app.versions.BuildState;
+import edu.curtin.city_planning_app.versions.SquareChange;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
 // Menu for the City Planning program
 public class Menu {
+    private static final int SWEEP_RANKED_ROWS = 10; // rows of the sweep's ranked table to show
+    private static final int ANNEALING_REPORT_ROWS = 10; // rounds of the annealing convergence shown
+    private static final int SUMMARY_TOP_ROWS = 10; // most expensive structures shown in the build summary
+    private static final int CASH_FLOW_ROWS = 10; // points of the construction cash-flow curve shown
+    private static final int DIFF_ROWS = 10; // changed squares listed when comparing versions
+    private static final double SENSITIVITY_CHANGE = 0.1; // each price is moved by 10% in the tornado report
     private Scanner scanner;
+    private final GridRegistry registry;
     private CityGrid grid;
     private CityBuilderManager builder;
     private CityDisplayer displayBuiltCity;
 
     public Menu(CityGrid grid) {
-        this.grid = grid;
+        this(grid, new GridRegistry(new GridLoader(), GridRegistry.DEFAULT_BUDGET_BYTES, 1));
+    }
+
+    // Menu starting on 'grid', switching cities through 'registry'
+    public Menu(CityGrid grid, GridRegistry registry) {
         this.scanner = new Scanner(System.in);
+        this.registry = registry;
+        startSession(grid);
+    }
+
+    // Starts planning a city from scratch: a new builder and display for 'grid'
+    private void startSession(CityGrid grid) {
+        this.grid = grid;
         this.displayBuiltCity = new CityDisplayer(grid.getHeight(), grid.getWidth());
         this.builder = new CityBuilderManager(grid); // Pass CityGrid to CityBuilderManager
 
@@ -30,14 +76,20 @@ public class Menu {
     /**
      * Displays the main menu for the City Planning program.
      * The options are:
-     * 1. Build Structure (Validation Check)
+     * 1. Place Structure (Validated, Can Be Undone)
      * 2. Build City
      * 3. Configure Strategy
      * 4. Display Previously Built Structures
-     * 5. Quit
+     * 5. Sweep Uniform Configurations
+     * 6. Cost Parameters and Sensitivity
+     * 7. Pipeline Metrics
+     * 8. Schedule Construction
+     * 9. Versions (Undo, Snapshots, Compare)
+     * 10. Switch City
+     * 11. Quit
      * The user is prompted to select a valid option, and the corresponding action
      * is taken.
-     * The loop continues until the user selects option 5 (Quit).
+     * The loop continues until the user selects option 11 (Quit).
      */
     public void displayMenu() {
         boolean running = true;
@@ -46,12 +98,18 @@ public class Menu {
             System.out.println("\n==============================");
             System.out.println("      City Planning Menu");
             System.out.println("==============================\n");
-            System.out.println("1. Build Structure (Validation Check)");
+            System.out.println("1. Place Structure (Validated, Can Be Undone)");
             System.out.println("2. Build City");
             System.out.println("3. Configure Strategy");
             System.out.println("4. Display Previously Built Structures");
-            System.out.println("5. Quit\n");
-            System.out.print("Select an option (1-5): ");
+            System.out.println("5. Sweep Uniform Configurations");
+            System.out.println("6. Cost Parameters and Sensitivity");
+            System.out.println("7. Pipeline Metrics");
+            System.out.println("8. Schedule Construction");
+            System.out.println("9. Versions (Undo, Snapshots, Compare)");
+            System.out.println("10. Switch City");
+            System.out.println("11. Quit\n");
+            System.out.print("Select an option (1-11): ");
 
             int choice = checkValidInteger();
             switch (choice) {
@@ -69,7 +127,26 @@ public class Menu {
                     displayBuiltCity.displayBuiltStructures(); // CityDisplayer.java
                     break;
                 case 5:
+                    sweepConfigurations();
+                    break;
+                case 6:
+                    costParameters();
+                    break;
+                case 7:
+                    showPipelineMetrics();
+                    break;
+                case 8:
+                    scheduleConstruction();
+                    break;
+                case 9:
+                    versions();
+                    break;
+                case 10:
+                    switchCity();
+                    break;
+                case 11:
                     running = false;
+                    builder.getOutcomePublisher().close(); // completes any outcome subscribers
                     System.out.println("\nExiting the program... Goodbye!");
                     break;
                 default:
@@ -83,17 +160,18 @@ public class Menu {
      * 
      * Asks the user for the grid coordinates, number of floors, foundation type,
      * and construction material. Then, it checks if the given coordinates and
-     * values are valid. If valid, it builds the structure by calling the
-     * buildStructure method in CityBuilderManager. The total cost of the
-     * structure is then displayed. If the input is invalid, it shows an error
+     * values are valid. If valid, it adds the structure to the current version
+     * by calling the placeStructure method in CityBuilderManager. The total cost
+     * of the structure is then displayed. If the input is invalid, it shows an error
      * message and clears the invalid input from the scanner buffer.
      */
     private void buildStructure() {
         int row, col, floors;
-        String foundation, material;
+        Foundation foundation;
+        Material material;
 
         try {
-            System.out.println("\n--- Build Structure (Validation Check) ---");
+            System.out.println("\n--- Place Structure ---");
 
             System.out.print("Enter the grid row index: ");
             row = checkValidInteger();
@@ -114,31 +192,31 @@ public class Menu {
             floors = checkValidInteger();
 
             System.out.print("Enter the foundation type (slab/stilts): ");
-            foundation = scanner.next().toLowerCase();
+            foundation = readFoundation();
 
-            if (!foundation.equals("slab") && !foundation.equals("stilts")) {
+            if (foundation == null) {
                 System.out.println("\nInvalid foundation type. Please enter 'slab' or 'stilts'.\n");
                 return;
             }
 
             System.out.print("Enter the construction material (wood/stone/brick/concrete): ");
-            material = scanner.next().toLowerCase();
+            material = readMaterial();
 
-            if (!material.equals("wood") && !material.equals("stone") &&
-                    !material.equals("brick") && !material.equals("concrete")) {
+            if (material == null) {
                 System.out.println("\nInvalid material type. Please enter 'wood', 'stone', 'brick', or 'concrete'.\n");
                 return;
             }
 
-            // Run the build structure method in CityBuilderManager
+            // Run the build structure method in CityBuilderManager, adding the structure to the current version
             // Now it returns the total cost on success, -1 on failure
-            double totalCost = builder.buildStructure(row, col, floors, foundation, material, displayBuiltCity);
+            double totalCost = builder.placeStructure(row, col, floors, foundation, material, displayBuiltCity);
 
             if (totalCost >= 0) {
                 NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
                 String formattedTotalCost = currencyFormatter.format(totalCost);
                 System.out.println("\nStructure successfully built at (" + row + ", " + col + ").");
                 System.out.println("Total cost: " + formattedTotalCost);
+                System.out.println("Added to the current version (undo it from the Versions menu).");
             } else {
                 System.out.println("Failed to build structure at (" + row + ", " + col
                         + ")");
@@ -172,13 +250,310 @@ public class Menu {
         System.out.println("Strategy Used: '" + strategyName + "'");
         System.out.println("Total Structures Built: " + totalBuilt);
         System.out.println("Final Total Cost: " + formattedTotalFinalCost); // Use formatted total final cost
+        printCostStatistics(builder.getCostStatistics(), currencyFormatter);
         System.out.println("-----------------------------\n");
     }
 
+    // Shows the per-structure cost percentiles and the most expensive sites of the last build
+    private void printCostStatistics(CostStatistics statistics, NumberFormat currencyFormatter) {
+        CostQuantileSketch sketch = statistics.getSketch();
+        if (sketch.getCount() == 0) {
+            return;
+        }
+        System.out.println("Cost per Structure: median " + currencyFormatter.format(sketch.getPercentile(50))
+                + ", p95 " + currencyFormatter.format(sketch.getPercentile(95)) + ", max "
+                + currencyFormatter.format(sketch.getPercentile(100)));
+        List<StructureCost> mostExpensive = statistics.getMostExpensive().getMostExpensive();
+        System.out.println("Most Expensive Structures (" + Math.min(SUMMARY_TOP_ROWS, mostExpensive.size()) + " of the "
+                + mostExpensive.size() + " kept):");
+        for (StructureCost structure : mostExpensive.subList(0, Math.min(SUMMARY_TOP_ROWS, mostExpensive.size()))) {
+            System.out.printf("  (%d, %d) %d floors of %s: %s%n", structure.getRow(), structure.getCol(),
+                    structure.getFloors(), structure.getMaterial(), currencyFormatter.format(structure.getCost()));
+        }
+    }
+
+    // Evaluates every Uniform configuration up to a number of floors in one pass over the grid,
+    // then shows the best value configurations and the cost vs. total floors Pareto frontier
+    private void sweepConfigurations() {
+        System.out.println("\n--- Sweep Uniform Configurations ---");
+        System.out.print("Enter the highest number of floors to sweep: ");
+        int maxFloors = checkValidInteger();
+        if (maxFloors <= 0) {
+            System.out.println("\nNumber of floors must be a positive integer.\n");
+            return;
+        }
+
+        UniformSweep sweep = new UniformSweep(grid, builder.getCostParameters());
+        List<SweepResult> results = sweep.sweep(maxFloors);
+        System.out.println("\nSwept " + results.size() + " configurations over " + sweep.getProfileCount()
+                + " distinct zoning profiles.");
+
+        List<SweepResult> ranked = UniformSweep.rank(results);
+        System.out.println("\nBest value (lowest cost per floor):");
+        printSweepResults(ranked.subList(0, Math.min(SWEEP_RANKED_ROWS, ranked.size())));
+
+        System.out.println("\nPareto frontier (no other configuration builds more floors for less):");
+        printSweepResults(UniformSweep.paretoFrontier(results));
+    }
+
+    // Shows the current prices and lets the user change them. The last build is re-priced from its
+    // recorded cost drivers, so a new quote shows its effect on the total without rebuilding.
+    private void costParameters() {
+        CostParameters prices = builder.getCostParameters();
+        CostContributions contributions = builder.getCostContributions();
+        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        CostParameters.Parameter[] parameters = CostParameters.Parameter.values();
+        boolean editing = true;
+
+        while (editing) {
+            System.out.println("\n--- Cost Parameters ---");
+            for (int i = 0; i < parameters.length; i++) {
+                System.out.printf("%d. %-55s %,12.2f%n", i + 1, parameters[i].getLabel(), prices.get(parameters[i]));
+            }
+            if (contributions.getStructures() > 0) {
+                System.out.println("\nLast build (" + contributions.getStructures() + " structures) at these prices: "
+                        + currencyFormatter.format(contributions.total(prices)));
+            }
+            CostMode otherMode = prices.getMode() == CostMode.FIXED_POINT ? CostMode.FLOATING_POINT
+                    : CostMode.FIXED_POINT;
+            System.out.println("Cost arithmetic: " + prices.getMode().getLabel());
+            System.out.println("\n" + (parameters.length + 1) + ". Sensitivity report for the last build");
+            System.out.println((parameters.length + 2) + ". Switch cost arithmetic to " + otherMode.getLabel());
+            System.out.println((parameters.length + 3) + ". Back");
+            System.out.print("Select a parameter to change or an option (1-" + (parameters.length + 3) + "): ");
+
+            int choice = checkValidInteger();
+            if (choice >= 1 && choice <= parameters.length) {
+                System.out.print("Enter the new value for " + parameters[choice - 1].getLabel() + ": ");
+                try {
+                    prices.set(parameters[choice - 1], checkValidDouble());
+                } catch (IllegalArgumentException e) {
+                    System.out.println("\n" + e.getMessage());
+                }
+            } else if (choice == parameters.length + 1) {
+                printSensitivity(contributions, prices);
+            } else if (choice == parameters.length + 2) {
+                prices.setMode(otherMode);
+                System.out.println("\nCost arithmetic set to: " + otherMode.getLabel() + " (applies to the next build)");
+            } else if (choice == parameters.length + 3) {
+                editing = false;
+            } else {
+                System.out.println("\nInvalid option. Please try again.");
+            }
+        }
+    }
+
+    // Timing of each phase since the program started (or the metrics were last reset),
+    // and the throughput of the last city build
+    private void showPipelineMetrics() {
+        PipelineMetrics metrics = PipelineMetrics.getInstance();
+        System.out.println("\n--- Pipeline Metrics (microseconds) ---");
+        System.out.printf("%-18s %10s %10s %10s %10s %10s %12s%n", "Phase", "Count", "Mean", "p50", "p99", "Max",
+                "Total ms");
+        for (PipelinePhase phase : PipelinePhase.values()) {
+            LatencyHistogram histogram = metrics.getHistogram(phase);
+            System.out.printf("%-18s %10d %10.2f %10.2f %10.2f %10.2f %12.1f%n", phase.getLabel(),
+                    histogram.getCount(), histogram.getMeanNanos() / 1e3, histogram.getPercentileNanos(50) / 1e3,
+                    histogram.getPercentileNanos(99) / 1e3, histogram.getMaxNanos() / 1e3,
+                    histogram.getTotalNanos() / 1e6);
+        }
+        if (metrics.getLastRunSquares() > 0) {
+            System.out.printf("%nLast build: %d squares in %.1f ms (%,.0f squares/sec)%n",
+                    metrics.getLastRunSquares(), metrics.getLastRunMillis(), metrics.getLastRunSquaresPerSecond());
+        }
+        System.out.print("\nReset the metrics? (y/n): ");
+        if ("y".equalsIgnoreCase(scanner.next().trim())) {
+            metrics.reset();
+            System.out.println("Metrics reset.");
+        }
+    }
+
+    // Simulates building the last city with a number of crews and the default material supply,
+    // then shows the makespan, crew utilization and cash-flow curve
+    private void scheduleConstruction() {
+        ConstructionJobs jobs = builder.getConstructionJobs();
+        if (jobs.size() == 0) {
+            System.out.println("\nNo city has been built yet. Build the city first.");
+            return;
+        }
+        System.out.println("\n--- Schedule Construction (" + jobs.size() + " structures) ---");
+        System.out.print("Enter the number of crews: ");
+        ScheduleParameters parameters = new ScheduleParameters();
+        try {
+            parameters.setCrews(checkValidInteger());
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n" + e.getMessage());
+            return;
+        }
+
+        ConstructionSchedule schedule = new ConstructionScheduler(parameters).simulate(jobs);
+        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        System.out.printf("%nMakespan: %,.1f working days (%,d hours)%n", schedule.getMakespanDays(),
+                schedule.getMakespanHours());
+        System.out.printf("Crew utilization: %.1f%% (%,d crew hours idle waiting for material)%n",
+                schedule.getUtilization() * 100, schedule.getMaterialWaitHours());
+        System.out.println("\nCash flow (paid on completion):");
+        System.out.printf("%12s %20s%n", "By day", "Paid to date");
+        double[] curve = schedule.getCumulativeSpend(Math.min(CASH_FLOW_ROWS, schedule.getDays()));
+        for (int point = 0; point < curve.length; point++) {
+            System.out.printf("%12d %20s%n", (long) schedule.getDays() * (point + 1) / curve.length,
+                    currencyFormatter.format(curve[point]));
+        }
+        System.out.printf("%nSimulated in %.1f ms%n", schedule.getWallMillis());
+    }
+
+    // Undo and redo builds and placed structures, keep named snapshots of the current version
+    // and compare it with one. The totals, statistics and display follow the current version.
+    private void versions() {
+        BuildHistory history = builder.getBuildHistory();
+        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        boolean browsing = true;
+
+        while (browsing) {
+            BuildState current = history.getCurrent();
+            System.out.println("\n--- Versions ---");
+            System.out.println("Current version: " + current.getStructures() + " structures, "
+                    + currencyFormatter.format(current.getTotalCost()));
+            System.out.println(history.getUndoCount() + " to undo, " + history.getRedoCount() + " to redo");
+            System.out.println("Snapshots: " + (history.getSnapshotNames().isEmpty() ? "none"
+                    : String.join(", ", history.getSnapshotNames())));
+            System.out.println("\n1. Undo");
+            System.out.println("2. Redo");
+            System.out.println("3. Save snapshot");
+            System.out.println("4. Restore snapshot");
+            System.out.println("5. Compare with snapshot");
+            System.out.println("6. Display current version");
+            System.out.println("7. Back");
+            System.out.print("Select an option (1-7): ");
+
+            int choice = checkValidInteger();
+            switch (choice) {
+                case 1:
+                    System.out.println(builder.undo(displayBuiltCity) ? "\nUndone." : "\nNothing to undo.");
+                    break;
+                case 2:
+                    System.out.println(builder.redo(displayBuiltCity) ? "\nRedone." : "\nNothing to redo.");
+                    break;
+                case 3:
+                    System.out.print("Enter a name for the snapshot: ");
+                    history.saveSnapshot(scanner.next().trim());
+                    System.out.println("\nSnapshot saved.");
+                    break;
+                case 4:
+                    System.out.print("Enter the snapshot to restore: ");
+                    try {
+                        builder.restoreSnapshot(scanner.next().trim(), displayBuiltCity);
+                        System.out.println("\nSnapshot restored (undo to go back).");
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("\n" + e.getMessage());
+                    }
+                    break;
+                case 5:
+                    System.out.print("Enter the snapshot to compare with: ");
+                    BuildState snapshot = history.getSnapshot(scanner.next().trim());
+                    if (snapshot == null) {
+                        System.out.println("\nNo snapshot with that name.");
+                    } else {
+                        printDiff(snapshot.diff(current), currencyFormatter);
+                    }
+                    break;
+                case 6:
+                    displayBuiltCity.displayBuiltStructures(current);
+                    break;
+                case 7:
+                    browsing = false;
+                    break;
+                default:
+                    System.out.println("\nInvalid option. Please try again.");
+            }
+        }
+    }
+
+    // Loads another grid file through the registry (or takes it from the cache) and starts
+    // planning it from scratch, then shows how well the registry is doing
+    private void switchCity() {
+        System.out.println("\n--- Switch City ---");
+        List<Path> cached = registry.getCachedPaths();
+        if (!cached.isEmpty()) {
+            System.out.println("Cached cities (least recently used first):");
+            for (Path path : cached) {
+                System.out.println("  " + path.getFileName());
+            }
+        }
+        System.out.print("Enter the grid file name (in " + CityPlannerMain.GRID_DIRECTORY + "): ");
+        String filename = scanner.next().trim();
+        try {
+            CityGrid next = registry.get(Paths.get(CityPlannerMain.GRID_DIRECTORY, filename));
+            builder.getOutcomePublisher().close(); // the old city's subscribers are done
+            startSession(next);
+            System.out.println("\nSwitched to " + filename + " (" + next.getHeight() + "x" + next.getWidth()
+                    + "), strategy reset to Random.");
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("\nError loading grid file: " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.out.println("\nValidation Error: " + e.getMessage());
+            return;
+        }
+
+        LatencyHistogram latency = registry.getLoadLatency();
+        System.out.printf("%nRegistry: %d hits, %d misses, %d reloads, %d evictions (hit rate %.1f%%)%n",
+                registry.getHits(), registry.getMisses(), registry.getReloads(), registry.getEvictions(),
+                registry.getHitRate() * 100);
+        System.out.printf("Load latency: %d loads, mean %.1f ms, p99 %.1f ms, max %.1f ms%n", latency.getCount(),
+                latency.getMeanNanos() / 1e6, latency.getPercentileNanos(99) / 1e6, latency.getMaxNanos() / 1e6);
+        System.out.printf("Cached: %d cities, %,d KB of a %,d KB budget%n", registry.getCachedPaths().size(),
+                registry.getCachedBytes() / 1024, registry.getBudgetBytes() / 1024);
+    }
+
+    // Shows the squares that changed from a snapshot to the current version
+    private void printDiff(BuildDiff diff, NumberFormat currencyFormatter) {
+        List<SquareChange> changes = diff.getChanges();
+        System.out.println("\n" + changes.size() + " squares changed (" + diff.getComparedTiles()
+                + " tiles compared), cost change " + currencyFormatter.format(diff.getCostDelta()));
+        for (SquareChange change : changes.subList(0, Math.min(DIFF_ROWS, changes.size()))) {
+            System.out.println("  " + change + " (" + currencyFormatter.format(change.getCostDelta()) + ")");
+        }
+        if (changes.size() > DIFF_ROWS) {
+            System.out.println("  ... and " + (changes.size() - DIFF_ROWS) + " more");
+        }
+    }
+
+    // Tornado report: the total of the last build with each price moved down and up, widest swing first
+    private void printSensitivity(CostContributions contributions, CostParameters prices) {
+        if (contributions.getStructures() == 0) {
+            System.out.println("\nNo city has been built yet. Build the city first.");
+            return;
+        }
+        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        int percent = (int) Math.round(SENSITIVITY_CHANGE * 100);
+        System.out.println("\nTotal at current prices: " + currencyFormatter.format(contributions.total(prices)));
+        System.out.printf("%-55s %20s %20s %20s%n", "Parameter", "Total at -" + percent + "%",
+                "Total at +" + percent + "%", "Swing");
+        for (CostSensitivity sensitivity : contributions.sensitivities(prices, SENSITIVITY_CHANGE)) {
+            System.out.printf("%-55s %20s %20s %20s%n", sensitivity.getParameter().getLabel(),
+                    currencyFormatter.format(sensitivity.getLowTotal()),
+                    currencyFormatter.format(sensitivity.getHighTotal()),
+                    currencyFormatter.format(sensitivity.getSwing()));
+        }
+    }
+
+    private void printSweepResults(List<SweepResult> results) {
+        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        System.out.printf("%-9s %-7s %6s %10s %12s %22s %16s%n", "Material", "Found.", "Floors", "Buildable",
+                "Total Floors", "Total Cost", "Cost per Floor");
+        for (SweepResult result : results) {
+            System.out.printf("%-9s %-7s %6d %10d %12d %22s %16s%n", result.getMaterial(), result.getFoundation(),
+                    result.getFloors(), result.getBuildable(), result.getTotalFloors(),
+                    currencyFormatter.format(result.getTotalCost()), result.getBuildable() == 0 ? "-"
+                            : currencyFormatter.format(result.getCostPerFloor()));
+        }
+    }
+
     /**
      * Configure the city-building strategy. This method will print out a menu
-     * allowing the user to select one of the three strategies: Uniform, Random,
-     * or Central. Depending on the choice, the user will be prompted to enter
+     * allowing the user to select one of the strategies: Uniform, Random,
+     * Central, Multi-Centre, Neighbourhood or Constraint-Based. Depending on the choice, the user will be prompted to enter
      * additional information such as material, number of floors, and foundation
      * type. The chosen strategy will then be passed to the CityBuilderManager.
      */
@@ -187,17 +562,25 @@ public class Menu {
         System.out.println("1. Uniform");
         System.out.println("2. Random");
         System.out.println("3. Central");
-        System.out.print("Select a strategy (1-3): ");
+        System.out.println("4. Multi-Centre");
+        System.out.println("5. Neighbourhood");
+        System.out.println("6. Constraint-Based");
+        System.out.println("7. Annealing (cost, skyline and density)");
+        System.out.print("Select a strategy (1-7): ");
 
         int choice = checkValidInteger();
         switch (choice) {
             case 1:
                 System.out.print("Enter material (wood/stone/brick/concrete): ");
-                String material = scanner.next().toLowerCase();
+                Material material = readMaterial();
                 System.out.print("Enter number of floors: ");
                 int floors = checkValidInteger();
                 System.out.print("Enter foundation type (slab/stilts): ");
-                String foundation = scanner.next().toLowerCase();
+                Foundation foundation = readFoundation();
+                if (material == null || foundation == null) {
+                    System.out.println("\nInvalid material or foundation type. Returning to menu.\n");
+                    break;
+                }
 
                 // Pass CityBuilderManager instance to the strategy
                 builder.setStrategy(
@@ -219,12 +602,152 @@ public class Menu {
                 System.out.println("\nStrategy set to: 'Central'\n");
                 break;
 
+            case 4:
+                configureMultiCentre();
+                break;
+
+            case 5:
+                System.out.print("Enter target number of floors: ");
+                int targetFloors = checkValidInteger();
+                if (targetFloors <= 0 || targetFloors > Byte.MAX_VALUE) {
+                    System.out.println("\nTarget floors must be between 1 and " + Byte.MAX_VALUE + ".\n");
+                    break;
+                }
+
+                // Pass CityBuilderManager instance to the strategy
+                builder.setStrategy(
+                        new NeighbourhoodStrategy(grid, targetFloors, displayBuiltCity, builder));
+                System.out.println("\nStrategy set to: 'Neighbourhood'\n");
+                break;
+
+            case 6:
+                configureConstraints();
+                break;
+
+            case 7:
+                configureAnnealing();
+                break;
+
             default:
                 System.out.println("\nInvalid option. Returning to menu.\n");
         }
     }
 
 
+    // Prompt for the weighted centres of the multi-centre strategy,
+    // then pass the strategy to the CityBuilderManager.
+    private void configureMultiCentre() {
+        System.out.print("Enter number of centres: ");
+        int count = checkValidInteger();
+        if (count <= 0) {
+            System.out.println("\nAt least one centre is required. Returning to menu.\n");
+            return;
+        }
+
+        List<CityCentre> centres = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            System.out.print("Centre " + i + " row index: ");
+            int row = checkValidInteger();
+            System.out.print("Centre " + i + " column index: ");
+            int col = checkValidInteger();
+            System.out.print("Centre " + i + " weight (eg. 1.0): ");
+            double weight = checkValidDouble();
+
+            if (!grid.isValidGridSquarePosition(row, col) || weight <= 0) {
+                System.out.println("\nInvalid centre. Coordinates must be on the grid and weight positive.\n");
+                return;
+            }
+            centres.add(new CityCentre(row, col, weight));
+        }
+
+        // Pass CityBuilderManager instance to the strategy
+        builder.setStrategy(new MultiCentreStrategy(grid, centres, displayBuiltCity, builder));
+        System.out.println("\nStrategy set to: 'Multi-Centre'\n");
+    }
+
+    // Reads the objective weights and time budget, searches for a layout, then shows how the search converged
+    private void configureAnnealing() {
+        System.out.print("Enter target number of floors: ");
+        int targetFloors = checkValidInteger();
+        System.out.print("Enter the weight of cost (eg. 1.0): ");
+        double costWeight = checkValidDouble();
+        System.out.print("Enter the weight of skyline smoothness (eg. 1.0): ");
+        double smoothnessWeight = checkValidDouble();
+        System.out.print("Enter the weight of the density target (eg. 1.0): ");
+        double densityWeight = checkValidDouble();
+        System.out.print("Enter the time budget in seconds: ");
+        int seconds = checkValidInteger();
+        if (seconds <= 0) {
+            System.out.println("\nTime budget must be a positive number of seconds. Returning to menu.\n");
+            return;
+        }
+
+        AnnealingObjective objective;
+        try {
+            objective = new AnnealingObjective(costWeight, smoothnessWeight, densityWeight, targetFloors,
+                    Math.max(targetFloors, Math.min(Byte.MAX_VALUE, targetFloors * 2)));
+        } catch (IllegalArgumentException e) {
+            System.out.println("\n" + e.getMessage() + " Returning to menu.\n");
+            return;
+        }
+
+        System.out.println("\nSearching for a layout for up to " + seconds + " seconds...");
+        AnnealingStrategy strategy = new AnnealingStrategy(grid, objective, seconds * 1000L, displayBuiltCity,
+                builder);
+        List<AnnealingRound> rounds = strategy.getRounds();
+        System.out.printf("%n%8s %10s %16s %10s %10s%n", "Round", "ms", "Best objective", "Moves", "Swaps");
+        int step = Math.max(1, rounds.size() / ANNEALING_REPORT_ROWS);
+        for (int i = 0; i < rounds.size(); i++) {
+            if (i % step == 0 || i == rounds.size() - 1) {
+                AnnealingRound round = rounds.get(i);
+                System.out.printf("%8d %10.0f %16.2f %9.1f%% %9.1f%%%n", round.getRound(), round.getElapsedMillis(),
+                        round.getBestEnergy(), round.getMoveAcceptance() * 100, round.getSwapAcceptance() * 100);
+            }
+        }
+        System.out.printf("Objective %.2f -> %.2f%n", strategy.getOptimizer().getInitialEnergy(),
+                strategy.getOptimizer().getBestEnergy());
+
+        // Pass CityBuilderManager instance to the strategy
+        builder.setStrategy(strategy);
+        System.out.println("\nStrategy set to: 'Annealing'\n");
+    }
+
+    // Prompt for the preferred build and the rules spanning several squares,
+    // then pass the constraint-based strategy to the CityBuilderManager.
+    private void configureConstraints() {
+        System.out.print("Enter preferred material (wood/stone/brick/concrete): ");
+        Material material = readMaterial();
+        if (material == null) {
+            System.out.println("\nInvalid material type. Returning to menu.\n");
+            return;
+        }
+        System.out.print("Enter target number of floors: ");
+        int floors = checkValidInteger();
+        System.out.print("Enter block size for the stone limit (eg. 4): ");
+        int blockSize = checkValidInteger();
+        System.out.print("Enter maximum stone share per block in % (eg. 30): ");
+        int stonePercent = checkValidInteger();
+        System.out.print("Enter maximum total floors per 3x3 neighbourhood: ");
+        int maxNeighbourhoodFloors = checkValidInteger();
+
+        if (floors <= 0 || blockSize <= 0 || stonePercent < 0 || stonePercent > 100
+                || maxNeighbourhoodFloors <= 0) {
+            System.out.println("\nInvalid constraint values. Returning to menu.\n");
+            return;
+        }
+
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(grid.getHeight(), grid.getWidth(), Material.STONE, blockSize,
+                stonePercent / 100.0));
+        constraints.add(new NeighbourhoodFloorsConstraint(grid.getHeight(), grid.getWidth(),
+                maxNeighbourhoodFloors));
+
+        // Pass CityBuilderManager instance to the strategy
+        builder.setStrategy(
+                new ConstraintStrategy(grid, material, floors, constraints, displayBuiltCity, builder));
+        System.out.println("\nStrategy set to: 'Constraint-Based'\n");
+    }
+
      // Prints the details of the given grid square
      // The details include the location, terrain type, heritage status, height
      // limit, flood risk, and contamination status.
@@ -271,4 +794,35 @@ public class Menu {
             }
         }
     }
+
+     // Checks if the user input is a valid decimal number.
+     // If the input is not valid, it will print a message and ask for input again.
+    private double checkValidDouble() {
+        while (true) {
+            try {
+                return scanner.nextDouble();
+            } catch (InputMismatchException e) {
+                System.out.println("\nInvalid input. Please enter a valid number.\n");
+                scanner.nextLine(); // Clear the invalid input from the scanner buffer
+            }
+        }
+    }
+
+    // Reads a material name from the user, or returns null if it is not a known material
+    private Material readMaterial() {
+        try {
+            return Material.fromString(scanner.next());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Reads a foundation type from the user, or returns null if it is not a known foundation
+    private Foundation readFoundation() {
+        try {
+            return Foundation.fromString(scanner.next());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
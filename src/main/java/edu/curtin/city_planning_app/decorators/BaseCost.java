@@ -3,41 +3,40 @@ package edu.curtin.city_planning_app.decorators;
 
 import java.util.logging.Logger;
 
+import edu.curtin.city_planning_app.grids.Material;
+
 // Handle base cost calculation
 public class BaseCost implements HandleCostCalculation {
     private static final Logger logger = Logger.getLogger(BaseCost.class.getName());
 
     private int floors;
-    private String material;
+    private Material material;
+    private double ratePerFloor;
+
+    public BaseCost(int floors, Material material) {
+        this(floors, material, Material.ratePerFloor(material.ordinal()));
+    }
 
-    public BaseCost(int floors, String material) {
+    // Base cost with a configured rate per floor instead of the material's default
+    public BaseCost(int floors, Material material, double ratePerFloor) {
         this.floors = floors;
         this.material = material;
+        this.ratePerFloor = ratePerFloor;
         logger.info(() -> "BaseCost created with " + floors + " floors and material: " + material);
     }
 
     // Calculate the cost of a structure by multiplying the material cost by the number of floors.
+    // The material cost defaults to the ordinal-indexed rate table in Material.
     @Override
     public double calculateCost() {
-        double cost = getMaterialCost(material) * floors;
+        double cost = ratePerFloor * floors;
         logger.info(() -> "Calculated base cost: " + cost + " for " + floors + " floors of " + material);
         return cost;
     }
 
-    // Calculates the material cost based on the material type.
-    private double getMaterialCost(String material) {
-        switch (material.toLowerCase()) { // to make not case sensitive
-            case "wood": // for wood
-                return 10000;
-            case "stone": // for stone
-                return 50000;
-            case "brick": // for brick
-                return 30000;
-            case "concrete": // for concrete
-                return 20000;
-            default:
-                logger.severe(() -> "Unknown material: " + material);
-                throw new IllegalArgumentException("Unknown material: " + material);
-        }
+    // The rate rounded to cents, times the floors
+    @Override
+    public long calculateCostCents() {
+        return Math.multiplyExact(Money.toCents(ratePerFloor), floors);
     }
 }
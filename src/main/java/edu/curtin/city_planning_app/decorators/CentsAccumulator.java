@@ -0,0 +1,44 @@
+// CentsAccumulator.java
+package edu.curtin.city_planning_app.decorators;
+
+// Running total of fixed-point costs in cents.
+// Integer addition is associative, so summing the grid in any order or in any partition (one
+// accumulator per worker, merged at the end) gives exactly the same total. An overflow throws
+// ArithmeticException instead of silently wrapping.
+public class CentsAccumulator {
+    private long cents;
+    private long count;
+
+    // Adds one amount.
+    public void add(long amount) {
+        cents = Math.addExact(cents, amount);
+        count++;
+    }
+
+    // Adds everything another accumulator holds, eg. one per parallel worker.
+    public void merge(CentsAccumulator other) {
+        cents = Math.addExact(cents, other.cents);
+        count += other.count;
+    }
+
+    // Get the total in cents.
+    public long getCents() {
+        return cents;
+    }
+
+    // Get the total in dollars.
+    public double getDollars() {
+        return Money.toDollars(cents);
+    }
+
+    // Get the number of amounts added.
+    public long getCount() {
+        return count;
+    }
+
+    // Starts again from zero.
+    public void reset() {
+        cents = 0;
+        count = 0;
+    }
+}
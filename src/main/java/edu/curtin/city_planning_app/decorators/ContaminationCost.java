@@ -8,17 +8,30 @@ public class ContaminationCost implements HandleCostCalculation {
     private static final Logger logger = Logger.getLogger(ContaminationCost.class.getName());
 
     private HandleCostCalculation decoratedCost;
+    private double multiplier;
 
     public ContaminationCost(HandleCostCalculation decoratedCost) {
+        this(decoratedCost, CostParameters.Parameter.CONTAMINATION_MULTIPLIER.getDefaultValue());
+    }
+
+    // Contamination with a configured multiplier
+    public ContaminationCost(HandleCostCalculation decoratedCost, double multiplier) {
         this.decoratedCost = decoratedCost;
+        this.multiplier = multiplier;
         logger.info("ContaminationCost decorator added.");
     }
 
     // Calculate the cost of a structure by adding a fixed multiplier for contamination.
     @Override
     public double calculateCost() {
-        double cost = (decoratedCost.calculateCost() * 1.5); // 1.5x multiplier for contamination
+        double cost = (decoratedCost.calculateCost() * multiplier); // 1.5x multiplier by default
         logger.info(() -> "Contamination applied, cost modified to: " + cost);
         return cost;
     }
+
+    // The multiplier rounded to millionths, the result rounded to cents
+    @Override
+    public long calculateCostCents() {
+        return Money.multiply(decoratedCost.calculateCostCents(), Money.toMicros(multiplier));
+    }
 }
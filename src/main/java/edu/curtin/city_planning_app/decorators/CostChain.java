@@ -0,0 +1,54 @@
+// CostChain.java
+package edu.curtin.city_planning_app.decorators;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+// Builds the decorator chain for a structure on one square of the grid.
+// Base -> Contamination -> FloodRisk -> Heritage -> Terrain, each decorator only added when the
+// square's zoning calls for it. Shared by buildStructure and anything that must cost exactly like it.
+public final class CostChain {
+    private CostChain() {
+    }
+
+    // The cost calculation for building 'floors' floors of 'material' at (row, col) at default prices.
+    public static HandleCostCalculation forSquare(CityGrid grid, int row, int col, int floors, Material material) {
+        return forSquare(grid, row, col, floors, material, new CostParameters());
+    }
+
+    // The cost calculation for building 'floors' floors of 'material' at (row, col) with the given prices.
+    public static HandleCostCalculation forSquare(CityGrid grid, int row, int col, int floors, Material material,
+            CostParameters prices) {
+        HandleCostCalculation costCalculation = new BaseCost(floors, material, prices.getRatePerFloor(material));
+        if (grid.isContaminated(row, col)) {
+            costCalculation = new ContaminationCost(costCalculation, prices.getContaminationMultiplier());
+        }
+        if (grid.hasFloodRisk(row, col)) {
+            costCalculation = new FloodRiskCost(costCalculation, grid.getFloodRisk(row, col),
+                    prices.getFloodRiskDivisor());
+        }
+        if (grid.getHeritage(row, col) != null) {
+            costCalculation = new HeritageCost(costCalculation, prices.getHeritageSurcharge());
+        }
+        return new TerrainCost(costCalculation, grid.getTerrain(row, col), floors,
+                prices.getSwampySurchargePerFloor(), prices.getRockySurcharge());
+    }
+
+    // The same chain for a square that is not part of a CityGrid, eg. a streamed row.
+    public static HandleCostCalculation forSquare(GridSquare square, int floors, Material material,
+            CostParameters prices) {
+        HandleCostCalculation costCalculation = new BaseCost(floors, material, prices.getRatePerFloor(material));
+        if (square.isContaminated()) {
+            costCalculation = new ContaminationCost(costCalculation, prices.getContaminationMultiplier());
+        }
+        if (square.hasFloodRisk()) {
+            costCalculation = new FloodRiskCost(costCalculation, square.getFloodRisk(), prices.getFloodRiskDivisor());
+        }
+        if (square.getHeritage() != null) {
+            costCalculation = new HeritageCost(costCalculation, prices.getHeritageSurcharge());
+        }
+        return new TerrainCost(costCalculation, square.getTerrain(), floors, prices.getSwampySurchargePerFloor(),
+                prices.getRockySurcharge());
+    }
+}
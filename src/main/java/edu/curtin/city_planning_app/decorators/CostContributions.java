@@ -0,0 +1,109 @@
+// CostContributions.java
+package edu.curtin.city_planning_app.decorators;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Running totals of how much of a built city each cost parameter applies to, so the city can be
+// re-priced without visiting a single square again.
+// The decorator chain costs a structure as
+//   rate * floors * contamination^[contaminated] * (1 + risk / divisor)
+//     + heritage * [heritage site] + swampy * floors * [swampy] + rocky * [rocky]
+// which is linear in every price once the multipliers are expanded. Recording, per material and
+// contamination state, the sum of floors and the sum of floors * risk (plus the heritage, swampy
+// and rocky totals) is enough to work out the total for any CostParameters in O(#parameters).
+// Re-priced totals are summed in a different order from the build, so they can differ from the
+// built total in the last few digits.
+public class CostContributions {
+    private static final Logger logger = Logger.getLogger(CostContributions.class.getName());
+    private static final Material[] MATERIALS = Material.values();
+
+    // Indexed by material ordinal * 2 + (1 if contaminated)
+    private final double[] floors = new double[MATERIALS.length * 2];
+    private final double[] riskFloors = new double[MATERIALS.length * 2]; // floors * flood risk
+    private long heritageSites;
+    private double swampyFloors;
+    private long rockySites;
+    private long structures;
+
+    // Records a structure of 'floorCount' floors of 'material' built at (row, col).
+    public void record(CityGrid grid, int row, int col, int floorCount, Material material) {
+        int index = material.ordinal() * 2 + (grid.isContaminated(row, col) ? 1 : 0);
+        floors[index] += floorCount;
+        if (grid.hasFloodRisk(row, col)) {
+            riskFloors[index] += floorCount * grid.getFloodRisk(row, col);
+        }
+        if (grid.getHeritage(row, col) != null) {
+            heritageSites++;
+        }
+        GridSquare.TerrainType terrain = grid.getTerrain(row, col);
+        if (terrain == GridSquare.TerrainType.SWAMPY) {
+            swampyFloors += floorCount;
+        } else if (terrain == GridSquare.TerrainType.ROCKY) {
+            rockySites++;
+        }
+        structures++;
+    }
+
+    // Forgets every recorded structure, eg. before a new build.
+    public void reset() {
+        Arrays.fill(floors, 0);
+        Arrays.fill(riskFloors, 0);
+        heritageSites = 0;
+        swampyFloors = 0;
+        rockySites = 0;
+        structures = 0;
+    }
+
+    // Number of structures recorded.
+    public long getStructures() {
+        return structures;
+    }
+
+    // Total cost of every recorded structure at the given prices.
+    public double total(CostParameters prices) {
+        double floodPerRisk = 1 / prices.getFloodRiskDivisor();
+        double contamination = prices.getContaminationMultiplier();
+        double total = 0;
+        for (Material material : MATERIALS) {
+            int clean = material.ordinal() * 2;
+            int contaminated = clean + 1;
+            double rateFloors = floors[clean] + floodPerRisk * riskFloors[clean]
+                    + contamination * (floors[contaminated] + floodPerRisk * riskFloors[contaminated]);
+            total += prices.getRatePerFloor(material) * rateFloors;
+        }
+        return total + prices.getHeritageSurcharge() * heritageSites
+                + prices.getSwampySurchargePerFloor() * swampyFloors
+                + prices.getRockySurcharge() * rockySites;
+    }
+
+    // Tornado report: the total with each parameter moved down and up by 'fraction' (eg. 0.1 for 10%)
+    // while the others stay at the given prices, widest swing first.
+    public List<CostSensitivity> sensitivities(CostParameters prices, double fraction) {
+        if (fraction <= 0 || fraction >= 1) {
+            throw new IllegalArgumentException("Sensitivity change must be between 0 and 100%.");
+        }
+        List<CostSensitivity> results = new ArrayList<>();
+        CostParameters moved = new CostParameters(prices);
+        for (CostParameters.Parameter parameter : CostParameters.Parameter.values()) {
+            double value = prices.get(parameter);
+            moved.set(parameter, value * (1 - fraction));
+            double low = total(moved);
+            moved.set(parameter, value * (1 + fraction));
+            double high = total(moved);
+            moved.set(parameter, value);
+            results.add(new CostSensitivity(parameter, value, low, high));
+        }
+        results.sort(Comparator.comparingDouble(CostSensitivity::getSwing).reversed());
+        logger.info(() -> "Sensitivity of " + structures + " structures computed for " + results.size()
+                + " parameters");
+        return results;
+    }
+}
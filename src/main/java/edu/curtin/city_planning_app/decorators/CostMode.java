@@ -0,0 +1,27 @@
+// CostMode.java
+package edu.curtin.city_planning_app.decorators;
+
+// How the decorator chain does its arithmetic.
+// FLOATING_POINT is the original double arithmetic. FIXED_POINT works in whole cents with the
+// rounding policy in Money, so costs and totals are exact and don't depend on evaluation order.
+public enum CostMode {
+    FLOATING_POINT("Floating point (double)"),
+    FIXED_POINT("Fixed point (whole cents)");
+
+    private final String label;
+
+    CostMode(String label) {
+        this.label = label;
+    }
+
+    // Get the description shown to the user.
+    public String getLabel() {
+        return label;
+    }
+
+    // The cost of a decorator chain in dollars. In FIXED_POINT it is always a whole number of cents.
+    public double calculate(HandleCostCalculation costCalculation) {
+        return this == FIXED_POINT ? Money.toDollars(costCalculation.calculateCostCents())
+                : costCalculation.calculateCost();
+    }
+}
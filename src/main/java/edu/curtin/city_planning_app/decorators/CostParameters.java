@@ -0,0 +1,134 @@
+// CostParameters.java
+package edu.curtin.city_planning_app.decorators;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// The prices used by the cost decorators: a rate per floor for every material and the surcharges
+// for heritage, terrain, contamination and flood risk. The defaults are the rates the
+// decorators have always used, so costs only change when a parameter is changed.
+public class CostParameters {
+    private static final Logger logger = Logger.getLogger(CostParameters.class.getName());
+
+    // Every configurable price, with its default value
+    public enum Parameter {
+        WOOD_RATE("Wood rate per floor", Material.WOOD.getRatePerFloor()),
+        STONE_RATE("Stone rate per floor", Material.STONE.getRatePerFloor()),
+        BRICK_RATE("Brick rate per floor", Material.BRICK.getRatePerFloor()),
+        CONCRETE_RATE("Concrete rate per floor", Material.CONCRETE.getRatePerFloor()),
+        HERITAGE_SURCHARGE("Heritage surcharge", 20000),
+        SWAMPY_SURCHARGE_PER_FLOOR("Swampy surcharge per floor", 20000),
+        ROCKY_SURCHARGE("Rocky surcharge", 50000),
+        CONTAMINATION_MULTIPLIER("Contamination multiplier", 1.5),
+        FLOOD_RISK_DIVISOR("Flood risk divisor (multiplier is 1 + risk / divisor)", 50);
+
+        private final String label;
+        private final double defaultValue;
+
+        Parameter(String label, double defaultValue) {
+            this.label = label;
+            this.defaultValue = defaultValue;
+        }
+
+        // Get the description shown to the user.
+        public String getLabel() {
+            return label;
+        }
+
+        // Get the value used when the parameter has not been changed.
+        public double getDefaultValue() {
+            return defaultValue;
+        }
+    }
+
+    // Rate parameter of each material, indexed by material ordinal
+    private static final Parameter[] RATE_PARAMETERS = new Parameter[Material.values().length];
+
+    static {
+        RATE_PARAMETERS[Material.WOOD.ordinal()] = Parameter.WOOD_RATE;
+        RATE_PARAMETERS[Material.STONE.ordinal()] = Parameter.STONE_RATE;
+        RATE_PARAMETERS[Material.BRICK.ordinal()] = Parameter.BRICK_RATE;
+        RATE_PARAMETERS[Material.CONCRETE.ordinal()] = Parameter.CONCRETE_RATE;
+    }
+
+    private final double[] values; // indexed by Parameter ordinal
+    private CostMode mode = CostMode.FLOATING_POINT; // arithmetic used by the cost chain
+
+    // Parameters with every price at its default.
+    public CostParameters() {
+        values = new double[Parameter.values().length];
+        for (Parameter parameter : Parameter.values()) {
+            values[parameter.ordinal()] = parameter.getDefaultValue();
+        }
+    }
+
+    // Copy of another set of parameters, eg. to try out a price change.
+    public CostParameters(CostParameters other) {
+        values = Arrays.copyOf(other.values, other.values.length);
+        mode = other.mode;
+    }
+
+    // Get the current value of a parameter.
+    public double get(Parameter parameter) {
+        return values[parameter.ordinal()];
+    }
+
+    // Changes a parameter. Prices and multipliers can't be negative, and the flood risk divisor
+    // must be positive.
+    public void set(Parameter parameter, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || value < 0
+                || (parameter == Parameter.FLOOD_RISK_DIVISOR && value == 0)) {
+            throw new IllegalArgumentException("Invalid value for " + parameter.getLabel() + ": " + value);
+        }
+        values[parameter.ordinal()] = value;
+        logger.info(() -> "Cost parameter " + parameter + " set to " + value);
+    }
+
+    // Get the arithmetic costs are calculated with.
+    public CostMode getMode() {
+        return mode;
+    }
+
+    // Changes the arithmetic costs are calculated with, applies to the next build.
+    public void setMode(CostMode mode) {
+        this.mode = mode;
+        logger.info(() -> "Cost mode set to " + mode);
+    }
+
+    // The parameter holding the rate per floor of a material.
+    public static Parameter rateParameter(Material material) {
+        return RATE_PARAMETERS[material.ordinal()];
+    }
+
+    // Cost per floor of a material.
+    public double getRatePerFloor(Material material) {
+        return values[RATE_PARAMETERS[material.ordinal()].ordinal()];
+    }
+
+    // Fixed surcharge for building on a heritage site.
+    public double getHeritageSurcharge() {
+        return get(Parameter.HERITAGE_SURCHARGE);
+    }
+
+    // Surcharge per floor for building on swampy terrain.
+    public double getSwampySurchargePerFloor() {
+        return get(Parameter.SWAMPY_SURCHARGE_PER_FLOOR);
+    }
+
+    // Fixed surcharge for building on rocky terrain.
+    public double getRockySurcharge() {
+        return get(Parameter.ROCKY_SURCHARGE);
+    }
+
+    // Multiplier applied to the cost on a contaminated square.
+    public double getContaminationMultiplier() {
+        return get(Parameter.CONTAMINATION_MULTIPLIER);
+    }
+
+    // Divisor of the flood risk in the flood multiplier 1 + risk / divisor.
+    public double getFloodRiskDivisor() {
+        return get(Parameter.FLOOD_RISK_DIVISOR);
+    }
+}
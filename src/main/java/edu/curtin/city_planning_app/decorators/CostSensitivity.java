@@ -0,0 +1,42 @@
+// CostSensitivity.java
+package edu.curtin.city_planning_app.decorators;
+
+// One bar of the tornado report: the city's total cost with one parameter moved down and up.
+public class CostSensitivity {
+    private final CostParameters.Parameter parameter;
+    private final double value;
+    private final double lowTotal;
+    private final double highTotal;
+
+    public CostSensitivity(CostParameters.Parameter parameter, double value, double lowTotal, double highTotal) {
+        this.parameter = parameter;
+        this.value = value;
+        this.lowTotal = lowTotal;
+        this.highTotal = highTotal;
+    }
+
+    // Get the parameter that was moved.
+    public CostParameters.Parameter getParameter() {
+        return parameter;
+    }
+
+    // Get the parameter's value before it was moved.
+    public double getValue() {
+        return value;
+    }
+
+    // Get the total cost with the parameter moved down.
+    public double getLowTotal() {
+        return lowTotal;
+    }
+
+    // Get the total cost with the parameter moved up.
+    public double getHighTotal() {
+        return highTotal;
+    }
+
+    // Get how far apart the two totals are.
+    public double getSwing() {
+        return Math.abs(highTotal - lowTotal);
+    }
+}
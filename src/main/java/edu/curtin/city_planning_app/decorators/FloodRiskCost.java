@@ -9,23 +9,36 @@ public class FloodRiskCost implements HandleCostCalculation {
 
     private HandleCostCalculation decoratedCost;
     private double floodRisk;
+    private double divisor;
 
     public FloodRiskCost(HandleCostCalculation decoratedCost, double floodRisk) {
+        this(decoratedCost, floodRisk, CostParameters.Parameter.FLOOD_RISK_DIVISOR.getDefaultValue());
+    }
+
+    // Flood risk with a configured divisor in the multiplier
+    public FloodRiskCost(HandleCostCalculation decoratedCost, double floodRisk, double divisor) {
         this.decoratedCost = decoratedCost;
         this.floodRisk = floodRisk;
+        this.divisor = divisor;
         logger.info(() -> "FloodRiskCost created with flood risk: " + floodRisk);
     }
 
     /*
      * Calculates the cost of the structure including the flood risk multiplier.
-     * The flood risk multiplier is 1 + (floodRisk / 50), and the cost is
+     * The flood risk multiplier is 1 + (floodRisk / divisor), 50 by default, and the cost is
      * the base cost multiplied by this multiplier.
      */
     @Override
     public double calculateCost() {
-        double floodMultiplier = 1 + (floodRisk / 50);
+        double floodMultiplier = 1 + (floodRisk / divisor);
         double cost = (decoratedCost.calculateCost() * floodMultiplier);
         logger.info(() -> "Flood risk applied with multiplier: " + floodMultiplier + ", modified cost: " + cost);
         return cost;
     }
+
+    // The multiplier 1 + (floodRisk / divisor) rounded to millionths, the result rounded to cents
+    @Override
+    public long calculateCostCents() {
+        return Money.multiply(decoratedCost.calculateCostCents(), Money.toMicros(1 + (floodRisk / divisor)));
+    }
 }
@@ -4,4 +4,7 @@ package edu.curtin.city_planning_app.decorators;
 // Interface for calculating construction cost
 public interface HandleCostCalculation {
     double calculateCost();
+
+    // The same cost in whole cents, rounded at every step as described in Money
+    long calculateCostCents();
 }
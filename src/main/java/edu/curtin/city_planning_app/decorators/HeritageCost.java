@@ -8,17 +8,30 @@ public class HeritageCost implements HandleCostCalculation {
     private static final Logger logger = Logger.getLogger(HeritageCost.class.getName());
 
     private HandleCostCalculation decoratedCost;
+    private double surcharge;
 
     public HeritageCost(HandleCostCalculation decoratedCost) {
+        this(decoratedCost, CostParameters.Parameter.HERITAGE_SURCHARGE.getDefaultValue());
+    }
+
+    // Heritage site with a configured surcharge
+    public HeritageCost(HandleCostCalculation decoratedCost, double surcharge) {
         this.decoratedCost = decoratedCost;
+        this.surcharge = surcharge;
         logger.info("HeritageCost decorator added.");
     }
 
     // Calculate the cost of a structure by adding a fixed surcharge for heritage sites.
     @Override
     public double calculateCost() {
-        double cost = decoratedCost.calculateCost() + 20000; // Fixed surcharge for heritage sites
+        double cost = decoratedCost.calculateCost() + surcharge; // Fixed surcharge for heritage sites
         logger.info(() -> "Heritage cost applied, final cost: " + cost);
         return cost;
     }
+
+    // The surcharge rounded to cents
+    @Override
+    public long calculateCostCents() {
+        return Math.addExact(decoratedCost.calculateCostCents(), Money.toCents(surcharge));
+    }
 }
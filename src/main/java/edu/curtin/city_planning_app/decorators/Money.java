@@ -0,0 +1,57 @@
+// Money.java
+package edu.curtin.city_planning_app.decorators;
+
+// Fixed-point money: amounts are whole cents in a long, multipliers are millionths in a long.
+// Rounding policy, used at every step of the fixed-point cost chain:
+//   - prices in dollars become cents rounded half-even (Math.rint)
+//   - multipliers (eg. 1.5, or 1 + risk / divisor) are rounded half-even to 6 decimal places
+//   - a cents amount times a multiplier is rounded half-even back to whole cents
+// Every operation checks for overflow and throws ArithmeticException rather than wrapping.
+public final class Money {
+    public static final long CENTS_PER_DOLLAR = 100;
+    public static final long MICROS_PER_UNIT = 1_000_000; // scale of a multiplier
+
+    private static final double MAX_EXACT = 0x1p63; // first double that no longer fits in a long
+
+    private Money() {
+    }
+
+    // Dollars to cents, rounded half-even.
+    public static long toCents(double dollars) {
+        return toLong(dollars * CENTS_PER_DOLLAR);
+    }
+
+    // Cents to dollars, the nearest double. toCents gives back the same cents for any realistic amount.
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    // A multiplier in millionths, rounded half-even.
+    public static long toMicros(double multiplier) {
+        return toLong(multiplier * MICROS_PER_UNIT);
+    }
+
+    // 'cents' times a multiplier of 'micros' millionths, rounded half-even to whole cents.
+    public static long multiply(long cents, long micros) {
+        long scaled = Math.multiplyExact(cents, micros);
+        long quotient = scaled / MICROS_PER_UNIT; // a multiply and shift, the divisor is a constant
+        long remainder = scaled - quotient * MICROS_PER_UNIT;
+        if (remainder < 0) { // floor division for negative amounts
+            quotient--;
+            remainder += MICROS_PER_UNIT;
+        }
+        long twiceRemainder = 2 * remainder;
+        if (twiceRemainder > MICROS_PER_UNIT || (twiceRemainder == MICROS_PER_UNIT && (quotient & 1) != 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    private static long toLong(double value) {
+        double rounded = Math.rint(value); // half-even
+        if (Double.isNaN(rounded) || rounded >= MAX_EXACT || rounded < -MAX_EXACT) {
+            throw new ArithmeticException("Amount out of range for fixed-point money: " + value);
+        }
+        return (long) rounded;
+    }
+}
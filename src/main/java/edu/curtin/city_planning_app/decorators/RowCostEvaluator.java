@@ -0,0 +1,212 @@
+// RowCostEvaluator.java
+package edu.curtin.city_planning_app.decorators;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+// Costs a uniform build (same floors, foundation and material) for a whole row of squares at once.
+// Each square's zoning is turned into primitive columns up front, so the decorator chain becomes
+//   (base * flood + heritage) + terrain
+// applied in the same order as Base -> FloodRisk -> Heritage -> Terrain. Contaminated squares always
+// fail validation, so their multiplier never reaches a result. Squares without a modifier use 1.0
+// or 0.0, which leaves the cost exactly unchanged, so every result matches the decorator chain
+// bit for bit, at any CostParameters.
+// This is the scalar version, create() returns the vectorized one when jdk.incubator.vector is present.
+// evaluateRowCents does the same in whole cents for CostMode.FIXED_POINT, with the rounding steps of
+// calculateCostCents, so it matches the decorator chain's cents exactly. It is scalar in both versions.
+public class RowCostEvaluator {
+    private static final Logger logger = Logger.getLogger(RowCostEvaluator.class.getName());
+
+    public static final double INVALID = -1; // cost of a square that fails validation, as buildStructure
+
+    protected static final int FLAT = GridSquare.TerrainType.FLAT.ordinal();
+    protected static final int SWAMPY = GridSquare.TerrainType.SWAMPY.ordinal();
+    protected static final int ROCKY = GridSquare.TerrainType.ROCKY.ordinal();
+    protected static final int MIN_FLOOD_FLOORS = 2;
+    private static final CostParameters DEFAULT_PRICES = new CostParameters();
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    protected final int height;
+    protected final int width;
+    // Row-major columns, one value per square
+    protected final double[] contamination; // 1.0 when contaminated, else 0
+    protected final double[] floodRisk; // flood risk, 0 without one
+    protected final double[] flood; // 1 + risk / floodDivisor with a flood risk, else 1.0
+    protected final double[] minFloors; // 2 with a flood risk, else 0
+    protected final double[] heritage; // heritage material ordinal + 1, 0 without heritage
+    protected final double[] terrain; // terrain ordinal
+    protected final double[] heightLimit; // height limit, +infinity without one
+    private double floodDivisor; // divisor the flood column was last computed with
+
+    public RowCostEvaluator(CityGrid grid) {
+        this(grid, null, null);
+    }
+
+    // Evaluator over a chosen list of squares instead of the whole grid, laid out as a single row
+    // (eg. one representative square per zoning profile). Null rows and cols mean the whole grid.
+    public RowCostEvaluator(CityGrid grid, int[] rows, int[] cols) {
+        boolean wholeGrid = rows == null;
+        this.height = wholeGrid ? grid.getHeight() : 1;
+        this.width = wholeGrid ? grid.getWidth() : rows.length;
+        int squares = height * width;
+        this.contamination = new double[squares];
+        this.floodRisk = new double[squares];
+        this.flood = new double[squares];
+        this.minFloors = new double[squares];
+        this.heritage = new double[squares];
+        this.terrain = new double[squares];
+        this.heightLimit = new double[squares];
+
+        for (int i = 0; i < squares; i++) {
+            int row = wholeGrid ? i / width : rows[i];
+            int col = wholeGrid ? i % width : cols[i];
+            contamination[i] = grid.isContaminated(row, col) ? 1.0 : 0;
+            floodRisk[i] = grid.getFloodRisk(row, col);
+            minFloors[i] = grid.hasFloodRisk(row, col) ? MIN_FLOOD_FLOORS : 0;
+            Material heritageMaterial = grid.getHeritage(row, col);
+            heritage[i] = heritageMaterial == null ? 0 : heritageMaterial.ordinal() + 1;
+            terrain[i] = grid.getTerrain(row, col).ordinal();
+            heightLimit[i] = grid.hasHeightLimit(row, col) ? grid.getHeightLimit(row, col)
+                    : Double.POSITIVE_INFINITY;
+        }
+        updateFloodMultipliers(DEFAULT_PRICES.getFloodRiskDivisor());
+        logger.info(() -> "Cost columns built for " + height + "x" + width + " squares");
+    }
+
+    // The fastest evaluator this JVM supports: vectorized when the incubator module is available
+    // (eg. run with --add-modules jdk.incubator.vector), scalar otherwise.
+    public static RowCostEvaluator create(CityGrid grid) {
+        return create(grid, null, null);
+    }
+
+    // The fastest evaluator over a chosen list of squares, see the constructor.
+    public static RowCostEvaluator create(CityGrid grid, int[] rows, int[] cols) {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return new VectorRowCostEvaluator(grid, rows, cols);
+        }
+        logger.info("Vector API not available, using the scalar row cost evaluator.");
+        return new RowCostEvaluator(grid, rows, cols);
+    }
+
+    // Writes the cost of building on every square of the row at default prices, see below.
+    public final int evaluateRow(int row, int floors, Foundation foundation, Material material, double[] costs) {
+        return evaluateRow(row, floors, foundation, material, DEFAULT_PRICES, costs);
+    }
+
+    // Writes the cost of building on every square of the row into costs (INVALID where the build
+    // fails validation) and returns how many squares are valid.
+    public int evaluateRow(int row, int floors, Foundation foundation, Material material, CostParameters prices,
+            double[] costs) {
+        updateFloodMultipliers(prices.getFloodRiskDivisor());
+        return evaluateRange(row, 0, floors, foundation, material, prices, costs);
+    }
+
+    // Recomputes the flood column when the divisor has changed since it was last computed.
+    protected final void updateFloodMultipliers(double divisor) {
+        if (divisor == floodDivisor) {
+            return;
+        }
+        for (int i = 0; i < flood.length; i++) {
+            flood[i] = floodRisk[i] == 0 ? 1.0 : 1 + (floodRisk[i] / divisor);
+        }
+        floodDivisor = divisor;
+    }
+
+    // Writes the whole-cents cost of building on every square of the row into cents (INVALID where the
+    // build fails validation) and returns how many squares are valid. Same rules as evaluateRow.
+    public final int evaluateRowCents(int row, int floors, Foundation foundation, Material material,
+            CostParameters prices, long[] cents) {
+        updateFloodMultipliers(prices.getFloodRiskDivisor());
+        long base = Math.multiplyExact(Money.toCents(prices.getRatePerFloor(material)), floors);
+        long heritageSurcharge = Money.toCents(prices.getHeritageSurcharge());
+        long[] terrainSurcharge = new long[GridSquare.TerrainType.values().length];
+        terrainSurcharge[SWAMPY] = Math.multiplyExact(Money.toCents(prices.getSwampySurchargePerFloor()), floors);
+        terrainSurcharge[ROCKY] = Money.toCents(prices.getRockySurcharge());
+        boolean[] allowed = allowedTerrain(foundation, material);
+        int heritageCode = material.ordinal() + 1;
+        int offset = row * width;
+        int valid = 0;
+
+        for (int col = 0; col < width; col++) {
+            int i = offset + col;
+            int terrainIndex = (int) terrain[i];
+            if (isValid(i, terrainIndex, allowed, heritageCode, floors)) {
+                // flood[i] is exactly the multiplier FloodRiskCost rounds to millionths
+                long cost = floodRisk[i] == 0 ? base : Money.multiply(base, Money.toMicros(flood[i]));
+                if (heritage[i] > 0) {
+                    cost = Math.addExact(cost, heritageSurcharge);
+                }
+                cents[col] = Math.addExact(cost, terrainSurcharge[terrainIndex]);
+                valid++;
+            } else {
+                cents[col] = (long) INVALID;
+            }
+        }
+        return valid;
+    }
+
+    // Scalar evaluation of the row from column 'from' to the end
+    protected final int evaluateRange(int row, int from, int floors, Foundation foundation, Material material,
+            CostParameters prices, double[] costs) {
+        double base = prices.getRatePerFloor(material) * floors;
+        double heritageSurcharge = prices.getHeritageSurcharge();
+        boolean[] allowed = allowedTerrain(foundation, material);
+        double[] terrainSurcharge = terrainSurcharge(floors, prices);
+        int heritageCode = material.ordinal() + 1;
+        int offset = row * width;
+        int valid = 0;
+
+        for (int col = from; col < width; col++) {
+            int i = offset + col;
+            int terrainIndex = (int) terrain[i];
+            if (isValid(i, terrainIndex, allowed, heritageCode, floors)) {
+                double cost = base * flood[i] + (heritage[i] > 0 ? heritageSurcharge : 0);
+                costs[col] = cost + terrainSurcharge[terrainIndex];
+                valid++;
+            } else {
+                costs[col] = INVALID;
+            }
+        }
+        return valid;
+    }
+
+    // Same rules as CheckBuildValidation for square i
+    private boolean isValid(int i, int terrainIndex, boolean[] allowed, int heritageCode, int floors) {
+        return contamination[i] == 0 && allowed[terrainIndex]
+                && (heritage[i] == 0 || heritage[i] == heritageCode)
+                && floors <= heightLimit[i] && floors >= minFloors[i];
+    }
+
+    // Whether the foundation and material may be built on each terrain, indexed by ordinal
+    protected static boolean[] allowedTerrain(Foundation foundation, Material material) {
+        GridSquare.TerrainType[] terrains = GridSquare.TerrainType.values();
+        boolean[] allowed = new boolean[terrains.length];
+        for (GridSquare.TerrainType type : terrains) {
+            allowed[type.ordinal()] = foundation.isAllowedOn(type) && material.isAllowedOn(type);
+        }
+        return allowed;
+    }
+
+    // What TerrainCost adds for each terrain, indexed by ordinal
+    protected static double[] terrainSurcharge(int floors, CostParameters prices) {
+        double[] surcharge = new double[GridSquare.TerrainType.values().length];
+        surcharge[SWAMPY] = prices.getSwampySurchargePerFloor() * floors;
+        surcharge[ROCKY] = prices.getRockySurcharge();
+        return surcharge;
+    }
+
+    // Returns the height of the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Returns the width of the grid.
+    public int getWidth() {
+        return width;
+    }
+}
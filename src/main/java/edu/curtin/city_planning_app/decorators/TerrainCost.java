@@ -11,12 +11,24 @@ public class TerrainCost implements HandleCostCalculation {
     private HandleCostCalculation decoratedCost;
     private GridSquare.TerrainType terrain;
     private int floors;
+    private double swampySurchargePerFloor;
+    private double rockySurcharge;
 
     // Constructor that takes HandleCostCalculation, TerrainType, and floors
     public TerrainCost(HandleCostCalculation decoratedCost, GridSquare.TerrainType terrain, int floors) {
+        this(decoratedCost, terrain, floors,
+                CostParameters.Parameter.SWAMPY_SURCHARGE_PER_FLOOR.getDefaultValue(),
+                CostParameters.Parameter.ROCKY_SURCHARGE.getDefaultValue());
+    }
+
+    // Constructor with configured swampy and rocky surcharges
+    public TerrainCost(HandleCostCalculation decoratedCost, GridSquare.TerrainType terrain, int floors,
+            double swampySurchargePerFloor, double rockySurcharge) {
         this.decoratedCost = decoratedCost;
         this.terrain = terrain;
         this.floors = floors;
+        this.swampySurchargePerFloor = swampySurchargePerFloor;
+        this.rockySurcharge = rockySurcharge;
     }
 
     // Calculate the cost of a structure by adding extra cost based on terrain type.
@@ -28,12 +40,12 @@ public class TerrainCost implements HandleCostCalculation {
 
         // Modify cost based on terrain, considering the number of floors
         switch (terrain) {
-            case SWAMPY: // for swampy (20000 * floo numbers) + base cost
-                finalCost = baseCost + 20000 * floors;
+            case SWAMPY: // for swampy (surcharge per floor * floo numbers) + base cost
+                finalCost = baseCost + swampySurchargePerFloor * floors;
                 logger.info(() -> "Swampy terrain cost added, new cost: " + finalCost);
                 break;
-            case ROCKY: // for rocky (50000) + base cost
-                finalCost = baseCost + 50000;
+            case ROCKY: // for rocky (fixed surcharge) + base cost
+                finalCost = baseCost + rockySurcharge;
                 logger.info(() -> "Rocky terrain cost added, new cost: " + finalCost);
                 break;
             case FLAT: // for flat (base cost)
@@ -47,4 +59,18 @@ public class TerrainCost implements HandleCostCalculation {
 
         return finalCost; // Return the modified cost
     }
+
+    // The same surcharges, each rounded to cents
+    @Override
+    public long calculateCostCents() {
+        long baseCents = decoratedCost.calculateCostCents();
+        switch (terrain) {
+            case SWAMPY:
+                return Math.addExact(baseCents, Math.multiplyExact(Money.toCents(swampySurchargePerFloor), floors));
+            case ROCKY:
+                return Math.addExact(baseCents, Money.toCents(rockySurcharge));
+            default:
+                return baseCents;
+        }
+    }
 }
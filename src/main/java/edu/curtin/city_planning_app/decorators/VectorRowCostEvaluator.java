@@ -0,0 +1,78 @@
+// VectorRowCostEvaluator.java
+package edu.curtin.city_planning_app.decorators;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Row cost evaluator using the Vector API, as many squares per instruction as the CPU allows.
+// Validation becomes a lane mask, and squares outside it are written as INVALID.
+// Every lane does the same multiplies and adds in the same order as the scalar version,
+// so results are identical. The columns left over after the last full vector use the scalar loop.
+// Only loaded when the jdk.incubator.vector module is present, see RowCostEvaluator.create().
+public class VectorRowCostEvaluator extends RowCostEvaluator {
+    private static final Logger logger = Logger.getLogger(VectorRowCostEvaluator.class.getName());
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    public VectorRowCostEvaluator(CityGrid grid) {
+        this(grid, null, null);
+    }
+
+    // Evaluator over a chosen list of squares, see RowCostEvaluator.
+    public VectorRowCostEvaluator(CityGrid grid, int[] rows, int[] cols) {
+        super(grid, rows, cols);
+        logger.info(() -> "Vector row cost evaluator using " + SPECIES.length() + " lanes");
+    }
+
+    @Override
+    public int evaluateRow(int row, int floors, Foundation foundation, Material material, CostParameters prices,
+            double[] costs) {
+        updateFloodMultipliers(prices.getFloodRiskDivisor());
+        boolean[] allowed = allowedTerrain(foundation, material);
+        double[] surcharge = terrainSurcharge(floors, prices);
+        DoubleVector base = DoubleVector.broadcast(SPECIES, prices.getRatePerFloor(material) * floors);
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        DoubleVector invalid = DoubleVector.broadcast(SPECIES, INVALID);
+        DoubleVector heritageSurcharge = DoubleVector.broadcast(SPECIES, prices.getHeritageSurcharge());
+        DoubleVector swampySurcharge = DoubleVector.broadcast(SPECIES, surcharge[SWAMPY]);
+        DoubleVector rockySurcharge = DoubleVector.broadcast(SPECIES, surcharge[ROCKY]);
+        VectorMask<Double> none = SPECIES.maskAll(false);
+        int heritageCode = material.ordinal() + 1;
+        int offset = row * width;
+        int bound = SPECIES.loopBound(width);
+        int valid = 0;
+
+        for (int col = 0; col < bound; col += SPECIES.length()) {
+            int i = offset + col;
+            DoubleVector terrainLanes = DoubleVector.fromArray(SPECIES, terrain, i);
+            VectorMask<Double> flat = terrainLanes.compare(VectorOperators.EQ, FLAT);
+            VectorMask<Double> swampy = terrainLanes.compare(VectorOperators.EQ, SWAMPY);
+            VectorMask<Double> rocky = terrainLanes.compare(VectorOperators.EQ, ROCKY);
+            DoubleVector heritageLanes = DoubleVector.fromArray(SPECIES, heritage, i);
+            VectorMask<Double> heritageMask = heritageLanes.compare(VectorOperators.GT, 0);
+
+            // Same rules as CheckBuildValidation, one lane per square
+            VectorMask<Double> validMask = DoubleVector.fromArray(SPECIES, contamination, i)
+                    .compare(VectorOperators.EQ, 0)
+                    .and((allowed[FLAT] ? flat : none).or(allowed[SWAMPY] ? swampy : none)
+                            .or(allowed[ROCKY] ? rocky : none))
+                    .and(heritageMask.not().or(heritageLanes.compare(VectorOperators.EQ, heritageCode)))
+                    .and(DoubleVector.fromArray(SPECIES, heightLimit, i).compare(VectorOperators.GE, floors))
+                    .and(DoubleVector.fromArray(SPECIES, minFloors, i).compare(VectorOperators.LE, floors));
+
+            DoubleVector cost = base.mul(DoubleVector.fromArray(SPECIES, flood, i))
+                    .add(zero.blend(heritageSurcharge, heritageMask))
+                    .add(zero.blend(swampySurcharge, swampy).blend(rockySurcharge, rocky));
+            invalid.blend(cost, validMask).intoArray(costs, col);
+            valid += validMask.trueCount();
+        }
+        return valid + evaluateRange(row, bound, floors, foundation, material, prices, costs);
+    }
+}
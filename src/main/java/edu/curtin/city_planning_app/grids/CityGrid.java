@@ -1,6 +1,8 @@
 // CityGrid.java
 package edu.curtin.city_planning_app.grids;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.logging.Logger;
 
 public class CityGrid {
@@ -8,7 +10,10 @@ public class CityGrid {
 
     private int height;
     private int width;
-    private GridSquare[][] gridSquares;
+    private GridSquare[][] gridSquares; // null until loaded when the grid is lazy
+    private LazyGridFile lazyFile; // Parses squares on demand until the whole grid is loaded
+    private OffHeapGrid offHeap; // Zoning records outside the heap, instead of GridSquare objects
+    private SpatialIndex spatialIndex; // Built on first use
 
     public CityGrid(GridSquare[][] gridSquares) {
         this.gridSquares = gridSquares;
@@ -17,9 +22,92 @@ public class CityGrid {
         logger.info(() -> "CityGrid created with dimensions: " + height + "x" + width);
     }
 
+    // Lazy grid, squares are parsed from the file as they are asked for.
+    public CityGrid(LazyGridFile lazyFile) {
+        this.lazyFile = lazyFile;
+        this.height = lazyFile.getHeight();
+        this.width = lazyFile.getWidth();
+        logger.info(() -> "Lazy CityGrid created with dimensions: " + height + "x" + width);
+    }
+
+    // Off-heap grid, zoning is read straight from fixed-size records.
+    public CityGrid(OffHeapGrid offHeap) {
+        this.offHeap = offHeap;
+        this.height = offHeap.getHeight();
+        this.width = offHeap.getWidth();
+        logger.info(() -> "Off-heap CityGrid created with dimensions: " + height + "x" + width);
+    }
+
     // Returns the GridSquare object at the given row and column.
+    // An off-heap grid builds a new object each time, so hot paths should use the accessors below.
     public GridSquare getGridSquare(int row, int col) {
-        return gridSquares[row][col];
+        if (gridSquares != null) {
+            return gridSquares[row][col];
+        }
+        if (offHeap != null) {
+            return offHeap.toGridSquare(row, col);
+        }
+        return lazyFile.getSquare(row, col);
+    }
+
+    /* --- Per-square zoning, read without creating objects on an off-heap grid --- */
+
+    // Returns the terrain at the given row and column.
+    public GridSquare.TerrainType getTerrain(int row, int col) {
+        return offHeap == null ? getGridSquare(row, col).getTerrain() : offHeap.getTerrain(row, col);
+    }
+
+    // Returns the heritage material at the given row and column, or null if it has none.
+    public Material getHeritage(int row, int col) {
+        return offHeap == null ? getGridSquare(row, col).getHeritage() : offHeap.getHeritage(row, col);
+    }
+
+    // Checks if the square at the given row and column is contaminated.
+    public boolean isContaminated(int row, int col) {
+        return offHeap == null ? getGridSquare(row, col).isContaminated() : offHeap.isContaminated(row, col);
+    }
+
+    // Checks if the square at the given row and column has a flood risk.
+    public boolean hasFloodRisk(int row, int col) {
+        return offHeap == null ? getGridSquare(row, col).hasFloodRisk() : offHeap.hasFloodRisk(row, col);
+    }
+
+    // Returns the flood risk at the given row and column, 0 if it has none.
+    public double getFloodRisk(int row, int col) {
+        if (offHeap != null) {
+            return offHeap.getFloodRisk(row, col);
+        }
+        GridSquare square = getGridSquare(row, col);
+        return square.hasFloodRisk() ? square.getFloodRisk() : 0;
+    }
+
+    // Checks if the square at the given row and column has a height limit.
+    public boolean hasHeightLimit(int row, int col) {
+        return offHeap == null ? getGridSquare(row, col).hasHeightLimit() : offHeap.hasHeightLimit(row, col);
+    }
+
+    // Returns the height limit at the given row and column, 0 if it has none.
+    public int getHeightLimit(int row, int col) {
+        if (offHeap != null) {
+            return offHeap.getHeightLimit(row, col);
+        }
+        GridSquare square = getGridSquare(row, col);
+        return square.hasHeightLimit() ? square.getHeightLimit() : 0;
+    }
+
+    // Parses every square of a lazy grid in one sequential pass, so whole-grid work
+    // (eg. a strategy run) doesn't go through the square cache. Does nothing once loaded.
+    public void loadAll() {
+        if (lazyFile == null) {
+            return;
+        }
+        try {
+            gridSquares = lazyFile.loadAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading grid file: " + e.getMessage(), e);
+        }
+        lazyFile = null;
+        logger.info("Lazy CityGrid fully loaded.");
     }
 
     // Checks if the given row and column represent a valid position on the grid.
@@ -36,4 +124,13 @@ public class CityGrid {
     public int getWidth() {
         return width;
     }
+
+    // Returns the spatial query layer for this grid, building it on first use.
+    public SpatialIndex getSpatialIndex() {
+        if (spatialIndex == null) {
+            loadAll();
+            spatialIndex = new SpatialIndex(this);
+        }
+        return spatialIndex;
+    }
 }
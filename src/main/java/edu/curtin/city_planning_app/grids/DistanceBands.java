@@ -0,0 +1,106 @@
+// DistanceBands.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.logging.Logger;
+
+// Distance-band index around a fixed centre square.
+// Distances are kept as exact integer squared distances, so callers can map them to bands
+// through precomputed tables instead of calling Math.sqrt for every square.
+// The ring index (squares grouped by whole-number distance) is built on first use
+// and answers radius queries in time proportional to the squares returned.
+public class DistanceBands {
+    private static final Logger logger = Logger.getLogger(DistanceBands.class.getName());
+
+    private final int height;
+    private final int width;
+    private final int centreRow;
+    private final int centreCol;
+    private int[] ringStarts; // offsets into ringSquares for each ring, built lazily
+    private int[] ringSquares; // row-major square indexes grouped by ring
+
+    public DistanceBands(int height, int width, int centreRow, int centreCol) {
+        this.height = height;
+        this.width = width;
+        this.centreRow = centreRow;
+        this.centreCol = centreCol;
+    }
+
+    // Exact squared euclidean distance between (row, col) and the centre.
+    public long distanceSquared(int row, int col) {
+        long dr = row - centreRow;
+        long dc = col - centreCol;
+        return dr * dr + dc * dc;
+    }
+
+    // The whole-number ring (floor of the distance) that (row, col) falls in.
+    public int ring(int row, int col) {
+        return isqrt(distanceSquared(row, col));
+    }
+
+    // Largest squared distance of any square in the grid, useful for sizing band tables.
+    public long maxDistanceSquared() {
+        long dr = Math.max(centreRow, height - 1 - centreRow);
+        long dc = Math.max(centreCol, width - 1 - centreCol);
+        return dr * dr + dc * dc;
+    }
+
+    // Visits every square within the given euclidean radius of the centre,
+    // nearest rings first.
+    public void forEachWithinRadius(double radius, SquareVisitor visitor) {
+        if (radius < 0) {
+            return;
+        }
+        if (ringSquares == null) {
+            buildRings();
+        }
+
+        int lastRing = (int) Math.min(Math.floor(radius), ringStarts.length - 2L);
+        double radiusSquared = radius * radius;
+        for (int i = 0; i < ringStarts[lastRing + 1]; i++) {
+            int row = ringSquares[i] / width;
+            int col = ringSquares[i] % width;
+            // Only the outermost ring can hold squares beyond the radius
+            if (i < ringStarts[lastRing] || distanceSquared(row, col) <= radiusSquared) {
+                visitor.visit(row, col);
+            }
+        }
+    }
+
+    // Groups every square by ring with a counting sort
+    private void buildRings() {
+        int rings = isqrt(maxDistanceSquared()) + 1;
+        int[] starts = new int[rings + 1];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                starts[ring(row, col) + 1]++;
+            }
+        }
+        for (int r = 0; r < rings; r++) {
+            starts[r + 1] += starts[r];
+        }
+
+        int[] next = starts.clone();
+        int[] squares = new int[height * width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                squares[next[ring(row, col)]++] = row * width + col;
+            }
+        }
+
+        this.ringStarts = starts;
+        this.ringSquares = squares;
+        logger.info(() -> "Built " + rings + " distance rings around (" + centreRow + "," + centreCol + ")");
+    }
+
+    // Integer square root, corrected for floating point rounding on large values
+    private static int isqrt(long value) {
+        long root = (long) Math.sqrt(value);
+        while (root * root > value) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return (int) root;
+    }
+}
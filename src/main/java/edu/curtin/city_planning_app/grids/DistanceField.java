@@ -0,0 +1,145 @@
+// DistanceField.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// Exact euclidean distance transform from a set of source squares (eg. city centres).
+// For every square it stores the squared distance to, and the index of, the nearest source.
+// Uses the separable Felzenszwalb-Huttenlocher transform: a column sweep followed by a
+// lower-envelope pass per row, so the cost is O(height * width) no matter how many sources.
+public class DistanceField {
+    private static final Logger logger = Logger.getLogger(DistanceField.class.getName());
+    private static final long NO_SOURCE = Long.MAX_VALUE;
+
+    private final int height;
+    private final int width;
+    private final long[] distanceSquared; // row-major squared distance to the nearest source
+    private final int[] nearestSource; // row-major index of the nearest source
+
+    public DistanceField(int height, int width, int[] sourceRows, int[] sourceCols) {
+        if (sourceRows.length == 0 || sourceRows.length != sourceCols.length) {
+            throw new IllegalArgumentException("Distance field needs at least one source with a row and column.");
+        }
+        this.height = height;
+        this.width = width;
+        this.distanceSquared = new long[height * width];
+        this.nearestSource = new int[height * width];
+
+        int[] sourceAt = new int[height * width];
+        Arrays.fill(sourceAt, -1);
+        for (int s = 0; s < sourceRows.length; s++) {
+            if (sourceRows[s] < 0 || sourceRows[s] >= height || sourceCols[s] < 0 || sourceCols[s] >= width) {
+                throw new IllegalArgumentException("Source (" + sourceRows[s] + "," + sourceCols[s]
+                        + ") is outside the grid.");
+            }
+            int index = sourceRows[s] * width + sourceCols[s];
+            if (sourceAt[index] < 0) {
+                sourceAt[index] = s; // first source wins when two share a square
+            }
+        }
+
+        sweepColumns(sourceAt);
+        transformRows();
+        logger.info(() -> "DistanceField built for " + height + "x" + width + " grid with "
+                + sourceRows.length + " sources");
+    }
+
+    // Squared distance from (row, col) to the nearest source.
+    public long getDistanceSquared(int row, int col) {
+        return distanceSquared[row * width + col];
+    }
+
+    // Index (in the order given to the constructor) of the source nearest to (row, col).
+    public int getNearestSource(int row, int col) {
+        return nearestSource[row * width + col];
+    }
+
+    // Pass 1: vertical distance to the nearest source in the same column.
+    // Done as a forward and a backward sweep over whole rows to stay cache friendly.
+    private void sweepColumns(int[] sourceAt) {
+        int[] lastRow = new int[width];
+        int[] lastSource = new int[width];
+        Arrays.fill(lastRow, -1);
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                if (sourceAt[index] >= 0) {
+                    lastRow[col] = row;
+                    lastSource[col] = sourceAt[index];
+                }
+                if (lastRow[col] < 0) {
+                    distanceSquared[index] = NO_SOURCE;
+                } else {
+                    long dr = row - lastRow[col];
+                    distanceSquared[index] = dr * dr;
+                    nearestSource[index] = lastSource[col];
+                }
+            }
+        }
+
+        Arrays.fill(lastRow, -1);
+        for (int row = height - 1; row >= 0; row--) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                if (sourceAt[index] >= 0) {
+                    lastRow[col] = row;
+                    lastSource[col] = sourceAt[index];
+                }
+                if (lastRow[col] >= 0) {
+                    long dr = lastRow[col] - row;
+                    if (dr * dr < distanceSquared[index]) {
+                        distanceSquared[index] = dr * dr;
+                        nearestSource[index] = lastSource[col];
+                    }
+                }
+            }
+        }
+    }
+
+    // Pass 2: per row, the lower envelope of the parabolas (col - q)^2 + vertical(q)^2
+    private void transformRows() {
+        long[] columnDistance = new long[width];
+        int[] columnSource = new int[width];
+        int[] vertices = new int[width];
+        double[] boundaries = new double[width + 1];
+
+        for (int row = 0; row < height; row++) {
+            int offset = row * width;
+            System.arraycopy(distanceSquared, offset, columnDistance, 0, width);
+            System.arraycopy(nearestSource, offset, columnSource, 0, width);
+
+            int k = -1;
+            for (int q = 0; q < width; q++) {
+                if (columnDistance[q] == NO_SOURCE) {
+                    continue;
+                }
+                while (k >= 0 && intersect(columnDistance, vertices[k], q) <= boundaries[k]) {
+                    k--;
+                }
+                k++;
+                vertices[k] = q;
+                boundaries[k] = k == 0 ? Double.NEGATIVE_INFINITY : intersect(columnDistance, vertices[k - 1], q);
+                boundaries[k + 1] = Double.POSITIVE_INFINITY;
+            }
+
+            int j = 0;
+            for (int q = 0; q < width; q++) {
+                while (boundaries[j + 1] < q) {
+                    j++;
+                }
+                long dc = q - vertices[j];
+                distanceSquared[offset + q] = dc * dc + columnDistance[vertices[j]];
+                nearestSource[offset + q] = columnSource[vertices[j]];
+            }
+        }
+    }
+
+    // Column where the parabolas rooted at columns p and q (p < q) intersect
+    private static double intersect(long[] f, int p, int q) {
+        double fp = f[p] + (double) p * p;
+        double fq = f[q] + (double) q * q;
+        return (fq - fp) / (2.0 * (q - p));
+    }
+}
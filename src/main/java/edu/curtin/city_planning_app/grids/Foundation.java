@@ -0,0 +1,39 @@
+// Foundation.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.Locale;
+
+// Foundation types, with the terrain they cannot be built on.
+public enum Foundation {
+    SLAB(GridSquare.TerrainType.SWAMPY),
+    STILTS(null);
+
+    private final GridSquare.TerrainType forbiddenTerrain;
+    private final String label;
+
+    Foundation(GridSquare.TerrainType forbiddenTerrain) {
+        this.forbiddenTerrain = forbiddenTerrain;
+        this.label = name().toLowerCase(Locale.ROOT);
+    }
+
+    // Check whether this foundation may be used on the terrain.
+    public boolean isAllowedOn(GridSquare.TerrainType terrain) {
+        return terrain != forbiddenTerrain;
+    }
+
+    // Parses a foundation name (case insensitive), eg. from user input.
+    public static Foundation fromString(String value) {
+        for (Foundation foundation : values()) {
+            if (foundation.label.equalsIgnoreCase(value.trim())) {
+                return foundation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown foundation: " + value);
+    }
+
+    // Lower case name, as used in user input.
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,26 @@
+// GridErrorCategory.java
+package edu.curtin.city_planning_app.grids;
+
+// Kinds of error a grid file can contain, one for each of the faulty test files in src/test/testResources
+public enum GridErrorCategory {
+    EMPTY_GRID("Empty grid"),
+    INVALID_DIMENSIONS("Invalid dimensions"),
+    MISSING_RECORDS("Missing records"),
+    INVALID_TERRAIN("Invalid terrain"),
+    INVALID_ZONING_RULE("Invalid zoning rule"),
+    INVALID_HERITAGE("Invalid heritage"),
+    INVALID_FLOOD_RISK("Invalid flood risk"),
+    INVALID_CONTAMINATION("Invalid contamination"),
+    INVALID_HEIGHT_LIMIT("Invalid height limit");
+
+    private final String label;
+
+    GridErrorCategory(String label) {
+        this.label = label;
+    }
+
+    // Get the description shown to the user.
+    public String getLabel() {
+        return label;
+    }
+}
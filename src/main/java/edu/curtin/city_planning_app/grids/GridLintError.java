@@ -0,0 +1,35 @@
+// GridLintError.java
+package edu.curtin.city_planning_app.grids;
+
+// One error found in a grid file by GridLoader.lintGrid
+public class GridLintError {
+    private final long line; // 1 is the dimensions line
+    private final GridErrorCategory category;
+    private final String message;
+
+    public GridLintError(long line, GridErrorCategory category, String message) {
+        this.line = line;
+        this.category = category;
+        this.message = message;
+    }
+
+    // Get the line the error is on, counting from 1.
+    public long getLine() {
+        return line;
+    }
+
+    // Get the kind of error.
+    public GridErrorCategory getCategory() {
+        return category;
+    }
+
+    // Get the description of the error.
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "Line " + line + " [" + category.getLabel() + "] " + message;
+    }
+}
@@ -0,0 +1,97 @@
+// GridLintReport.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Every error GridLoader.lintGrid found in a grid file.
+// Errors are counted in full, but only the first few of each category (on the earliest lines)
+// are kept, so a file that is wrong on every line still gives a short report.
+public class GridLintReport {
+    private final int height; // 0 when the dimensions line is invalid
+    private final int width;
+    private final long squareLines;
+    private final long bytes;
+    private final long wallNanos;
+    private final Map<GridErrorCategory, List<GridLintError>> errors;
+    private final Map<GridErrorCategory, Long> counts;
+
+    /* default */ GridLintReport(int height, int width, long squareLines, long bytes, long wallNanos,
+            Map<GridErrorCategory, List<GridLintError>> errors, Map<GridErrorCategory, Long> counts) {
+        this.height = height;
+        this.width = width;
+        this.squareLines = squareLines;
+        this.bytes = bytes;
+        this.wallNanos = wallNanos;
+        this.errors = new EnumMap<>(errors);
+        this.counts = new EnumMap<>(counts);
+    }
+
+    // True when the file has no errors, so GridLoader would load it.
+    public boolean isValid() {
+        return counts.isEmpty();
+    }
+
+    // Get the grid height from the dimensions line, 0 if it is invalid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Get the grid width from the dimensions line, 0 if it is invalid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Number of square lines checked (every line after the first when the dimensions are invalid).
+    public long getSquareLines() {
+        return squareLines;
+    }
+
+    // Size of the file in bytes.
+    public long getBytes() {
+        return bytes;
+    }
+
+    // Time taken to lint the file, in milliseconds.
+    public double getWallMillis() {
+        return wallNanos / 1e6;
+    }
+
+    // Bytes linted per second, in MB (2^20 bytes).
+    public double getMegabytesPerSecond() {
+        return wallNanos == 0 ? 0 : bytes / (1024.0 * 1024.0) / (wallNanos / 1e9);
+    }
+
+    // Total number of errors in every category.
+    public long getErrorCount() {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    // Number of errors of one category, including those not kept.
+    public long getCount(GridErrorCategory category) {
+        return counts.getOrDefault(category, 0L);
+    }
+
+    // The errors kept for one category, in line order.
+    public List<GridLintError> getErrors(GridErrorCategory category) {
+        return Collections.unmodifiableList(errors.getOrDefault(category, List.of()));
+    }
+
+    // Every error kept, in line order.
+    public List<GridLintError> getErrors() {
+        List<GridLintError> all = new ArrayList<>();
+        for (List<GridLintError> category : errors.values()) {
+            all.addAll(category);
+        }
+        all.sort(Comparator.comparingLong(GridLintError::getLine));
+        return all;
+    }
+}
@@ -0,0 +1,535 @@
+// GridLinter.java
+package edu.curtin.city_planning_app.grids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+// Checks a grid file against every rule GridLoader applies, without stopping at the first error
+// and without creating any GridSquares.
+// The body is split into chunks that start on line boundaries, and each worker reads its chunks
+// with positional reads into one reusable buffer, checking each line's bytes in place. Chunks
+// number their lines from 0, and are rebased once the line counts of the chunks before them are
+// known, so the file is only read once. Lines past the last square are ignored, like the loader
+// does, so the chunk holding the last square is checked again up to that square if the file has
+// extra lines.
+// Strings are only made for the text of an error, or for the rare field a byte comparison can't
+// decide on its own (eg. a flood risk like "1e2"), which is then parsed exactly as the loader does.
+/* default */ class GridLinter {
+    private static final Logger logger = Logger.getLogger(GridLinter.class.getName());
+
+    private static final int BUFFER_SIZE = 1 << 20; // bytes read at a time by each worker
+    private static final long MIN_CHUNK_BYTES = 4L << 20; // smaller files are split into fewer chunks
+    private static final int CHUNKS_PER_THREAD = 4; // so a worker with an easy chunk can take another
+    private static final int MAX_FAST_FLOOD_DIGITS = 15; // digits a double holds exactly
+    private static final int MAX_FAST_HEIGHT_DIGITS = 9; // digits an int always holds
+    private static final int FIRST_SQUARE_LINE = 2;
+
+    private static final byte[][] TERRAIN = { bytes("FLAT"), bytes("SWAMPY"), bytes("ROCKY") };
+    private static final byte[] HERITAGE = bytes("heritage");
+    private static final byte[] FLOOD_RISK = bytes("flood-risk");
+    private static final byte[] CONTAMINATION = bytes("contamination");
+    private static final byte[] HEIGHT_LIMIT = bytes("height-limit");
+    private static final byte[][] HERITAGE_VALUES = { bytes("stone"), bytes("brick"), bytes("wood") };
+    private static final byte[] TRUE = bytes("true");
+    private static final byte[] FALSE = bytes("false");
+
+    private final GridLoader loader;
+    private final int threads;
+    private final int maxPerCategory;
+
+    /* default */ GridLinter(GridLoader loader, int threads, int maxPerCategory) {
+        if (maxPerCategory <= 0) {
+            throw new IllegalArgumentException("At least one error per category must be kept.");
+        }
+        this.loader = loader;
+        this.threads = Math.max(1, threads);
+        this.maxPerCategory = maxPerCategory;
+    }
+
+    // Checks every line of the file and reports the errors found
+    /* default */ GridLintReport lint(Path resourcePath) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ChunkResult header = new ChunkResult(maxPerCategory);
+            byte[] headerBytes = readHeader(channel);
+            long bodyStart = Math.min(size, headerBytes.length + 1L);
+            int[] dimensions = checkHeader(headerBytes, header);
+            long squares = dimensions == null ? Long.MAX_VALUE : (long) dimensions[0] * dimensions[1];
+
+            long[] starts = splitBody(channel, bodyStart, size);
+            List<ChunkResult> chunks = lintChunks(channel, starts);
+
+            // Rebase each chunk's line numbers, checking again the chunk that holds the last square
+            ChunkResult merged = new ChunkResult(maxPerCategory);
+            merged.mergeFrom(header, 0);
+            long squareLines = 0;
+            for (int c = 0; c < chunks.size() && squareLines < squares; c++) {
+                ChunkResult chunk = chunks.get(c);
+                if (squareLines + chunk.lines > squares) {
+                    chunk = lintRange(channel, starts[c], starts[c + 1], squares - squareLines);
+                }
+                merged.mergeFrom(chunk, squareLines + FIRST_SQUARE_LINE);
+                squareLines += chunk.lines;
+            }
+            if (dimensions != null && squareLines < squares) {
+                long missingLine = squareLines + FIRST_SQUARE_LINE;
+                merged.add(missingLine, GridErrorCategory.MISSING_RECORDS,
+                        loader.missingRecords((int) Math.min(Integer.MAX_VALUE, missingLine)).getMessage() + " ("
+                                + (squares - squareLines) + " of " + squares + " records missing)");
+            }
+
+            long wallNanos = System.nanoTime() - start;
+            GridLintReport report = new GridLintReport(dimensions == null ? 0 : dimensions[0],
+                    dimensions == null ? 0 : dimensions[1], squareLines, size, wallNanos, merged.errors,
+                    merged.counts);
+            logger.info(() -> "Linted " + resourcePath + ": " + report.getErrorCount() + " errors in "
+                    + report.getSquareLines() + " squares, " + wallNanos / 1_000_000 + " ms");
+            return report;
+        }
+    }
+
+    // Reads the bytes of the first line, without its line ending
+    private static byte[] readHeader(FileChannel channel) throws IOException {
+        byte[] buffer = new byte[256];
+        int filled = 0;
+        while (true) {
+            if (filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, filled, buffer.length - filled), filled);
+            if (read <= 0) {
+                return Arrays.copyOf(buffer, filled);
+            }
+            int newline = indexOf(buffer, (byte) '\n', filled, filled + read);
+            filled += read;
+            if (newline >= 0) {
+                return Arrays.copyOf(buffer, newline);
+            }
+        }
+    }
+
+    // Checks the dimensions line, returns {height, width} or null if it is invalid
+    private int[] checkHeader(byte[] headerBytes, ChunkResult header) {
+        int end = headerBytes.length > 0 && headerBytes[headerBytes.length - 1] == '\r' ? headerBytes.length - 1
+                : headerBytes.length;
+        String line = headerBytes.length == 0 ? null
+                : new String(headerBytes, 0, end, Charset.defaultCharset());
+        try {
+            return loader.parseDimensions(line);
+        } catch (IOException e) {
+            GridErrorCategory category = emptyDimensions(line) ? GridErrorCategory.EMPTY_GRID
+                    : GridErrorCategory.INVALID_DIMENSIONS;
+            header.add(1, category, e.getMessage());
+            return null;
+        }
+    }
+
+    // True when the dimensions line is missing, or holds two integers one of which isn't positive
+    private static boolean emptyDimensions(String line) {
+        if (line == null || line.trim().isEmpty()) {
+            return true;
+        }
+        String[] dimensions = line.split(",");
+        try {
+            return dimensions.length == 2
+                    && (Integer.parseInt(dimensions[0].trim()) <= 0 || Integer.parseInt(dimensions[1].trim()) <= 0);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Splits [bodyStart, size) into chunks that each start at the beginning of a line
+    private long[] splitBody(FileChannel channel, long bodyStart, long size) throws IOException {
+        long bodyBytes = size - bodyStart;
+        int chunks = (int) Math.max(1, Math.min((long) threads * CHUNKS_PER_THREAD, bodyBytes / MIN_CHUNK_BYTES));
+        long[] starts = new long[chunks + 1];
+        starts[0] = bodyStart;
+        starts[chunks] = size;
+        byte[] window = new byte[4096];
+        for (int c = 1; c < chunks; c++) {
+            long position = Math.max(bodyStart + bodyBytes * c / chunks, starts[c - 1]);
+            long lineStart = size;
+            while (position < size) {
+                int read = channel.read(ByteBuffer.wrap(window), position);
+                if (read <= 0) {
+                    break;
+                }
+                int newline = indexOf(window, (byte) '\n', 0, read);
+                if (newline >= 0) {
+                    lineStart = position + newline + 1;
+                    break;
+                }
+                position += read;
+            }
+            starts[c] = lineStart;
+        }
+        return starts;
+    }
+
+    // Lints every chunk with the worker threads, results in chunk order
+    private List<ChunkResult> lintChunks(FileChannel channel, long[] starts) throws IOException {
+        int chunks = starts.length - 1;
+        List<ChunkResult> results = new ArrayList<>();
+        if (threads == 1 || chunks == 1) {
+            for (int c = 0; c < chunks; c++) {
+                results.add(lintRange(channel, starts[c], starts[c + 1], Long.MAX_VALUE));
+            }
+            return results;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, chunks));
+        try {
+            List<Future<ChunkResult>> futures = new ArrayList<>();
+            for (int c = 0; c < chunks; c++) {
+                long from = starts[c];
+                long to = starts[c + 1];
+                futures.add(pool.submit(() -> lintRange(channel, from, to, Long.MAX_VALUE)));
+            }
+            for (Future<ChunkResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Linting the grid was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Linting the grid failed: " + e.getCause().getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Lints at most 'maxLines' lines of [from, to), numbering them from 0
+    private ChunkResult lintRange(FileChannel channel, long from, long to, long maxLines) throws IOException {
+        ChunkResult result = new ChunkResult(maxPerCategory);
+        byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, to - from))];
+        int filled = 0;
+        long position = from;
+        while (position < to && result.lines < maxLines) {
+            if (filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2); // a line longer than the buffer
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, filled, (int) Math.min(buffer.length - filled,
+                    to - position)), position);
+            if (read <= 0) {
+                break; // the file was cut short while linting
+            }
+            position += read;
+            int scanFrom = filled;
+            filled += read;
+
+            int lineStart = 0;
+            int newline = indexOf(buffer, (byte) '\n', scanFrom, filled);
+            while (newline >= 0 && result.lines < maxLines) {
+                lintLine(buffer, lineStart, newline, result);
+                lineStart = newline + 1;
+                newline = indexOf(buffer, (byte) '\n', lineStart, filled);
+            }
+            System.arraycopy(buffer, lineStart, buffer, 0, filled - lineStart); // keep the partial line
+            filled -= lineStart;
+        }
+        if (filled > 0 && result.lines < maxLines) {
+            lintLine(buffer, 0, filled, result); // last line without a newline
+        }
+        return result;
+    }
+
+    // Checks one square line in [from, to), the same way GridLoader.parseGridSquare does
+    private static void lintLine(byte[] line, int from, int to, ChunkResult result) {
+        long lineIndex = result.lines++;
+        int end = to > from && line[to - 1] == '\r' ? to - 1 : to;
+        // String.split drops trailing empty fields
+        while (end > from && line[end - 1] == ',') {
+            end--;
+        }
+
+        int fieldEnd = indexOf(line, (byte) ',', from, end);
+        if (fieldEnd < 0) {
+            fieldEnd = end;
+        }
+        checkTerrain(line, from, fieldEnd, lineIndex, result);
+        while (fieldEnd < end) {
+            int fieldStart = fieldEnd + 1;
+            fieldEnd = indexOf(line, (byte) ',', fieldStart, end);
+            if (fieldEnd < 0) {
+                fieldEnd = end;
+            }
+            checkRule(line, fieldStart, fieldEnd, lineIndex, result);
+        }
+    }
+
+    // Checks the terrain field in [from, to)
+    private static void checkTerrain(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        int start = trimStart(line, from, to);
+        int end = trimEnd(line, start, to);
+        if (start == end) {
+            result.add(lineIndex, GridErrorCategory.INVALID_TERRAIN, "Terrain type cannot be empty.");
+            return;
+        }
+        if (isAscii(line, start, end)) {
+            for (byte[] terrain : TERRAIN) {
+                if (equalsIgnoreCase(line, start, end, terrain)) {
+                    return;
+                }
+            }
+            invalidTerrain(line, from, to, lineIndex, result);
+        } else {
+            // Some non-ASCII letters upper-case to ASCII ones, so leave this one to valueOf
+            try {
+                GridSquare.TerrainType.valueOf(decode(line, from, to).toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                invalidTerrain(line, from, to, lineIndex, result);
+            }
+        }
+    }
+
+    private static void invalidTerrain(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        result.add(lineIndex, GridErrorCategory.INVALID_TERRAIN, "Invalid terrain type: '" + decode(line, from, to)
+                + "', terrain type must be: ('FLAT', 'SWAMPY', 'ROCKY')");
+    }
+
+    // Checks one zoning rule field in [from, to)
+    private static void checkRule(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        // String.split("=") drops trailing empty parts too
+        int end = to;
+        while (end > from && line[end - 1] == '=') {
+            end--;
+        }
+        int equals = indexOf(line, (byte) '=', from, end);
+        if (equals < 0) {
+            int start = trimStart(line, from, end);
+            if (!matches(line, start, trimEnd(line, start, end), CONTAMINATION)) {
+                result.add(lineIndex, GridErrorCategory.INVALID_ZONING_RULE,
+                        "Invalid zoning rule: '" + decode(line, from, to) + "'");
+            }
+            return;
+        }
+        if (indexOf(line, (byte) '=', equals + 1, end) >= 0) {
+            result.add(lineIndex, GridErrorCategory.INVALID_ZONING_RULE,
+                    "Invalid zoning rule: '" + decode(line, from, to) + "'");
+            return;
+        }
+
+        int keyStart = trimStart(line, from, equals);
+        int keyEnd = trimEnd(line, keyStart, equals);
+        int valueStart = trimStart(line, equals + 1, end);
+        int valueEnd = trimEnd(line, valueStart, end);
+        if (matches(line, keyStart, keyEnd, HERITAGE)) {
+            checkHeritage(line, valueStart, valueEnd, lineIndex, result);
+        } else if (matches(line, keyStart, keyEnd, FLOOD_RISK)) {
+            checkFloodRisk(line, valueStart, valueEnd, lineIndex, result);
+        } else if (matches(line, keyStart, keyEnd, CONTAMINATION)) {
+            if (!matches(line, valueStart, valueEnd, TRUE) && !matches(line, valueStart, valueEnd, FALSE)) {
+                result.add(lineIndex, GridErrorCategory.INVALID_CONTAMINATION,
+                        "Contamination value must be 'true' or 'false': " + decode(line, valueStart, valueEnd));
+            }
+        } else if (matches(line, keyStart, keyEnd, HEIGHT_LIMIT)) {
+            checkHeightLimit(line, valueStart, valueEnd, lineIndex, result);
+        } else {
+            result.add(lineIndex, GridErrorCategory.INVALID_ZONING_RULE, "Unknown zoning rule: '"
+                    + decode(line, keyStart, keyEnd)
+                    + "', valid rules: ('heritage', 'flood-risk', 'contamination', 'height-limit').");
+        }
+    }
+
+    // Heritage must be stone, brick or wood
+    private static void checkHeritage(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        for (byte[] heritage : HERITAGE_VALUES) {
+            if (matches(line, from, to, heritage)) {
+                return;
+            }
+        }
+        result.add(lineIndex, GridErrorCategory.INVALID_HERITAGE, "Invalid heritage value: "
+                + decode(line, from, to) + ", heritage must be: ('stone', 'brick', 'wood').");
+    }
+
+    // Flood risk must be a number between 0 and 100.
+    // Plain decimals of up to 15 digits are checked from their digits (none of them can round to
+    // exactly 100 from above), anything else goes through Double.parseDouble like the loader.
+    private static void checkFloodRisk(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        long whole = 0;
+        int digits = 0;
+        int point = -1;
+        boolean fractionZero = true;
+        boolean plain = true;
+        for (int i = from; i < to && plain; i++) {
+            byte b = line[i];
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (point < 0) {
+                    whole = whole * 10 + (b - '0');
+                } else if (b != '0') {
+                    fractionZero = false;
+                }
+            } else if (b == '.' && point < 0) {
+                point = i;
+            } else {
+                plain = false;
+            }
+        }
+        boolean inRange;
+        if (plain && digits > 0 && digits <= MAX_FAST_FLOOD_DIGITS) {
+            inRange = whole < 100 || (whole == 100 && fractionZero);
+        } else {
+            String value = decode(line, from, to);
+            try {
+                double floodRisk = Double.parseDouble(value);
+                inRange = !(floodRisk < 0 || floodRisk > 100);
+            } catch (NumberFormatException e) {
+                result.add(lineIndex, GridErrorCategory.INVALID_FLOOD_RISK,
+                        "Flood risk must be a numeric value: " + value);
+                return;
+            }
+        }
+        if (!inRange) {
+            result.add(lineIndex, GridErrorCategory.INVALID_FLOOD_RISK,
+                    "Flood risk must be between 0 and 100: " + decode(line, from, to));
+        }
+    }
+
+    // Height limit must be a positive integer, anything but plain digits goes through Integer.parseInt
+    private static void checkHeightLimit(byte[] line, int from, int to, long lineIndex, ChunkResult result) {
+        int value = 0;
+        boolean plain = to > from && to - from <= MAX_FAST_HEIGHT_DIGITS;
+        for (int i = from; i < to && plain; i++) {
+            byte b = line[i];
+            plain = b >= '0' && b <= '9';
+            value = value * 10 + (b - '0');
+        }
+        if (!plain) {
+            String text = decode(line, from, to);
+            try {
+                value = Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                result.add(lineIndex, GridErrorCategory.INVALID_HEIGHT_LIMIT, "Height limit must be an integer: "
+                        + text);
+                return;
+            }
+        }
+        if (value <= 0) {
+            result.add(lineIndex, GridErrorCategory.INVALID_HEIGHT_LIMIT,
+                    "Height limit must be a positive integer: " + decode(line, from, to));
+        }
+    }
+
+    // First position in [from, to) that String.trim would keep
+    private static int trimStart(byte[] line, int from, int to) {
+        int start = from;
+        while (start < to && (line[start] & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    // End of [from, to) once String.trim has removed trailing whitespace
+    private static int trimEnd(byte[] line, int from, int to) {
+        int end = to;
+        while (end > from && (line[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    // True when [from, to) holds exactly 'expected'
+    private static boolean matches(byte[] line, int from, int to, byte[] expected) {
+        return Arrays.equals(line, from, to, expected, 0, expected.length);
+    }
+
+    // True when [from, to) holds 'upper' ignoring ASCII case
+    private static boolean equalsIgnoreCase(byte[] line, int from, int to, byte[] upper) {
+        if (to - from != upper.length) {
+            return false;
+        }
+        for (int i = 0; i < upper.length; i++) {
+            byte b = line[from + i];
+            if (b != upper[i] && b - ('a' - 'A') != upper[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // True when every byte in [from, to) is ASCII
+    private static boolean isAscii(byte[] line, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Position of the first occurrence of value in [from, to), or -1
+    private static int indexOf(byte[] data, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Text of [from, to), decoded like the loader decodes lines
+    private static String decode(byte[] line, int from, int to) {
+        return new String(line, from, to - from, Charset.defaultCharset());
+    }
+
+    // ASCII bytes of a keyword
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Errors found in one chunk, with line numbers counted from the start of the chunk
+    private static final class ChunkResult {
+        private final int maxPerCategory;
+        private final Map<GridErrorCategory, List<GridLintError>> errors = new EnumMap<>(GridErrorCategory.class);
+        private final Map<GridErrorCategory, Long> counts = new EnumMap<>(GridErrorCategory.class);
+        private long lines;
+
+        private ChunkResult(int maxPerCategory) {
+            this.maxPerCategory = maxPerCategory;
+        }
+
+        // Counts an error, keeping it if its category isn't full yet
+        private void add(long line, GridErrorCategory category, String message) {
+            counts.merge(category, 1L, Long::sum);
+            List<GridLintError> kept = errors.computeIfAbsent(category, key -> new ArrayList<>());
+            if (kept.size() < maxPerCategory) {
+                kept.add(new GridLintError(line, category, message));
+            }
+        }
+
+        // Adds a later chunk's errors, moving its lines to start at 'firstLine'
+        private void mergeFrom(ChunkResult chunk, long firstLine) {
+            for (Map.Entry<GridErrorCategory, List<GridLintError>> entry : chunk.errors.entrySet()) {
+                List<GridLintError> kept = errors.computeIfAbsent(entry.getKey(), key -> new ArrayList<>());
+                for (GridLintError error : entry.getValue()) {
+                    if (kept.size() == maxPerCategory) {
+                        break;
+                    }
+                    kept.add(new GridLintError(error.getLine() + firstLine, error.getCategory(),
+                            error.getMessage()));
+                }
+            }
+            for (Map.Entry<GridErrorCategory, Long> entry : chunk.counts.entrySet()) {
+                counts.merge(entry.getKey(), entry.getValue(), Long::sum);
+            }
+        }
+    }
+}
@@ -4,9 +4,24 @@ package edu.curtin.city_planning_app.grids;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
+import edu.curtin.city_planning_app.metrics.GridLoadEvent;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
+
 public class GridLoader {
     // Logger to log important events
     private static final Logger logger = Logger.getLogger(GridLoader.class.getName());
@@ -24,47 +39,337 @@ public class GridLoader {
      * it throws IOException if the file cannot be found or read.
      */
     public GridSquare[][] loadGrid(Path resourcePath) throws IOException {
-        if (resourcePath == null || !resourcePath.toFile().exists()) {
-            throw new IOException("File not found: " + resourcePath.getFileName()
-                    + "\nMake sure grid file is located in: 'src/main/java/edu/curtin/city_planning_app/resources'");
-        }
+        long start = System.nanoTime();
+        GridLoadEvent event = new GridLoadEvent();
+        event.begin();
+        checkFileExists(resourcePath);
 
         // Open the file using BufferedReader
         try (BufferedReader br = new BufferedReader(new FileReader(resourcePath.toFile()))) {
-            String line = br.readLine();
+            int[] dimensions = parseDimensions(br.readLine());
+            int height = dimensions[0];
+            int width = dimensions[1];
 
-            // Check if the file is empty
-            if (line == null || line.trim().isEmpty()) {
-                throw new IOException("Grid dimensions must not be empty.");
-            }
+            logger.info(() -> "Loading grid of size: " + height + "x" + width);
+
+            GridSquare[][] gridSquares = new GridSquare[height][width];
+            readSquares(br, height, width, (row, col, square) -> gridSquares[row][col] = square);
+
+            PipelineMetrics.getInstance().record(PipelinePhase.LOAD, start);
+            commitLoadEvent(event, resourcePath, height, width, "sequential");
+            logger.info("Grid successfully loaded.");
+            return gridSquares;
+        }
+    }
 
-            // Split the first line to get grid dimensions (height, width)
-            String[] dimensions = line.split(",");
-            if (dimensions.length != 2) {
-                throw new IOException("Invalid grid dimensions format, expected format 'height,width' (with comma ',').");
+    /**
+     * Loads the grid like loadGrid, but into an OffHeapGrid instead of GridSquare objects.
+     * Each square is parsed and written straight into its record, so no square outlives its line.
+     * mapFile Optional file to memory-map the records to, null keeps them in direct memory.
+     */
+    public OffHeapGrid loadGridOffHeap(Path resourcePath, Path mapFile) throws IOException {
+        long start = System.nanoTime();
+        GridLoadEvent event = new GridLoadEvent();
+        event.begin();
+        checkFileExists(resourcePath);
+
+        try (BufferedReader br = new BufferedReader(new FileReader(resourcePath.toFile()))) {
+            int[] dimensions = parseDimensions(br.readLine());
+            int height = dimensions[0];
+            int width = dimensions[1];
+
+            logger.info(() -> "Loading off-heap grid of size: " + height + "x" + width);
+
+            OffHeapGrid grid = mapFile == null ? OffHeapGrid.allocate(height, width)
+                    : OffHeapGrid.map(mapFile, height, width);
+            readSquares(br, height, width, grid::set);
+
+            PipelineMetrics.getInstance().record(PipelinePhase.LOAD, start);
+            commitLoadEvent(event, resourcePath, height, width, "off-heap");
+            logger.info("Grid successfully loaded.");
+            return grid;
+        }
+    }
+
+    // Fills in and commits the Flight Recorder event of a finished load
+    private static void commitLoadEvent(GridLoadEvent event, Path resourcePath, int height, int width, String mode)
+            throws IOException {
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = resourcePath.toString();
+            event.fileSize = Files.size(resourcePath);
+            event.height = height;
+            event.width = width;
+            event.mode = mode;
+            event.commit();
+        }
+    }
+
+    // Reads and parses each grid square after the dimensions line, in row-major order
+    private void readSquares(BufferedReader br, int height, int width, SquareSink sink) throws IOException {
+        int lineNumber = 1; // the dimensions are on line 1
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                String line = br.readLine();
+                lineNumber++;
+                if (line == null) {
+                    throw missingRecords(lineNumber);
+                }
+                sink.accept(i, j, parseGridSquareAt(line, lineNumber));
             }
+        }
+    }
 
-            // Parse grid dimensions
-            int height = parseDimension(dimensions[0], "height");
-            int width = parseDimension(dimensions[1], "width");
+    /**
+     * Loads the grid like loadGrid, but parses the squares with several threads.
+     * The file is split into byte ranges that start on line boundaries. A first pass counts
+     * the lines in each range so every worker knows the line number it starts at, then each
+     * worker parses its lines straight into their row-major slots of the grid.
+     * Errors are the same as loadGrid's: the one on the earliest line is reported.
+     */
+    public GridSquare[][] loadGridParallel(Path resourcePath, int threads) throws IOException {
+        checkFileExists(resourcePath);
+        if (threads <= 1 || Files.size(resourcePath) > Integer.MAX_VALUE) {
+            return loadGrid(resourcePath); // a single mapping can't cover files over 2GB
+        }
+        long start = System.nanoTime();
+        GridLoadEvent event = new GridLoadEvent();
+        event.begin();
 
-            logger.info(() -> "Loading grid of size: " + height + "x" + width);
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
 
-            GridSquare[][] gridSquares = new GridSquare[height][width];
+        // The first line holds the dimensions
+        int headerEnd = indexOf(data, (byte) '\n', 0, data.limit());
+        int bodyStart = headerEnd < 0 ? data.limit() : headerEnd + 1;
+        String header = data.limit() == 0 ? null : decodeLine(data, 0, headerEnd < 0 ? data.limit() : headerEnd);
+        int[] dimensions = parseDimensions(header);
+        int height = dimensions[0];
+        int width = dimensions[1];
+        logger.info(() -> "Loading grid of size: " + height + "x" + width + " with " + threads + " threads");
+
+        // Split the body into ranges that each start at the beginning of a line
+        int ranges = threads;
+        int[] starts = new int[ranges + 1];
+        starts[0] = bodyStart;
+        starts[ranges] = data.limit();
+        for (int r = 1; r < ranges; r++) {
+            int guess = Math.max(bodyStart + (int) ((long) (data.limit() - bodyStart) * r / ranges), starts[r - 1]);
+            int newline = indexOf(data, (byte) '\n', guess, data.limit());
+            starts[r] = newline < 0 ? data.limit() : Math.max(newline + 1, starts[r - 1]);
+        }
+
+        GridSquare[][] gridSquares = new GridSquare[height][width];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // Pass 1: count the lines in each range, so each range knows its first line number
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int r = 0; r < ranges; r++) {
+                int from = starts[r];
+                int to = starts[r + 1];
+                counts.add(pool.submit(() -> countLines(data, from, to)));
+            }
+            int[] firstLines = new int[ranges + 1];
+            firstLines[0] = 2; // the first square is on line 2
+            for (int r = 0; r < ranges; r++) {
+                firstLines[r + 1] = firstLines[r] + counts.get(r).get();
+            }
 
-            // Read and parse each grid square from the file
-            for (int i = 0; i < height; i++) {
-                for (int j = 0; j < width; j++) {
-                    line = br.readLine();
-                    if (line == null) {
-                        throw new IOException("Insufficient grid data for expected dimensions.");
-                    }
-                    gridSquares[i][j] = parseGridSquare(line);
+            // Pass 2: parse every range into its slots of the grid
+            List<Future<LineError>> errors = new ArrayList<>();
+            for (int r = 0; r < ranges; r++) {
+                int from = starts[r];
+                int to = starts[r + 1];
+                int firstLine = firstLines[r];
+                errors.add(pool.submit(() -> parseRange(data, from, to, firstLine, gridSquares)));
+            }
+            for (Future<LineError> result : errors) {
+                LineError error = result.get();
+                if (error != null) {
+                    throw error.exception; // ranges are in file order, so this is the earliest line
                 }
             }
 
-            logger.info("Grid successfully loaded.");
-            return gridSquares;
+            int squareLines = firstLines[ranges] - 2;
+            if (squareLines < height * width) {
+                throw missingRecords(firstLines[ranges]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Loading the grid was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Loading the grid failed: " + e.getCause().getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+
+        PipelineMetrics.getInstance().record(PipelinePhase.LOAD, start);
+        commitLoadEvent(event, resourcePath, height, width, "parallel");
+        logger.info("Grid successfully loaded.");
+        return gridSquares;
+    }
+
+    /**
+     * Opens the grid without parsing its squares.
+     * Only the dimensions are read here, squares are parsed when first asked for,
+     * so the time to open does not depend on the size of the file.
+     * cacheSize The most parsed squares to keep in memory at once.
+     */
+    public LazyGridFile openLazy(Path resourcePath, int cacheSize) throws IOException {
+        checkFileExists(resourcePath);
+        return new LazyGridFile(this, resourcePath, cacheSize);
+    }
+
+    /**
+     * Opens the grid to be read one row at a time, see GridRowReader.
+     * Only the dimensions are read here, and at most one row is held in memory at once.
+     */
+    public GridRowReader openRows(Path resourcePath) throws IOException {
+        checkFileExists(resourcePath);
+        return new GridRowReader(this, resourcePath);
+    }
+
+    // Opens the grid to be read one row at a time starting at 'firstRow', eg. to read one band of it.
+    public GridRowReader openRows(Path resourcePath, int firstRow) throws IOException {
+        checkFileExists(resourcePath);
+        return new GridRowReader(this, resourcePath, firstRow);
+    }
+
+    // Opens the grid to be read one row at a time starting at 'firstRow', which begins at byte 'offset'
+    // (from findRowOffsets) on line 'firstLine' of the file. Nothing before it is read but the dimensions.
+    public GridRowReader openRows(Path resourcePath, int firstRow, long offset, int firstLine) throws IOException {
+        checkFileExists(resourcePath);
+        return new GridRowReader(this, resourcePath, firstRow, offset, firstLine);
+    }
+
+    // Byte offsets where each of 'rows' (in ascending order) starts in the file, found in one scan,
+    // eg. so each band of a partitioned build can be opened without scanning the rows before it.
+    public long[] findRowOffsets(Path resourcePath, int[] rows) throws IOException {
+        checkFileExists(resourcePath);
+        return GridRowReader.rowOffsets(this, resourcePath, rows);
+    }
+
+    /**
+     * Checks the grid file against every rule loadGrid applies, without loading it.
+     * Instead of stopping at the first error, every line is checked and each error is reported
+     * with its line number and category, keeping at most 'maxPerCategory' of each category.
+     * The file is read once, in chunks checked by 'threads' threads, see GridLinter.
+     * it throws IOException if the file cannot be found or read.
+     */
+    public GridLintReport lintGrid(Path resourcePath, int threads, int maxPerCategory) throws IOException {
+        checkFileExists(resourcePath);
+        return new GridLinter(this, threads, maxPerCategory).lint(resourcePath);
+    }
+
+    // Checks the grid file exists before trying to read it
+    /* default */ void checkFileExists(Path resourcePath) throws IOException {
+        if (resourcePath == null || !resourcePath.toFile().exists()) {
+            throw new IOException("File not found: " + (resourcePath == null ? null : resourcePath.getFileName())
+                    + "\nMake sure grid file is located in: 'src/main/java/edu/curtin/city_planning_app/resources'");
+        }
+    }
+
+    // Parses the first line of a grid file into {height, width}
+    /* default */ int[] parseDimensions(String line) throws IOException {
+        // Check if the file is empty
+        if (line == null || line.trim().isEmpty()) {
+            throw new IOException("Grid dimensions must not be empty.");
+        }
+
+        // Split the first line to get grid dimensions (height, width)
+        String[] dimensions = line.split(",");
+        if (dimensions.length != 2) {
+            throw new IOException("Invalid grid dimensions format, expected format 'height,width' (with comma ',').");
+        }
+
+        // Parse grid dimensions
+        return new int[] { parseDimension(dimensions[0], "height"), parseDimension(dimensions[1], "width") };
+    }
+
+    // Error raised when the file ends before every square has been read
+    /* default */ IOException missingRecords(int lineNumber) {
+        return new IOException("Insufficient grid data for expected dimensions. Line " + lineNumber
+                + " is missing.");
+    }
+
+    // Parses a grid square, adding the line number to any error
+    /* default */ GridSquare parseGridSquareAt(String line, int lineNumber) {
+        try {
+            return parseGridSquare(line);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Parses the lines in [from, to) of the mapped file into the grid.
+    // Lines past the last square are ignored, like the sequential loader does.
+    // Returns the first error in the range, or null if every line parsed.
+    private LineError parseRange(ByteBuffer data, int from, int to, int firstLine, GridSquare[][] gridSquares) {
+        int width = gridSquares[0].length;
+        int squares = gridSquares.length * width;
+        int lineNumber = firstLine;
+        int position = from;
+        while (position < to && lineNumber - 2 < squares) {
+            int newline = indexOf(data, (byte) '\n', position, to);
+            int end = newline < 0 ? to : newline;
+            int square = lineNumber - 2;
+            try {
+                gridSquares[square / width][square % width] = parseGridSquareAt(decodeLine(data, position, end),
+                        lineNumber);
+            } catch (IllegalArgumentException e) {
+                return new LineError(e);
+            }
+            lineNumber++;
+            position = end + 1;
+        }
+        return null;
+    }
+
+    // Number of lines in [from, to), counting a last line without a newline
+    private static int countLines(ByteBuffer data, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (data.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (to > from && data.get(to - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    // Position of the first occurrence of value in [from, to), or -1
+    private static int indexOf(ByteBuffer data, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Decodes the bytes in [from, to) as one line, dropping a trailing carriage return
+    private static String decodeLine(ByteBuffer data, int from, int to) {
+        int end = to > from && data.get(to - 1) == '\r' ? to - 1 : to;
+        byte[] bytes = new byte[end - from];
+        data.slice(from, end - from).get(bytes);
+        return new String(bytes, Charset.defaultCharset());
+    }
+
+    // Where readSquares puts each parsed square
+    private interface SquareSink {
+        void accept(int row, int col, GridSquare square);
+    }
+
+    // The first parse error found in a range of lines
+    private static final class LineError {
+        private final IllegalArgumentException exception;
+
+        private LineError(IllegalArgumentException exception) {
+            this.exception = exception;
         }
     }
 
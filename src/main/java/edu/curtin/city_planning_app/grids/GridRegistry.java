@@ -0,0 +1,259 @@
+// GridRegistry.java
+package edu.curtin.city_planning_app.grids;
+
+import edu.curtin.city_planning_app.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
+
+// Grids loaded from files, kept in memory so switching between cities doesn't re-load them.
+// A grid is cached under its absolute path along with the file's size and modification time,
+// and every get checks them again, so a file changed on disk is loaded afresh on its next use.
+// Cached grids are shared by every caller and must be treated as read-only.
+// Each grid's footprint is estimated from its squares, and the least recently used grids are
+// evicted while the total is over the memory budget. Loads run outside the registry's lock,
+// and callers asking for a grid that is already loading wait for that load instead of repeating it.
+public class GridRegistry {
+    private static final Logger logger = Logger.getLogger(GridRegistry.class.getName());
+
+    public static final long DEFAULT_BUDGET_BYTES = 512L * 1024 * 1024;
+
+    // Estimated heap use, assuming compressed references
+    private static final long SQUARE_BYTES = 32; // GridSquare header and fields
+    private static final long REFERENCE_BYTES = 4; // the square's slot in its row array
+    private static final long BOXED_BYTES = 16; // an Integer height limit or Double flood risk
+    private static final long ARRAY_BYTES = 16; // header of each row array
+
+    private final GridLoader loader;
+    private final long budgetBytes;
+    private final int threads;
+    private final Map<Path, Entry> cache = new LinkedHashMap<>(16, 0.75f, true); // access order, eldest first
+    private final Map<Path, CompletableFuture<Entry>> loading = new HashMap<>();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+    private long reloads;
+    private long evictions;
+
+    // Registry loading grids with 'loader', using 'threads' threads for each load.
+    public GridRegistry(GridLoader loader, long budgetBytes, int threads) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Grid registry budget must be positive.");
+        }
+        this.loader = loader;
+        this.budgetBytes = budgetBytes;
+        this.threads = Math.max(1, threads);
+    }
+
+    // Get the grid in 'path', from the cache when the file hasn't changed since it was loaded.
+    // It throws IOException if the file cannot be found or read.
+    public CityGrid get(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new IOException("File not found: " + path, e);
+        }
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        CompletableFuture<Entry> pending;
+        boolean loadHere = false;
+        synchronized (this) {
+            Entry cached = cache.get(key);
+            if (cached != null && cached.size == size && cached.modified == modified) {
+                hits++;
+                return cached.grid;
+            }
+            pending = loading.get(key);
+            if (pending == null) {
+                if (cached != null) {
+                    remove(key);
+                    reloads++;
+                    logger.info(() -> "Grid file changed, reloading " + key);
+                } else {
+                    misses++;
+                }
+                pending = new CompletableFuture<>();
+                loading.put(key, pending);
+                loadHere = true;
+            } else {
+                hits++; // shares the load already under way
+            }
+        }
+
+        if (loadHere) {
+            load(key, size, modified, pending);
+        }
+        try {
+            return pending.get().grid;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + path + " to load.", e);
+        } catch (ExecutionException e) {
+            // Rethrown as the type the loader threw, with its message, the original still the cause's cause
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw new IllegalArgumentException(cause.getMessage(), e);
+            }
+            throw new IOException(cause.getMessage(), e);
+        }
+    }
+
+    // Loads the grid, adds it to the cache and completes 'pending' with it (or with the failure).
+    // Anything other than an IOException or IllegalArgumentException is thrown to the caller, after
+    // failing 'pending' so no other thread waits for it forever.
+    private void load(Path key, long size, long modified, CompletableFuture<Entry> pending) {
+        long start = System.nanoTime();
+        try {
+            GridSquare[][] squares = threads > 1 ? loader.loadGridParallel(key, threads) : loader.loadGrid(key);
+            if (squares.length == 0 || squares[0].length == 0) {
+                throw new IllegalArgumentException("Grid cannot be empty. Make sure grid has valid dimensions.");
+            }
+            Entry entry = new Entry(new CityGrid(squares), size, modified, estimateFootprint(squares));
+            long nanos = System.nanoTime() - start;
+            loadLatency.record(nanos);
+            synchronized (this) {
+                loading.remove(key);
+                cache.put(key, entry);
+                cachedBytes += entry.bytes;
+                evict(key);
+            }
+            logger.info(() -> "Loaded " + key + " (" + entry.bytes + " bytes) in " + nanos / 1_000_000 + " ms");
+            pending.complete(entry);
+        } catch (IOException | IllegalArgumentException e) {
+            fail(key, pending, e);
+        } finally {
+            if (!pending.isDone()) {
+                fail(key, pending, new IOException("Loading " + key + " stopped unexpectedly."));
+            }
+        }
+    }
+
+    private void fail(Path key, CompletableFuture<Entry> pending, Exception e) {
+        synchronized (this) {
+            loading.remove(key);
+        }
+        logger.warning(() -> "Failed to load " + key + ": " + e.getMessage());
+        pending.completeExceptionally(e);
+    }
+
+    // Evicts least recently used grids until the cache fits the budget, never the one just loaded
+    private void evict(Path loaded) {
+        Iterator<Map.Entry<Path, Entry>> eldest = cache.entrySet().iterator();
+        while (cachedBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<Path, Entry> candidate = eldest.next();
+            if (!candidate.getKey().equals(loaded)) {
+                cachedBytes -= candidate.getValue().bytes;
+                eldest.remove();
+                evictions++;
+                logger.info(() -> "Evicted " + candidate.getKey() + " from the grid registry");
+            }
+        }
+    }
+
+    // Removes a cached grid
+    private void remove(Path key) {
+        Entry removed = cache.remove(key);
+        if (removed != null) {
+            cachedBytes -= removed.bytes;
+        }
+    }
+
+    // Estimated heap use of a loaded grid, in bytes.
+    public static long estimateFootprint(GridSquare[][] squares) {
+        long bytes = ARRAY_BYTES + REFERENCE_BYTES * squares.length;
+        for (GridSquare[] row : squares) {
+            bytes += ARRAY_BYTES + (SQUARE_BYTES + REFERENCE_BYTES) * row.length;
+            for (GridSquare square : row) {
+                if (square.hasHeightLimit()) {
+                    bytes += BOXED_BYTES;
+                }
+                if (square.hasFloodRisk()) {
+                    bytes += BOXED_BYTES;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // Forgets every cached grid, the statistics are kept.
+    public synchronized void clear() {
+        cache.clear();
+        cachedBytes = 0;
+    }
+
+    // Files of the cached grids, least recently used first.
+    public synchronized List<Path> getCachedPaths() {
+        return new ArrayList<>(cache.keySet());
+    }
+
+    // Estimated heap use of the cached grids, in bytes.
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    // Get the memory budget, in bytes.
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    // Number of gets served from the cache (or from a load already under way).
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    // Number of gets that loaded a grid for the first time (or since it was evicted).
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // Number of gets that reloaded a grid because its file changed.
+    public synchronized long getReloads() {
+        return reloads;
+    }
+
+    // Number of grids evicted to stay within the budget.
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Fraction of gets served without loading, 0 before the first get.
+    public synchronized double getHitRate() {
+        long gets = hits + misses + reloads;
+        return gets == 0 ? 0 : (double) hits / gets;
+    }
+
+    // Time taken by every load, including reloads.
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    // A cached grid and the file attributes it was loaded from
+    private static final class Entry {
+        private final CityGrid grid;
+        private final long size;
+        private final long modified;
+        private final long bytes;
+
+        private Entry(CityGrid grid, long size, long modified, long bytes) {
+            this.grid = grid;
+            this.size = size;
+            this.modified = modified;
+            this.bytes = bytes;
+        }
+    }
+}
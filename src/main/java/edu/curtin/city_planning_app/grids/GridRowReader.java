@@ -0,0 +1,208 @@
+// GridRowReader.java
+package edu.curtin.city_planning_app.grids;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+// Reads a grid file one row of squares at a time, so a caller can stream a grid of any size
+// without holding it in memory. Squares are parsed and checked exactly like GridLoader.loadGrid.
+// It can also start part way down the grid, eg. to read one band of rows: the rows before it are
+// skipped by counting line breaks in the raw bytes, without decoding or parsing them, or by seeking
+// straight to a byte offset found beforehand with GridLoader.findRowOffsets.
+public class GridRowReader implements Closeable {
+    private static final Logger logger = Logger.getLogger(GridRowReader.class.getName());
+    private static final int SKIP_BUFFER_SIZE = 1 << 16;
+
+    private final GridLoader loader;
+    private final BufferedReader reader;
+    private final int height;
+    private final int width;
+    private int nextRow;
+    private int lineNumber = 1; // the dimensions are on line 1
+
+    /* default */ GridRowReader(GridLoader loader, Path resourcePath) throws IOException {
+        this.loader = loader;
+        this.reader = new BufferedReader(new FileReader(resourcePath.toFile()));
+        try {
+            int[] dimensions = loader.parseDimensions(reader.readLine());
+            this.height = dimensions[0];
+            this.width = dimensions[1];
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        logger.info(() -> "Streaming grid of size: " + height + "x" + width + " from " + resourcePath);
+    }
+
+    // Opens the grid at 'firstRow', reading only the dimensions line before it
+    /* default */ GridRowReader(GridLoader loader, Path resourcePath, int firstRow) throws IOException {
+        this.loader = loader;
+        int[] dimensions = readDimensions(loader, resourcePath);
+        this.height = dimensions[0];
+        this.width = dimensions[1];
+        checkFirstRow(firstRow, height);
+        long offset;
+        try (FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ)) {
+            offset = offsetsAfterLines(channel, new long[] { 1 + (long) firstRow * width })[0];
+        }
+        this.reader = openAt(resourcePath, offset);
+        this.nextRow = firstRow;
+        this.lineNumber = 1 + firstRow * width;
+        logger.info(() -> "Streaming grid of size: " + height + "x" + width + " from row " + firstRow + " of "
+                + resourcePath);
+    }
+
+    // Opens the grid at 'firstRow', which starts at byte 'offset' on line 'firstLine' of the file,
+    // without reading anything before it but the dimensions line
+    /* default */ GridRowReader(GridLoader loader, Path resourcePath, int firstRow, long offset, int firstLine)
+            throws IOException {
+        this.loader = loader;
+        int[] dimensions = readDimensions(loader, resourcePath);
+        this.height = dimensions[0];
+        this.width = dimensions[1];
+        checkFirstRow(firstRow, height);
+        if (offset < 0 || firstLine < 2) {
+            throw new IllegalArgumentException("Row " + firstRow + " can't start at byte " + offset + " on line "
+                    + firstLine + ".");
+        }
+        this.reader = openAt(resourcePath, offset);
+        this.nextRow = firstRow;
+        this.lineNumber = firstLine - 1;
+        logger.info(() -> "Streaming grid of size: " + height + "x" + width + " from row " + firstRow + " (byte "
+                + offset + ") of " + resourcePath);
+    }
+
+    // Byte offsets where each of 'rows' (in ascending order) starts, found in one scan of the file
+    /* default */ static long[] rowOffsets(GridLoader loader, Path resourcePath, int[] rows) throws IOException {
+        int[] dimensions = readDimensions(loader, resourcePath);
+        long[] lines = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            checkFirstRow(rows[i], dimensions[0]);
+            if (i > 0 && rows[i] < rows[i - 1]) {
+                throw new IllegalArgumentException("Rows must be in ascending order: " + rows[i - 1] + ", "
+                        + rows[i]);
+            }
+            lines[i] = 1 + (long) rows[i] * dimensions[1];
+        }
+        try (FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ)) {
+            return offsetsAfterLines(channel, lines);
+        }
+    }
+
+    // Returns the height of the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Returns the width of the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Parses the next row into 'squares' (at least width long) and returns its row index,
+    // or -1 once every row has been read.
+    public int readRow(GridSquare[] squares) throws IOException {
+        if (nextRow >= height) {
+            return -1;
+        }
+        for (int col = 0; col < width; col++) {
+            String line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                throw loader.missingRecords(lineNumber);
+            }
+            squares[col] = loader.parseGridSquareAt(line, lineNumber);
+        }
+        return nextRow++;
+    }
+
+    // Reads the next row's lines into 'lines' (at least width long) without parsing them and returns
+    // its row index, or -1 once every row has been read. Parse the ones needed with parseSquare.
+    public int readRowLines(String[] lines) throws IOException {
+        if (nextRow >= height) {
+            return -1;
+        }
+        for (int col = 0; col < width; col++) {
+            lines[col] = reader.readLine();
+            lineNumber++;
+            if (lines[col] == null) {
+                throw loader.missingRecords(lineNumber);
+            }
+        }
+        return nextRow++;
+    }
+
+    // Parses the line read for (row, col) by readRowLines, reporting errors against its line number.
+    public GridSquare parseSquare(int row, int col, String line) {
+        return loader.parseGridSquareAt(line, 2 + row * width + col);
+    }
+
+    // Reader over the file from byte 'offset'. The reader owns the channel and closes it with itself.
+    private static BufferedReader openAt(Path resourcePath, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(resourcePath, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new BufferedReader(Channels.newReader(channel, Charset.defaultCharset()));
+    }
+
+    private static int[] readDimensions(GridLoader loader, Path resourcePath) throws IOException {
+        try (BufferedReader header = new BufferedReader(new FileReader(resourcePath.toFile()))) {
+            return loader.parseDimensions(header.readLine());
+        }
+    }
+
+    private static void checkFirstRow(int firstRow, int height) {
+        if (firstRow < 0 || firstRow > height) {
+            throw new IllegalArgumentException("First row " + firstRow + " is outside the grid's " + height
+                    + " rows.");
+        }
+    }
+
+    // Byte offset just after the first lines[i] line breaks for each i (in ascending order), or the end
+    // of the file for any it has fewer line breaks than. One pass over the file finds them all.
+    private static long[] offsetsAfterLines(FileChannel channel, long[] lines) throws IOException {
+        long[] offsets = new long[lines.length];
+        int next = 0;
+        while (next < lines.length && lines[next] == 0) {
+            next++; // already at the start of the file
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SKIP_BUFFER_SIZE);
+        long position = 0;
+        long seen = 0;
+        while (next < lines.length && channel.read(buffer) > 0) {
+            buffer.flip();
+            while (next < lines.length && buffer.hasRemaining()) {
+                position++;
+                if (buffer.get() == '\n') {
+                    seen++;
+                    while (next < lines.length && lines[next] == seen) {
+                        offsets[next++] = position;
+                    }
+                }
+            }
+            buffer.clear();
+        }
+        while (next < lines.length) {
+            offsets[next++] = position;
+        }
+        return offsets;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
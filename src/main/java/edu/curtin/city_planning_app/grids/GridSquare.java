@@ -1,6 +1,7 @@
 // GridSquare.java
 package edu.curtin.city_planning_app.grids;
 
+import java.util.Objects;
 import java.util.logging.Logger;
 
 public class GridSquare {
@@ -11,7 +12,7 @@ public class GridSquare {
     }
 
     private TerrainType terrain;
-    private String heritage;
+    private Material heritage;
     private Integer heightLimit;
     private Double floodRisk;
     private boolean contamination;
@@ -25,6 +26,16 @@ public class GridSquare {
         logger.info(() -> "Created GridSquare with terrain: " + terrain.name());
     }
 
+    // Square with all of its zoning already known, eg. rebuilt from an OffHeapGrid record
+    /* default */ GridSquare(TerrainType terrain, Material heritage, Integer heightLimit, Double floodRisk,
+            boolean contamination) {
+        this.terrain = terrain;
+        this.heritage = heritage;
+        this.heightLimit = heightLimit;
+        this.floodRisk = floodRisk;
+        this.contamination = contamination;
+    }
+
     // Get the terrain type of this GridSquare.
     public TerrainType getTerrain() {
         return terrain;
@@ -34,7 +45,7 @@ public class GridSquare {
     public void setZoningRule(String rule, String value) {
         switch (rule) {
             case "heritage":
-                this.heritage = value;
+                this.heritage = Material.fromString(value);
                 logger.info(() -> "Set heritage to: " + value);
                 break;
             case "height-limit":
@@ -55,7 +66,7 @@ public class GridSquare {
     }
 
     // Get the heritage status of this GridSquare.
-    public String getHeritage() {
+    public Material getHeritage() {
         return heritage;
     }
 
@@ -83,4 +94,10 @@ public class GridSquare {
     public boolean hasFloodRisk() {
         return floodRisk != null;
     }
+
+    // Check if another square has exactly the same terrain and zoning rules.
+    public boolean sameZoning(GridSquare other) {
+        return terrain == other.terrain && heritage == other.heritage && contamination == other.contamination
+                && Objects.equals(heightLimit, other.heightLimit) && Objects.equals(floodRisk, other.floodRisk);
+    }
 }
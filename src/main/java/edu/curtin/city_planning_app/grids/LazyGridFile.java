@@ -0,0 +1,189 @@
+// LazyGridFile.java
+package edu.curtin.city_planning_app.grids;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+// A grid file that is parsed one square at a time, on first use.
+// Keeps the byte offset of every CHECKPOINT_INTERVAL-th square line. The index only grows
+// as far into the file as a request needs, so opening a file reads just its first line.
+// Parsed squares are kept in a bounded least-recently-used cache.
+public class LazyGridFile {
+    private static final Logger logger = Logger.getLogger(LazyGridFile.class.getName());
+
+    public static final int CHECKPOINT_INTERVAL = 256;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final GridLoader loader;
+    private final Path path;
+    private final int height;
+    private final int width;
+    private final Map<Integer, GridSquare> cache;
+    private long[] checkpoints = new long[16]; // byte offset of square k * CHECKPOINT_INTERVAL
+    private int checkpointCount;
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    /* default */ LazyGridFile(GridLoader loader, Path path, int cacheSize) throws IOException {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be a positive integer.");
+        }
+        this.loader = loader;
+        this.path = path;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, GridSquare> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            long bodyStart = readLine(channel, 0, header);
+            int[] dimensions = loader.parseDimensions(bodyStart < 0 ? null : decode(header));
+            this.height = dimensions[0];
+            this.width = dimensions[1];
+            checkpoints[0] = bodyStart;
+            checkpointCount = 1;
+        }
+        logger.info(() -> "Opened lazy grid of size: " + height + "x" + width);
+    }
+
+    // Returns the height of the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Returns the width of the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Returns the square at (row, col), parsing it from the file if it is not cached.
+    // Throws IllegalArgumentException (with the line number) if its line is invalid,
+    // and UncheckedIOException if the file can't be read or ends early.
+    public synchronized GridSquare getSquare(int row, int col) {
+        int square = row * width + col;
+        GridSquare cached = cache.get(square);
+        if (cached != null) {
+            return cached;
+        }
+
+        GridSquare parsed;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int checkpoint = square / CHECKPOINT_INTERVAL;
+            extendIndex(channel, checkpoint);
+            long offset = skipLines(channel, checkpoints[checkpoint], square % CHECKPOINT_INTERVAL);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            if (offset < 0 || readLine(channel, offset, line) < 0) {
+                throw missingFrom(channel, checkpoint);
+            }
+            parsed = loader.parseGridSquareAt(decode(line), square + 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading grid file: " + e.getMessage(), e);
+        }
+        cache.put(square, parsed);
+        return parsed;
+    }
+
+    // Parses the whole file with the sequential loader.
+    public GridSquare[][] loadAll() throws IOException {
+        return loader.loadGrid(path);
+    }
+
+    // Walks forward from the last known checkpoint until the given one is indexed
+    private void extendIndex(FileChannel channel, int checkpoint) throws IOException {
+        while (checkpointCount <= checkpoint) {
+            long next = skipLines(channel, checkpoints[checkpointCount - 1], CHECKPOINT_INTERVAL);
+            if (next < 0) {
+                throw missingFrom(channel, checkpointCount - 1);
+            }
+            if (checkpointCount == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+            }
+            checkpoints[checkpointCount++] = next;
+        }
+    }
+
+    // Offset just past the given number of lines from offset, or -1 if the file ends first
+    private long skipLines(FileChannel channel, long offset, int lines) throws IOException {
+        long position = offset;
+        int remaining = lines;
+        long size = channel.size();
+        while (remaining > 0) {
+            if (position >= size) {
+                return -1;
+            }
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            for (int i = 0; i < read && remaining > 0; i++) {
+                position++;
+                if (buffer.get(i) == '\n') {
+                    remaining--;
+                }
+            }
+            if (position >= size && remaining > 0 && buffer.get(read - 1) != '\n') {
+                remaining--; // the last line has no newline
+            }
+        }
+        return position;
+    }
+
+    // Same error as the sequential loader, naming the first missing line after the checkpoint
+    private IOException missingFrom(FileChannel channel, int checkpoint) throws IOException {
+        int squaresPresent = checkpoint * CHECKPOINT_INTERVAL + countLinesFrom(channel, checkpoints[checkpoint]);
+        return loader.missingRecords(squaresPresent + 2);
+    }
+
+    // Lines between offset and the end of the file
+    private int countLinesFrom(FileChannel channel, long offset) throws IOException {
+        int lines = 0;
+        long position = offset;
+        while (true) {
+            long next = skipLines(channel, position, 1);
+            if (next < 0) {
+                return lines;
+            }
+            lines++;
+            position = next;
+        }
+    }
+
+    // Reads the line starting at offset into line (without its line ending).
+    // Returns the offset of the next line, or -1 if offset is at the end of the file.
+    private long readLine(FileChannel channel, long offset, ByteArrayOutputStream line) throws IOException {
+        long size = channel.size();
+        if (offset >= size) {
+            return -1;
+        }
+        long position = offset;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    line.write(buffer.array(), 0, i);
+                    return position + i + 1;
+                }
+            }
+            line.write(buffer.array(), 0, read);
+            position += read;
+        }
+        return position;
+    }
+
+    // Decodes a line, dropping a trailing carriage return
+    private static String decode(ByteArrayOutputStream line) {
+        String text = line.toString(Charset.defaultCharset());
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+}
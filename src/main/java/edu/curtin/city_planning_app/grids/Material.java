@@ -0,0 +1,64 @@
+// Material.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.Locale;
+
+// Construction materials, with their cost per floor and the terrain they cannot be built on.
+// Strings are only parsed at the edges (Menu input and grid files), everything else
+// passes Material values around, so the cost path never hashes or lowercases strings.
+public enum Material {
+    WOOD(10000, GridSquare.TerrainType.SWAMPY),
+    STONE(50000, null),
+    BRICK(30000, null),
+    CONCRETE(20000, null);
+
+    // Cost per floor indexed by ordinal, for the hot cost path
+    private static final double[] RATES_PER_FLOOR = new double[values().length];
+
+    static {
+        for (Material material : values()) {
+            RATES_PER_FLOOR[material.ordinal()] = material.ratePerFloor;
+        }
+    }
+
+    private final double ratePerFloor;
+    private final GridSquare.TerrainType forbiddenTerrain;
+    private final String label;
+
+    Material(double ratePerFloor, GridSquare.TerrainType forbiddenTerrain) {
+        this.ratePerFloor = ratePerFloor;
+        this.forbiddenTerrain = forbiddenTerrain;
+        this.label = name().toLowerCase(Locale.ROOT);
+    }
+
+    // Cost per floor of the material with the given ordinal.
+    public static double ratePerFloor(int ordinal) {
+        return RATES_PER_FLOOR[ordinal];
+    }
+
+    // Get the cost per floor of this material.
+    public double getRatePerFloor() {
+        return ratePerFloor;
+    }
+
+    // Check whether structures of this material may be built on the terrain.
+    public boolean isAllowedOn(GridSquare.TerrainType terrain) {
+        return terrain != forbiddenTerrain;
+    }
+
+    // Parses a material name (case insensitive), eg. from user input or a grid file.
+    public static Material fromString(String value) {
+        for (Material material : values()) {
+            if (material.label.equalsIgnoreCase(value.trim())) {
+                return material;
+            }
+        }
+        throw new IllegalArgumentException("Unknown material: " + value);
+    }
+
+    // Lower case name, as used in grid files and user input.
+    @Override
+    public String toString() {
+        return label;
+    }
+}
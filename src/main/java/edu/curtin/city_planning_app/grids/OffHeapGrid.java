@@ -0,0 +1,177 @@
+// OffHeapGrid.java
+package edu.curtin.city_planning_app.grids;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+// Grid zoning stored outside the Java heap, one fixed 16 byte record per square, row-major.
+// Millions of long-lived GridSquare objects would otherwise be promoted and rescanned by every
+// old generation collection. Here the whole grid is a few buffers the collector never looks into.
+// Records live in direct buffers, or in a memory-mapped file so the grid can be larger than the heap.
+// Record layout:
+//   byte 0      terrain ordinal
+//   byte 1      heritage material ordinal + 1 (0 = no heritage)
+//   byte 2      flags (contamination, flood risk, height limit)
+//   bytes 4-7   height limit (int)
+//   bytes 8-15  flood risk (double)
+public class OffHeapGrid {
+    private static final Logger logger = Logger.getLogger(OffHeapGrid.class.getName());
+
+    public static final int RECORD_SIZE = 16;
+    private static final int TERRAIN_OFFSET = 0;
+    private static final int HERITAGE_OFFSET = 1;
+    private static final int FLAGS_OFFSET = 2;
+    private static final int HEIGHT_LIMIT_OFFSET = 4;
+    private static final int FLOOD_RISK_OFFSET = 8;
+
+    private static final int CONTAMINATION_FLAG = 1;
+    private static final int FLOOD_RISK_FLAG = 1 << 1;
+    private static final int HEIGHT_LIMIT_FLAG = 1 << 2;
+
+    // A buffer can't be larger than 2GB, so records are split into chunks of this many squares
+    private static final int CHUNK_SHIFT = 24;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    private static final GridSquare.TerrainType[] TERRAIN = GridSquare.TerrainType.values();
+    private static final Material[] MATERIALS = Material.values();
+
+    private final int height;
+    private final int width;
+    private final ByteBuffer[] chunks;
+
+    private OffHeapGrid(int height, int width, ByteBuffer[] chunks) {
+        this.height = height;
+        this.width = width;
+        this.chunks = chunks;
+    }
+
+    // Grid held in direct (off-heap) memory, freed when the grid is no longer reachable.
+    public static OffHeapGrid allocate(int height, int width) {
+        long squares = (long) height * width;
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(squares)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes(squares, i)).order(ByteOrder.nativeOrder());
+        }
+        logger.info(() -> "Allocated off-heap grid of size: " + height + "x" + width);
+        return new OffHeapGrid(height, width, chunks);
+    }
+
+    // Grid held in a memory-mapped file, which is created or resized to fit.
+    // The operating system pages records in and out, so the grid does not need to fit in memory.
+    public static OffHeapGrid map(Path file, int height, int width) throws IOException {
+        long squares = (long) height * width;
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(squares)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * CHUNK_RECORDS * RECORD_SIZE,
+                        chunkBytes(squares, i)).order(ByteOrder.nativeOrder());
+            }
+        }
+        logger.info(() -> "Mapped off-heap grid of size: " + height + "x" + width + " to " + file);
+        return new OffHeapGrid(height, width, chunks);
+    }
+
+    // Returns the height of the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Returns the width of the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Writes the zoning of a square into its record.
+    public void set(int row, int col, GridSquare square) {
+        ByteBuffer chunk = chunk(row, col);
+        int offset = offset(row, col);
+        int flags = 0;
+        if (square.isContaminated()) {
+            flags |= CONTAMINATION_FLAG;
+        }
+        if (square.hasFloodRisk()) {
+            flags |= FLOOD_RISK_FLAG;
+        }
+        if (square.hasHeightLimit()) {
+            flags |= HEIGHT_LIMIT_FLAG;
+        }
+        chunk.put(offset + TERRAIN_OFFSET, (byte) square.getTerrain().ordinal());
+        chunk.put(offset + HERITAGE_OFFSET, (byte) (square.getHeritage() == null ? 0
+                : square.getHeritage().ordinal() + 1));
+        chunk.put(offset + FLAGS_OFFSET, (byte) flags);
+        chunk.putInt(offset + HEIGHT_LIMIT_OFFSET, square.hasHeightLimit() ? square.getHeightLimit() : 0);
+        chunk.putDouble(offset + FLOOD_RISK_OFFSET, square.hasFloodRisk() ? square.getFloodRisk() : 0);
+    }
+
+    // Rebuilds a GridSquare from its record, for callers that need an object (eg. the menu).
+    public GridSquare toGridSquare(int row, int col) {
+        return new GridSquare(getTerrain(row, col), getHeritage(row, col),
+                hasHeightLimit(row, col) ? getHeightLimit(row, col) : null,
+                hasFloodRisk(row, col) ? getFloodRisk(row, col) : null, isContaminated(row, col));
+    }
+
+    // Terrain of the square at (row, col).
+    public GridSquare.TerrainType getTerrain(int row, int col) {
+        return TERRAIN[chunk(row, col).get(offset(row, col) + TERRAIN_OFFSET)];
+    }
+
+    // Heritage material of the square at (row, col), or null if it has none.
+    public Material getHeritage(int row, int col) {
+        int heritage = chunk(row, col).get(offset(row, col) + HERITAGE_OFFSET);
+        return heritage == 0 ? null : MATERIALS[heritage - 1];
+    }
+
+    // Whether the square at (row, col) is contaminated.
+    public boolean isContaminated(int row, int col) {
+        return (flags(row, col) & CONTAMINATION_FLAG) != 0;
+    }
+
+    // Whether the square at (row, col) has a flood risk.
+    public boolean hasFloodRisk(int row, int col) {
+        return (flags(row, col) & FLOOD_RISK_FLAG) != 0;
+    }
+
+    // Flood risk of the square at (row, col), 0 if it has none.
+    public double getFloodRisk(int row, int col) {
+        return chunk(row, col).getDouble(offset(row, col) + FLOOD_RISK_OFFSET);
+    }
+
+    // Whether the square at (row, col) has a height limit.
+    public boolean hasHeightLimit(int row, int col) {
+        return (flags(row, col) & HEIGHT_LIMIT_FLAG) != 0;
+    }
+
+    // Height limit of the square at (row, col), 0 if it has none.
+    public int getHeightLimit(int row, int col) {
+        return chunk(row, col).getInt(offset(row, col) + HEIGHT_LIMIT_OFFSET);
+    }
+
+    private int flags(int row, int col) {
+        return chunk(row, col).get(offset(row, col) + FLAGS_OFFSET);
+    }
+
+    private ByteBuffer chunk(int row, int col) {
+        return chunks[(int) (((long) row * width + col) >>> CHUNK_SHIFT)];
+    }
+
+    private int offset(int row, int col) {
+        return (int) (((long) row * width + col) & CHUNK_MASK) * RECORD_SIZE;
+    }
+
+    private static int chunkCount(long squares) {
+        return (int) Math.max(1, (squares + CHUNK_RECORDS - 1) / CHUNK_RECORDS);
+    }
+
+    // Size in bytes of chunk i, the last one only holds the remaining squares
+    private static int chunkBytes(long squares, int chunk) {
+        long records = Math.min(CHUNK_RECORDS, squares - (long) chunk * CHUNK_RECORDS);
+        return (int) Math.max(0, records) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,140 @@
+// SpatialIndex.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// Read-only spatial query layer over a CityGrid.
+// Keeps a summed-area table per zoning attribute for O(1) rectangle counts, and
+// the sorted columns of each attribute per row, so radius queries only visit matching squares.
+public class SpatialIndex {
+    private static final Logger logger = Logger.getLogger(SpatialIndex.class.getName());
+
+    // Zoning attributes that can be counted or searched
+    public enum Attribute {
+        HERITAGE, FLOOD_RISK, CONTAMINATION, HEIGHT_LIMIT, SWAMPY, ROCKY
+    }
+
+    private final int height;
+    private final int width;
+    private final int[][] countTables; // per attribute, (height + 1) x (width + 1) summed-area counts
+    private final int[][] rowStarts; // per attribute, offsets into rowColumns for each row
+    private final int[][] rowColumns; // per attribute, sorted columns of the matching squares, row by row
+    private final SummedAreaTable floodRiskTable;
+
+    public SpatialIndex(CityGrid grid) {
+        this.height = grid.getHeight();
+        this.width = grid.getWidth();
+
+        int attributeCount = Attribute.values().length;
+        boolean[][] matches = new boolean[attributeCount][height * width];
+        double[] floodRisk = new double[height * width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                GridSquare.TerrainType terrain = grid.getTerrain(row, col);
+                matches[Attribute.HERITAGE.ordinal()][index] = grid.getHeritage(row, col) != null;
+                matches[Attribute.FLOOD_RISK.ordinal()][index] = grid.hasFloodRisk(row, col);
+                matches[Attribute.CONTAMINATION.ordinal()][index] = grid.isContaminated(row, col);
+                matches[Attribute.HEIGHT_LIMIT.ordinal()][index] = grid.hasHeightLimit(row, col);
+                matches[Attribute.SWAMPY.ordinal()][index] = terrain == GridSquare.TerrainType.SWAMPY;
+                matches[Attribute.ROCKY.ordinal()][index] = terrain == GridSquare.TerrainType.ROCKY;
+                floodRisk[index] = grid.getFloodRisk(row, col);
+            }
+        }
+
+        this.countTables = new int[attributeCount][];
+        this.rowStarts = new int[attributeCount][];
+        this.rowColumns = new int[attributeCount][];
+        for (int a = 0; a < attributeCount; a++) {
+            buildAttribute(a, matches[a]);
+        }
+        this.floodRiskTable = new SummedAreaTable(height, width, floodRisk);
+
+        logger.info(() -> "SpatialIndex built for grid of size: " + height + "x" + width);
+    }
+
+    // Builds the summed-area counts and the per-row column lists of a single attribute
+    private void buildAttribute(int attribute, boolean[] matches) {
+        int stride = width + 1;
+        int[] table = new int[(height + 1) * stride];
+        int[] starts = new int[height + 1];
+        int total = 0;
+        for (int row = 0; row < height; row++) {
+            int rowSum = 0;
+            for (int col = 0; col < width; col++) {
+                if (matches[row * width + col]) {
+                    rowSum++;
+                }
+                table[(row + 1) * stride + col + 1] = table[row * stride + col + 1] + rowSum;
+            }
+            total += rowSum;
+            starts[row + 1] = total;
+        }
+
+        int[] columns = new int[total];
+        int next = 0;
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i]) {
+                columns[next++] = i % width; // row-major scan keeps columns sorted within each row
+            }
+        }
+
+        countTables[attribute] = table;
+        rowStarts[attribute] = starts;
+        rowColumns[attribute] = columns;
+    }
+
+    // Number of squares with the attribute in the rectangle between the two corners (inclusive).
+    public int count(Attribute attribute, int fromRow, int fromCol, int toRow, int toCol) {
+        int r0 = Math.max(fromRow, 0);
+        int c0 = Math.max(fromCol, 0);
+        int r1 = Math.min(toRow, height - 1);
+        int c1 = Math.min(toCol, width - 1);
+        if (r0 > r1 || c0 > c1) {
+            return 0;
+        }
+
+        int[] table = countTables[attribute.ordinal()];
+        int stride = width + 1;
+        return table[(r1 + 1) * stride + c1 + 1] - table[r0 * stride + c1 + 1]
+                - table[(r1 + 1) * stride + c0] + table[r0 * stride + c0];
+    }
+
+    // Total flood risk (in %) over the rectangle between the two corners (inclusive).
+    public double sumFloodRisk(int fromRow, int fromCol, int toRow, int toCol) {
+        return floodRiskTable.sum(fromRow, fromCol, toRow, toCol);
+    }
+
+    // Visits every square with the attribute within the given euclidean radius of (row, col).
+    // Each row of the disc is resolved with a binary search, so the cost is
+    // O(radius * log(width) + number of squares visited).
+    public void forEachWithinRadius(Attribute attribute, int row, int col, double radius, SquareVisitor visitor) {
+        if (radius < 0) {
+            return;
+        }
+        int[] starts = rowStarts[attribute.ordinal()];
+        int[] columns = rowColumns[attribute.ordinal()];
+        int reach = (int) Math.floor(radius);
+        double radiusSquared = radius * radius;
+
+        for (int r = Math.max(row - reach, 0); r <= Math.min(row + reach, height - 1); r++) {
+            int dr = r - row;
+            int halfWidth = (int) Math.floor(Math.sqrt(radiusSquared - (double) dr * dr));
+            int from = Arrays.binarySearch(columns, starts[r], starts[r + 1], col - halfWidth);
+            if (from < 0) {
+                from = -from - 1; // insertion point is the first column inside the span
+            }
+            for (int i = from; i < starts[r + 1] && columns[i] <= col + halfWidth; i++) {
+                visitor.visit(r, columns[i]);
+            }
+        }
+    }
+
+    // Number of squares with the attribute within the given euclidean radius of (row, col).
+    public int countWithinRadius(Attribute attribute, int row, int col, double radius) {
+        int[] total = new int[1];
+        forEachWithinRadius(attribute, row, col, radius, (r, c) -> total[0]++);
+        return total[0];
+    }
+}
@@ -0,0 +1,7 @@
+// SquareVisitor.java
+package edu.curtin.city_planning_app.grids;
+
+// Callback used by the spatial queries to report each matching grid square
+public interface SquareVisitor {
+    void visit(int row, int col);
+}
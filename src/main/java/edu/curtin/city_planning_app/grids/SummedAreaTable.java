@@ -0,0 +1,45 @@
+// SummedAreaTable.java
+package edu.curtin.city_planning_app.grids;
+
+// Summed-area table over a row-major layer of per-square values.
+// After an O(height * width) build, the sum over any rectangle is answered in O(1).
+// Can be built over any per-square value, eg. the cost of each built structure.
+public class SummedAreaTable {
+    private final int height;
+    private final int width;
+    private final double[] table; // (height + 1) x (width + 1), first row and column are zero
+
+    public SummedAreaTable(int height, int width, double[] values) {
+        if (values.length != height * width) {
+            throw new IllegalArgumentException("Expected " + (height * width) + " values, got " + values.length);
+        }
+        this.height = height;
+        this.width = width;
+        this.table = new double[(height + 1) * (width + 1)];
+
+        int stride = width + 1;
+        for (int row = 0; row < height; row++) {
+            double rowSum = 0;
+            for (int col = 0; col < width; col++) {
+                rowSum += values[row * width + col];
+                table[(row + 1) * stride + col + 1] = table[row * stride + col + 1] + rowSum;
+            }
+        }
+    }
+
+    // Sum of the values in the rectangle between the two corners (inclusive).
+    // The rectangle is clipped to the grid, an empty rectangle sums to 0.
+    public double sum(int fromRow, int fromCol, int toRow, int toCol) {
+        int r0 = Math.max(fromRow, 0);
+        int c0 = Math.max(fromCol, 0);
+        int r1 = Math.min(toRow, height - 1);
+        int c1 = Math.min(toCol, width - 1);
+        if (r0 > r1 || c0 > c1) {
+            return 0;
+        }
+
+        int stride = width + 1;
+        return table[(r1 + 1) * stride + c1 + 1] - table[r0 * stride + c1 + 1]
+                - table[(r1 + 1) * stride + c0] + table[r0 * stride + c0];
+    }
+}
@@ -0,0 +1,76 @@
+// WeightedDistanceField.java
+package edu.curtin.city_planning_app.grids;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+// Weighted distance from every square to a set of weighted sources: the smallest
+// distance / weight over all sources, and the source giving it.
+// A heavier source can win over a nearer, lighter one, so the nearest source alone isn't enough.
+// Sources with the same weight share one exact DistanceField, so the cost is
+// O(distinct weights * height * width) however many sources there are.
+public class WeightedDistanceField {
+    private static final Logger logger = Logger.getLogger(WeightedDistanceField.class.getName());
+
+    private final int width;
+    private final double[] distance; // row-major weighted distance to the best source
+    private final int[] bestSource; // row-major index of the best source
+
+    public WeightedDistanceField(int height, int width, int[] sourceRows, int[] sourceCols, double[] weights) {
+        if (weights.length != sourceRows.length) {
+            throw new IllegalArgumentException("Every source needs a weight.");
+        }
+        this.width = width;
+        this.distance = new double[height * width];
+        this.bestSource = new int[height * width];
+
+        // Group the sources by weight, in the order the weights first appear
+        Map<Double, List<Integer>> byWeight = new LinkedHashMap<>();
+        for (int s = 0; s < weights.length; s++) {
+            if (!(weights[s] > 0) || Double.isInfinite(weights[s])) {
+                throw new IllegalArgumentException("Source weights must be positive, got " + weights[s]);
+            }
+            byWeight.computeIfAbsent(weights[s], key -> new ArrayList<>()).add(s);
+        }
+
+        boolean first = true;
+        for (Map.Entry<Double, List<Integer>> group : byWeight.entrySet()) {
+            List<Integer> sources = group.getValue();
+            int[] rows = new int[sources.size()];
+            int[] cols = new int[sources.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                rows[i] = sourceRows[sources.get(i)];
+                cols[i] = sourceCols[sources.get(i)];
+            }
+            DistanceField field = new DistanceField(height, width, rows, cols);
+            double weight = group.getKey();
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    int index = row * width + col;
+                    double weighted = Math.sqrt(field.getDistanceSquared(row, col)) / weight;
+                    // Ties keep the earlier weight group, like DistanceField keeps the earlier source
+                    if (first || weighted < distance[index]) {
+                        distance[index] = weighted;
+                        bestSource[index] = sources.get(field.getNearestSource(row, col));
+                    }
+                }
+            }
+            first = false;
+        }
+        logger.info(() -> "WeightedDistanceField built for " + height + "x" + width + " grid with "
+                + weights.length + " sources and " + byWeight.size() + " distinct weights");
+    }
+
+    // Smallest distance / weight from (row, col) to any source.
+    public double getDistance(int row, int col) {
+        return distance[row * width + col];
+    }
+
+    // Index (in the order given to the constructor) of the source giving the smallest weighted distance.
+    public int getBestSource(int row, int col) {
+        return bestSource[row * width + col];
+    }
+}
@@ -0,0 +1,35 @@
+// GridLoadEvent.java
+package edu.curtin.city_planning_app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one grid file load, timed from opening the file to the last square.
+@Name("edu.curtin.city_planning_app.GridLoad")
+@Label("Grid Load")
+@Category({ "City Planner", "Grid" })
+@Description("A grid file parsed into a city grid")
+@StackTrace(false)
+public class GridLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("File Size")
+    @DataAmount
+    public long fileSize;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Mode")
+    @Description("sequential, parallel or off-heap")
+    public String mode;
+}
@@ -0,0 +1,99 @@
+// LatencyHistogram.java
+package edu.curtin.city_planning_app.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histogram of durations in nanoseconds with log-spaced buckets.
+// Every power of two is split into 8 equal sub-buckets, so a bucket is at most 12.5% wide and
+// 512 buckets cover every positive long. Recording is a few atomic increments into arrays
+// allocated up front, so it never allocates and can be called from any thread.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    // Records one duration. Negative durations (a clock going backwards) count as 0.
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    // Number of durations recorded.
+    public long getCount() {
+        return count.get();
+    }
+
+    // Sum of every duration recorded, in nanoseconds.
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    // Longest duration recorded, in nanoseconds.
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    // Mean duration in nanoseconds, 0 when nothing was recorded.
+    public double getMeanNanos() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) totalNanos.get() / recorded;
+    }
+
+    // Estimated duration below which 'percentile' percent (0-100) of the recordings fall,
+    // the middle of the bucket holding that rank. 0 when nothing was recorded.
+    public double getPercentileNanos(double percentile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(maxNanos.get(), (lowerBound(i) + lowerBound(i + 1)) / 2.0);
+            }
+        }
+        return maxNanos.get();
+    }
+
+    // Clears every recording.
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    // Bucket index: values below 8 get a bucket each, larger values are split by their
+    // highest bit and the three bits after it
+    /* default */ static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // Smallest value that falls in bucket i
+    /* default */ static double lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return Math.scalb((double) (SUB_BUCKETS + subBucket), exponent - SUB_BUCKET_BITS);
+    }
+}
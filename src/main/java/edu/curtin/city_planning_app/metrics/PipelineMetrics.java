@@ -0,0 +1,123 @@
+// PipelineMetrics.java
+package edu.curtin.city_planning_app.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Timing histograms for every phase of loading and building a city, plus the throughput of the
+// last build. There is one instance per JVM, shared by the loader, validation, cost chain and
+// displays, and it is published as a JMX MBean by register().
+// Timing a call costs two System.nanoTime() reads and a few atomic increments, nothing is allocated.
+public final class PipelineMetrics implements PipelineMetricsMXBean {
+    private static final Logger logger = Logger.getLogger(PipelineMetrics.class.getName());
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+    public static final String OBJECT_NAME = "edu.curtin.city_planning_app:type=PipelineMetrics";
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[PipelinePhase.values().length];
+    private volatile long lastRunSquares;
+    private volatile long lastRunNanos;
+
+    private PipelineMetrics() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    // The metrics shared by the whole application.
+    public static PipelineMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    // Publishes the metrics on the platform MBean server. Safe to call more than once.
+    public static void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+                logger.info(() -> "Pipeline metrics registered as " + OBJECT_NAME);
+            }
+        } catch (JMException e) {
+            logger.warning(() -> "Pipeline metrics could not be registered: " + e.getMessage());
+        }
+    }
+
+    // Records a phase that started at 'startNanos' (from System.nanoTime()) and ends now.
+    public void record(PipelinePhase phase, long startNanos) {
+        phases[phase.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    // Records a city build that visited 'squares' squares in 'nanos' nanoseconds.
+    public void recordRun(long squares, long nanos) {
+        lastRunSquares = squares;
+        lastRunNanos = nanos;
+        logger.info(() -> "Build visited " + squares + " squares at "
+                + String.format(Locale.ROOT, "%.0f", getLastRunSquaresPerSecond()) + " squares/sec");
+    }
+
+    // Timings of one phase.
+    public LatencyHistogram getHistogram(PipelinePhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    @Override
+    public String[] getPhaseSummaries() {
+        PipelinePhase[] all = PipelinePhase.values();
+        String[] summaries = new String[all.length];
+        for (int i = 0; i < all.length; i++) {
+            LatencyHistogram histogram = phases[i];
+            summaries[i] = String.format(Locale.ROOT, "%s: count=%d mean=%.2fus p50=%.2fus p99=%.2fus max=%.2fus",
+                    all[i], histogram.getCount(), histogram.getMeanNanos() / NANOS_PER_MICRO,
+                    histogram.getPercentileNanos(50) / NANOS_PER_MICRO,
+                    histogram.getPercentileNanos(99) / NANOS_PER_MICRO, histogram.getMaxNanos() / NANOS_PER_MICRO);
+        }
+        return summaries;
+    }
+
+    @Override
+    public long getLastRunSquares() {
+        return lastRunSquares;
+    }
+
+    @Override
+    public double getLastRunMillis() {
+        return lastRunNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLastRunSquaresPerSecond() {
+        long nanos = lastRunNanos;
+        return nanos == 0 ? 0 : lastRunSquares * NANOS_PER_SECOND / nanos;
+    }
+
+    @Override
+    public long getCount(String phase) {
+        return getHistogram(phaseNamed(phase)).getCount();
+    }
+
+    @Override
+    public double getPercentileMicros(String phase, double percentile) {
+        return getHistogram(phaseNamed(phase)).getPercentileNanos(percentile) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+        lastRunSquares = 0;
+        lastRunNanos = 0;
+        logger.info("Pipeline metrics reset");
+    }
+
+    // Phase from its name, case insensitive
+    private static PipelinePhase phaseNamed(String name) {
+        return PipelinePhase.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,27 @@
+// PipelineMetricsMXBean.java
+package edu.curtin.city_planning_app.metrics;
+
+// Management interface of PipelineMetrics, so timings can be read with JConsole or any JMX client
+// while the planner is running.
+public interface PipelineMetricsMXBean {
+    // One line per phase: count, mean, p50, p99 and max.
+    String[] getPhaseSummaries();
+
+    // Squares visited by the last city build.
+    long getLastRunSquares();
+
+    // Duration of the last city build in milliseconds.
+    double getLastRunMillis();
+
+    // Squares per second of the last city build.
+    double getLastRunSquaresPerSecond();
+
+    // Number of timings recorded for a phase (eg. "VALIDATION").
+    long getCount(String phase);
+
+    // Estimated percentile (0-100) of a phase's timings in microseconds.
+    double getPercentileMicros(String phase, double percentile);
+
+    // Clears every timing and the last run.
+    void reset();
+}
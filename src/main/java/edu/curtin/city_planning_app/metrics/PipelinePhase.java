@@ -0,0 +1,22 @@
+// PipelinePhase.java
+package edu.curtin.city_planning_app.metrics;
+
+// The parts of loading and building a city that are timed separately.
+public enum PipelinePhase {
+    LOAD("Grid load"),
+    VALIDATION("Validation"),
+    COST("Cost chain"), // per structure, or per row for the Uniform strategy's row evaluator
+    DISPLAY("Structure details"),
+    RENDER("Grid rendering");
+
+    private final String label;
+
+    PipelinePhase(String label) {
+        this.label = label;
+    }
+
+    // Get the name shown in reports.
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,30 @@
+// StrategyRunEvent.java
+package edu.curtin.city_planning_app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Flight Recorder event for one Build City run with a strategy.
+@Name("edu.curtin.city_planning_app.StrategyRun")
+@Label("Strategy Run")
+@Category({ "City Planner", "Build" })
+@Description("A whole city built with one strategy")
+@StackTrace(false)
+public class StrategyRunEvent extends Event {
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Squares")
+    public long squares;
+
+    @Label("Built")
+    @Description("Structures that passed validation and were built")
+    public long built;
+
+    @Label("Total Cost")
+    public double totalCost;
+}
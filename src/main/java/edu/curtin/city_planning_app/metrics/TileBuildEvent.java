@@ -0,0 +1,44 @@
+// TileBuildEvent.java
+package edu.curtin.city_planning_app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight Recorder event for the build work on one tile of the grid, see TileBuildRecorder.
+// The squares of a tile are built over several rows, so the time spent on them is a field
+// rather than the event's own duration.
+@Name("edu.curtin.city_planning_app.TileBuild")
+@Label("Tile Build")
+@Category({ "City Planner", "Build" })
+@Description("Build work on one square tile of the grid")
+@StackTrace(false)
+public class TileBuildEvent extends Event {
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Tile Id")
+    @Description("Row-major index of the tile")
+    public int tileId;
+
+    @Label("First Row")
+    public int firstRow;
+
+    @Label("First Column")
+    public int firstCol;
+
+    @Label("Squares")
+    public int squares;
+
+    @Label("Rejections")
+    @Description("Squares where no structure was built")
+    public int rejections;
+
+    @Label("Build Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long buildTime;
+}
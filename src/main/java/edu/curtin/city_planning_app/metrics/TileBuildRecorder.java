@@ -0,0 +1,82 @@
+// TileBuildRecorder.java
+package edu.curtin.city_planning_app.metrics;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import jdk.jfr.EventType;
+
+// Groups a row-major city build into TILE_SIZE x TILE_SIZE tiles and commits one TileBuildEvent
+// per tile, so a recording stays small on large grids.
+// The part of a row inside one tile is timed as a whole, and a band of tiles is committed once its
+// last row is done. When no recording has the event enabled every call returns straight away.
+public class TileBuildRecorder {
+    private static final Logger logger = Logger.getLogger(TileBuildRecorder.class.getName());
+    public static final int TILE_SIZE = 64;
+
+    private final boolean enabled;
+    private final String strategy;
+    private final int height;
+    private final int width;
+    private final long[] nanos; // per tile in the current band
+    private final int[] squares;
+    private final int[] rejections;
+    private long segmentStart;
+
+    public TileBuildRecorder(String strategy, int height, int width) {
+        this.enabled = EventType.getEventType(TileBuildEvent.class).isEnabled();
+        this.strategy = strategy;
+        this.height = height;
+        this.width = width;
+        int tileCols = enabled ? (width + TILE_SIZE - 1) / TILE_SIZE : 0;
+        this.nanos = new long[tileCols];
+        this.squares = new int[tileCols];
+        this.rejections = new int[tileCols];
+        if (enabled) {
+            logger.info(() -> "Recording tile build events for " + strategy);
+        }
+    }
+
+    // Called before the square in column col is built.
+    public void beforeSquare(int col) {
+        if (enabled && col % TILE_SIZE == 0) {
+            segmentStart = System.nanoTime();
+        }
+    }
+
+    // Called after the square at (row, col) is built, or rejected.
+    public void afterSquare(int row, int col, boolean built) {
+        if (!enabled) {
+            return;
+        }
+        int tile = col / TILE_SIZE;
+        squares[tile]++;
+        if (!built) {
+            rejections[tile]++;
+        }
+        if (col % TILE_SIZE == TILE_SIZE - 1 || col == width - 1) {
+            nanos[tile] += System.nanoTime() - segmentStart;
+        }
+        if (col == width - 1 && (row % TILE_SIZE == TILE_SIZE - 1 || row == height - 1)) {
+            commitBand(row / TILE_SIZE);
+        }
+    }
+
+    // Commits the events of every tile in a band of rows and clears the counters
+    private void commitBand(int tileRow) {
+        for (int tile = 0; tile < squares.length; tile++) {
+            TileBuildEvent event = new TileBuildEvent();
+            event.strategy = strategy;
+            event.tileId = tileRow * squares.length + tile;
+            event.firstRow = tileRow * TILE_SIZE;
+            event.firstCol = tile * TILE_SIZE;
+            event.squares = squares[tile];
+            event.rejections = rejections[tile];
+            event.buildTime = nanos[tile];
+            event.commit();
+        }
+        Arrays.fill(nanos, 0);
+        Arrays.fill(squares, 0);
+        Arrays.fill(rejections, 0);
+    }
+}
@@ -0,0 +1,78 @@
+// BuildOutcome.java
+package edu.curtin.city_planning_app.outcomes;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+// What happened to one square during a city build: the structure built there, or that nothing was.
+// 'run' numbers the builds of a CityBuilderManager from 1, so a subscriber that stays subscribed
+// across several builds can tell where one ends and the next begins.
+public final class BuildOutcome {
+    private final long run;
+    private final int row;
+    private final int col;
+    private final boolean built;
+    private final int floors;
+    private final Material material;
+    private final double cost;
+
+    private BuildOutcome(long run, int row, int col, boolean built, int floors, Material material, double cost) {
+        this.run = run;
+        this.row = row;
+        this.col = col;
+        this.built = built;
+        this.floors = floors;
+        this.material = material;
+        this.cost = cost;
+    }
+
+    // A structure built at (row, col).
+    public static BuildOutcome built(long run, int row, int col, int floors, Material material, double cost) {
+        return new BuildOutcome(run, row, col, true, floors, material, cost);
+    }
+
+    // Nothing built at (row, col), the strategy chose not to or validation failed.
+    public static BuildOutcome rejected(long run, int row, int col) {
+        return new BuildOutcome(run, row, col, false, 0, null, 0);
+    }
+
+    // Get the build this outcome belongs to.
+    public long getRun() {
+        return run;
+    }
+
+    // Get the row of the square.
+    public int getRow() {
+        return row;
+    }
+
+    // Get the column of the square.
+    public int getCol() {
+        return col;
+    }
+
+    // Check if a structure was built.
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // Get the floors built, 0 if nothing was built.
+    public int getFloors() {
+        return floors;
+    }
+
+    // Get the material built with, null if nothing was built.
+    public Material getMaterial() {
+        return material;
+    }
+
+    // Get the cost of the structure, 0 if nothing was built.
+    public double getCost() {
+        return cost;
+    }
+
+    @Override
+    public String toString() {
+        return built ? "(" + row + ", " + col + ") " + floors + " floors of " + material + " for $" + cost
+                : "(" + row + ", " + col + ") not built";
+    }
+}
@@ -0,0 +1,81 @@
+// BuildOutcomePublisher.java
+package edu.curtin.city_planning_app.outcomes;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+// Publishes the outcome of every square of every city build to any number of Flow subscribers.
+// Each subscriber gets its own buffer of 'bufferCapacity' outcomes, and items are only delivered
+// as it requests them. The build never waits for a subscriber: when a subscriber's buffer is
+// full, the outcome is dropped for that subscriber and counted, so a slow dashboard loses
+// outcomes instead of slowing the build down, and nothing is buffered beyond the capacity.
+// Subscribers are called on daemon threads of the publisher's own pool, never on the build thread.
+public class BuildOutcomePublisher implements Flow.Publisher<BuildOutcome>, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(BuildOutcomePublisher.class.getName());
+    public static final int DEFAULT_BUFFER_CAPACITY = Flow.defaultBufferSize();
+
+    private final ExecutorService executor;
+    private final SubmissionPublisher<BuildOutcome> publisher;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public BuildOutcomePublisher() {
+        this(DEFAULT_BUFFER_CAPACITY);
+    }
+
+    // 'bufferCapacity' is rounded up to a power of two by SubmissionPublisher.
+    public BuildOutcomePublisher(int bufferCapacity) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("Outcome buffer capacity must be positive.");
+        }
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "build-outcomes");
+            thread.setDaemon(true); // never keeps the application running
+            return thread;
+        });
+        this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BuildOutcome> subscriber) {
+        publisher.subscribe(subscriber);
+        logger.info(() -> "Build outcome subscriber added, " + publisher.getNumberOfSubscribers() + " in total");
+    }
+
+    // Check if anyone is subscribed, so the build can skip creating outcomes nobody will read.
+    public boolean hasSubscribers() {
+        return publisher.hasSubscribers();
+    }
+
+    // Offers an outcome to every subscriber without blocking, dropping it for any whose buffer is full.
+    public void publish(BuildOutcome outcome) {
+        published.increment();
+        publisher.offer(outcome, (subscriber, item) -> {
+            dropped.increment();
+            return false; // don't retry, the build carries on
+        });
+    }
+
+    // Get the number of outcomes published.
+    public long getPublished() {
+        return published.sum();
+    }
+
+    // Get the number of outcomes dropped, counted once for every subscriber that missed one.
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    // Completes every subscriber once it has received what is already buffered.
+    @Override
+    public void close() {
+        publisher.close();
+        executor.shutdown();
+        logger.info(() -> "Build outcome publisher closed after " + published.sum() + " outcomes, "
+                + dropped.sum() + " dropped");
+    }
+}
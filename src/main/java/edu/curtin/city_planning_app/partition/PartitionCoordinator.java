@@ -0,0 +1,494 @@
+// PartitionCoordinator.java
+package edu.curtin.city_planning_app.partition;
+
+import edu.curtin.city_planning_app.decorators.CentsAccumulator;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Builds a city across several worker JVMs. The grid is split into bands of rows, and each
+// PartitionWorker is launched on this host, connects back over a loopback socket and is handed
+// bands one at a time, reading only those rows of the grid file. The byte offset each band starts
+// at is found once, in one scan of the file, so a worker seeks straight to its band's first row
+// however often bands are reassigned. Workers stream every built row
+// back (written straight to its place in the output file) and then the band's totals.
+// If a worker JVM exits or goes silent part way through a band, the band goes back in the queue
+// for another worker and a replacement JVM is started, up to a fixed number of attempts per band.
+// Band totals are kept by band and summed in band order at the end, so the result doesn't depend
+// on which worker built which band or how many times one was retried.
+public class PartitionCoordinator {
+    private static final Logger logger = Logger.getLogger(PartitionCoordinator.class.getName());
+
+    public static final int BANDS_PER_WORKER = 4; // smaller bands balance the load and lose less to a crash
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int SILENT_WORKER_MILLIS = 300_000; // a worker quiet this long is treated as crashed
+    private static final long POLL_MILLIS = 50;
+    private static final long EXIT_WAIT_SECONDS = 5;
+
+    private final Path gridPath;
+    private final String planSpec;
+    private final CostParameters prices;
+    private final int workers;
+    private int bands;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private List<String> workerJvmOptions = new ArrayList<>();
+
+    public PartitionCoordinator(Path gridPath, String planSpec, CostParameters prices, int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("A partitioned build needs at least one worker.");
+        }
+        this.gridPath = gridPath.toAbsolutePath();
+        this.planSpec = planSpec;
+        this.prices = prices;
+        this.workers = workers;
+        this.bands = workers * BANDS_PER_WORKER;
+    }
+
+    // Changes the number of bands the grid is split into (at most one per row).
+    public void setBands(int bands) {
+        if (bands <= 0) {
+            throw new IllegalArgumentException("There must be at least one band.");
+        }
+        this.bands = bands;
+    }
+
+    // Changes how many times a band is tried before the build fails.
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("A band must be tried at least once.");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Extra JVM options for the workers, eg. a heap size or -D properties.
+    public void setWorkerJvmOptions(List<String> options) {
+        this.workerJvmOptions = new ArrayList<>(options);
+    }
+
+    // Builds every square, writing the grid of built squares to 'output' in the same format as
+    // BuildPipeline ('X' built, '.' not, after a "height,width" header), or nowhere if it is null.
+    public PartitionSummary run(Path output) throws IOException {
+        int height;
+        int width;
+        try (GridRowReader header = new GridLoader().openRows(gridPath)) {
+            height = header.getHeight();
+            width = header.getWidth();
+        }
+        SquarePlan.parse(planSpec, height, width); // a bad plan fails here rather than in every worker
+        Run run = new Run(height, width, Math.max(1, Math.min(bands, height)));
+        return run.execute(output);
+    }
+
+    // A worker JVM and the band it is building
+    private static final class WorkerSlot {
+        private final int id;
+        private Process process;
+        private int band = PartitionProtocol.STOP; // guarded by the Run
+        private boolean exited; // guarded by the Run
+
+        private WorkerSlot(int id) {
+            this.id = id;
+        }
+    }
+
+    // State of one partitioned build
+    private final class Run {
+        private final int height;
+        private final int width;
+        private final int bandCount;
+        private final int[] firstRows;
+        private final long[] offsets; // byte offset of each band's first row in the grid file
+        private final BlockingQueue<Integer> pending = new LinkedBlockingQueue<>();
+        private final int[] attempts;
+        private final boolean[] done;
+        private final long[] bandBuilt;
+        private final double[] bandCost;
+        private final long[] bandCents;
+        private final long[] bandNanos;
+        private final Map<Integer, WorkerSlot> slots = new ConcurrentHashMap<>();
+        private final CountDownLatch finishedLatch = new CountDownLatch(1);
+        private final ExecutorService pool = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "partition-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private ServerSocket server;
+        private FileChannel out;
+        private int headerBytes;
+        private int remaining;
+        private int live;
+        private int nextId;
+        private int restarts;
+        private int reassigned;
+        private volatile boolean finished;
+        private IOException failure;
+
+        private Run(int height, int width, int bandCount) throws IOException {
+            this.height = height;
+            this.width = width;
+            this.bandCount = bandCount;
+            this.firstRows = new int[bandCount + 1];
+            for (int band = 0; band <= bandCount; band++) {
+                firstRows[band] = (int) ((long) height * band / bandCount);
+            }
+            this.offsets = new GridLoader().findRowOffsets(gridPath, Arrays.copyOf(firstRows, bandCount));
+            this.attempts = new int[bandCount];
+            this.done = new boolean[bandCount];
+            this.bandBuilt = new long[bandCount];
+            this.bandCost = new double[bandCount];
+            this.bandCents = new long[bandCount];
+            this.bandNanos = new long[bandCount];
+            this.remaining = bandCount;
+            for (int band = 0; band < bandCount; band++) {
+                pending.add(band);
+            }
+        }
+
+        private PartitionSummary execute(Path output) throws IOException {
+            long start = System.nanoTime();
+            // A null output channel is skipped when closing
+            try (ServerSocket socket = new ServerSocket(0, workers, InetAddress.getLoopbackAddress());
+                    FileChannel channel = output == null ? null : FileChannel.open(output, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                server = socket;
+                out = channel;
+                buildBands();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            // Merged in band order, whichever worker built each band
+            long built = 0;
+            double totalCost = 0;
+            long buildNanos = 0;
+            CentsAccumulator totalCents = new CentsAccumulator();
+            for (int band = 0; band < bandCount; band++) {
+                built += bandBuilt[band];
+                totalCost += bandCost[band];
+                totalCents.add(bandCents[band]);
+                buildNanos += bandNanos[band];
+            }
+            if (prices.getMode() == CostMode.FIXED_POINT) {
+                totalCost = totalCents.getDollars();
+            }
+            long wallNanos = System.nanoTime() - start;
+            PipelineMetrics.getInstance().recordRun((long) height * width, wallNanos);
+            PartitionSummary summary = new PartitionSummary(height, width, bandCount, workers, built, totalCost,
+                    reassigned, restarts, wallNanos, buildNanos);
+            logger.info(() -> "Partitioned build of " + bandCount + " bands built " + summary.getBuilt()
+                    + " structures, " + summary.getReassignedBands() + " bands reassigned");
+            return summary;
+        }
+
+        // Writes the output's header, starts the workers and waits until every band is built or the build
+        // fails. The workers are stopped before this returns, so none is still writing rows.
+        private void buildBands() throws IOException {
+            try {
+                if (out != null) {
+                    byte[] header = (height + "," + width + "\n").getBytes(StandardCharsets.US_ASCII);
+                    headerBytes = header.length;
+                    out.write(ByteBuffer.wrap(header), 0);
+                }
+                pool.execute(this::acceptWorkers);
+                synchronized (this) {
+                    for (int w = 0; w < workers; w++) {
+                        launch();
+                    }
+                }
+                finishedLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException interrupted = new InterruptedIOException("Partitioned build was interrupted.");
+                interrupted.initCause(e);
+                throw interrupted;
+            } finally {
+                finished = true;
+                stopWorkers();
+            }
+        }
+
+        // Starts a worker JVM that connects back to this coordinator
+        private void launch() {
+            WorkerSlot slot = new WorkerSlot(nextId++);
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(workerJvmOptions);
+            String loggingConfig = System.getProperty("java.util.logging.config.file");
+            if (loggingConfig != null) {
+                command.add("-Djava.util.logging.config.file=" + loggingConfig);
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(PartitionWorker.class.getName());
+            command.add(server.getInetAddress().getHostAddress());
+            command.add(String.valueOf(server.getLocalPort()));
+            command.add(String.valueOf(slot.id));
+            try {
+                slot.process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            slots.put(slot.id, slot);
+            live++;
+            slot.process.onExit().thenRun(() -> workerExited(slot));
+            logger.info(() -> "Started partition worker " + slot.id);
+        }
+
+        // Requeues the band of a worker that exited part way through it, and replaces the worker
+        private synchronized void workerExited(WorkerSlot slot) {
+            live--;
+            slot.exited = true;
+            if (finished) {
+                return;
+            }
+            int exitCode = slot.process.exitValue();
+            logger.warning(() -> "Partition worker " + slot.id + " exited with " + exitCode
+                    + (slot.band >= 0 ? " during band " + slot.band : ""));
+            requeue(slot);
+            if (finished) {
+                return; // the band had no attempts left
+            }
+            if (restarts < workers * maxAttempts) {
+                restarts++;
+                launch();
+            } else if (live == 0) {
+                fail(new IOException("Every partition worker exited before the build finished."));
+            }
+        }
+
+        // Puts the band a worker was building back in the queue, unless it has been tried too often
+        private void requeue(WorkerSlot slot) {
+            int band = slot.band;
+            slot.band = PartitionProtocol.STOP;
+            if (band < 0 || done[band]) {
+                return;
+            }
+            if (attempts[band] >= maxAttempts) {
+                fail(new IOException("Band " + band + " (rows " + firstRows[band] + "-" + (firstRows[band + 1] - 1)
+                        + ") failed " + attempts[band] + " times."));
+                return;
+            }
+            reassigned++;
+            pending.add(band);
+        }
+
+        // Stops a worker whose connection failed. Its band is requeued once the process has exited.
+        private synchronized void lost(WorkerSlot slot) {
+            slot.process.destroyForcibly();
+            if (slot.exited) {
+                requeue(slot); // it exited before it was given this band
+            }
+        }
+
+        @SuppressWarnings("PMD.CloseResource") // serve() closes each accepted socket
+        private void acceptWorkers() {
+            try {
+                while (!finished) {
+                    Socket socket = server.accept();
+                    pool.execute(() -> serve(socket));
+                }
+            } catch (IOException e) {
+                if (!finished) {
+                    fail(e);
+                }
+            }
+        }
+
+        // Hands bands to one worker until there are none left, writing the rows it sends back
+        private void serve(Socket socket) {
+            WorkerSlot slot = null;
+            try (Socket connection = socket;
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                    DataOutputStream toWorker = new DataOutputStream(
+                            new BufferedOutputStream(connection.getOutputStream()))) {
+                connection.setSoTimeout(SILENT_WORKER_MILLIS);
+                if (in.readByte() != PartitionProtocol.HELLO) {
+                    throw new IOException("Worker did not introduce itself.");
+                }
+                slot = slots.get(in.readInt());
+                if (slot == null) {
+                    throw new IOException("Unknown partition worker.");
+                }
+                int band = nextBand(slot);
+                while (band != PartitionProtocol.STOP) {
+                    assign(toWorker, band);
+                    receiveBand(in, slot);
+                    band = nextBand(slot);
+                }
+                toWorker.writeInt(PartitionProtocol.STOP);
+                toWorker.flush();
+            } catch (IOException e) {
+                if (!finished && slot != null) {
+                    WorkerSlot failed = slot;
+                    logger.warning(() -> "Lost partition worker " + failed.id + ": " + e.getMessage());
+                    lost(slot);
+                }
+            }
+        }
+
+        // Takes the next band off the queue, or STOP once every band is done
+        private int nextBand(WorkerSlot slot) throws IOException {
+            try {
+                while (!finished) {
+                    Integer band = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (band != null) {
+                        synchronized (this) {
+                            if (slot.exited) {
+                                pending.add(band);
+                                return PartitionProtocol.STOP;
+                            }
+                            if (!done[band] && !finished) {
+                                attempts[band]++;
+                                slot.band = band;
+                                return band;
+                            }
+                        }
+                    }
+                }
+                return PartitionProtocol.STOP;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                InterruptedIOException interrupted = new InterruptedIOException("Interrupted waiting for a band.");
+                interrupted.initCause(e);
+                throw interrupted;
+            }
+        }
+
+        private void assign(DataOutputStream toWorker, int band) throws IOException {
+            toWorker.writeInt(band);
+            synchronized (this) {
+                toWorker.writeInt(attempts[band]);
+            }
+            toWorker.writeUTF(gridPath.toString());
+            toWorker.writeUTF(planSpec);
+            toWorker.writeInt(firstRows[band]);
+            toWorker.writeInt(firstRows[band + 1] - firstRows[band]);
+            toWorker.writeLong(offsets[band]);
+            toWorker.writeInt(2 + firstRows[band] * width); // the squares start on line 2
+            PartitionProtocol.writePrices(toWorker, prices);
+            toWorker.flush();
+        }
+
+        // Reads a band's rows and totals
+        private void receiveBand(DataInputStream in, WorkerSlot slot) throws IOException {
+            byte[] bits = new byte[(width + 7) / 8];
+            ByteBuffer line = ByteBuffer.allocate(width + 1);
+            while (true) {
+                byte type = in.readByte();
+                switch (type) {
+                    case PartitionProtocol.ROW:
+                        int row = in.readInt();
+                        in.readInt(); // built count, only the band totals are kept
+                        in.readFully(bits);
+                        writeRow(row, bits, line);
+                        break;
+                    case PartitionProtocol.BAND_DONE:
+                        complete(slot, in.readInt(), in.readLong(), in.readDouble(), in.readLong(), in.readLong());
+                        return;
+                    case PartitionProtocol.FAILED:
+                        fail(new IOException(in.readUTF()));
+                        return;
+                    default:
+                        throw new IOException("Unknown message " + type + " from partition worker " + slot.id);
+                }
+            }
+        }
+
+        // Writes a row to its fixed place in the output, so rows can arrive in any order
+        private void writeRow(int row, byte[] bits, ByteBuffer line) throws IOException {
+            if (out == null) {
+                return;
+            }
+            line.clear();
+            for (int col = 0; col < width; col++) {
+                line.put((bits[col >>> 3] & (1 << (col & 7))) == 0 ? (byte) '.' : (byte) 'X');
+            }
+            line.put((byte) '\n');
+            line.flip();
+            long position = headerBytes + (long) row * (width + 1);
+            while (line.hasRemaining()) {
+                position += out.write(line, position);
+            }
+        }
+
+        private synchronized void complete(WorkerSlot slot, int band, long built, double cost, long cents,
+                long nanos) {
+            slot.band = PartitionProtocol.STOP;
+            if (done[band]) {
+                return;
+            }
+            done[band] = true;
+            bandBuilt[band] = built;
+            bandCost[band] = cost;
+            bandCents[band] = cents;
+            bandNanos[band] = nanos;
+            remaining--;
+            if (remaining == 0) {
+                finished = true;
+                finishedLatch.countDown();
+            }
+        }
+
+        private synchronized void fail(IOException e) {
+            if (finished) {
+                return;
+            }
+            logger.severe(() -> "Partitioned build failed: " + e.getMessage());
+            failure = e;
+            finished = true;
+            finishedLatch.countDown();
+        }
+
+        // Lets the workers see STOP and exit, then stops any that don't
+        private void stopWorkers() throws IOException {
+            if (server != null) {
+                server.close();
+            }
+            for (WorkerSlot slot : slots.values()) {
+                try {
+                    if (!slot.process.waitFor(EXIT_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                        slot.process.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    slot.process.destroyForcibly();
+                }
+            }
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// PartitionProtocol.java
+package edu.curtin.city_planning_app.partition;
+
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Messages between a PartitionCoordinator and its PartitionWorkers, over one socket per worker.
+//   worker -> coordinator  HELLO worker id
+//   coordinator -> worker  ASSIGN band, attempt, grid path, plan, first row, rows,
+//                          byte offset and line number of the first row, prices
+//                          (a band of -1 tells the worker to exit)
+//   worker -> coordinator  ROW row, built count, built squares as bits       (once per row)
+//                          BAND_DONE band, built, cost, cents, build nanos    (once per band)
+//                          FAILED message                                     (the band can't be built)
+/* default */ final class PartitionProtocol {
+    /* default */ static final byte HELLO = 1;
+    /* default */ static final byte ROW = 2;
+    /* default */ static final byte BAND_DONE = 3;
+    /* default */ static final byte FAILED = 4;
+    /* default */ static final int STOP = -1;
+
+    private PartitionProtocol() {
+    }
+
+    // Writes every price and the cost mode
+    /* default */ static void writePrices(DataOutputStream out, CostParameters prices) throws IOException {
+        CostParameters.Parameter[] parameters = CostParameters.Parameter.values();
+        out.writeInt(parameters.length);
+        for (CostParameters.Parameter parameter : parameters) {
+            out.writeDouble(prices.get(parameter));
+        }
+        out.writeByte(prices.getMode().ordinal());
+    }
+
+    // Reads the prices written by writePrices
+    /* default */ static CostParameters readPrices(DataInputStream in) throws IOException {
+        CostParameters.Parameter[] parameters = CostParameters.Parameter.values();
+        int count = in.readInt();
+        if (count != parameters.length) {
+            throw new IOException("Expected " + parameters.length + " prices, got " + count + ".");
+        }
+        CostParameters prices = new CostParameters();
+        for (CostParameters.Parameter parameter : parameters) {
+            prices.set(parameter, in.readDouble());
+        }
+        prices.setMode(CostMode.values()[in.readByte()]);
+        return prices;
+    }
+}
@@ -0,0 +1,82 @@
+// PartitionSummary.java
+package edu.curtin.city_planning_app.partition;
+
+// Totals of one partitioned build, and how much recovery it needed.
+public class PartitionSummary {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int height;
+    private final int width;
+    private final int bands;
+    private final int workers;
+    private final long built;
+    private final double totalCost;
+    private final int reassignedBands;
+    private final int workerRestarts;
+    private final long wallNanos;
+    private final long buildNanos;
+
+    public PartitionSummary(int height, int width, int bands, int workers, long built, double totalCost,
+            int reassignedBands, int workerRestarts, long wallNanos, long buildNanos) {
+        this.height = height;
+        this.width = width;
+        this.bands = bands;
+        this.workers = workers;
+        this.built = built;
+        this.totalCost = totalCost;
+        this.reassignedBands = reassignedBands;
+        this.workerRestarts = workerRestarts;
+        this.wallNanos = wallNanos;
+        this.buildNanos = buildNanos;
+    }
+
+    // Get the number of rows in the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Get the number of columns in the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Get the number of bands the grid was split into.
+    public int getBands() {
+        return bands;
+    }
+
+    // Get the number of worker JVMs run at once.
+    public int getWorkers() {
+        return workers;
+    }
+
+    // Get the number of structures built.
+    public long getBuilt() {
+        return built;
+    }
+
+    // Get the total cost of every structure built.
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    // Get the number of times a band was handed to another worker after its worker crashed.
+    public int getReassignedBands() {
+        return reassignedBands;
+    }
+
+    // Get the number of worker JVMs started to replace ones that exited.
+    public int getWorkerRestarts() {
+        return workerRestarts;
+    }
+
+    // Get the end-to-end time in milliseconds, including starting the worker JVMs.
+    public double getWallMillis() {
+        return wallNanos / NANOS_PER_MILLI;
+    }
+
+    // Get the time workers spent building the bands that were kept, in milliseconds.
+    public double getBuildMillis() {
+        return buildNanos / NANOS_PER_MILLI;
+    }
+}
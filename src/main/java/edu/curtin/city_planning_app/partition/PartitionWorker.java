@@ -0,0 +1,150 @@
+// PartitionWorker.java
+package edu.curtin.city_planning_app.partition;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.decorators.CentsAccumulator;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// A worker JVM of a partitioned build. It connects back to the PartitionCoordinator, then builds
+// the bands of rows it is assigned one at a time, reading only those rows of the grid file and
+// streaming each built row and the band's totals back, until it is told to stop.
+// Usage: java -cp ... edu.curtin.city_planning_app.partition.PartitionWorker HOST PORT ID
+public final class PartitionWorker {
+    private static final Logger logger = Logger.getLogger(PartitionWorker.class.getName());
+
+    // For tests: the worker halts half way through this band on its first attempt, like a crash
+    public static final String HALT_BAND_PROPERTY = "city.partition.haltBand";
+    public static final int HALT_EXIT_CODE = 86;
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final int haltBand = Integer.getInteger(HALT_BAND_PROPERTY, -1);
+
+    private PartitionWorker(Socket socket) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: PartitionWorker HOST PORT ID");
+            System.exit(2);
+        }
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            PartitionWorker worker = new PartitionWorker(socket);
+            worker.out.writeByte(PartitionProtocol.HELLO);
+            worker.out.writeInt(Integer.parseInt(args[2]));
+            worker.out.flush();
+            worker.serve();
+        } catch (EOFException e) {
+            logger.warning("Coordinator closed the connection.");
+        } catch (IOException | IllegalArgumentException e) {
+            logger.severe(() -> "Partition worker failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Builds assigned bands until told to stop
+    private void serve() throws IOException {
+        GridLoader loader = new GridLoader();
+        int band = in.readInt();
+        while (band != PartitionProtocol.STOP) {
+            int attempt = in.readInt();
+            String gridPath = in.readUTF();
+            String planSpec = in.readUTF();
+            int firstRow = in.readInt();
+            int rows = in.readInt();
+            long offset = in.readLong();
+            int firstLine = in.readInt();
+            CostParameters prices = PartitionProtocol.readPrices(in);
+            try {
+                buildBand(loader, band, attempt, gridPath, planSpec, firstRow, rows, offset, firstLine, prices);
+            } catch (IOException | IllegalArgumentException | ArithmeticException e) {
+                out.writeByte(PartitionProtocol.FAILED);
+                out.writeUTF(String.valueOf(e.getMessage()));
+                out.flush();
+            }
+            band = in.readInt();
+        }
+        logger.info("Partition worker stopping");
+    }
+
+    // Builds every square of the band exactly as BuildPipeline does, sending each row as it is built
+    private void buildBand(GridLoader loader, int band, int attempt, String gridPath, String planSpec, int firstRow,
+            int rows, long offset, int firstLine, CostParameters prices) throws IOException {
+        long start = System.nanoTime();
+        CheckBuildValidation validator = new CheckBuildValidation();
+        long built = 0;
+        double cost = 0;
+        CentsAccumulator cents = new CentsAccumulator();
+        try (GridRowReader reader = loader.openRows(Paths.get(gridPath), firstRow, offset, firstLine)) {
+            SquarePlan plan = SquarePlan.parse(planSpec, reader.getHeight(), reader.getWidth());
+            int width = reader.getWidth();
+            GridSquare[] squares = new GridSquare[width];
+            byte[] bits = new byte[(width + 7) / 8];
+            for (int i = 0; i < rows; i++) {
+                if (band == haltBand && attempt == 1 && i == rows / 2) {
+                    out.flush();
+                    haltLikeACrash();
+                }
+                int row = reader.readRow(squares);
+                Arrays.fill(bits, (byte) 0);
+                int rowBuilt = 0;
+                for (int col = 0; col < width; col++) {
+                    GridSquare square = squares[col];
+                    int floors = plan.floors(row, col, square);
+                    Material material = plan.material(row, col, square);
+                    Foundation foundation = plan.foundation(row, col, square);
+                    if ("valid".equals(validator.validate(square, floors, foundation, material))) {
+                        double structureCost = prices.getMode()
+                                .calculate(CostChain.forSquare(square, floors, material, prices));
+                        cost += structureCost;
+                        cents.add(Money.toCents(structureCost));
+                        bits[col >>> 3] |= (byte) (1 << (col & 7));
+                        rowBuilt++;
+                    }
+                }
+                built += rowBuilt;
+                out.writeByte(PartitionProtocol.ROW);
+                out.writeInt(row);
+                out.writeInt(rowBuilt);
+                out.write(bits);
+            }
+        }
+        out.writeByte(PartitionProtocol.BAND_DONE);
+        out.writeInt(band);
+        out.writeLong(built);
+        out.writeDouble(cost);
+        out.writeLong(cents.getCents());
+        out.writeLong(System.nanoTime() - start);
+        out.flush();
+        long bandBuilt = built;
+        logger.info(() -> "Band " + band + " built " + bandBuilt + " structures");
+    }
+
+    // The HALT_BAND_PROPERTY test hook. It must stop the JVM at once, without running shutdown hooks or
+    // closing the socket cleanly, or the coordinator never sees a crash.
+    @SuppressWarnings("PMD.DoNotTerminateVM")
+    private static void haltLikeACrash() {
+        Runtime.getRuntime().halt(HALT_EXIT_CODE);
+    }
+}
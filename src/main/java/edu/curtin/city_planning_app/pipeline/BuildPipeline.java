@@ -0,0 +1,278 @@
+// BuildPipeline.java
+package edu.curtin.city_planning_app.pipeline;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.decorators.CentsAccumulator;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.statistics.CostStatistics;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+// Headless city build as three concurrent stages joined by bounded queues:
+//   loader  - reads and parses one row at a time from a GridRowReader
+//   workers - validate and cost every square of a row with a SquarePlan
+//   writer  - (the calling thread) puts rows back in order and streams them out
+// A row is only read once a permit is free, and a permit is only returned once the row has been
+// written, so at most maxRowsInFlight rows are in memory whatever the grid's size. When one stage
+// is slower, the others block on their queue, so the run takes about as long as the slowest stage.
+// Totals are summed by the writer in row order, so they don't depend on the number of workers.
+// In CostMode.FIXED_POINT they are also summed in whole cents, which are exact in any order.
+// Each worker keeps its own CostStatistics, merged once every row is written.
+public class BuildPipeline {
+    private static final Logger logger = Logger.getLogger(BuildPipeline.class.getName());
+    public static final int DEFAULT_QUEUE_CAPACITY = 64; // rows per queue
+
+    private static final RowBatch END_OF_ROWS = new RowBatch(-1, null);
+
+    private final SquarePlan plan;
+    private final CostParameters prices;
+    private final int workers;
+    private final int queueCapacity;
+
+    public BuildPipeline(SquarePlan plan, CostParameters prices, int workers, int queueCapacity) {
+        if (workers <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Pipeline needs at least one worker and a queue capacity of one.");
+        }
+        this.plan = plan;
+        this.prices = prices;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Builds every square of the grid and writes one line per row to 'out': 'X' where a structure
+    // was built and '.' where it was not, after a "height,width" header.
+    // Parse errors are thrown as they would be by GridLoader.loadGrid.
+    public PipelineSummary run(GridRowReader reader, Writer out) throws IOException {
+        int height = reader.getHeight();
+        int width = reader.getWidth();
+        int maxRowsInFlight = queueCapacity * 2 + workers;
+        Semaphore permits = new Semaphore(maxRowsInFlight);
+        BlockingQueue<RowBatch> rows = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<RowResult> results = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicLong loadNanos = new AtomicLong();
+        AtomicLong buildNanos = new AtomicLong();
+        CostStatistics[] statistics = new CostStatistics[workers];
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 1);
+        try {
+            pool.execute(() -> load(reader, permits, rows, results, loadNanos));
+            for (int w = 0; w < workers; w++) {
+                statistics[w] = new CostStatistics();
+                CostStatistics workerStatistics = statistics[w];
+                pool.execute(() -> build(rows, results, buildNanos, workerStatistics));
+            }
+
+            // Writer: rows can finish out of order, so they wait in a ring until their turn
+            RowResult[] pending = new RowResult[maxRowsInFlight];
+            char[] line = new char[width];
+            long writeNanos = 0;
+            long built = 0;
+            double totalCost = 0;
+            CentsAccumulator totalCents = new CentsAccumulator();
+            int nextRow = 0;
+            out.write(height + "," + width + "\n");
+            while (nextRow < height) {
+                RowResult result = results.take();
+                if (result.readFailure != null) {
+                    throw result.readFailure;
+                }
+                if (result.failure != null) {
+                    throw result.failure;
+                }
+                pending[result.row % maxRowsInFlight] = result;
+                long writeStart = System.nanoTime();
+                while (nextRow < height && pending[nextRow % maxRowsInFlight] != null) {
+                    RowResult ready = pending[nextRow % maxRowsInFlight];
+                    pending[nextRow % maxRowsInFlight] = null;
+                    for (int col = 0; col < width; col++) {
+                        line[col] = ready.built[col] ? 'X' : '.';
+                    }
+                    out.write(line);
+                    out.write('\n');
+                    built += ready.builtCount;
+                    totalCost += ready.cost;
+                    totalCents.merge(ready.cents);
+                    nextRow++;
+                    permits.release();
+                }
+                writeNanos += System.nanoTime() - writeStart;
+            }
+            out.flush();
+
+            // Every row is written, so the workers are only left to see END_OF_ROWS
+            pool.shutdown();
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Pipeline workers did not finish.");
+            }
+            CostStatistics merged = new CostStatistics();
+            for (CostStatistics workerStatistics : statistics) {
+                merged.merge(workerStatistics);
+            }
+
+            long wallNanos = System.nanoTime() - start;
+            PipelineMetrics.getInstance().recordRun((long) height * width, wallNanos);
+            if (prices.getMode() == CostMode.FIXED_POINT) {
+                totalCost = totalCents.getDollars();
+            }
+            PipelineSummary summary = new PipelineSummary(height, width, built, totalCost, wallNanos,
+                    loadNanos.get(), buildNanos.get(), writeNanos, maxRowsInFlight, merged);
+            logger.info(() -> "Pipeline built " + summary.getBuilt() + " structures in " + summary.getWallMillis()
+                    + " ms");
+            return summary;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pipeline was interrupted.", e);
+        } finally {
+            pool.shutdownNow(); // stops the other stages if the writer gave up early
+        }
+    }
+
+    // Loader stage: parses rows while permits are available, then tells every worker to stop
+    private void load(GridRowReader reader, Semaphore permits, BlockingQueue<RowBatch> rows,
+            BlockingQueue<RowResult> results, AtomicLong loadNanos) {
+        boolean finished = false;
+        try {
+            try {
+                for (int row = 0; row < reader.getHeight(); row++) {
+                    permits.acquire();
+                    long parseStart = System.nanoTime();
+                    GridSquare[] squares = new GridSquare[reader.getWidth()];
+                    int index = reader.readRow(squares);
+                    loadNanos.addAndGet(System.nanoTime() - parseStart);
+                    rows.put(new RowBatch(index, squares));
+                }
+            } catch (IOException e) {
+                results.put(new RowResult(e, null));
+            } catch (IllegalArgumentException e) { // a square that fails to parse
+                results.put(new RowResult(null, e));
+            } finally {
+                for (int w = 0; w < workers; w++) {
+                    rows.put(END_OF_ROWS);
+                }
+            }
+            finished = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // the pipeline is shutting down
+            finished = true;
+        } finally {
+            if (!finished) {
+                reportStopped(results, "loader");
+            }
+        }
+    }
+
+    // Worker stage: validates and costs each square of a row, exactly as buildStructure would
+    private void build(BlockingQueue<RowBatch> rows, BlockingQueue<RowResult> results, AtomicLong buildNanos,
+            CostStatistics statistics) {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        boolean finished = false;
+        try {
+            RowBatch batch = rows.take();
+            while (batch != END_OF_ROWS) {
+                try {
+                    long buildStart = System.nanoTime();
+                    RowResult result = buildRow(batch, validator, statistics);
+                    buildNanos.addAndGet(System.nanoTime() - buildStart);
+                    results.put(result);
+                } catch (IllegalArgumentException | ArithmeticException e) { // bad plan, or a cost out of range
+                    results.put(new RowResult(null, e));
+                }
+                batch = rows.take();
+            }
+            finished = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // the pipeline is shutting down
+            finished = true;
+        } finally {
+            if (!finished) {
+                reportStopped(results, "worker");
+            }
+        }
+    }
+
+    // A stage died on an exception it doesn't expect (the pool's thread reports it), so tell the
+    // writer rather than leave it waiting for rows that will never arrive
+    private static void reportStopped(BlockingQueue<RowResult> results, String stage) {
+        try {
+            results.put(new RowResult(null, new IllegalStateException("Pipeline " + stage
+                    + " stopped unexpectedly.")));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RowResult buildRow(RowBatch batch, CheckBuildValidation validator, CostStatistics statistics) {
+        RowResult result = new RowResult(batch.row, batch.squares.length);
+        for (int col = 0; col < batch.squares.length; col++) {
+            GridSquare square = batch.squares[col];
+            int floors = plan.floors(batch.row, col, square);
+            Material material = plan.material(batch.row, col, square);
+            Foundation foundation = plan.foundation(batch.row, col, square);
+            if ("valid".equals(validator.validate(square, floors, foundation, material))) {
+                result.built[col] = true;
+                result.builtCount++;
+                double cost = prices.getMode().calculate(CostChain.forSquare(square, floors, material, prices));
+                result.cost += cost;
+                result.cents.add(Money.toCents(cost));
+                statistics.record(batch.row, col, floors, material, cost);
+            }
+        }
+        return result;
+    }
+
+    // One parsed row on its way to the workers
+    private static final class RowBatch {
+        private final int row;
+        private final GridSquare[] squares;
+
+        private RowBatch(int row, GridSquare[] squares) {
+            this.row = row;
+            this.squares = squares;
+        }
+    }
+
+    // One built row on its way to the writer, or the error that stopped a stage
+    private static final class RowResult {
+        private final int row;
+        private final boolean[] built;
+        private int builtCount;
+        private double cost;
+        private final CentsAccumulator cents = new CentsAccumulator(); // the same costs, in whole cents
+        private final IOException readFailure;
+        private final RuntimeException failure;
+
+        private RowResult(int row, int width) {
+            this.row = row;
+            this.built = new boolean[width];
+            this.readFailure = null;
+            this.failure = null;
+        }
+
+        // Error from the loader ('readFailure') or from any stage ('failure'), one of them null
+        private RowResult(IOException readFailure, RuntimeException failure) {
+            this.row = -1;
+            this.built = null;
+            this.readFailure = readFailure;
+            this.failure = failure;
+        }
+    }
+}
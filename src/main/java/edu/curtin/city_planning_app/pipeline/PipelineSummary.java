@@ -0,0 +1,86 @@
+// PipelineSummary.java
+package edu.curtin.city_planning_app.pipeline;
+
+import edu.curtin.city_planning_app.statistics.CostStatistics;
+
+// Totals and stage timings of one BuildPipeline run.
+// Stage times are the time each stage spent working (not waiting on a queue), summed over its
+// threads, so comparing them with the wall time shows how well the stages overlapped.
+public class PipelineSummary {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int height;
+    private final int width;
+    private final long built;
+    private final double totalCost;
+    private final long wallNanos;
+    private final long loadNanos;
+    private final long buildNanos;
+    private final long writeNanos;
+    private final int maxRowsInFlight;
+    private final CostStatistics statistics;
+
+    public PipelineSummary(int height, int width, long built, double totalCost, long wallNanos, long loadNanos,
+            long buildNanos, long writeNanos, int maxRowsInFlight, CostStatistics statistics) {
+        this.height = height;
+        this.width = width;
+        this.built = built;
+        this.totalCost = totalCost;
+        this.wallNanos = wallNanos;
+        this.loadNanos = loadNanos;
+        this.buildNanos = buildNanos;
+        this.writeNanos = writeNanos;
+        this.maxRowsInFlight = maxRowsInFlight;
+        this.statistics = statistics;
+    }
+
+    // Get the number of rows in the grid.
+    public int getHeight() {
+        return height;
+    }
+
+    // Get the number of columns in the grid.
+    public int getWidth() {
+        return width;
+    }
+
+    // Get the number of structures built.
+    public long getBuilt() {
+        return built;
+    }
+
+    // Get the total cost of every structure built.
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    // Get the end-to-end time in milliseconds.
+    public double getWallMillis() {
+        return wallNanos / NANOS_PER_MILLI;
+    }
+
+    // Get the time spent reading and parsing rows in milliseconds.
+    public double getLoadMillis() {
+        return loadNanos / NANOS_PER_MILLI;
+    }
+
+    // Get the time spent validating and costing squares in milliseconds, summed over the workers.
+    public double getBuildMillis() {
+        return buildNanos / NANOS_PER_MILLI;
+    }
+
+    // Get the time spent writing rows in milliseconds.
+    public double getWriteMillis() {
+        return writeNanos / NANOS_PER_MILLI;
+    }
+
+    // Get the most rows that could be held in memory at once.
+    public int getMaxRowsInFlight() {
+        return maxRowsInFlight;
+    }
+
+    // Get the cost percentiles and most expensive structures, merged from every worker.
+    public CostStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,115 @@
+// ZoningImpactAnalyzer.java
+package edu.curtin.city_planning_app.pipeline;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+// Compares what a plan builds on two versions of the same grid (eg. grid-7x7Old.txt and
+// grid-7x7New.txt) in a single pass, reading both files a row at a time in lockstep.
+// Lines that are identical in both files are parsed once, so a malformed line is still reported,
+// but are neither validated nor costed. Only squares whose zoning really differs are validated and
+// costed under both versions. Memory is one row of each file whatever the grid's size.
+// Every changed square is written to 'out' as a CSV line:
+//   row,col,before,after,cost before,cost after,cost delta
+// where before/after is "built" or "blocked" and a blocked square costs 0.
+// Only SquarePlans can be compared this way, since a strategy that looks at neighbouring squares
+// could change its mind about squares whose own zoning didn't change.
+public class ZoningImpactAnalyzer {
+    private static final Logger logger = Logger.getLogger(ZoningImpactAnalyzer.class.getName());
+
+    private final SquarePlan plan;
+    private final CostParameters prices;
+    private final CheckBuildValidation validator = new CheckBuildValidation();
+
+    public ZoningImpactAnalyzer(SquarePlan plan, CostParameters prices) {
+        this.plan = plan;
+        this.prices = prices;
+    }
+
+    // Compares 'before' with 'after', which must have the same dimensions.
+    public ZoningImpactReport analyze(GridRowReader before, GridRowReader after, Writer out) throws IOException {
+        if (before.getHeight() != after.getHeight() || before.getWidth() != after.getWidth()) {
+            throw new IllegalArgumentException("Grids must have the same dimensions to compare: "
+                    + before.getHeight() + "x" + before.getWidth() + " and " + after.getHeight() + "x"
+                    + after.getWidth());
+        }
+        long start = System.nanoTime();
+        int width = before.getWidth();
+        String[] beforeLines = new String[width];
+        String[] afterLines = new String[width];
+        long changed = 0;
+        long buildableBefore = 0;
+        long buildableAfter = 0;
+        long newlyBlocked = 0;
+        long newlyBuildable = 0;
+        double costBefore = 0;
+        double costAfter = 0;
+
+        out.write("row,col,before,after,cost before,cost after,cost delta\n");
+        int row = before.readRowLines(beforeLines);
+        while (row >= 0) {
+            after.readRowLines(afterLines);
+            for (int col = 0; col < width; col++) {
+                if (beforeLines[col].equals(afterLines[col])) {
+                    before.parseSquare(row, col, beforeLines[col]); // same text, same zoning, but still well-formed
+                    continue;
+                }
+                GridSquare oldSquare = before.parseSquare(row, col, beforeLines[col]);
+                GridSquare newSquare = after.parseSquare(row, col, afterLines[col]);
+                if (oldSquare.sameZoning(newSquare)) {
+                    continue; // only the formatting changed
+                }
+                changed++;
+                double oldCost = cost(row, col, oldSquare);
+                double newCost = cost(row, col, newSquare);
+                if (oldCost >= 0) {
+                    buildableBefore++;
+                    costBefore += oldCost;
+                }
+                if (newCost >= 0) {
+                    buildableAfter++;
+                    costAfter += newCost;
+                }
+                if (oldCost >= 0 && newCost < 0) {
+                    newlyBlocked++;
+                } else if (oldCost < 0 && newCost >= 0) {
+                    newlyBuildable++;
+                }
+                double oldBuilt = Math.max(0, oldCost);
+                double newBuilt = Math.max(0, newCost);
+                out.write(String.format(Locale.ROOT, "%d,%d,%s,%s,%.2f,%.2f,%.2f\n", row, col,
+                        oldCost >= 0 ? "built" : "blocked", newCost >= 0 ? "built" : "blocked", oldBuilt, newBuilt,
+                        newBuilt - oldBuilt));
+            }
+            row = before.readRowLines(beforeLines);
+        }
+        out.flush();
+
+        ZoningImpactReport report = new ZoningImpactReport((long) before.getHeight() * width, changed,
+                buildableBefore, buildableAfter, newlyBlocked, newlyBuildable, costBefore, costAfter,
+                System.nanoTime() - start);
+        logger.info(() -> "Zoning impact: " + report.getChanged() + " of " + report.getSquares()
+                + " squares changed, buildable delta " + report.getBuildableDelta());
+        return report;
+    }
+
+    // Cost of what the plan builds on the square, or -1 if it can't be built
+    private double cost(int row, int col, GridSquare square) {
+        int floors = plan.floors(row, col, square);
+        Material material = plan.material(row, col, square);
+        if (!"valid".equals(validator.validate(square, floors, plan.foundation(row, col, square), material))) {
+            return -1;
+        }
+        return prices.getMode().calculate(CostChain.forSquare(square, floors, material, prices));
+    }
+}
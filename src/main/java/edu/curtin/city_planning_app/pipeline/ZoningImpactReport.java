@@ -0,0 +1,86 @@
+// ZoningImpactReport.java
+package edu.curtin.city_planning_app.pipeline;
+
+// Totals of a ZoningImpactAnalyzer run. Counts and costs only cover the squares whose zoning
+// changed, since every other square builds exactly as before.
+public class ZoningImpactReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long squares;
+    private final long changed;
+    private final long buildableBefore;
+    private final long buildableAfter;
+    private final long newlyBlocked;
+    private final long newlyBuildable;
+    private final double costBefore;
+    private final double costAfter;
+    private final long wallNanos;
+
+    public ZoningImpactReport(long squares, long changed, long buildableBefore, long buildableAfter,
+            long newlyBlocked, long newlyBuildable, double costBefore, double costAfter, long wallNanos) {
+        this.squares = squares;
+        this.changed = changed;
+        this.buildableBefore = buildableBefore;
+        this.buildableAfter = buildableAfter;
+        this.newlyBlocked = newlyBlocked;
+        this.newlyBuildable = newlyBuildable;
+        this.costBefore = costBefore;
+        this.costAfter = costAfter;
+        this.wallNanos = wallNanos;
+    }
+
+    // Get the number of squares compared.
+    public long getSquares() {
+        return squares;
+    }
+
+    // Get the number of squares whose zoning changed.
+    public long getChanged() {
+        return changed;
+    }
+
+    // Get how many of the changed squares could be built on before the change.
+    public long getBuildableBefore() {
+        return buildableBefore;
+    }
+
+    // Get how many of the changed squares can be built on after the change.
+    public long getBuildableAfter() {
+        return buildableAfter;
+    }
+
+    // Get the change in the number of buildable squares, for the whole grid.
+    public long getBuildableDelta() {
+        return buildableAfter - buildableBefore;
+    }
+
+    // Get the number of sites that could be built on before and can't be now.
+    public long getNewlyBlocked() {
+        return newlyBlocked;
+    }
+
+    // Get the number of sites that couldn't be built on before and can be now.
+    public long getNewlyBuildable() {
+        return newlyBuildable;
+    }
+
+    // Get the cost of the structures on the changed squares before the change.
+    public double getCostBefore() {
+        return costBefore;
+    }
+
+    // Get the cost of the structures on the changed squares after the change.
+    public double getCostAfter() {
+        return costAfter;
+    }
+
+    // Get the change in the city's total cost.
+    public double getCostDelta() {
+        return costAfter - costBefore;
+    }
+
+    // Get the time taken in milliseconds.
+    public double getWallMillis() {
+        return wallNanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,104 @@
+// ConstructionJobs.java
+package edu.curtin.city_planning_app.scheduling;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// The structures of a build in the order they were built, as the work a ConstructionScheduler
+// schedules. Kept in primitive arrays (about 21 bytes a structure) so a million squares don't
+// need a million objects.
+public class ConstructionJobs {
+    private static final Logger logger = Logger.getLogger(ConstructionJobs.class.getName());
+    private static final Material[] MATERIALS = Material.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Flags packed next to the material ordinal
+    private static final int MATERIAL_MASK = 0x0f;
+    private static final int STILTS_BIT = 1 << 4;
+    private static final int SWAMPY_BIT = 1 << 5;
+
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] cols = new int[INITIAL_CAPACITY];
+    private int[] floors = new int[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private double[] costs = new double[INITIAL_CAPACITY];
+    private int size;
+
+    // Records a structure built at (row, col), 'swampy' if the site is swampy terrain.
+    public void record(int row, int col, int floorCount, Foundation foundation, Material material, boolean swampy,
+            double cost) {
+        if (floorCount <= 0) {
+            throw new IllegalArgumentException("A structure must have at least one floor: " + floorCount);
+        }
+        if (size == rows.length) {
+            int capacity = rows.length * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            cols = Arrays.copyOf(cols, capacity);
+            floors = Arrays.copyOf(floors, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        int packed = material.ordinal();
+        if (foundation == Foundation.STILTS) {
+            packed |= STILTS_BIT;
+        }
+        if (swampy) {
+            packed |= SWAMPY_BIT;
+        }
+        rows[size] = row;
+        cols[size] = col;
+        floors[size] = floorCount;
+        flags[size] = (byte) packed;
+        costs[size] = cost;
+        size++;
+    }
+
+    // Forgets every recorded structure, eg. before a new build.
+    public void reset() {
+        logger.fine(() -> "Cleared " + size + " construction jobs");
+        size = 0;
+    }
+
+    // Number of structures recorded.
+    public int size() {
+        return size;
+    }
+
+    // Get the row of structure 'job' (numbered in build order from 0).
+    public int getRow(int job) {
+        return rows[job];
+    }
+
+    // Get the column of structure 'job'.
+    public int getCol(int job) {
+        return cols[job];
+    }
+
+    // Get the floors of structure 'job'.
+    public int getFloors(int job) {
+        return floors[job];
+    }
+
+    // Get the material of structure 'job'.
+    public Material getMaterial(int job) {
+        return MATERIALS[flags[job] & MATERIAL_MASK];
+    }
+
+    // Get the foundation of structure 'job'.
+    public Foundation getFoundation(int job) {
+        return (flags[job] & STILTS_BIT) == 0 ? Foundation.SLAB : Foundation.STILTS;
+    }
+
+    // Check if structure 'job' is on swampy terrain.
+    public boolean isSwampy(int job) {
+        return (flags[job] & SWAMPY_BIT) != 0;
+    }
+
+    // Get the cost of structure 'job'.
+    public double getCost(int job) {
+        return costs[job];
+    }
+}
@@ -0,0 +1,123 @@
+// ConstructionSchedule.java
+package edu.curtin.city_planning_app.scheduling;
+
+// Timeline produced by a ConstructionScheduler: when each structure starts and finishes, how
+// long the whole city takes, how busy the crews were and what is spent each working day.
+// Times are in working hours from the start of construction.
+public class ConstructionSchedule {
+    private final ConstructionJobs jobs;
+    private final int crews;
+    private final long[] start;
+    private final long[] finish;
+    private final long makespanHours;
+    private final long busyHours;
+    private final long materialWaitHours;
+    private final double[] dailySpend;
+    private final long wallNanos;
+
+    /* default */ ConstructionSchedule(ConstructionJobs jobs, int crews, long[] start, long[] finish,
+            long makespanHours, long busyHours, long materialWaitHours, double[] dailySpend, long wallNanos) {
+        this.jobs = jobs;
+        this.crews = crews;
+        this.start = start;
+        this.finish = finish;
+        this.makespanHours = makespanHours;
+        this.busyHours = busyHours;
+        this.materialWaitHours = materialWaitHours;
+        this.dailySpend = dailySpend;
+        this.wallNanos = wallNanos;
+    }
+
+    // Get the structures that were scheduled.
+    public ConstructionJobs getJobs() {
+        return jobs;
+    }
+
+    // Number of structures scheduled.
+    public int getStructures() {
+        return start.length;
+    }
+
+    // Get the number of crews.
+    public int getCrews() {
+        return crews;
+    }
+
+    // Get the hour structure 'job' starts.
+    public long getStart(int job) {
+        return start[job];
+    }
+
+    // Get the hour structure 'job' is finished.
+    public long getFinish(int job) {
+        return finish[job];
+    }
+
+    // Hours until the last structure is finished.
+    public long getMakespanHours() {
+        return makespanHours;
+    }
+
+    // Working days until the last structure is finished.
+    public double getMakespanDays() {
+        return (double) makespanHours / ScheduleParameters.HOURS_PER_DAY;
+    }
+
+    // Crew hours spent building.
+    public long getBusyHours() {
+        return busyHours;
+    }
+
+    // Fraction of the available crew hours (crews * makespan) spent building.
+    public double getUtilization() {
+        return makespanHours == 0 ? 0 : busyHours / ((double) crews * makespanHours);
+    }
+
+    // Crew hours idle while structures were still waiting for their material.
+    public long getMaterialWaitHours() {
+        return materialWaitHours;
+    }
+
+    // Number of working days in the schedule.
+    public int getDays() {
+        return dailySpend.length;
+    }
+
+    // Amount paid on working day 'day' (from 0), structures are paid for when they are finished.
+    public double getDailySpend(int day) {
+        return dailySpend[day];
+    }
+
+    // Total paid over the whole schedule.
+    public double getTotalSpend() {
+        double total = 0;
+        for (double spend : dailySpend) {
+            total += spend;
+        }
+        return total;
+    }
+
+    // Cash-flow curve: the total paid by the end of each of 'points' equal spans of the schedule.
+    // The last point is the total.
+    public double[] getCumulativeSpend(int points) {
+        if (points <= 0) {
+            throw new IllegalArgumentException("The curve needs at least one point: " + points);
+        }
+        double[] curve = new double[points];
+        double total = 0;
+        int day = 0;
+        for (int point = 0; point < points; point++) {
+            int lastDay = (int) ((long) dailySpend.length * (point + 1) / points);
+            while (day < lastDay) {
+                total += dailySpend[day++];
+            }
+            curve[point] = total;
+        }
+        return curve;
+    }
+
+    // Wall-clock time the simulation took.
+    public double getWallMillis() {
+        return wallNanos / 1e6;
+    }
+}
@@ -0,0 +1,167 @@
+// ConstructionScheduler.java
+package edu.curtin.city_planning_app.scheduling;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+// Discrete-event simulation of building a city's structures with limited crews and material.
+// Each crew builds one structure at a time. Each material is delivered at the start of every
+// working day (ScheduleParameters.getSupplyPerDay, in floors' worth) and a structure can only
+// start once its floors' worth is in stock. Whenever crews are free, the earliest structure in
+// build order whose material is in stock starts next.
+// Events (crews finishing, and deliveries a blocked material is waiting for) are kept in a
+// primitive priority queue ordered by time. Time is whole hours, and ties are taken in a fixed
+// order, so the same jobs and parameters always give the same schedule.
+public class ConstructionScheduler {
+    private static final Logger logger = Logger.getLogger(ConstructionScheduler.class.getName());
+    private static final int MATERIAL_COUNT = Material.values().length;
+
+    private final ScheduleParameters parameters;
+
+    public ConstructionScheduler(ScheduleParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    // Simulates building every job and returns the timeline.
+    public ConstructionSchedule simulate(ConstructionJobs jobs) {
+        long wallStart = System.nanoTime();
+        Simulation simulation = new Simulation(jobs);
+        simulation.run();
+        ConstructionSchedule schedule = simulation.toSchedule(System.nanoTime() - wallStart);
+        logger.info(() -> "Scheduled " + jobs.size() + " structures with " + parameters.getCrews()
+                + " crews, makespan " + schedule.getMakespanHours() + " hours");
+        return schedule;
+    }
+
+    // State of one simulation run
+    private final class Simulation {
+        private final ConstructionJobs jobs;
+        private final int crews = parameters.getCrews();
+        private final long[] supply = parameters.supplyPerDay();
+        private final int[] queued; // job numbers grouped by material, build order within each
+        private final int[] next = new int[MATERIAL_COUNT]; // next queued job of each material
+        private final int[] end = new int[MATERIAL_COUNT];
+        private final long[] consumed = new long[MATERIAL_COUNT]; // floors' worth taken from stock
+        private final boolean[] deliveryPending = new boolean[MATERIAL_COUNT];
+        private final long[] start;
+        private final long[] finish;
+        private final EventQueue events;
+        private int idle = crews;
+        private int started;
+        private long busyHours;
+        private long waitHours; // crew hours idle while structures wait for material
+
+        private Simulation(ConstructionJobs jobs) {
+            this.jobs = jobs;
+            int size = jobs.size();
+            this.start = new long[size];
+            this.finish = new long[size];
+            this.events = new EventQueue(crews + MATERIAL_COUNT);
+
+            // Counting sort of the jobs by material, keeping build order
+            int[] counts = new int[MATERIAL_COUNT];
+            for (int job = 0; job < size; job++) {
+                counts[jobs.getMaterial(job).ordinal()]++;
+            }
+            int offset = 0;
+            for (int m = 0; m < MATERIAL_COUNT; m++) {
+                next[m] = offset;
+                offset += counts[m];
+                end[m] = offset;
+            }
+            this.queued = new int[size];
+            int[] fill = next.clone();
+            for (int job = 0; job < size; job++) {
+                queued[fill[jobs.getMaterial(job).ordinal()]++] = job;
+            }
+        }
+
+        private void run() {
+            long now = 0;
+            dispatch(now);
+            while (!events.isEmpty()) {
+                long time = events.peekTime();
+                if (started < jobs.size()) {
+                    waitHours += idle * (time - now);
+                }
+                now = time;
+                // Take every event at this time before starting anything
+                while (!events.isEmpty() && events.peekTime() == time) {
+                    int payload = events.peekPayload();
+                    events.remove();
+                    if (payload >= 0) {
+                        idle++; // a crew finished structure 'payload'
+                    } else {
+                        deliveryPending[-1 - payload] = false;
+                    }
+                }
+                dispatch(time);
+            }
+        }
+
+        // Starts structures on free crews, earliest in build order first, while material lasts
+        private void dispatch(long time) {
+            long day = time / ScheduleParameters.HOURS_PER_DAY;
+            while (idle > 0) {
+                int best = -1;
+                int bestJob = Integer.MAX_VALUE;
+                for (int m = 0; m < MATERIAL_COUNT; m++) {
+                    if (next[m] < end[m]) {
+                        int job = queued[next[m]];
+                        if (job < bestJob && inStock(m, day) >= jobs.getFloors(job)) {
+                            best = m;
+                            bestJob = job;
+                        }
+                    }
+                }
+                if (best < 0) {
+                    awaitDeliveries(day);
+                    return;
+                }
+                next[best]++;
+                consumed[best] += jobs.getFloors(bestJob);
+                long duration = parameters.durationHours(jobs.getFloors(bestJob), jobs.getFoundation(bestJob),
+                        jobs.isSwampy(bestJob));
+                start[bestJob] = time;
+                finish[bestJob] = time + duration;
+                busyHours += duration;
+                idle--;
+                started++;
+                events.push(time + duration, bestJob);
+            }
+        }
+
+        // Floors' worth of material 'm' in stock on 'day', deliveries arrive at the start of a day
+        private long inStock(int m, long day) {
+            return supply[m] * (day + 1) - consumed[m];
+        }
+
+        // Wakes the simulation on the day each blocked material has enough for its next structure
+        private void awaitDeliveries(long day) {
+            for (int m = 0; m < MATERIAL_COUNT; m++) {
+                if (next[m] < end[m] && !deliveryPending[m]) {
+                    long needed = consumed[m] + jobs.getFloors(queued[next[m]]);
+                    long deliveryDay = Math.max(day + 1, (needed + supply[m] - 1) / supply[m] - 1);
+                    events.push(deliveryDay * ScheduleParameters.HOURS_PER_DAY, -1 - m);
+                    deliveryPending[m] = true;
+                }
+            }
+        }
+
+        private ConstructionSchedule toSchedule(long wallNanos) {
+            long makespan = 0;
+            for (int job = 0; job < jobs.size(); job++) {
+                makespan = Math.max(makespan, finish[job]);
+            }
+            // Each structure is paid for on the working day it is finished
+            int days = (int) ((makespan + ScheduleParameters.HOURS_PER_DAY - 1) / ScheduleParameters.HOURS_PER_DAY);
+            double[] dailySpend = new double[days];
+            for (int job = 0; job < jobs.size(); job++) {
+                dailySpend[(int) ((finish[job] - 1) / ScheduleParameters.HOURS_PER_DAY)] += jobs.getCost(job);
+            }
+            return new ConstructionSchedule(jobs, crews, start, finish, makespan, busyHours, waitHours, dailySpend,
+                    wallNanos);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+// EventQueue.java
+package edu.curtin.city_planning_app.scheduling;
+
+import java.util.Arrays;
+
+// Binary min-heap of (time, payload) events in two primitive arrays, so the event loop allocates
+// nothing per event. Ties at the same time come out in payload order, which keeps the
+// simulation the same on every run.
+/* default */ final class EventQueue {
+    private long[] times;
+    private int[] payloads;
+    private int size;
+
+    /* default */ EventQueue(int capacity) {
+        times = new long[Math.max(1, capacity)];
+        payloads = new int[Math.max(1, capacity)];
+    }
+
+    /* default */ boolean isEmpty() {
+        return size == 0;
+    }
+
+    /* default */ long peekTime() {
+        return times[0];
+    }
+
+    /* default */ int peekPayload() {
+        return payloads[0];
+    }
+
+    // Adds an event, sifting it up from the bottom of the heap
+    /* default */ void push(long time, int payload) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            payloads = Arrays.copyOf(payloads, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(time, payload, times[parent], payloads[parent])) {
+                break;
+            }
+            times[i] = times[parent];
+            payloads[i] = payloads[parent];
+            i = parent;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    // Removes the earliest event, sifting the last one down from the top
+    /* default */ void remove() {
+        size--;
+        long time = times[size];
+        int payload = payloads[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(times[child + 1], payloads[child + 1], times[child], payloads[child])) {
+                child++;
+            }
+            if (!before(times[child], payloads[child], time, payload)) {
+                break;
+            }
+            times[i] = times[child];
+            payloads[i] = payloads[child];
+            i = child;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    private static boolean before(long time, int payload, long otherTime, int otherPayload) {
+        return time < otherTime || (time == otherTime && payload < otherPayload);
+    }
+}
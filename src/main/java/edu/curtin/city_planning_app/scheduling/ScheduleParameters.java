@@ -0,0 +1,131 @@
+// ScheduleParameters.java
+package edu.curtin.city_planning_app.scheduling;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+// Resources and work rates for a construction schedule. Time is counted in whole working hours,
+// so every schedule is exact integer arithmetic and identical on every run.
+// A structure takes
+//   (foundation hours + hours per floor * (f + growth * f * (f - 1) / 2)) * swamp multiplier
+// hours, rounded to the hour, where each floor takes 'growth' longer than the one below it.
+public class ScheduleParameters {
+    private static final Logger logger = Logger.getLogger(ScheduleParameters.class.getName());
+
+    public static final int DEFAULT_CREWS = 20;
+    public static final int HOURS_PER_DAY = 8; // one working day
+
+    private int crews = DEFAULT_CREWS;
+    private final long[] supplyPerDay = new long[Material.values().length]; // floors' worth, by material ordinal
+    private final long[] foundationHours = new long[Foundation.values().length]; // by foundation ordinal
+    private double hoursPerFloor = 40;
+    private double floorGrowth = 0.1;
+    private double swampMultiplier = 1.25;
+
+    public ScheduleParameters() {
+        supplyPerDay[Material.WOOD.ordinal()] = 40;
+        supplyPerDay[Material.STONE.ordinal()] = 10;
+        supplyPerDay[Material.BRICK.ordinal()] = 25;
+        supplyPerDay[Material.CONCRETE.ordinal()] = 30;
+        foundationHours[Foundation.SLAB.ordinal()] = 16;
+        foundationHours[Foundation.STILTS.ordinal()] = 48;
+    }
+
+    // Get the number of crews, each builds one structure at a time.
+    public int getCrews() {
+        return crews;
+    }
+
+    // Changes the number of crews.
+    public void setCrews(int crews) {
+        if (crews <= 0) {
+            throw new IllegalArgumentException("There must be at least one crew: " + crews);
+        }
+        this.crews = crews;
+        logger.info(() -> "Schedule crews set to " + crews);
+    }
+
+    // Get how many floors' worth of a material is delivered at the start of each working day.
+    public long getSupplyPerDay(Material material) {
+        return supplyPerDay[material.ordinal()];
+    }
+
+    // Changes the daily delivery of a material.
+    public void setSupplyPerDay(Material material, long floors) {
+        if (floors <= 0) {
+            throw new IllegalArgumentException("Daily supply of " + material + " must be positive: " + floors);
+        }
+        supplyPerDay[material.ordinal()] = floors;
+        logger.info(() -> "Daily supply of " + material + " set to " + floors + " floors");
+    }
+
+    // Get the hours to lay a foundation.
+    public long getFoundationHours(Foundation foundation) {
+        return foundationHours[foundation.ordinal()];
+    }
+
+    // Changes the hours to lay a foundation.
+    public void setFoundationHours(Foundation foundation, long hours) {
+        if (hours < 0) {
+            throw new IllegalArgumentException("Foundation hours can't be negative: " + hours);
+        }
+        foundationHours[foundation.ordinal()] = hours;
+    }
+
+    // Get the hours to build the first floor.
+    public double getHoursPerFloor() {
+        return hoursPerFloor;
+    }
+
+    // Changes the hours to build the first floor.
+    public void setHoursPerFloor(double hours) {
+        checkFinite("Hours per floor", hours, 0);
+        this.hoursPerFloor = hours;
+    }
+
+    // Get how much longer each floor takes than the one below it, eg. 0.1 for 10%.
+    public double getFloorGrowth() {
+        return floorGrowth;
+    }
+
+    // Changes how much longer each floor takes than the one below it.
+    public void setFloorGrowth(double growth) {
+        checkFinite("Floor growth", growth, 0);
+        this.floorGrowth = growth;
+    }
+
+    // Get the multiplier on the whole duration for a structure on swampy terrain.
+    public double getSwampMultiplier() {
+        return swampMultiplier;
+    }
+
+    // Changes the multiplier on the whole duration for a structure on swampy terrain.
+    public void setSwampMultiplier(double multiplier) {
+        checkFinite("Swamp multiplier", multiplier, 1);
+        this.swampMultiplier = multiplier;
+    }
+
+    // Hours one crew takes to build a structure, at least one.
+    public long durationHours(int floors, Foundation foundation, boolean swampy) {
+        double hours = foundationHours[foundation.ordinal()]
+                + hoursPerFloor * (floors + floorGrowth * floors * (floors - 1.0) / 2);
+        if (swampy) {
+            hours *= swampMultiplier;
+        }
+        return Math.max(1, Math.round(hours));
+    }
+
+    // Copy of the daily supply, by material ordinal
+    /* default */ long[] supplyPerDay() {
+        return Arrays.copyOf(supplyPerDay, supplyPerDay.length);
+    }
+
+    private static void checkFinite(String name, double value, double min) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || value < min) {
+            throw new IllegalArgumentException(name + " must be at least " + min + ": " + value);
+        }
+    }
+}
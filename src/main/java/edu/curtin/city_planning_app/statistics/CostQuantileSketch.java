@@ -0,0 +1,94 @@
+// CostQuantileSketch.java
+package edu.curtin.city_planning_app.statistics;
+
+import java.util.Arrays;
+
+// Streaming estimate of structure cost percentiles in fixed memory.
+// Costs go into log-spaced buckets where each bucket is (1 + a) / (1 - a) times wider than the
+// last, so reporting the bucket's midpoint is within a = 1% of the true cost, whatever the
+// distribution. About 1,700 buckets cover every cost from $1 to $10^15 (anything above lands in
+// the last one), so memory doesn't grow with the grid. Two sketches merge by adding their
+// buckets, and the merged sketch is exactly the one a single sketch would have built.
+public class CostQuantileSketch {
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MAX_TRACKED_COST = 1e15;
+    private static final int BUCKETS = (int) Math.ceil(Math.log(MAX_TRACKED_COST) / LOG_GAMMA) + 1;
+
+    private final long[] counts = new long[BUCKETS]; // bucket 0 holds costs up to $1
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // Records the cost of one structure.
+    public void record(double cost) {
+        if (Double.isNaN(cost) || cost < 0) {
+            throw new IllegalArgumentException("Cost must be a non-negative number: " + cost);
+        }
+        counts[bucketOf(cost)]++;
+        count++;
+        min = Math.min(min, cost);
+        max = Math.max(max, cost);
+    }
+
+    // Adds every cost recorded by another sketch, eg. one per parallel worker.
+    public void merge(CostQuantileSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Number of costs recorded.
+    public long getCount() {
+        return count;
+    }
+
+    // Estimated cost below which 'percentile' percent (0-100) of the structures fall,
+    // 0 when nothing was recorded. The 100th percentile is the exact maximum.
+    public double getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        if (rank == count) {
+            return max;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, representative(i)));
+            }
+        }
+        return max;
+    }
+
+    // Clears every recording.
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    // Bucket i > 0 holds costs in (GAMMA^(i-1), GAMMA^i]
+    /* default */ static int bucketOf(double cost) {
+        if (cost <= 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, Math.ceil(Math.log(cost) / LOG_GAMMA));
+    }
+
+    // The value within RELATIVE_ACCURACY of every cost in the bucket
+    private static double representative(int bucket) {
+        if (bucket == 0) {
+            return 1;
+        }
+        return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,53 @@
+// CostStatistics.java
+package edu.curtin.city_planning_app.statistics;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+// Per-structure cost statistics gathered while a city is built, in one pass and fixed memory:
+// percentiles from a CostQuantileSketch and the most expensive sites from a TopKStructures.
+// Not thread safe. Parallel workers each keep their own and merge them at the end.
+public class CostStatistics {
+    private static final Logger logger = Logger.getLogger(CostStatistics.class.getName());
+
+    private final CostQuantileSketch sketch = new CostQuantileSketch();
+    private final TopKStructures mostExpensive;
+
+    public CostStatistics() {
+        this(TopKStructures.DEFAULT_CAPACITY);
+    }
+
+    public CostStatistics(int topK) {
+        this.mostExpensive = new TopKStructures(topK);
+    }
+
+    // Records a structure built at (row, col).
+    public void record(int row, int col, int floors, Material material, double cost) {
+        sketch.record(cost);
+        mostExpensive.record(row, col, floors, material, cost);
+    }
+
+    // Adds everything another set of statistics recorded.
+    public void merge(CostStatistics other) {
+        sketch.merge(other.sketch);
+        mostExpensive.merge(other.mostExpensive);
+        logger.fine(() -> "Merged cost statistics, " + sketch.getCount() + " structures in total");
+    }
+
+    // Get the cost percentiles.
+    public CostQuantileSketch getSketch() {
+        return sketch;
+    }
+
+    // Get the most expensive structures.
+    public TopKStructures getMostExpensive() {
+        return mostExpensive;
+    }
+
+    // Forgets every structure, eg. before a new build.
+    public void reset() {
+        sketch.reset();
+        mostExpensive.reset();
+    }
+}
@@ -0,0 +1,46 @@
+// StructureCost.java
+package edu.curtin.city_planning_app.statistics;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+// A built structure and what it cost, as kept by TopKStructures.
+public final class StructureCost {
+    private final int row;
+    private final int col;
+    private final int floors;
+    private final Material material;
+    private final double cost;
+
+    public StructureCost(int row, int col, int floors, Material material, double cost) {
+        this.row = row;
+        this.col = col;
+        this.floors = floors;
+        this.material = material;
+        this.cost = cost;
+    }
+
+    // Get the row the structure was built on.
+    public int getRow() {
+        return row;
+    }
+
+    // Get the column the structure was built on.
+    public int getCol() {
+        return col;
+    }
+
+    // Get the number of floors.
+    public int getFloors() {
+        return floors;
+    }
+
+    // Get the material built with.
+    public Material getMaterial() {
+        return material;
+    }
+
+    // Get the cost of the structure.
+    public double getCost() {
+        return cost;
+    }
+}
@@ -0,0 +1,85 @@
+// TopKStructures.java
+package edu.curtin.city_planning_app.statistics;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+// The 'capacity' most expensive structures seen so far, kept in a min-heap so the cheapest of
+// them is always on top. A structure cheaper than that one is turned away without allocating,
+// so after the first few rows most records are a single comparison.
+// Equal costs are ranked by position (the lower row, then column, wins), so the structures kept
+// don't depend on the order they were recorded in or on how partial results are merged.
+public class TopKStructures {
+    public static final int DEFAULT_CAPACITY = 100;
+
+    // Cheapest first, a later position counts as cheaper
+    private static final Comparator<StructureCost> CHEAPEST_FIRST = Comparator
+            .comparingDouble(StructureCost::getCost)
+            .thenComparing(StructureCost::getRow, Comparator.reverseOrder())
+            .thenComparing(StructureCost::getCol, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final Queue<StructureCost> heap; // a PriorityQueue, cheapest at the head
+
+    public TopKStructures() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TopKStructures(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Top-K capacity must be positive.");
+        }
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity, CHEAPEST_FIRST);
+    }
+
+    // Records a built structure, keeping it only if it is among the most expensive so far.
+    public void record(int row, int col, int floors, Material material, double cost) {
+        if (heap.size() == capacity) {
+            StructureCost cheapest = heap.peek();
+            if (cost < cheapest.getCost() || (cost == cheapest.getCost()
+                    && (row > cheapest.getRow() || (row == cheapest.getRow() && col > cheapest.getCol())))) {
+                return;
+            }
+        }
+        offer(new StructureCost(row, col, floors, material, cost));
+    }
+
+    // Adds the structures kept by another top-K, eg. one per parallel worker.
+    public void merge(TopKStructures other) {
+        for (StructureCost structure : other.heap) {
+            offer(structure);
+        }
+    }
+
+    // Get the structures kept, most expensive first.
+    public List<StructureCost> getMostExpensive() {
+        List<StructureCost> structures = new ArrayList<>(heap);
+        structures.sort(CHEAPEST_FIRST.reversed());
+        return structures;
+    }
+
+    // Get the most structures kept.
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Forgets every structure.
+    public void reset() {
+        heap.clear();
+    }
+
+    private void offer(StructureCost structure) {
+        if (heap.size() < capacity) {
+            heap.add(structure);
+        } else if (CHEAPEST_FIRST.compare(structure, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(structure);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// AnnealingObjective.java
+package edu.curtin.city_planning_app.strategies;
+
+// What the annealing strategy minimises, as a weighted sum over the whole layout:
+//   cost       - each structure's cost, in units of the average rate per floor
+//   smoothness - (floors - neighbour's floors)^2 for every pair of side-by-side squares
+//   density    - (floors - target floors)^2 for every square that could be built on
+// The smoothness term makes the objective non-separable: a square's best height depends on its
+// neighbours' heights, so it can't be decided square by square like the other strategies do.
+public class AnnealingObjective {
+    private final double costWeight;
+    private final double smoothnessWeight;
+    private final double densityWeight;
+    private final int targetFloors;
+    private final int maxFloors;
+
+    // 'maxFloors' caps squares without a height limit
+    public AnnealingObjective(double costWeight, double smoothnessWeight, double densityWeight, int targetFloors,
+            int maxFloors) {
+        if (costWeight < 0 || smoothnessWeight < 0 || densityWeight < 0 || Double.isNaN(costWeight)
+                || Double.isNaN(smoothnessWeight) || Double.isNaN(densityWeight)) {
+            throw new IllegalArgumentException("Objective weights can't be negative.");
+        }
+        if (targetFloors <= 0 || maxFloors < targetFloors || maxFloors > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Target floors must be positive and at most the maximum floors ("
+                    + Byte.MAX_VALUE + " at most).");
+        }
+        this.costWeight = costWeight;
+        this.smoothnessWeight = smoothnessWeight;
+        this.densityWeight = densityWeight;
+        this.targetFloors = targetFloors;
+        this.maxFloors = maxFloors;
+    }
+
+    // Get the weight of the cost term.
+    public double getCostWeight() {
+        return costWeight;
+    }
+
+    // Get the weight of the skyline smoothness term.
+    public double getSmoothnessWeight() {
+        return smoothnessWeight;
+    }
+
+    // Get the weight of the density term.
+    public double getDensityWeight() {
+        return densityWeight;
+    }
+
+    // Get the floors every buildable square is pulled towards.
+    public int getTargetFloors() {
+        return targetFloors;
+    }
+
+    // Get the most floors on a square without a height limit.
+    public int getMaxFloors() {
+        return maxFloors;
+    }
+}
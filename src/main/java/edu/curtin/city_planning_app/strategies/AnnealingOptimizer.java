@@ -0,0 +1,411 @@
+// AnnealingOptimizer.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+// Simulated annealing over whole-city layouts, run as parallel tempering.
+// A layout gives every square a number of floors (0 = not built) and a material. The per-square
+// building rules are worked out once into a floor range and a set of allowed materials, so every
+// layout the search visits can be built. A move changes one square, and its effect on the
+// AnnealingObjective is worked out in O(1): the square's own cost and density terms, plus the
+// smoothness terms with its four neighbours. Costs follow the decorator chain's formula with the
+// builder's prices (contaminated squares can't be built, so the contamination multiplier never applies).
+// Several replicas run at a ladder of fixed temperatures, each on its own thread for a round of
+// moves. Between rounds, neighbouring temperatures may swap layouts, so good layouts found by hot
+// replicas sink to the cold ones. The best layout seen at the end of any round is kept.
+// Each replica has its own random stream and swaps are decided on one thread, so for a given
+// seed and number of rounds the result is the same for any number of threads.
+public class AnnealingOptimizer {
+    private static final Logger logger = Logger.getLogger(AnnealingOptimizer.class.getName());
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final double MIN_TEMPERATURE = 0.05;
+    private static final double MAX_TEMPERATURE = 5.0;
+
+    private final int height;
+    private final int width;
+    private final AnnealingObjective objective;
+
+    // Per-square rules and cost terms, worked out once
+    private final byte[] minFloors;
+    private final byte[] maxFloors;
+    private final byte[] allowedMaterials; // bit per material ordinal, 0 = can't be built
+    private final boolean[] stilts;
+    private final double[] floodMultiplier;
+    private final double[] extraPerFloor; // swampy surcharge
+    private final double[] fixedSurcharge; // heritage and rocky surcharges
+    private final int[] movable; // squares that can be built on
+    private final double[] rates; // rate per floor of each material, over the cost scale
+
+    private final byte[] bestFloors;
+    private final byte[] bestMaterials;
+    private double bestEnergy;
+    private double initialEnergy;
+
+    public AnnealingOptimizer(CityGrid grid, AnnealingObjective objective, CostParameters prices) {
+        this.height = grid.getHeight();
+        this.width = grid.getWidth();
+        this.objective = objective;
+        int squares = height * width;
+        this.minFloors = new byte[squares];
+        this.maxFloors = new byte[squares];
+        this.allowedMaterials = new byte[squares];
+        this.stilts = new boolean[squares];
+        this.floodMultiplier = new double[squares];
+        this.extraPerFloor = new double[squares];
+        this.fixedSurcharge = new double[squares];
+        this.bestFloors = new byte[squares];
+        this.bestMaterials = new byte[squares];
+
+        double costScale = 0;
+        for (Material material : MATERIALS) {
+            costScale += prices.getRatePerFloor(material) / MATERIALS.length;
+        }
+        double scale = costScale > 0 ? costScale : 1;
+        this.rates = new double[MATERIALS.length];
+        for (Material material : MATERIALS) {
+            rates[material.ordinal()] = prices.getRatePerFloor(material) / scale;
+        }
+
+        grid.loadAll(); // every square is read up front, so parse a lazy grid in one pass
+        int movableCount = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                if (prepareSquare(grid, prices, scale, row, col)) {
+                    movableCount++;
+                }
+            }
+        }
+        this.movable = new int[movableCount];
+        int next = 0;
+        for (int i = 0; i < squares; i++) {
+            if (allowedMaterials[i] != 0) {
+                movable[next++] = i;
+            }
+        }
+        startingLayout(bestFloors, bestMaterials);
+        this.initialEnergy = energy(bestFloors, bestMaterials);
+        this.bestEnergy = initialEnergy;
+    }
+
+    // Runs rounds until 'timeBudgetMillis' has passed or 'maxRounds' rounds are done (at least one),
+    // with 'replicas' replicas on 'threads' threads, and returns how each round went.
+    public List<AnnealingRound> optimize(int replicas, int threads, long timeBudgetMillis, int maxRounds, long seed) {
+        if (replicas <= 0 || threads <= 0 || maxRounds <= 0) {
+            throw new IllegalArgumentException("Annealing needs at least one replica, thread and round.");
+        }
+        Replica[] ladder = new Replica[replicas]; // ladder[k] runs at the k-th coldest temperature
+        for (int k = 0; k < replicas; k++) {
+            double temperature = replicas == 1 ? MIN_TEMPERATURE
+                    : MIN_TEMPERATURE * Math.pow(MAX_TEMPERATURE / MIN_TEMPERATURE, k / (double) (replicas - 1));
+            ladder[k] = new Replica(temperature, new SplittableRandom(seed + k));
+        }
+        SplittableRandom swapRandom = new SplittableRandom(seed - 1);
+        List<AnnealingRound> rounds = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetMillis * 1_000_000L;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, replicas));
+        try {
+            int round = 0;
+            do {
+                round++;
+                List<Future<Long>> accepted = new ArrayList<>();
+                for (Replica replica : ladder) {
+                    accepted.add(pool.submit((Callable<Long>) replica::sweep));
+                }
+                long acceptedMoves = 0;
+                for (Future<Long> result : accepted) {
+                    acceptedMoves += result.get();
+                }
+
+                int swaps = 0;
+                int swapsAccepted = 0;
+                for (int k = round % 2; k + 1 < replicas; k += 2) { // alternate even and odd pairs
+                    swaps++;
+                    if (trySwap(ladder, k, swapRandom)) {
+                        swapsAccepted++;
+                    }
+                }
+                keepBest(ladder);
+
+                long moves = (long) movable.length * replicas;
+                rounds.add(new AnnealingRound(round, (System.nanoTime() - start) / 1e6, bestEnergy,
+                        moves == 0 ? 0 : acceptedMoves / (double) moves, swaps == 0 ? 0 : swapsAccepted / (double) swaps));
+            } while (round < maxRounds && System.nanoTime() < deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Annealing was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Annealing failed: " + e.getCause().getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+        logger.info(() -> "Annealing finished after " + rounds.size() + " rounds, energy " + initialEnergy + " -> "
+                + bestEnergy);
+        return rounds;
+    }
+
+    // Get the floors of the best layout at (row, col), 0 when it is not built.
+    public int getFloors(int row, int col) {
+        return bestFloors[row * width + col];
+    }
+
+    // Get the material of the best layout at (row, col).
+    public Material getMaterial(int row, int col) {
+        return MATERIALS[bestMaterials[row * width + col]];
+    }
+
+    // Get the foundation for (row, col), stilts on swampy terrain.
+    public Foundation getFoundation(int row, int col) {
+        return stilts[row * width + col] ? Foundation.STILTS : Foundation.SLAB;
+    }
+
+    // Get the objective value of the starting layout.
+    public double getInitialEnergy() {
+        return initialEnergy;
+    }
+
+    // Get the objective value of the best layout found.
+    public double getBestEnergy() {
+        return bestEnergy;
+    }
+
+    // Works out the objective of the best layout from scratch, to check the incremental updates.
+    public double recomputeBestEnergy() {
+        return energy(bestFloors, bestMaterials);
+    }
+
+    // Works out the rules and cost terms of one square. Returns whether it can be built on.
+    private boolean prepareSquare(CityGrid grid, CostParameters prices, double scale, int row, int col) {
+        int index = row * width + col;
+        GridSquare.TerrainType terrain = grid.getTerrain(row, col);
+        Material heritage = grid.getHeritage(row, col);
+        int lowest = grid.hasFloodRisk(row, col) ? 2 : 1;
+        int highest = grid.hasHeightLimit(row, col)
+                ? Math.min(grid.getHeightLimit(row, col), objective.getMaxFloors()) : objective.getMaxFloors();
+        stilts[index] = !Foundation.SLAB.isAllowedOn(terrain);
+
+        int allowed = 0;
+        if (!grid.isContaminated(row, col) && lowest <= highest) {
+            for (Material material : MATERIALS) {
+                if (material.isAllowedOn(terrain) && (heritage == null || heritage == material)) {
+                    allowed |= 1 << material.ordinal();
+                }
+            }
+        }
+        allowedMaterials[index] = (byte) allowed;
+        minFloors[index] = (byte) lowest;
+        maxFloors[index] = (byte) Math.max(lowest, highest);
+        floodMultiplier[index] = grid.hasFloodRisk(row, col)
+                ? 1 + grid.getFloodRisk(row, col) / prices.getFloodRiskDivisor() : 1;
+        extraPerFloor[index] = terrain == GridSquare.TerrainType.SWAMPY
+                ? prices.getSwampySurchargePerFloor() / scale : 0;
+        fixedSurcharge[index] = ((heritage == null ? 0 : prices.getHeritageSurcharge())
+                + (terrain == GridSquare.TerrainType.ROCKY ? prices.getRockySurcharge() : 0)) / scale;
+        return allowed != 0;
+    }
+
+    // Every buildable square at the target floors (within its limits) in its cheapest allowed material
+    private void startingLayout(byte[] floors, byte[] materials) {
+        for (int index : movable) {
+            floors[index] = (byte) Math.max(minFloors[index], Math.min(maxFloors[index], objective.getTargetFloors()));
+            int cheapest = -1;
+            for (int m = 0; m < MATERIALS.length; m++) {
+                if ((allowedMaterials[index] & (1 << m)) != 0 && (cheapest < 0 || rates[m] < rates[cheapest])) {
+                    cheapest = m;
+                }
+            }
+            materials[index] = (byte) cheapest;
+        }
+    }
+
+    // Cost and density terms of one square
+    private double squareEnergy(int index, int floors, int material) {
+        if (allowedMaterials[index] == 0) {
+            return 0; // can never be built, so it doesn't count towards density either
+        }
+        double difference = floors - objective.getTargetFloors();
+        double energy = objective.getDensityWeight() * difference * difference;
+        if (floors > 0) {
+            energy += objective.getCostWeight()
+                    * (floors * (rates[material] * floodMultiplier[index] + extraPerFloor[index])
+                            + fixedSurcharge[index]);
+        }
+        return energy;
+    }
+
+    // Objective of a whole layout
+    private double energy(byte[] floors, byte[] materials) {
+        double energy = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                energy += squareEnergy(index, floors[index], materials[index]);
+                if (col + 1 < width) {
+                    energy += smoothness(floors[index], floors[index + 1]);
+                }
+                if (row + 1 < height) {
+                    energy += smoothness(floors[index], floors[index + width]);
+                }
+            }
+        }
+        return energy;
+    }
+
+    private double smoothness(int floors, int neighbourFloors) {
+        double difference = floors - neighbourFloors;
+        return objective.getSmoothnessWeight() * difference * difference;
+    }
+
+    // Replica exchange between ladder[k] and the next hotter replica, swapping their layouts
+    private boolean trySwap(Replica[] ladder, int k, SplittableRandom random) {
+        Replica cold = ladder[k];
+        Replica hot = ladder[k + 1];
+        double exponent = (cold.energy - hot.energy) * (1 / cold.temperature - 1 / hot.temperature);
+        if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+            // The layouts move, the temperatures stay on their rungs of the ladder
+            double temperature = cold.temperature;
+            cold.temperature = hot.temperature;
+            hot.temperature = temperature;
+            ladder[k] = hot;
+            ladder[k + 1] = cold;
+            return true;
+        }
+        return false;
+    }
+
+    // Copies the lowest-energy replica into the best layout if it beats it
+    private void keepBest(Replica[] ladder) {
+        Replica lowest = ladder[0];
+        for (Replica replica : ladder) {
+            if (replica.energy < lowest.energy) {
+                lowest = replica;
+            }
+        }
+        if (lowest.energy < bestEnergy) {
+            System.arraycopy(lowest.floors, 0, bestFloors, 0, bestFloors.length);
+            System.arraycopy(lowest.materials, 0, bestMaterials, 0, bestMaterials.length);
+            bestEnergy = lowest.energy;
+        }
+    }
+
+    // One layout being annealed at a temperature
+    private final class Replica {
+        private final byte[] floors = new byte[height * width];
+        private final byte[] materials = new byte[height * width];
+        private final SplittableRandom random;
+        private double temperature;
+        private double energy;
+
+        private Replica(double temperature, SplittableRandom random) {
+            this.temperature = temperature;
+            this.random = random;
+            startingLayout(floors, materials);
+            this.energy = initialEnergy;
+        }
+
+        // One move per buildable square, visited in grid order so the arrays are read sequentially,
+        // then the energy is recomputed so rounding can't build up. Returns the number of moves accepted.
+        private long sweep() {
+            long accepted = 0;
+            for (int index : movable) {
+                if (tryMove(index)) {
+                    accepted++;
+                }
+            }
+            energy = energy(floors, materials);
+            return accepted;
+        }
+
+        // Proposes a new material, a new height or a step up or down for the square,
+        // accepting it by the Metropolis rule
+        private boolean tryMove(int index) {
+            int oldFloors = floors[index];
+            int oldMaterial = materials[index];
+            int newFloors = oldFloors;
+            int newMaterial = oldMaterial;
+            int low = minFloors[index];
+            int high = maxFloors[index];
+            switch (random.nextInt(4)) {
+                case 0:
+                    newMaterial = randomAllowedMaterial(index);
+                    break;
+                case 1:
+                    newFloors = random.nextInt(high - low + 2); // 0 or anything in [low, high]
+                    newFloors = newFloors == 0 ? 0 : newFloors + low - 1;
+                    break;
+                case 2:
+                    newFloors = oldFloors <= low ? 0 : oldFloors - 1;
+                    break;
+                default:
+                    newFloors = oldFloors == 0 ? low : Math.min(high, oldFloors + 1);
+                    break;
+            }
+            if (newFloors == oldFloors && newMaterial == oldMaterial) {
+                return false;
+            }
+
+            double delta = squareEnergy(index, newFloors, newMaterial) - squareEnergy(index, oldFloors, oldMaterial)
+                    + neighbourDelta(index, oldFloors, newFloors);
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                floors[index] = (byte) newFloors;
+                materials[index] = (byte) newMaterial;
+                energy += delta;
+                return true;
+            }
+            return false;
+        }
+
+        // Change in the smoothness terms with the four neighbours
+        private double neighbourDelta(int index, int oldFloors, int newFloors) {
+            if (objective.getSmoothnessWeight() == 0 || oldFloors == newFloors) {
+                return 0;
+            }
+            int col = index % width;
+            double delta = 0;
+            if (col > 0) {
+                delta += pairDelta(floors[index - 1], oldFloors, newFloors);
+            }
+            if (col + 1 < width) {
+                delta += pairDelta(floors[index + 1], oldFloors, newFloors);
+            }
+            if (index >= width) {
+                delta += pairDelta(floors[index - width], oldFloors, newFloors);
+            }
+            if (index + width < floors.length) {
+                delta += pairDelta(floors[index + width], oldFloors, newFloors);
+            }
+            return delta;
+        }
+
+        private double pairDelta(int neighbourFloors, int oldFloors, int newFloors) {
+            return smoothness(newFloors, neighbourFloors) - smoothness(oldFloors, neighbourFloors);
+        }
+
+        private int randomAllowedMaterial(int index) {
+            int allowed = allowedMaterials[index];
+            int pick = random.nextInt(Integer.bitCount(allowed));
+            for (int m = 0; m < MATERIALS.length; m++) {
+                if ((allowed & (1 << m)) != 0 && pick-- == 0) {
+                    return m;
+                }
+            }
+            return materials[index];
+        }
+    }
+}
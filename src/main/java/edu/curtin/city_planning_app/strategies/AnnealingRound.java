@@ -0,0 +1,46 @@
+// AnnealingRound.java
+package edu.curtin.city_planning_app.strategies;
+
+// How the annealing search stood after one round (one sweep of moves by every replica and a
+// round of replica swaps), to show how it converged.
+public class AnnealingRound {
+    private final int round;
+    private final double elapsedMillis;
+    private final double bestEnergy;
+    private final double moveAcceptance;
+    private final double swapAcceptance;
+
+    public AnnealingRound(int round, double elapsedMillis, double bestEnergy, double moveAcceptance,
+            double swapAcceptance) {
+        this.round = round;
+        this.elapsedMillis = elapsedMillis;
+        this.bestEnergy = bestEnergy;
+        this.moveAcceptance = moveAcceptance;
+        this.swapAcceptance = swapAcceptance;
+    }
+
+    // Get the round number, from 1.
+    public int getRound() {
+        return round;
+    }
+
+    // Get the time since the search started in milliseconds.
+    public double getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    // Get the lowest objective value found so far.
+    public double getBestEnergy() {
+        return bestEnergy;
+    }
+
+    // Get the share of moves accepted in this round, over every replica.
+    public double getMoveAcceptance() {
+        return moveAcceptance;
+    }
+
+    // Get the share of replica swaps accepted in this round.
+    public double getSwapAcceptance() {
+        return swapAcceptance;
+    }
+}
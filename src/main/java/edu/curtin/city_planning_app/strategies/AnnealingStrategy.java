@@ -0,0 +1,73 @@
+// AnnealingStrategy.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+// Annealing Strategy Implementation
+// Balances total cost, skyline smoothness and a density target over the whole city (see
+// AnnealingObjective). The layout is searched up front by parallel tempering within a time
+// budget, then each square is built as the best layout found says.
+public class AnnealingStrategy extends TemplateStrategy {
+    private static final Logger logger = Logger.getLogger(AnnealingStrategy.class.getName());
+    public static final int DEFAULT_REPLICAS = 4;
+    public static final int MAX_ROUNDS = 10_000;
+    private static final long SEED = 2024;
+
+    private AnnealingOptimizer optimizer;
+    private List<AnnealingRound> rounds;
+
+    public AnnealingStrategy(CityGrid grid, AnnealingObjective objective, long timeBudgetMillis, CityDisplayer display,
+            CityBuilderManager builder) {
+        super(grid, display, builder);
+        this.optimizer = new AnnealingOptimizer(grid, objective, builder.getCostParameters());
+        this.rounds = optimizer.optimize(DEFAULT_REPLICAS, Runtime.getRuntime().availableProcessors(),
+                timeBudgetMillis, MAX_ROUNDS, SEED);
+    }
+
+    // Get how the search converged, one entry per round.
+    public List<AnnealingRound> getRounds() {
+        return rounds;
+    }
+
+    // Get the optimizer holding the best layout.
+    public AnnealingOptimizer getOptimizer() {
+        return optimizer;
+    }
+
+    // Builds each structure as the best layout found says.
+    // Squares the layout leaves empty are reported as failed builds.
+    @Override
+    protected boolean buildStructureWithStrategy(int row, int col) {
+        int floors = optimizer.getFloors(row, col);
+        if (floors == 0) {
+            logger.info(() -> "Best layout leaves Grid (" + row + "," + col + ") empty");
+            return false;
+        }
+        Material material = optimizer.getMaterial(row, col);
+        Foundation foundation = optimizer.getFoundation(row, col);
+
+        // Use CityBuilderManager's buildStructure method and get the total cost for
+        // this structure
+        double totalCost = builder.buildStructure(row, col, floors, foundation, material, display);
+
+        if (totalCost >= 0) { // Structure successfully built
+            // Add the structure's cost to the total final cost in the builder
+            builder.addStructure(row, col, floors, foundation, material, totalCost);
+
+            logger.info(
+                    () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
+            displayStructureDetails(row, col, material, floors, totalCost);
+            return true;
+        } else {
+            logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// CentralPlan.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.DistanceBands;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+// Taller, denser builds towards the centre of the grid, with the same floors and material bands
+// as CentralStrategy. Only the grid's dimensions are needed.
+public class CentralPlan implements SquarePlan {
+    private final DistanceBands bands;
+
+    public CentralPlan(int height, int width) {
+        this.bands = new DistanceBands(height, width, (height - 1) / 2, (width - 1) / 2);
+    }
+
+    @Override
+    public int floors(int row, int col, GridSquare square) {
+        return CentralStrategy.floorsForDistanceSquared(bands.distanceSquared(row, col));
+    }
+
+    @Override
+    public Material material(int row, int col, GridSquare square) {
+        return CentralStrategy.materialForDistanceSquared(bands.distanceSquared(row, col));
+    }
+
+    @Override
+    public Foundation foundation(int row, int col, GridSquare square) {
+        return Foundation.SLAB; // Always slab foundation, same as the central strategy
+    }
+}
@@ -4,6 +4,9 @@ package edu.curtin.city_planning_app.strategies;
 import edu.curtin.city_planning_app.CityBuilderManager;
 import edu.curtin.city_planning_app.CityDisplayer;
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.DistanceBands;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
 
 import java.util.logging.Logger;
 
@@ -11,8 +14,19 @@ import java.util.logging.Logger;
 public class CentralStrategy extends TemplateStrategy {
     private static final Logger logger = Logger.getLogger(CentralStrategy.class.getName());
 
+    // Material bands as squared distances from the center (distance <= 2, <= 4, <= 6)
+    private static final long CONCRETE_MAX_DISTANCE_SQUARED = 4;
+    private static final long BRICK_MAX_DISTANCE_SQUARED = 16;
+    private static final long STONE_MAX_DISTANCE_SQUARED = 36;
+
+    private DistanceBands bands;
+    private int[] floorsByDistanceSquared; // floors for every squared distance until it settles at 1
+
     public CentralStrategy(CityGrid grid, CityDisplayer display, CityBuilderManager builder) {
         super(grid, display, builder);
+        this.bands = new DistanceBands(grid.getHeight(), grid.getWidth(),
+                (grid.getHeight() - 1) / 2, (grid.getWidth() - 1) / 2);
+        this.floorsByDistanceSquared = buildFloorsTable(bands.maxDistanceSquared());
     }
 
      //Central strategy for building structures on the grid. It builds structures
@@ -21,8 +35,8 @@ public class CentralStrategy extends TemplateStrategy {
     protected boolean buildStructureWithStrategy(int row, int col) {
         // Calculate floors and material based on the centrality of the grid square
         int floors = calculateFloors(row, col);
-        String material = calculateMaterial(row, col);
-        String foundation = "slab"; // Always slab foundation in central strategy
+        Material material = calculateMaterial(row, col);
+        Foundation foundation = Foundation.SLAB; // Always slab foundation in central strategy
 
         // Use CityBuilderManager's buildStructure method and get the total cost for
         // this structure
@@ -30,11 +44,11 @@ public class CentralStrategy extends TemplateStrategy {
 
         if (totalCost >= 0) { // Structure successfully built
             // Add the structure's cost to the total final cost in the builder
-            builder.addStructure(totalCost);
+            builder.addStructure(row, col, floors, foundation, material, totalCost);
 
             logger.info(
                     () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
-            displayStructureDetails(row, col, grid.getGridSquare(row, col), material, floors, totalCost);
+            displayStructureDetails(row, col, material, floors, totalCost);
             return true;
         } else {
             logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
@@ -44,29 +58,49 @@ public class CentralStrategy extends TemplateStrategy {
 
     // Methods to calculate floors and materials based on distance from the center
     private int calculateFloors(int row, int col) {
-        double distance = calculateDistance(row, col);
-        return (int) Math.round(1 + (20 / (distance + 1)));
+        long distanceSquared = bands.distanceSquared(row, col);
+        if (distanceSquared >= floorsByDistanceSquared.length) {
+            return 1; // far enough out that the formula always rounds to a single floor
+        }
+        return floorsByDistanceSquared[(int) distanceSquared];
     }
 
     // Find the material based on the distance from the center
-    private String calculateMaterial(int row, int col) {
-        double distance = calculateDistance(row, col);
-        if (distance <= 2) {
-            return "concrete";
-        } else if (distance <= 4) {
-            return "brick";
-        } else if (distance <= 6) {
-            return "stone";
+    private Material calculateMaterial(int row, int col) {
+        return materialForDistanceSquared(bands.distanceSquared(row, col));
+    }
+
+    // Material band for a squared distance from the center, shared with CentralPlan
+    /* default */ static Material materialForDistanceSquared(long distanceSquared) {
+        if (distanceSquared <= CONCRETE_MAX_DISTANCE_SQUARED) {
+            return Material.CONCRETE;
+        } else if (distanceSquared <= BRICK_MAX_DISTANCE_SQUARED) {
+            return Material.BRICK;
+        } else if (distanceSquared <= STONE_MAX_DISTANCE_SQUARED) {
+            return Material.STONE;
         } else {
-            return "wood";
+            return Material.WOOD;
         }
     }
 
-    // Calculate the distance from the center
-    private double calculateDistance(int row, int col) {
-        int centerRow = (grid.getHeight() - 1) / 2;
-        int centerCol = (grid.getWidth() - 1) / 2;
-        return Math.sqrt(Math.pow(row - centerRow, 2) + Math.pow(col - centerCol, 2));
+    // Precompute the floors formula round(1 + 20 / (distance + 1)) for each squared distance.
+    // Floors only shrink with distance, so the table stops once the value reaches 1.
+    private static int[] buildFloorsTable(long maxDistanceSquared) {
+        int size = 0;
+        while (size <= maxDistanceSquared && floorsForDistanceSquared(size) > 1) {
+            size++;
+        }
+        int[] table = new int[size];
+        for (int d2 = 0; d2 < size; d2++) {
+            table[d2] = floorsForDistanceSquared(d2);
+        }
+        return table;
+    }
+
+    // Floors formula for a single squared distance from the center, shared with CentralPlan
+    /* default */ static int floorsForDistanceSquared(long distanceSquared) {
+        double distance = Math.sqrt(distanceSquared);
+        return (int) Math.round(1 + (20 / (distance + 1)));
     }
 
 }
@@ -0,0 +1,35 @@
+// CityCentre.java
+package edu.curtin.city_planning_app.strategies;
+
+// A weighted city centre (eg. a CBD) used by the multi-centre strategy.
+// The weight stretches the centre's reach: with weight 2, a square gets the same floors
+// and material at twice the distance that a weight 1 centre would give it.
+public class CityCentre {
+    private int row;
+    private int col;
+    private double weight;
+
+    public CityCentre(int row, int col, double weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Centre weight must be positive.");
+        }
+        this.row = row;
+        this.col = col;
+        this.weight = weight;
+    }
+
+    // Get the row of the centre.
+    public int getRow() {
+        return row;
+    }
+
+    // Get the column of the centre.
+    public int getCol() {
+        return col;
+    }
+
+    // Get the weight of the centre.
+    public double getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,211 @@
+// ConstraintSolver.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Incremental constraint propagation over a worklist.
+// Holds one assignment (floors, material, foundation) per square. Every instance of every
+// constraint is checked once, after that a change to a square only re-queues the constraint
+// instances that contain it, so the grid is never rescanned.
+// Every change is checked against the per-square rules in CheckBuildValidation first.
+// Repairs only ever make progress: floors only go down, a square never goes back to a material
+// a repair moved it away from, and an unbuilt square stays unbuilt. So each square changes at most
+// (materials - 1) + floors + 1 times, and solve() terminates even when constraints compete,
+// eg. a stone share and a concrete share passing the same squares back and forth.
+public class ConstraintSolver {
+    private static final Logger logger = Logger.getLogger(ConstraintSolver.class.getName());
+
+    private static final Material[] MATERIALS = Material.values();
+    private static final int[] REPLACEMENT_ORDER = { Material.CONCRETE.ordinal(), Material.BRICK.ordinal(),
+            Material.WOOD.ordinal(), Material.STONE.ordinal() };
+
+    private CityGrid grid;
+    private CheckBuildValidation validator;
+    private List<ZoningConstraint> constraints;
+    private int width;
+    private int[] floors; // 0 = not built
+    private byte[] materials;
+    private boolean[] stilts;
+    private byte[] abandoned; // per square, bit per material a repair has moved it away from
+
+    private boolean[][] queued; // per constraint, whether an instance is already in the worklist
+    private long[] worklist = new long[1024]; // ring buffer of (constraint << 32 | instance)
+    private int head;
+    private int size;
+    private long checks;
+    private long changes;
+
+    public ConstraintSolver(CityGrid grid, List<ZoningConstraint> constraints) {
+        this.grid = grid;
+        this.validator = new CheckBuildValidation();
+        this.constraints = new ArrayList<>(constraints);
+        this.width = grid.getWidth();
+        this.floors = new int[grid.getHeight() * width];
+        this.materials = new byte[grid.getHeight() * width];
+        this.stilts = new boolean[grid.getHeight() * width];
+        this.abandoned = new byte[grid.getHeight() * width];
+        this.queued = new boolean[constraints.size()][];
+        for (int i = 0; i < constraints.size(); i++) {
+            queued[i] = new boolean[constraints.get(i).instanceCount()];
+        }
+    }
+
+    // Sets the starting assignment of a square before solving.
+    // Falls back to the other materials if the preferred one breaks a per-square rule,
+    // and leaves the square unbuilt if nothing is valid. Returns whether it will be built.
+    public boolean propose(int row, int col, int proposedFloors, Material material, Foundation foundation) {
+        stilts[row * width + col] = foundation == Foundation.STILTS;
+        if (isValid(row, col, proposedFloors, material.ordinal())) {
+            apply(row, col, proposedFloors, material.ordinal(), false);
+            return true;
+        }
+        return switchMaterial(row, col, material.ordinal(), proposedFloors, false);
+    }
+
+    // Checks every constraint instance once, then keeps repairing until the worklist is empty.
+    public void solve() {
+        for (int c = 0; c < constraints.size(); c++) {
+            for (int instance = 0; instance < queued[c].length; instance++) {
+                enqueue(c, instance);
+            }
+        }
+
+        while (size > 0) {
+            long item = worklist[head];
+            head = (head + 1) % worklist.length;
+            size--;
+            int c = (int) (item >>> 32);
+            int instance = (int) item;
+            queued[c][instance] = false;
+
+            checks++;
+            ZoningConstraint constraint = constraints.get(c);
+            if (!constraint.isSatisfied(instance)) {
+                long changesBefore = changes;
+                constraint.repair(instance, this);
+                if (changes > changesBefore && !constraint.isSatisfied(instance)) {
+                    enqueue(c, instance); // one repair may not be enough
+                }
+            }
+        }
+        logger.info(() -> "Constraint propagation finished after " + checks + " checks and " + changes
+                + " changes");
+    }
+
+    // Get the floors assigned to (row, col), 0 when it will not be built.
+    public int getFloors(int row, int col) {
+        return floors[row * width + col];
+    }
+
+    // Get the ordinal of the material assigned to (row, col).
+    public int getMaterialIndex(int row, int col) {
+        return materials[row * width + col];
+    }
+
+    // Get the material assigned to (row, col).
+    public Material getMaterial(int row, int col) {
+        return MATERIALS[materials[row * width + col]];
+    }
+
+    // Get the foundation assigned to (row, col).
+    public Foundation getFoundation(int row, int col) {
+        return stilts[row * width + col] ? Foundation.STILTS : Foundation.SLAB;
+    }
+
+    // Number of constraint instance checks made by the last solve.
+    public long getChecks() {
+        return checks;
+    }
+
+    // Number of square assignments changed by repairs.
+    public long getChanges() {
+        return changes;
+    }
+
+    // Repair move: switch (row, col) away from the given material to the first valid alternative
+    // it has not already been moved away from. The square never returns to 'avoidMaterial'.
+    public boolean switchMaterial(int row, int col, int avoidMaterial) {
+        abandoned[row * width + col] |= (byte) (1 << avoidMaterial);
+        return switchMaterial(row, col, avoidMaterial, getFloors(row, col), true);
+    }
+
+    // Repair move: take one floor off (row, col) if the square stays valid.
+    public boolean lowerFloors(int row, int col) {
+        int lowered = getFloors(row, col) - 1;
+        if (lowered > 0 && isValid(row, col, lowered, getMaterialIndex(row, col))) {
+            apply(row, col, lowered, getMaterialIndex(row, col), true);
+            return true;
+        }
+        return false;
+    }
+
+    // Repair move: leave (row, col) unbuilt.
+    public void unbuild(int row, int col) {
+        apply(row, col, 0, getMaterialIndex(row, col), true);
+    }
+
+    private boolean switchMaterial(int row, int col, int avoidMaterial, int atFloors, boolean propagate) {
+        int skipped = abandoned[row * width + col] | (1 << avoidMaterial);
+        for (int candidate : REPLACEMENT_ORDER) {
+            if ((skipped & (1 << candidate)) == 0 && isValid(row, col, atFloors, candidate)) {
+                apply(row, col, atFloors, candidate, propagate);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Per-square building rules, shared with the other strategies
+    private boolean isValid(int row, int col, int candidateFloors, int material) {
+        return "valid".equals(validator.validate(grid, row, col, candidateFloors, getFoundation(row, col),
+                MATERIALS[material]));
+    }
+
+    // Updates the assignment and the aggregates of every constraint instance containing the square,
+    // re-queueing those instances when propagating
+    private void apply(int row, int col, int newFloors, int newMaterial, boolean propagate) {
+        int index = row * width + col;
+        int oldFloors = floors[index];
+        int oldMaterial = materials[index];
+        floors[index] = newFloors;
+        materials[index] = (byte) newMaterial;
+        if (propagate) {
+            changes++;
+        }
+
+        for (int c = 0; c < constraints.size(); c++) {
+            ZoningConstraint constraint = constraints.get(c);
+            int constraintIndex = c;
+            constraint.forEachInstance(row, col, instance -> {
+                constraint.squareChanged(instance, row, col, oldFloors, oldMaterial, newFloors, newMaterial);
+                if (propagate) {
+                    enqueue(constraintIndex, instance);
+                }
+            });
+        }
+    }
+
+    private void enqueue(int constraint, int instance) {
+        if (queued[constraint][instance]) {
+            return;
+        }
+        queued[constraint][instance] = true;
+        if (size == worklist.length) {
+            long[] grown = new long[worklist.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = worklist[(head + i) % worklist.length];
+            }
+            worklist = grown;
+            head = 0;
+        }
+        worklist[(head + size) % worklist.length] = ((long) constraint << 32) | instance;
+        size++;
+    }
+}
@@ -0,0 +1,79 @@
+// ConstraintStrategy.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+// Constraint-Based Strategy Implementation
+// Starts every square at the preferred material and floors, then resolves rules that span
+// several squares (eg. stone share per block, floors per neighbourhood) by constraint propagation.
+public class ConstraintStrategy extends TemplateStrategy {
+    private static final Logger logger = Logger.getLogger(ConstraintStrategy.class.getName());
+    private ConstraintSolver solver;
+
+    public ConstraintStrategy(CityGrid grid, Material material, int floors, List<ZoningConstraint> constraints,
+            CityDisplayer display, CityBuilderManager builder) {
+        super(grid, display, builder);
+        grid.loadAll(); // every square is proposed up front, so parse a lazy grid in one pass
+        this.solver = new ConstraintSolver(grid, constraints);
+        proposeAll(material, floors);
+        solver.solve();
+    }
+
+    // Builds each structure with the assignment left after propagation.
+    // Squares the solver had to leave empty are reported as failed builds.
+    @Override
+    protected boolean buildStructureWithStrategy(int row, int col) {
+        int floors = solver.getFloors(row, col);
+        if (floors == 0) {
+            logger.warning(() -> "No assignment satisfies the zoning and constraints at Grid (" + row + "," + col + ")");
+            return false;
+        }
+        Material material = solver.getMaterial(row, col);
+        Foundation foundation = solver.getFoundation(row, col);
+
+        // Use CityBuilderManager's buildStructure method and get the total cost for
+        // this structure
+        double totalCost = builder.buildStructure(row, col, floors, foundation, material, display);
+
+        if (totalCost >= 0) { // Structure successfully built
+            // Add the structure's cost to the total final cost in the builder
+            builder.addStructure(row, col, floors, foundation, material, totalCost);
+
+            logger.info(
+                    () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
+            displayStructureDetails(row, col, material, floors, totalCost);
+            return true;
+        } else {
+            logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
+            return false;
+        }
+    }
+
+    // Starting assignment: the preferred material and floors, adjusted to each square's own zoning
+    private void proposeAll(Material material, int targetFloors) {
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                int floors = targetFloors;
+                if (grid.hasHeightLimit(row, col)) {
+                    floors = Math.min(floors, grid.getHeightLimit(row, col));
+                }
+                if (grid.hasFloodRisk(row, col)) {
+                    floors = Math.max(floors, 2);
+                }
+                Material heritage = grid.getHeritage(row, col);
+                Material chosenMaterial = heritage == null ? material : heritage;
+                Foundation foundation = grid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY
+                        ? Foundation.STILTS : Foundation.SLAB;
+                solver.propose(row, col, floors, chosenMaterial, foundation);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// MaterialShareConstraint.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.function.IntConsumer;
+
+// At most a given share of each block of squares may be built from one material,
+// eg. "no more than 30% of each 4x4 block is stone".
+// Repairs switch the last offending square of the block to another valid material,
+// or leave it unbuilt when no other material is allowed there.
+public class MaterialShareConstraint implements ZoningConstraint {
+    private int material;
+    private int blockSize;
+    private int blockCols;
+    private int[] counts; // squares of the material per block
+    private int[] limits; // most squares of the material allowed per block
+    private int height;
+    private int width;
+
+    public MaterialShareConstraint(int height, int width, Material material, int blockSize, double maxShare) {
+        if (blockSize <= 0 || maxShare < 0 || maxShare > 1) {
+            throw new IllegalArgumentException("Block size must be positive and share between 0 and 1.");
+        }
+        this.material = material.ordinal();
+        this.blockSize = blockSize;
+        this.height = height;
+        this.width = width;
+        this.blockCols = (width + blockSize - 1) / blockSize;
+        int blockRows = (height + blockSize - 1) / blockSize;
+        this.counts = new int[blockRows * blockCols];
+        this.limits = new int[blockRows * blockCols];
+        for (int block = 0; block < limits.length; block++) {
+            int rows = Math.min(blockSize, height - (block / blockCols) * blockSize);
+            int cols = Math.min(blockSize, width - (block % blockCols) * blockSize);
+            limits[block] = (int) Math.floor(maxShare * rows * cols);
+        }
+    }
+
+    @Override
+    public int instanceCount() {
+        return counts.length;
+    }
+
+    @Override
+    public void forEachInstance(int row, int col, IntConsumer action) {
+        action.accept((row / blockSize) * blockCols + col / blockSize);
+    }
+
+    @Override
+    public void squareChanged(int instance, int row, int col, int oldFloors, int oldMaterial, int newFloors,
+            int newMaterial) {
+        if (oldFloors > 0 && oldMaterial == material) {
+            counts[instance]--;
+        }
+        if (newFloors > 0 && newMaterial == material) {
+            counts[instance]++;
+        }
+    }
+
+    @Override
+    public boolean isSatisfied(int instance) {
+        return counts[instance] <= limits[instance];
+    }
+
+    @Override
+    public void repair(int instance, ConstraintSolver solver) {
+        int firstRow = (instance / blockCols) * blockSize;
+        int firstCol = (instance % blockCols) * blockSize;
+        for (int row = Math.min(firstRow + blockSize, height) - 1; row >= firstRow; row--) {
+            for (int col = Math.min(firstCol + blockSize, width) - 1; col >= firstCol; col--) {
+                if (solver.getFloors(row, col) > 0 && solver.getMaterialIndex(row, col) == material) {
+                    if (!solver.switchMaterial(row, col, material)) {
+                        solver.unbuild(row, col);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
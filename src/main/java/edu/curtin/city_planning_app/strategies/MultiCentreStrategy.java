@@ -0,0 +1,115 @@
+// MultiCentreStrategy.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.grids.WeightedDistanceField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Multi-Centre Strategy Implementation
+// Like the central strategy, but with several weighted centres. Each square is served by
+// the centre with the smallest distance / weight, so a heavier centre can serve a square
+// a lighter one is nearer to.
+// The distance field is computed once for the whole grid, not once per square per centre.
+public class MultiCentreStrategy extends TemplateStrategy {
+    private static final Logger logger = Logger.getLogger(MultiCentreStrategy.class.getName());
+    private static final Material[] MATERIALS = { Material.CONCRETE, Material.BRICK, Material.STONE,
+            Material.WOOD };
+
+    private List<CityCentre> centres;
+    private byte[] floorsBySquare; // row-major floors chosen from the field
+    private byte[] materialBySquare; // row-major index into MATERIALS
+
+    public MultiCentreStrategy(CityGrid grid, List<CityCentre> centres, CityDisplayer display,
+            CityBuilderManager builder) {
+        super(grid, display, builder);
+        if (centres.isEmpty()) {
+            throw new IllegalArgumentException("Multi-centre strategy needs at least one centre.");
+        }
+        this.centres = new ArrayList<>(centres);
+        computeField();
+    }
+
+    // Builds structures with floors and material based on the smallest weighted distance
+    // to any city centre.
+    @Override
+    protected boolean buildStructureWithStrategy(int row, int col) {
+        int index = row * grid.getWidth() + col;
+        int floors = floorsBySquare[index];
+        Material material = MATERIALS[materialBySquare[index]];
+        Foundation foundation = Foundation.SLAB; // Always slab foundation, same as the central strategy
+
+        // Use CityBuilderManager's buildStructure method and get the total cost for
+        // this structure
+        double totalCost = builder.buildStructure(row, col, floors, foundation, material, display);
+
+        if (totalCost >= 0) { // Structure successfully built
+            // Add the structure's cost to the total final cost in the builder
+            builder.addStructure(row, col, floors, foundation, material, totalCost);
+
+            logger.info(
+                    () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
+            displayStructureDetails(row, col, material, floors, totalCost);
+            return true;
+        } else {
+            logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
+            return false;
+        }
+    }
+
+    // Get the configured centres.
+    public List<CityCentre> getCentres() {
+        return new ArrayList<>(centres);
+    }
+
+    // Computes the distance field from all centres once, then the floors and material
+    // for every square from its weighted distance.
+    private void computeField() {
+        int height = grid.getHeight();
+        int width = grid.getWidth();
+        int[] rows = new int[centres.size()];
+        int[] cols = new int[centres.size()];
+        double[] weights = new double[centres.size()];
+        for (int i = 0; i < centres.size(); i++) {
+            rows[i] = centres.get(i).getRow();
+            cols[i] = centres.get(i).getCol();
+            weights[i] = centres.get(i).getWeight();
+        }
+
+        WeightedDistanceField field = new WeightedDistanceField(height, width, rows, cols, weights);
+        floorsBySquare = new byte[height * width];
+        materialBySquare = new byte[height * width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                double distance = field.getDistance(row, col);
+                floorsBySquare[row * width + col] = (byte) calculateFloors(distance);
+                materialBySquare[row * width + col] = (byte) calculateMaterial(distance);
+            }
+        }
+        logger.info(() -> "Multi-centre field computed for " + centres.size() + " centres");
+    }
+
+    // Floors from the weighted distance, same formula as the central strategy
+    private static int calculateFloors(double distance) {
+        return (int) Math.round(1 + (20 / (distance + 1)));
+    }
+
+    // Material index from the weighted distance, same bands as the central strategy
+    private static int calculateMaterial(double distance) {
+        if (distance <= 2) {
+            return 0;
+        } else if (distance <= 4) {
+            return 1;
+        } else if (distance <= 6) {
+            return 2;
+        } else {
+            return 3;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// NeighbourhoodFloorsConstraint.java
+package edu.curtin.city_planning_app.strategies;
+
+import java.util.function.IntConsumer;
+
+// The total floors in every 3x3 neighbourhood may not exceed a limit.
+// There is one instance per square (the window centred on it), and each square belongs
+// to the up to 9 windows around it. Repairs take a floor off the tallest square of the window
+// that can still lose one.
+public class NeighbourhoodFloorsConstraint implements ZoningConstraint {
+    private int height;
+    private int width;
+    private int maxFloors;
+    private int[] totals; // floors per window, indexed by the centre square
+
+    public NeighbourhoodFloorsConstraint(int height, int width, int maxFloors) {
+        if (maxFloors <= 0) {
+            throw new IllegalArgumentException("Neighbourhood floor limit must be positive.");
+        }
+        this.height = height;
+        this.width = width;
+        this.maxFloors = maxFloors;
+        this.totals = new int[height * width];
+    }
+
+    @Override
+    public int instanceCount() {
+        return totals.length;
+    }
+
+    @Override
+    public void forEachInstance(int row, int col, IntConsumer action) {
+        for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, height - 1); r++) {
+            for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, width - 1); c++) {
+                action.accept(r * width + c);
+            }
+        }
+    }
+
+    @Override
+    public void squareChanged(int instance, int row, int col, int oldFloors, int oldMaterial, int newFloors,
+            int newMaterial) {
+        totals[instance] += newFloors - oldFloors;
+    }
+
+    @Override
+    public boolean isSatisfied(int instance) {
+        return totals[instance] <= maxFloors;
+    }
+
+    @Override
+    public void repair(int instance, ConstraintSolver solver) {
+        int centreRow = instance / width;
+        int centreCol = instance % width;
+
+        // Built squares of the window, tallest first (row-major order on ties)
+        int[] window = new int[9];
+        int count = 0;
+        for (int r = Math.max(centreRow - 1, 0); r <= Math.min(centreRow + 1, height - 1); r++) {
+            for (int c = Math.max(centreCol - 1, 0); c <= Math.min(centreCol + 1, width - 1); c++) {
+                int floors = solver.getFloors(r, c);
+                if (floors > 0) {
+                    int i = count++;
+                    while (i > 0 && solver.getFloors(window[i - 1] / width, window[i - 1] % width) < floors) {
+                        window[i] = window[i - 1];
+                        i--;
+                    }
+                    window[i] = r * width + c;
+                }
+            }
+        }
+
+        // Take a floor off the tallest square that can lose one. Only leave the tallest
+        // square unbuilt when none can (eg. flood-risk squares already at two floors).
+        for (int i = 0; i < count; i++) {
+            if (solver.lowerFloors(window[i] / width, window[i] % width)) {
+                return;
+            }
+        }
+        if (count > 0) {
+            solver.unbuild(window[0] / width, window[0] % width);
+        }
+    }
+}
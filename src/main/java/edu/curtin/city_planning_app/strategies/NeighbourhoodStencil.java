@@ -0,0 +1,249 @@
+// NeighbourhoodStencil.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+// 3x3 stencil pass that decides floors, material and foundation for every square from
+// its own zoning and its neighbours' zoning.
+// Zoning is packed into a padded primitive grid (one int per square plus a neutral border).
+// The grid is cut into tiles, and each worker copies a tile and its one-square halo into a
+// buffer it reuses for every tile it evaluates. Each square's result depends only on the input
+// grid, so the output is identical for any number of threads.
+public class NeighbourhoodStencil {
+    private static final Logger logger = Logger.getLogger(NeighbourhoodStencil.class.getName());
+
+    public static final int TILE_SIZE = 64;
+
+    // Material ordinals used in the output
+    private static final int CONCRETE = Material.CONCRETE.ordinal();
+    private static final int BRICK = Material.BRICK.ordinal();
+    private static final int STONE = Material.STONE.ordinal();
+    private static final int WOOD = Material.WOOD.ordinal();
+    private static final Material[] MATERIALS = Material.values();
+
+    // Packed zoning layout, bit 0-1 heritage material (0 = none), then flags, then height limit
+    private static final int HERITAGE_MASK = 0x3;
+    private static final int FLOOD_BIT = 1 << 2;
+    private static final int CONTAMINATION_BIT = 1 << 3;
+    private static final int SWAMPY_BIT = 1 << 4;
+    private static final int HEIGHT_SHIFT = 8; // 0 = no height limit
+    private static final int MAX_ENCODED_HEIGHT = (1 << 23) - 1;
+
+    // Neighbourhood rules
+    private static final int HERITAGE_STEP_DOWN = 2; // floors removed next to a heritage square
+    private static final int FLOOD_NEIGHBOUR_MAX_FLOORS = 3; // tallest build next to a flood-risk square
+    private static final int MIN_FLOOD_FLOORS = 2; // flood-risk squares need at least two floors
+
+    private final int height;
+    private final int width;
+    private final int[] padded; // (height + 2) x (width + 2) packed zoning, border is neutral
+    private final int targetFloors;
+    private final byte[] floors;
+    private final byte[] material;
+    private final boolean[] stilts;
+
+    public NeighbourhoodStencil(CityGrid grid, int targetFloors) {
+        if (targetFloors <= 0 || targetFloors > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Target floors must be between 1 and " + Byte.MAX_VALUE + ".");
+        }
+        this.height = grid.getHeight();
+        this.width = grid.getWidth();
+        this.targetFloors = targetFloors;
+        this.padded = new int[(height + 2) * (width + 2)];
+        grid.loadAll(); // every square is packed, so parse a lazy grid in one pass
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                padded[(row + 1) * (width + 2) + col + 1] = encode(grid, row, col);
+            }
+        }
+        this.floors = new byte[height * width];
+        this.material = new byte[height * width];
+        this.stilts = new boolean[height * width];
+    }
+
+    // Evaluates every tile using the given number of worker threads.
+    public void evaluate(int threads) {
+        int tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int tileCols = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int tiles = tileRows * tileCols;
+        int workers = Math.max(1, Math.min(threads, tiles));
+        AtomicInteger nextTile = new AtomicInteger();
+
+        if (workers == 1) {
+            new TileWorker(nextTile, tiles, tileCols).run();
+            return;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                results.add(pool.submit(new TileWorker(nextTile, tiles, tileCols)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Stencil evaluation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Stencil evaluation failed: " + e.getCause().getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+        logger.info(() -> "Stencil evaluated " + tiles + " tiles with " + workers + " workers");
+    }
+
+    // Get the floors chosen for (row, col).
+    public int getFloors(int row, int col) {
+        return floors[row * width + col];
+    }
+
+    // Get the material chosen for (row, col).
+    public Material getMaterial(int row, int col) {
+        return MATERIALS[material[row * width + col]];
+    }
+
+    // Get the foundation chosen for (row, col).
+    public Foundation getFoundation(int row, int col) {
+        return stilts[row * width + col] ? Foundation.STILTS : Foundation.SLAB;
+    }
+
+    // Packs the zoning of a square into a single int
+    private static int encode(CityGrid grid, int row, int col) {
+        int code = 0;
+        Material heritage = grid.getHeritage(row, col);
+        if (heritage != null) {
+            switch (heritage) {
+                case WOOD:
+                    code |= 1;
+                    break;
+                case STONE:
+                    code |= 2;
+                    break;
+                case BRICK:
+                    code |= 3;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (grid.hasFloodRisk(row, col)) {
+            code |= FLOOD_BIT;
+        }
+        if (grid.isContaminated(row, col)) {
+            code |= CONTAMINATION_BIT;
+        }
+        if (grid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY) {
+            code |= SWAMPY_BIT;
+        }
+        if (grid.hasHeightLimit(row, col)) {
+            code |= Math.min(grid.getHeightLimit(row, col), MAX_ENCODED_HEIGHT) << HEIGHT_SHIFT;
+        }
+        return code;
+    }
+
+    // Heritage material index for the packed heritage bits (1 wood, 2 stone, 3 brick)
+    private static int heritageMaterial(int heritageBits) {
+        switch (heritageBits) {
+            case 1:
+                return WOOD;
+            case 2:
+                return STONE;
+            default:
+                return BRICK;
+        }
+    }
+
+    // Worker that claims tiles one at a time and evaluates them through its own halo buffer
+    private final class TileWorker implements Runnable {
+        private final AtomicInteger nextTile;
+        private final int tiles;
+        private final int tileCols;
+        private final int[] buffer = new int[(TILE_SIZE + 2) * (TILE_SIZE + 2)];
+
+        private TileWorker(AtomicInteger nextTile, int tiles, int tileCols) {
+            this.nextTile = nextTile;
+            this.tiles = tiles;
+            this.tileCols = tileCols;
+        }
+
+        @Override
+        public void run() {
+            int tile = nextTile.getAndIncrement();
+            while (tile < tiles) {
+                evaluateTile((tile / tileCols) * TILE_SIZE, (tile % tileCols) * TILE_SIZE);
+                tile = nextTile.getAndIncrement();
+            }
+        }
+
+        // Copies the tile and its halo into the local buffer, then applies the stencil
+        private void evaluateTile(int firstRow, int firstCol) {
+            int rows = Math.min(TILE_SIZE, height - firstRow);
+            int cols = Math.min(TILE_SIZE, width - firstCol);
+            int stride = cols + 2;
+            for (int r = 0; r < rows + 2; r++) {
+                System.arraycopy(padded, (firstRow + r) * (width + 2) + firstCol, buffer, r * stride, stride);
+            }
+
+            for (int r = 1; r <= rows; r++) {
+                for (int c = 1; c <= cols; c++) {
+                    int centre = r * stride + c;
+                    int neighbours = buffer[centre - stride - 1] | buffer[centre - stride] | buffer[centre - stride + 1]
+                            | buffer[centre - 1] | buffer[centre + 1]
+                            | buffer[centre + stride - 1] | buffer[centre + stride] | buffer[centre + stride + 1];
+                    int out = (firstRow + r - 1) * width + firstCol + c - 1;
+                    decide(buffer[centre], neighbours, out);
+                }
+            }
+        }
+
+        // Applies the neighbourhood rules for one square.
+        // 'neighbours' is the OR of the 8 surrounding codes, so it tells which zoning is adjacent.
+        private void decide(int code, int neighbours, int out) {
+            boolean nearHeritage = (neighbours & HERITAGE_MASK) > 0;
+            int chosenFloors = targetFloors;
+            if (nearHeritage) {
+                chosenFloors = Math.max(1, chosenFloors - HERITAGE_STEP_DOWN);
+            }
+            if ((neighbours & FLOOD_BIT) != 0) {
+                chosenFloors = Math.min(chosenFloors, FLOOD_NEIGHBOUR_MAX_FLOORS);
+            }
+            if ((code & FLOOD_BIT) != 0) {
+                chosenFloors = Math.max(chosenFloors, MIN_FLOOD_FLOORS);
+            }
+            int heightLimit = code >>> HEIGHT_SHIFT;
+            if (heightLimit > 0) {
+                chosenFloors = Math.min(chosenFloors, heightLimit);
+            }
+
+            int heritage = code & HERITAGE_MASK;
+            int chosenMaterial;
+            if (heritage > 0) {
+                chosenMaterial = heritageMaterial(heritage);
+            } else if (nearHeritage) {
+                chosenMaterial = BRICK; // blend in next to heritage sites
+            } else if ((code & SWAMPY_BIT) != 0 || chosenFloors > FLOOD_NEIGHBOUR_MAX_FLOORS) {
+                chosenMaterial = CONCRETE;
+            } else {
+                chosenMaterial = BRICK;
+            }
+
+            floors[out] = (byte) chosenFloors;
+            material[out] = (byte) chosenMaterial;
+            stilts[out] = (code & SWAMPY_BIT) != 0;
+        }
+    }
+}
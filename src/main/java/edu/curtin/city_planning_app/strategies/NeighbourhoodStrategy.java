@@ -0,0 +1,52 @@
+// NeighbourhoodStrategy.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+// Neighbourhood Strategy Implementation
+// Aims for a target number of floors, but steps heights down next to heritage squares,
+// keeps builds low next to flood-risk squares, and picks materials to suit the surroundings.
+// The decisions for the whole grid are made up front by a parallel stencil pass.
+public class NeighbourhoodStrategy extends TemplateStrategy {
+    private static final Logger logger = Logger.getLogger(NeighbourhoodStrategy.class.getName());
+    private NeighbourhoodStencil stencil;
+
+    public NeighbourhoodStrategy(CityGrid grid, int targetFloors, CityDisplayer display,
+            CityBuilderManager builder) {
+        super(grid, display, builder);
+        this.stencil = new NeighbourhoodStencil(grid, targetFloors);
+        stencil.evaluate(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Builds each structure with the floors, material and foundation chosen by the stencil
+    // from the square's neighbourhood.
+    @Override
+    protected boolean buildStructureWithStrategy(int row, int col) {
+        int floors = stencil.getFloors(row, col);
+        Material material = stencil.getMaterial(row, col);
+        Foundation foundation = stencil.getFoundation(row, col);
+
+        // Use CityBuilderManager's buildStructure method and get the total cost for
+        // this structure
+        double totalCost = builder.buildStructure(row, col, floors, foundation, material, display);
+
+        if (totalCost >= 0) { // Structure successfully built
+            // Add the structure's cost to the total final cost in the builder
+            builder.addStructure(row, col, floors, foundation, material, totalCost);
+
+            logger.info(
+                    () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
+            displayStructureDetails(row, col, material, floors, totalCost);
+            return true;
+        } else {
+            logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
+            return false;
+        }
+    }
+}
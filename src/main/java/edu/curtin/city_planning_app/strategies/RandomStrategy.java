@@ -4,6 +4,8 @@ package edu.curtin.city_planning_app.strategies;
 import edu.curtin.city_planning_app.CityBuilderManager;
 import edu.curtin.city_planning_app.CityDisplayer;
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
 
 import java.util.Random;
 import java.util.logging.Logger;
@@ -11,11 +13,11 @@ import java.util.logging.Logger;
 // Random Strategy Implementation
 public class RandomStrategy extends TemplateStrategy {
     private static final Logger logger = Logger.getLogger(RandomStrategy.class.getName());
-    private static final String[] MATERIALS = { "wood", "stone", "brick", "concrete" };
-    private static final String[] FOUNDATIONS = { "slab", "stilts" };
+    private static final Material[] MATERIALS = Material.values();
+    private static final Foundation[] FOUNDATIONS = Foundation.values();
     private Random random;
 
-    private String currentMaterial;
+    private Material currentMaterial;
     private int currentFloors;
 
     public RandomStrategy(CityGrid grid, CityDisplayer display, CityBuilderManager builder) {
@@ -31,7 +33,7 @@ public class RandomStrategy extends TemplateStrategy {
         // Randomly select the material, floors, and foundation
         currentMaterial = MATERIALS[random.nextInt(MATERIALS.length)];
         currentFloors = random.nextInt(5) + 1;
-        String foundation = FOUNDATIONS[random.nextInt(FOUNDATIONS.length)];
+        Foundation foundation = FOUNDATIONS[random.nextInt(FOUNDATIONS.length)];
 
         // Use CityBuilderManager's buildStructure method and get the total cost for
         // this structure
@@ -39,11 +41,11 @@ public class RandomStrategy extends TemplateStrategy {
 
         if (totalCost >= 0) { // Structure successfully built
             // Add the structure's cost to the total final cost in the builder
-            builder.addStructure(totalCost);
+            builder.addStructure(row, col, currentFloors, foundation, currentMaterial, totalCost);
 
             logger.info(() -> "Built at Grid (" + row + "," + col + ") - Material: " + currentMaterial + ", Floors: "
                     + currentFloors);
-            displayStructureDetails(row, col, grid.getGridSquare(row, col), currentMaterial, currentFloors, totalCost);
+            displayStructureDetails(row, col, currentMaterial, currentFloors, totalCost);
             return true;
         } else {
             logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
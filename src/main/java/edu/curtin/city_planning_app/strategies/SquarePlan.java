@@ -0,0 +1,38 @@
+// SquarePlan.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+// What to build on a square, decided from the square alone (its position and its own zoning).
+// Unlike a TemplateStrategy it needs no CityGrid, so squares can be planned as rows stream in
+// (see BuildPipeline). Implementations must be safe to call from several threads.
+public interface SquarePlan {
+    // Number of floors to build at (row, col).
+    int floors(int row, int col, GridSquare square);
+
+    // Material to build with at (row, col).
+    Material material(int row, int col, GridSquare square);
+
+    // Foundation to build on at (row, col).
+    Foundation foundation(int row, int col, GridSquare square);
+
+    // Parses a plan from the command line: "central" or "uniform:<material>:<floors>:<foundation>".
+    static SquarePlan parse(String spec, int height, int width) {
+        String[] parts = spec.split(":");
+        if ("central".equalsIgnoreCase(parts[0]) && parts.length == 1) {
+            return new CentralPlan(height, width);
+        }
+        if ("uniform".equalsIgnoreCase(parts[0]) && parts.length == 4) {
+            try {
+                return new UniformPlan(Material.fromString(parts[1]), Integer.parseInt(parts[2].trim()),
+                        Foundation.fromString(parts[3]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Floors must be an integer: " + parts[2], e);
+            }
+        }
+        throw new IllegalArgumentException("Unknown plan: " + spec
+                + " (expected 'central' or 'uniform:<material>:<floors>:<foundation>')");
+    }
+}
@@ -0,0 +1,57 @@
+// SweepResult.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+// Outcome of one Uniform configuration in a parameter sweep
+public class SweepResult {
+    private Material material;
+    private Foundation foundation;
+    private int floors;
+    private long buildable;
+    private double totalCost;
+
+    public SweepResult(Material material, Foundation foundation, int floors, long buildable, double totalCost) {
+        this.material = material;
+        this.foundation = foundation;
+        this.floors = floors;
+        this.buildable = buildable;
+        this.totalCost = totalCost;
+    }
+
+    // Get the material of the configuration.
+    public Material getMaterial() {
+        return material;
+    }
+
+    // Get the foundation of the configuration.
+    public Foundation getFoundation() {
+        return foundation;
+    }
+
+    // Get the floors of the configuration.
+    public int getFloors() {
+        return floors;
+    }
+
+    // Number of squares the configuration can be built on.
+    public long getBuildable() {
+        return buildable;
+    }
+
+    // Cost of building on every buildable square.
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    // Floors built across the whole city.
+    public long getTotalFloors() {
+        return buildable * floors;
+    }
+
+    // Cost per floor built, infinite when nothing can be built.
+    public double getCostPerFloor() {
+        return buildable == 0 ? Double.POSITIVE_INFINITY : totalCost / getTotalFloors();
+    }
+}
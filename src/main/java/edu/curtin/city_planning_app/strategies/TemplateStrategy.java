@@ -4,7 +4,10 @@ package edu.curtin.city_planning_app.strategies;
 import edu.curtin.city_planning_app.CityBuilderManager;
 import edu.curtin.city_planning_app.CityDisplayer;
 import edu.curtin.city_planning_app.grids.CityGrid;
-import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
+import edu.curtin.city_planning_app.metrics.TileBuildRecorder;
 
 import java.util.logging.Logger;
 
@@ -25,6 +28,10 @@ public abstract class TemplateStrategy {
     // Iterates through all grid squares and attempts to build structures according
     // to the strategy
     public final void buildCity() {
+        grid.loadAll(); // a lazy grid is parsed in one sequential pass, since every square is visited
+        TileBuildRecorder tiles = new TileBuildRecorder(getClass().getSimpleName(), grid.getHeight(),
+                grid.getWidth());
+
         // Loop through all grid squares
         for (int row = 0; row < grid.getHeight(); row++) {
             for (int col = 0; col < grid.getWidth(); col++) {
@@ -33,7 +40,9 @@ public abstract class TemplateStrategy {
 
                 // Call buildStructure and return boolean value as structureBuilt
                 // buildStructure of the chosen strategy is repeteadly called in the loop
+                tiles.beforeSquare(col);
                 boolean structureBuilt = buildStructureWithStrategy(finalRow, finalCol);
+                tiles.afterSquare(row, col, structureBuilt);
 
                 // Check if the structure was built
                 if (structureBuilt) {
@@ -42,6 +51,8 @@ public abstract class TemplateStrategy {
                     // Allowing to Mark which part of the grid has structure built or not
                     display.markStructure(finalRow, finalCol);
                     logger.info(() -> "Structure built at (" + finalRow + "," + finalCol + ").");
+                } else {
+                    builder.rejectSquare(finalRow, finalCol);
                 }
             }
         }
@@ -60,15 +71,17 @@ public abstract class TemplateStrategy {
      // The details include the material used, the number of floors, the flood risk
      // (if any), the contamination status, the terrain type, and the total cost of
      // the structure.
-    protected void displayStructureDetails(int row, int col, GridSquare square, String material, int floors,
-            double totalCost) {
+    protected void displayStructureDetails(int row, int col, Material material, int floors, double totalCost) {
+        long start = System.nanoTime();
         System.out.println("Built at Grid Location (" + row + ", " + col + "):");
         System.out.println(" - Material: " + material);
         System.out.println(" - Floors: " + floors);
-        System.out.println(" - Flood Risk: " + (square.hasFloodRisk() ? square.getFloodRisk() + "%" : "None"));
-        System.out.println(" - Contamination: " + (square.isContaminated() ? "Yes" : "No"));
-        System.out.println(" - Terrain: " + square.getTerrain());
+        System.out.println(" - Flood Risk: "
+                + (grid.hasFloodRisk(row, col) ? grid.getFloodRisk(row, col) + "%" : "None"));
+        System.out.println(" - Contamination: " + (grid.isContaminated(row, col) ? "Yes" : "No"));
+        System.out.println(" - Terrain: " + grid.getTerrain(row, col));
         System.out.printf(" - Total Cost: $%.2f\n", totalCost); // Format the total cost to 2 decimal places
+        PipelineMetrics.getInstance().record(PipelinePhase.DISPLAY, start);
     }
 
     // Method to display the results of the city-building process
@@ -0,0 +1,37 @@
+// UniformPlan.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+// The same build on every square, as UniformStrategy.
+public class UniformPlan implements SquarePlan {
+    private final Material material;
+    private final int floors;
+    private final Foundation foundation;
+
+    public UniformPlan(Material material, int floors, Foundation foundation) {
+        if (floors <= 0) {
+            throw new IllegalArgumentException("Number of floors must be a positive integer.");
+        }
+        this.material = material;
+        this.floors = floors;
+        this.foundation = foundation;
+    }
+
+    @Override
+    public int floors(int row, int col, GridSquare square) {
+        return floors;
+    }
+
+    @Override
+    public Material material(int row, int col, GridSquare square) {
+        return material;
+    }
+
+    @Override
+    public Foundation foundation(int row, int col, GridSquare square) {
+        return foundation;
+    }
+}
@@ -3,20 +3,31 @@ package edu.curtin.city_planning_app.strategies;
 
 import edu.curtin.city_planning_app.CityBuilderManager;
 import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
 import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.PipelineMetrics;
+import edu.curtin.city_planning_app.metrics.PipelinePhase;
 
 import java.util.logging.Logger;
 
 // Uniform Strategy Implementation
 public class UniformStrategy extends TemplateStrategy {
     private static final Logger logger = Logger.getLogger(UniformStrategy.class.getName());
-    private String material;
+    private Material material;
     private int floors;
-    private String foundation;
+    private Foundation foundation;
+    private RowCostEvaluator rowCosts; // Built on the first build, costs a whole row at a time
+    private double[] costs;
+    private long[] cents; // the row's costs in whole cents, in CostMode.FIXED_POINT
+    private int costedRow = -1;
 
     // Get the grid, material, floors and foundation from the Menu with user prompt,
     // and stores it here.
-    public UniformStrategy(CityGrid grid, String material, int floors, String foundation, CityDisplayer display,
+    public UniformStrategy(CityGrid grid, Material material, int floors, Foundation foundation, CityDisplayer display,
             CityBuilderManager builder) {
         super(grid, display, builder);
         this.material = material;
@@ -26,19 +37,33 @@ public class UniformStrategy extends TemplateStrategy {
 
      // Uniform strategy for building structures on the grid. It builds structures
      // with the same material and number of floors on each grid square.
+     // Every square gets the same build, so costs are evaluated a row at a time, in doubles or,
+     // in fixed-point mode, in whole cents; squares that fail validation still go through
+     // buildStructure to report why.
     @Override
     protected boolean buildStructureWithStrategy(int row, int col) {
+        boolean fixedPoint = builder.getCostParameters().getMode() == CostMode.FIXED_POINT;
+        if (row != costedRow || col == 0) { // rows are re-costed on every build, in case prices changed
+            costRow(row, fixedPoint);
+        }
+
         // Use CityBuilderManager's buildStructure method and get the total cost for
-        // this structure
-        double totalCost = builder.buildStructure(row, col, floors, foundation, material, display);
+        // this structure if it can't be built, to show the validation failure.
+        boolean valid = fixedPoint ? cents[col] >= 0 : costs[col] >= 0;
+        double totalCost = valid ? rowCost(col, fixedPoint)
+                : builder.buildStructure(row, col, floors, foundation, material, display);
 
         if (totalCost >= 0) { // Structure successfully built
             // Add the structure's cost to the total final cost in the builder
-            builder.addStructure(totalCost);
+            if (fixedPoint) {
+                builder.addStructureCents(row, col, floors, foundation, material, cents[col]);
+            } else {
+                builder.addStructure(row, col, floors, foundation, material, totalCost);
+            }
 
             logger.info(
                     () -> "Built at Grid (" + row + "," + col + ") - Material: " + material + ", Floors: " + floors);
-            displayStructureDetails(row, col, grid.getGridSquare(row, col), material, floors, totalCost);
+            displayStructureDetails(row, col, material, floors, totalCost);
             return true;
         } else {
             logger.warning(() -> "Build failed at Grid (" + row + "," + col + ")");
@@ -46,4 +71,26 @@ public class UniformStrategy extends TemplateStrategy {
         }
     }
 
+    // Costs the whole row in the current cost mode only
+    private void costRow(int row, boolean fixedPoint) {
+        if (rowCosts == null) {
+            rowCosts = RowCostEvaluator.create(grid);
+            costs = new double[grid.getWidth()];
+            cents = new long[grid.getWidth()];
+        }
+        long start = System.nanoTime();
+        if (fixedPoint) {
+            rowCosts.evaluateRowCents(row, floors, foundation, material, builder.getCostParameters(), cents);
+        } else {
+            rowCosts.evaluateRow(row, floors, foundation, material, builder.getCostParameters(), costs);
+        }
+        PipelineMetrics.getInstance().record(PipelinePhase.COST, start);
+        costedRow = row;
+    }
+
+    // Cost of a valid square of the costed row, in dollars
+    private double rowCost(int col, boolean fixedPoint) {
+        return fixedPoint ? Money.toDollars(cents[col]) : costs[col];
+    }
+
 }
@@ -0,0 +1,186 @@
+// UniformSweep.java
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+
+// Evaluates every Uniform configuration (material x foundation x floors) without rebuilding the city.
+// One pass collapses the grid into a histogram of distinct zoning profiles. Squares with the same
+// profile validate and cost the same for any configuration, so a configuration only needs one
+// validation and cost per profile, weighted by how many squares share it. The profiles are costed
+// together by a RowCostEvaluator, one representative square each.
+// Costs match buildStructure exactly; totals are summed per profile rather than square by square,
+// so they can differ from a full build in the last few digits.
+public class UniformSweep {
+    private static final Logger logger = Logger.getLogger(UniformSweep.class.getName());
+    private static final int INITIAL_CAPACITY = 1024; // profile table slots, a power of two
+
+    // Open addressing table from a profile's two key words to its index
+    private long[] zoningKeys = new long[INITIAL_CAPACITY];
+    private long[] floodKeys = new long[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY]; // profile index + 1, 0 = empty
+
+    // Per profile: where it was first seen and how many squares have it
+    private int profileCount;
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] cols = new int[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+
+    private RowCostEvaluator evaluator;
+    private CostParameters prices;
+
+    public UniformSweep(CityGrid grid) {
+        this(grid, new CostParameters());
+    }
+
+    // Sweep costed at the given prices instead of the defaults
+    public UniformSweep(CityGrid grid, CostParameters prices) {
+        this.prices = prices;
+        grid.loadAll(); // every square is visited once, so parse a lazy grid in one pass
+
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                count(zoningKey(grid, row, col), Double.doubleToLongBits(grid.getFloodRisk(row, col)), row, col);
+            }
+        }
+        this.evaluator = RowCostEvaluator.create(grid, Arrays.copyOf(rows, profileCount),
+                Arrays.copyOf(cols, profileCount));
+        logger.info(() -> "Sweep histogram has " + profileCount + " zoning profiles");
+    }
+
+    // Number of distinct zoning profiles in the grid.
+    public int getProfileCount() {
+        return profileCount;
+    }
+
+    // Buildable squares and total cost of every configuration with 1 to maxFloors floors.
+    public List<SweepResult> sweep(int maxFloors) {
+        double[] costs = new double[profileCount];
+        List<SweepResult> results = new ArrayList<>();
+        for (Material material : Material.values()) {
+            for (Foundation foundation : Foundation.values()) {
+                for (int floors = 1; floors <= maxFloors; floors++) {
+                    evaluator.evaluateRow(0, floors, foundation, material, prices, costs);
+                    long buildable = 0;
+                    double totalCost = 0;
+                    for (int p = 0; p < profileCount; p++) {
+                        if (costs[p] >= 0) {
+                            buildable += counts[p];
+                            totalCost += counts[p] * costs[p];
+                        }
+                    }
+                    results.add(new SweepResult(material, foundation, floors, buildable, totalCost));
+                }
+            }
+        }
+        logger.info(() -> "Swept " + results.size() + " configurations");
+        return results;
+    }
+
+    // Best value first: lowest cost per floor, configurations that build nothing last.
+    public static List<SweepResult> rank(List<SweepResult> results) {
+        List<SweepResult> ranked = new ArrayList<>(results);
+        ranked.sort(Comparator.comparingDouble(SweepResult::getCostPerFloor)
+                .thenComparing(Comparator.comparingLong(SweepResult::getTotalFloors).reversed()));
+        return ranked;
+    }
+
+    // Configurations no other configuration beats on both total floors (more) and total cost (less),
+    // from the most floors down.
+    public static List<SweepResult> paretoFrontier(List<SweepResult> results) {
+        List<SweepResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingLong(SweepResult::getTotalFloors).reversed()
+                .thenComparingDouble(SweepResult::getTotalCost));
+        List<SweepResult> frontier = new ArrayList<>();
+        double cheapest = Double.POSITIVE_INFINITY;
+        for (SweepResult result : sorted) {
+            if (result.getTotalFloors() > 0 && result.getTotalCost() < cheapest) {
+                frontier.add(result);
+                cheapest = result.getTotalCost();
+            }
+        }
+        return frontier;
+    }
+
+    // Everything but the flood risk value packed into one word:
+    // terrain, heritage, contamination / flood risk / height limit flags, and the height limit
+    private static long zoningKey(CityGrid grid, int row, int col) {
+        Material heritage = grid.getHeritage(row, col);
+        long key = grid.getTerrain(row, col).ordinal();
+        key |= (long) (heritage == null ? 0 : heritage.ordinal() + 1) << 2;
+        key |= grid.isContaminated(row, col) ? 1L << 5 : 0;
+        key |= grid.hasFloodRisk(row, col) ? 1L << 6 : 0;
+        key |= grid.hasHeightLimit(row, col) ? 1L << 7 : 0;
+        return key | (long) grid.getHeightLimit(row, col) << 32;
+    }
+
+    // Adds a square to its profile, creating the profile the first time it is seen
+    private void count(long zoningKey, long floodKey, int row, int col) {
+        int mask = slots.length - 1;
+        int slot = (int) mix(zoningKey * 31 + floodKey) & mask;
+        while (slots[slot] != 0) {
+            if (zoningKeys[slot] == zoningKey && floodKeys[slot] == floodKey) {
+                counts[slots[slot] - 1]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (profileCount == rows.length) {
+            rows = Arrays.copyOf(rows, profileCount * 2);
+            cols = Arrays.copyOf(cols, profileCount * 2);
+            counts = Arrays.copyOf(counts, profileCount * 2);
+        }
+        rows[profileCount] = row;
+        cols[profileCount] = col;
+        counts[profileCount] = 1;
+        profileCount++;
+        zoningKeys[slot] = zoningKey;
+        floodKeys[slot] = floodKey;
+        slots[slot] = profileCount;
+        if (profileCount * 2 > slots.length) {
+            growTable();
+        }
+    }
+
+    // Doubles the table, keeping it at most half full
+    private void growTable() {
+        long[] oldZoning = zoningKeys;
+        long[] oldFlood = floodKeys;
+        int[] oldSlots = slots;
+        zoningKeys = new long[oldSlots.length * 2];
+        floodKeys = new long[oldSlots.length * 2];
+        slots = new int[oldSlots.length * 2];
+        int mask = slots.length - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != 0) {
+                int slot = (int) mix(oldZoning[i] * 31 + oldFlood[i]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                zoningKeys[slot] = oldZoning[i];
+                floodKeys[slot] = oldFlood[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+    }
+
+    // Spreads the key bits over the table index (murmur3 finaliser)
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,27 @@
+// ZoningConstraint.java
+package edu.curtin.city_planning_app.strategies;
+
+import java.util.function.IntConsumer;
+
+// A rule that spans several squares, eg. "at most 30% stone per block".
+// A constraint is made of many instances (one per block, window, ...). Each instance keeps
+// its own running aggregate, so the solver can re-check just the instances a change touches.
+public interface ZoningConstraint {
+    // Number of instances of this constraint over the grid
+    int instanceCount();
+
+    // Reports every instance that the square at (row, col) belongs to
+    void forEachInstance(int row, int col, IntConsumer action);
+
+    // Updates the aggregate of an instance after one of its squares changed
+    void squareChanged(int instance, int row, int col, int oldFloors, int oldMaterial, int newFloors,
+            int newMaterial);
+
+    // Checks whether an instance currently holds
+    boolean isSatisfied(int instance);
+
+    // Makes one change through the solver that moves a violated instance towards holding.
+    // Every change must go through the solver's repair moves (lower floors, switch away from a
+    // material for good, or unbuild), so propagation always terminates.
+    void repair(int instance, ConstraintSolver solver);
+}
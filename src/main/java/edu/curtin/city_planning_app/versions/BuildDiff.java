@@ -0,0 +1,35 @@
+// BuildDiff.java
+package edu.curtin.city_planning_app.versions;
+
+import java.util.Collections;
+import java.util.List;
+
+// The squares that differ between two versions, and how many tiles had to be compared to find them.
+public final class BuildDiff {
+    private final List<SquareChange> changes;
+    private final int comparedTiles;
+
+    /* default */ BuildDiff(List<SquareChange> changes, int comparedTiles) {
+        this.changes = Collections.unmodifiableList(changes);
+        this.comparedTiles = comparedTiles;
+    }
+
+    // Get the changed squares, tile by tile.
+    public List<SquareChange> getChanges() {
+        return changes;
+    }
+
+    // Number of tiles that were not shared between the two versions.
+    public int getComparedTiles() {
+        return comparedTiles;
+    }
+
+    // Change in total cost, after minus before.
+    public double getCostDelta() {
+        double delta = 0;
+        for (SquareChange change : changes) {
+            delta += change.getCostDelta();
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,124 @@
+// BuildEditor.java
+package edu.curtin.city_planning_app.versions;
+
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.logging.Logger;
+
+// A batch of changes to a BuildState, committed as one new version.
+// The first change to a tile copies it (and the trie nodes above it) and marks the copies as
+// owned by this editor, so later changes to the same tile are made in place. Building a whole
+// city through one editor costs one copy per tile, not one per square.
+// Not thread safe, and finished once committed.
+public class BuildEditor {
+    private static final Logger logger = Logger.getLogger(BuildEditor.class.getName());
+
+    private final BuildState base;
+    private Object token = new Object(); // marks the nodes this editor may change in place
+    private BuildState.Branch root;
+    private long structures;
+    private long totalCents;
+    private int copiedTiles;
+
+    /* default */ BuildEditor(BuildState base) {
+        this.base = base;
+        this.root = base.getRoot();
+        this.structures = base.getStructures();
+        this.totalCents = base.getTotalCents();
+    }
+
+    // Builds a structure at (row, col), replacing anything built there.
+    public void set(int row, int col, int floors, Foundation foundation, Material material, double cost) {
+        if (floors <= 0) {
+            throw new IllegalArgumentException("A structure must have at least one floor: " + floors);
+        }
+        BuildState.Tile tile = editableTile(base.tileIndex(row, col));
+        int square = BuildState.squareIndex(row, col);
+        remove(tile, square);
+        tile.floors[square] = floors;
+        int packed = material.ordinal();
+        if (foundation == Foundation.STILTS) {
+            packed |= BuildState.STILTS_BIT;
+        }
+        tile.flags[square] = (byte) packed;
+        tile.costs[square] = cost;
+        structures++;
+        totalCents = Math.addExact(totalCents, Money.toCents(cost));
+    }
+
+    // Removes anything built at (row, col).
+    public void clear(int row, int col) {
+        checkOpen();
+        int tileIndex = base.tileIndex(row, col);
+        if (base.getFloors(row, col) == 0 && !touched(tileIndex)) {
+            return; // nothing to remove, and no need to copy the tile to find that out
+        }
+        remove(editableTile(tileIndex), BuildState.squareIndex(row, col));
+    }
+
+    // Finishes the batch and returns the new version.
+    public BuildState commit() {
+        checkOpen();
+        token = null;
+        logger.fine(() -> "Committed a version copying " + copiedTiles + " tiles");
+        return new BuildState(base.getHeight(), base.getWidth(), root, structures, totalCents);
+    }
+
+    private void remove(BuildState.Tile tile, int square) {
+        if (tile.floors[square] > 0) {
+            structures--;
+            totalCents = Math.subtractExact(totalCents, Money.toCents(tile.costs[square]));
+            tile.floors[square] = 0;
+            tile.flags[square] = 0;
+            tile.costs[square] = 0;
+        }
+    }
+
+    // Whether this editor already owns a copy of the tile
+    @SuppressWarnings("PMD.CompareObjectsWithEquals") // ownership is the identity of the editor's token
+    private boolean touched(int tileIndex) {
+        Object node = root;
+        for (int shift = base.getRootShift(); shift >= 0 && node != null; shift -= BuildState.BITS) {
+            node = ((BuildState.Branch) node).slots[(tileIndex >>> shift) & (BuildState.BRANCHES - 1)];
+        }
+        return node != null && ((BuildState.Tile) node).owner == token;
+    }
+
+    // The tile at 'tileIndex', copying it and the path to it on the first change
+    @SuppressWarnings("PMD.CompareObjectsWithEquals") // ownership is the identity of the editor's token
+    private BuildState.Tile editableTile(int tileIndex) {
+        checkOpen();
+        if (root.owner != token) {
+            root = new BuildState.Branch(token, root);
+        }
+        BuildState.Branch node = root;
+        for (int shift = base.getRootShift(); shift > 0; shift -= BuildState.BITS) {
+            int slot = (tileIndex >>> shift) & (BuildState.BRANCHES - 1);
+            BuildState.Branch child = (BuildState.Branch) node.slots[slot];
+            if (child == null) {
+                child = new BuildState.Branch(token);
+                node.slots[slot] = child;
+            } else if (child.owner != token) {
+                child = new BuildState.Branch(token, child);
+                node.slots[slot] = child;
+            }
+            node = child;
+        }
+        int slot = tileIndex & (BuildState.BRANCHES - 1);
+        BuildState.Tile tile = (BuildState.Tile) node.slots[slot];
+        if (tile == null || tile.owner != token) {
+            tile = tile == null ? new BuildState.Tile(token) : new BuildState.Tile(token, tile);
+            node.slots[slot] = tile;
+            copiedTiles++;
+        }
+        return tile;
+    }
+
+    private void checkOpen() {
+        if (token == null) {
+            throw new IllegalStateException("This edit has already been committed.");
+        }
+    }
+}
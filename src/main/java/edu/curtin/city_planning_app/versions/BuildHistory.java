@@ -0,0 +1,105 @@
+// BuildHistory.java
+package edu.curtin.city_planning_app.versions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+// The versions of a grid's build state, with undo/redo and named snapshots.
+// Versions are immutable and share their unchanged tiles, so keeping every one of them on the
+// undo and redo stacks, or under a snapshot name, costs only what each change copied.
+public class BuildHistory {
+    private static final Logger logger = Logger.getLogger(BuildHistory.class.getName());
+
+    private BuildState current;
+    private final Deque<BuildState> undo = new ArrayDeque<>();
+    private final Deque<BuildState> redo = new ArrayDeque<>();
+    private final Map<String, BuildState> snapshots = new LinkedHashMap<>();
+
+    public BuildHistory(BuildState initial) {
+        this.current = initial;
+    }
+
+    // Get the current version.
+    public BuildState getCurrent() {
+        return current;
+    }
+
+    // Makes 'version' current. The previous one can be undone back to, and anything undone can
+    // no longer be redone.
+    @SuppressWarnings("PMD.CompareObjectsWithEquals") // recommitting the very same version is not a change
+    public void commit(BuildState version) {
+        if (version == current) {
+            return;
+        }
+        undo.push(current);
+        redo.clear();
+        current = version;
+        logger.info(() -> "Committed a version with " + version.getStructures() + " structures, " + undo.size()
+                + " to undo");
+    }
+
+    // Goes back to the previous version. Returns false if there is nothing to undo.
+    public boolean undo() {
+        if (undo.isEmpty()) {
+            return false;
+        }
+        redo.push(current);
+        current = undo.pop();
+        logger.info(() -> "Undone, " + undo.size() + " more to undo");
+        return true;
+    }
+
+    // Goes forward to the version last undone. Returns false if there is nothing to redo.
+    public boolean redo() {
+        if (redo.isEmpty()) {
+            return false;
+        }
+        undo.push(current);
+        current = redo.pop();
+        logger.info(() -> "Redone, " + redo.size() + " more to redo");
+        return true;
+    }
+
+    // Number of versions that can be undone.
+    public int getUndoCount() {
+        return undo.size();
+    }
+
+    // Number of versions that can be redone.
+    public int getRedoCount() {
+        return redo.size();
+    }
+
+    // Keeps the current version under a name, replacing any snapshot with that name.
+    public void saveSnapshot(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("A snapshot needs a name.");
+        }
+        snapshots.put(name, current);
+        logger.info(() -> "Saved snapshot '" + name + "'");
+    }
+
+    // Get a named snapshot, null if there is none with that name.
+    public BuildState getSnapshot(String name) {
+        return snapshots.get(name);
+    }
+
+    // Makes a named snapshot the current version, as a change that can be undone.
+    public void restoreSnapshot(String name) {
+        BuildState snapshot = snapshots.get(name);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("No snapshot named '" + name + "'.");
+        }
+        commit(snapshot);
+    }
+
+    // Names of the snapshots, oldest first.
+    public List<String> getSnapshotNames() {
+        return new ArrayList<>(snapshots.keySet());
+    }
+}
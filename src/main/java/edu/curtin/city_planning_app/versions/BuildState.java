@@ -0,0 +1,314 @@
+// BuildState.java
+package edu.curtin.city_planning_app.versions;
+
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+// One immutable version of what is built on a grid: the floors, foundation, material and cost of
+// every structure, with the number of structures and the total cost.
+// The grid is cut into TILE_SIZE x TILE_SIZE tiles held in a 32-way trie. A change copies only
+// the tile it touches and the trie nodes above it (a BuildEditor copies each of them at most once
+// however many squares it changes), and every other tile is shared with the version it came
+// from. So keeping a version is O(1), memory grows with the tiles edited rather than with the
+// number of versions, and two versions are compared by skipping every subtree they share.
+// Tiles nothing was ever built on are never allocated.
+public final class BuildState {
+    private static final Logger logger = Logger.getLogger(BuildState.class.getName());
+
+    public static final int TILE_SIZE = 16;
+    /* default */ static final int TILE_SQUARES = TILE_SIZE * TILE_SIZE;
+    /* default */ static final int BITS = 5; // 32 children per trie node
+    /* default */ static final int BRANCHES = 1 << BITS;
+    private static final Material[] MATERIALS = Material.values();
+
+    // Flags packed next to the material ordinal
+    /* default */ static final int MATERIAL_MASK = 0x0f;
+    /* default */ static final int STILTS_BIT = 1 << 4;
+
+    private final int height;
+    private final int width;
+    private final int tileCols;
+    private final int rootShift; // shift of the root's tile index bits, 0 when its children are tiles
+    private final Branch root;
+    private final long structures;
+    private final long totalCents; // exact, so the total never drifts as structures are replaced
+
+    /* default */ BuildState(int height, int width, Branch root, long structures, long totalCents) {
+        this.height = height;
+        this.width = width;
+        this.tileCols = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int tiles = ((height + TILE_SIZE - 1) / TILE_SIZE) * tileCols;
+        int shift = 0;
+        while (shift + BITS < Integer.SIZE && (long) BRANCHES << shift < tiles) {
+            shift += BITS;
+        }
+        this.rootShift = shift;
+        this.root = root;
+        this.structures = structures;
+        this.totalCents = totalCents;
+    }
+
+    // A version with nothing built on a 'height' x 'width' grid.
+    public static BuildState empty(int height, int width) {
+        if (height <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Grid must be at least 1x1: " + height + "x" + width);
+        }
+        return new BuildState(height, width, new Branch(null), 0, 0);
+    }
+
+    // Starts a batch of changes to this version, this version itself never changes.
+    public BuildEditor edit() {
+        return new BuildEditor(this);
+    }
+
+    // This version with a structure at (row, col), replacing anything built there.
+    public BuildState withStructure(int row, int col, int floors, Foundation foundation, Material material,
+            double cost) {
+        BuildEditor editor = edit();
+        editor.set(row, col, floors, foundation, material, cost);
+        return editor.commit();
+    }
+
+    // This version with nothing at (row, col).
+    public BuildState withoutStructure(int row, int col) {
+        BuildEditor editor = edit();
+        editor.clear(row, col);
+        return editor.commit();
+    }
+
+    // Get the grid height.
+    public int getHeight() {
+        return height;
+    }
+
+    // Get the grid width.
+    public int getWidth() {
+        return width;
+    }
+
+    // Number of structures built.
+    public long getStructures() {
+        return structures;
+    }
+
+    // Total cost of every structure, in cents.
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    // Total cost of every structure.
+    public double getTotalCost() {
+        return Money.toDollars(totalCents);
+    }
+
+    // Check if a structure is built at (row, col).
+    public boolean isBuilt(int row, int col) {
+        return getFloors(row, col) > 0;
+    }
+
+    // Get the floors built at (row, col), 0 if nothing is.
+    public int getFloors(int row, int col) {
+        Tile tile = tileAt(row, col);
+        return tile == null ? 0 : tile.floors[squareIndex(row, col)];
+    }
+
+    // Get the material built with at (row, col), null if nothing is.
+    public Material getMaterial(int row, int col) {
+        Tile tile = tileAt(row, col);
+        return tile == null || tile.floors[squareIndex(row, col)] == 0 ? null
+                : MATERIALS[tile.flags[squareIndex(row, col)] & MATERIAL_MASK];
+    }
+
+    // Get the foundation built on at (row, col), null if nothing is.
+    public Foundation getFoundation(int row, int col) {
+        Tile tile = tileAt(row, col);
+        if (tile == null || tile.floors[squareIndex(row, col)] == 0) {
+            return null;
+        }
+        return (tile.flags[squareIndex(row, col)] & STILTS_BIT) == 0 ? Foundation.SLAB : Foundation.STILTS;
+    }
+
+    // Get the cost of the structure at (row, col), 0 if nothing is built.
+    public double getCost(int row, int col) {
+        Tile tile = tileAt(row, col);
+        return tile == null ? 0 : tile.costs[squareIndex(row, col)];
+    }
+
+    // Every square that differs between this version and 'other', tile by tile. Subtrees the two
+    // versions share are skipped, so the time taken grows with the tiles that changed.
+    public BuildDiff diff(BuildState other) {
+        if (other.height != height || other.width != width) {
+            throw new IllegalArgumentException("Can't compare a " + height + "x" + width + " version with a "
+                    + other.height + "x" + other.width + " one.");
+        }
+        List<SquareChange> changes = new ArrayList<>();
+        int[] comparedTiles = new int[1];
+        diffBranch(root, other.root, rootShift, 0, changes, comparedTiles);
+        logger.info(() -> "Compared " + comparedTiles[0] + " tiles, " + changes.size() + " squares changed");
+        return new BuildDiff(changes, comparedTiles[0]);
+    }
+
+    // Calls 'visitor' for every structure, tile by tile. Tiles nothing was built on are skipped.
+    public void forEachStructure(StructureVisitor visitor) {
+        visitBranch(root, rootShift, 0, visitor);
+    }
+
+    /* default */ Branch getRoot() {
+        return root;
+    }
+
+    /* default */ int getRootShift() {
+        return rootShift;
+    }
+
+    // Index of the tile holding (row, col)
+    /* default */ int tileIndex(int row, int col) {
+        checkPosition(row, col);
+        return (row / TILE_SIZE) * tileCols + col / TILE_SIZE;
+    }
+
+    // Index of (row, col) within its tile
+    /* default */ static int squareIndex(int row, int col) {
+        return (row % TILE_SIZE) * TILE_SIZE + col % TILE_SIZE;
+    }
+
+    private Tile tileAt(int row, int col) {
+        int tile = tileIndex(row, col);
+        Branch node = root;
+        for (int shift = rootShift; shift > 0; shift -= BITS) {
+            node = (Branch) node.slots[(tile >>> shift) & (BRANCHES - 1)];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (Tile) node.slots[tile & (BRANCHES - 1)];
+    }
+
+    private void checkPosition(int row, int col) {
+        if (row < 0 || row >= height || col < 0 || col >= width) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the " + height + "x" + width
+                    + " grid.");
+        }
+    }
+
+    private void visitBranch(Branch node, int shift, int firstTile, StructureVisitor visitor) {
+        for (int i = 0; i < BRANCHES; i++) {
+            Object child = node.slots[i];
+            if (child == null) {
+                continue;
+            }
+            int tile = firstTile + (i << shift);
+            if (shift == 0) {
+                visitTile((Tile) child, tile, visitor);
+            } else {
+                visitBranch((Branch) child, shift - BITS, tile, visitor);
+            }
+        }
+    }
+
+    private void visitTile(Tile tile, int index, StructureVisitor visitor) {
+        int firstRow = (index / tileCols) * TILE_SIZE;
+        int firstCol = (index % tileCols) * TILE_SIZE;
+        for (int i = 0; i < TILE_SQUARES; i++) {
+            if (tile.floors[i] > 0) {
+                Foundation foundation = (tile.flags[i] & STILTS_BIT) == 0 ? Foundation.SLAB : Foundation.STILTS;
+                visitor.visit(firstRow + i / TILE_SIZE, firstCol + i % TILE_SIZE, tile.floors[i], foundation,
+                        MATERIALS[tile.flags[i] & MATERIAL_MASK], tile.costs[i]);
+            }
+        }
+    }
+
+    // Compares two subtrees whose first tile is 'firstTile', skipping them if they are shared
+    @SuppressWarnings("PMD.CompareObjectsWithEquals") // shared subtrees are the same objects
+    private void diffBranch(Branch before, Branch after, int shift, int firstTile, List<SquareChange> changes,
+            int[] comparedTiles) {
+        if (before == after) {
+            return;
+        }
+        for (int i = 0; i < BRANCHES; i++) {
+            Object beforeChild = before == null ? null : before.slots[i];
+            Object afterChild = after == null ? null : after.slots[i];
+            if (beforeChild == afterChild) {
+                continue;
+            }
+            int tile = firstTile + (i << shift);
+            if (shift == 0) {
+                diffTile((Tile) beforeChild, (Tile) afterChild, tile, changes);
+                comparedTiles[0]++;
+            } else {
+                diffBranch((Branch) beforeChild, (Branch) afterChild, shift - BITS, tile, changes, comparedTiles);
+            }
+        }
+    }
+
+    private void diffTile(Tile before, Tile after, int tile, List<SquareChange> changes) {
+        int firstRow = (tile / tileCols) * TILE_SIZE;
+        int firstCol = (tile % tileCols) * TILE_SIZE;
+        for (int i = 0; i < TILE_SQUARES; i++) {
+            int beforeFloors = before == null ? 0 : before.floors[i];
+            int afterFloors = after == null ? 0 : after.floors[i];
+            if (beforeFloors == 0 && afterFloors == 0) {
+                continue;
+            }
+            Material beforeMaterial = beforeFloors == 0 ? null : MATERIALS[before.flags[i] & MATERIAL_MASK];
+            Material afterMaterial = afterFloors == 0 ? null : MATERIALS[after.flags[i] & MATERIAL_MASK];
+            double beforeCost = before == null ? 0 : before.costs[i];
+            double afterCost = after == null ? 0 : after.costs[i];
+            if (beforeFloors != afterFloors || beforeMaterial != afterMaterial
+                    || Double.compare(beforeCost, afterCost) != 0) {
+                changes.add(new SquareChange(firstRow + i / TILE_SIZE, firstCol + i % TILE_SIZE, beforeFloors,
+                        beforeMaterial, beforeCost, afterFloors, afterMaterial, afterCost));
+            }
+        }
+    }
+
+    // Interior trie node. 'owner' is the token of the BuildEditor that made it, which may change it in
+    // place until it commits.
+    /* default */ static final class Branch {
+        /* default */ final Object owner;
+        /* default */ final Object[] slots;
+
+        /* default */ Branch(Object owner) {
+            this.owner = owner;
+            this.slots = new Object[BRANCHES];
+        }
+
+        /* default */ Branch(Object owner, Branch other) {
+            this.owner = owner;
+            this.slots = other.slots.clone();
+        }
+    }
+
+    // A structure found by forEachStructure
+    public interface StructureVisitor {
+        void visit(int row, int col, int floors, Foundation foundation, Material material, double cost);
+    }
+
+    // TILE_SIZE x TILE_SIZE squares, row by row. Floors of 0 means nothing is built, and each flag is
+    // the material ordinal with STILTS_BIT set for a stilts foundation.
+    /* default */ static final class Tile {
+        /* default */ final Object owner;
+        /* default */ final int[] floors;
+        /* default */ final byte[] flags;
+        /* default */ final double[] costs;
+
+        /* default */ Tile(Object owner) {
+            this.owner = owner;
+            this.floors = new int[TILE_SQUARES];
+            this.flags = new byte[TILE_SQUARES];
+            this.costs = new double[TILE_SQUARES];
+        }
+
+        /* default */ Tile(Object owner, Tile other) {
+            this.owner = owner;
+            this.floors = other.floors.clone();
+            this.flags = other.flags.clone();
+            this.costs = other.costs.clone();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// SquareChange.java
+package edu.curtin.city_planning_app.versions;
+
+import edu.curtin.city_planning_app.grids.Material;
+
+// A square that differs between two versions: what was built there before and after.
+// Floors of 0 (and a null material) means nothing was built.
+public final class SquareChange {
+    private final int row;
+    private final int col;
+    private final int beforeFloors;
+    private final Material beforeMaterial;
+    private final double beforeCost;
+    private final int afterFloors;
+    private final Material afterMaterial;
+    private final double afterCost;
+
+    public SquareChange(int row, int col, int beforeFloors, Material beforeMaterial, double beforeCost,
+            int afterFloors, Material afterMaterial, double afterCost) {
+        this.row = row;
+        this.col = col;
+        this.beforeFloors = beforeFloors;
+        this.beforeMaterial = beforeMaterial;
+        this.beforeCost = beforeCost;
+        this.afterFloors = afterFloors;
+        this.afterMaterial = afterMaterial;
+        this.afterCost = afterCost;
+    }
+
+    // Get the row of the square.
+    public int getRow() {
+        return row;
+    }
+
+    // Get the column of the square.
+    public int getCol() {
+        return col;
+    }
+
+    // Get the floors before, 0 if nothing was built.
+    public int getBeforeFloors() {
+        return beforeFloors;
+    }
+
+    // Get the material before, null if nothing was built.
+    public Material getBeforeMaterial() {
+        return beforeMaterial;
+    }
+
+    // Get the cost before.
+    public double getBeforeCost() {
+        return beforeCost;
+    }
+
+    // Get the floors after, 0 if nothing is built.
+    public int getAfterFloors() {
+        return afterFloors;
+    }
+
+    // Get the material after, null if nothing is built.
+    public Material getAfterMaterial() {
+        return afterMaterial;
+    }
+
+    // Get the cost after.
+    public double getAfterCost() {
+        return afterCost;
+    }
+
+    // Change in cost, after minus before.
+    public double getCostDelta() {
+        return afterCost - beforeCost;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + row + ", " + col + ") " + describe(beforeFloors, beforeMaterial) + " -> "
+                + describe(afterFloors, afterMaterial);
+    }
+
+    private static String describe(int floors, Material material) {
+        return floors == 0 ? "nothing" : floors + " floors of " + material;
+    }
+}
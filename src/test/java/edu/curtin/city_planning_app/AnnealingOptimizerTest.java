@@ -0,0 +1,81 @@
+// src/test/java/edu/curtin/city_planning_app/AnnealingOptimizerTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.strategies.AnnealingObjective;
+import edu.curtin.city_planning_app.strategies.AnnealingOptimizer;
+import edu.curtin.city_planning_app.strategies.AnnealingRound;
+import edu.curtin.city_planning_app.strategies.AnnealingStrategy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnealingOptimizerTest {
+    private static final int HEIGHT = 40;
+    private static final int WIDTH = 45;
+    private static final int ROUNDS = 30;
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2_000_000L;
+
+    private CityGrid grid;
+    private AnnealingObjective objective;
+
+    @BeforeEach
+    public void setUp() {
+        grid = BenchmarkGrids.randomGrid(HEIGHT, WIDTH, 41);
+        objective = new AnnealingObjective(1, 2, 0.5, 5, 10);
+    }
+
+    @Test
+    public void testIncrementalEnergyMatchesRecompute() {
+        AnnealingOptimizer optimizer = new AnnealingOptimizer(grid, objective, new CostParameters());
+        List<AnnealingRound> rounds = optimizer.optimize(4, 2, NO_TIME_LIMIT, ROUNDS, 3);
+        assertEquals(ROUNDS, rounds.size());
+        assertTrue(optimizer.getBestEnergy() < optimizer.getInitialEnergy());
+        assertEquals(optimizer.recomputeBestEnergy(), optimizer.getBestEnergy(), 1e-6);
+        for (int i = 1; i < rounds.size(); i++) {
+            assertTrue(rounds.get(i).getBestEnergy() <= rounds.get(i - 1).getBestEnergy());
+        }
+    }
+
+    @Test
+    public void testSameLayoutForAnyThreadCount() {
+        AnnealingOptimizer single = new AnnealingOptimizer(grid, objective, new CostParameters());
+        single.optimize(4, 1, NO_TIME_LIMIT, ROUNDS, 9);
+        AnnealingOptimizer parallel = new AnnealingOptimizer(grid, objective, new CostParameters());
+        parallel.optimize(4, 4, NO_TIME_LIMIT, ROUNDS, 9);
+        assertEquals(single.getBestEnergy(), parallel.getBestEnergy());
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                assertEquals(single.getFloors(row, col), parallel.getFloors(row, col));
+                assertEquals(single.getMaterial(row, col), parallel.getMaterial(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testEveryPlannedStructureIsBuilt() {
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        AnnealingStrategy strategy = new AnnealingStrategy(grid, objective, 200, new CityDisplayer(HEIGHT, WIDTH),
+                builder);
+        builder.setStrategy(strategy);
+        builder.buildCityWithStrategy();
+
+        int planned = 0;
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                if (strategy.getOptimizer().getFloors(row, col) > 0) {
+                    planned++;
+                }
+            }
+        }
+        assertTrue(planned > 0);
+        assertEquals(planned, builder.getTotalBuiltStructures()); // no planned square fails validation
+    }
+}
@@ -0,0 +1,106 @@
+// src/test/java/edu/curtin/city_planning_app/BuildOutcomePublisherTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.outcomes.BuildOutcome;
+import edu.curtin.city_planning_app.outcomes.BuildOutcomePublisher;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildOutcomePublisherTest {
+    private static final int SIZE = 60;
+
+    @Test
+    public void testSubscriberSeesEverySquare() throws InterruptedException {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 5);
+        CityBuilderManager builder = new CityBuilderManager(grid, SIZE * SIZE); // room for the whole city
+        builder.setStrategy(new UniformStrategy(grid, Material.BRICK, 2, Foundation.STILTS,
+                new CityDisplayer(SIZE, SIZE), builder));
+        CountingSubscriber counter = new CountingSubscriber(0);
+        builder.getOutcomePublisher().subscribe(counter);
+
+        builder.buildCityWithStrategy();
+        builder.getOutcomePublisher().close();
+
+        assertTrue(counter.completed.await(10, TimeUnit.SECONDS));
+        assertEquals((long) SIZE * SIZE, counter.received.get());
+        assertEquals((long) builder.getTotalBuiltStructures(), counter.built.get());
+        assertEquals(builder.getTotalFinalCost(), counter.cost, 1e-6);
+        assertEquals(0L, builder.getOutcomePublisher().getDropped());
+    }
+
+    @Test
+    public void testSlowSubscriberDoesNotStallPublishing() throws InterruptedException {
+        CountingSubscriber slow = new CountingSubscriber(1);
+        int outcomes = 1000;
+        long dropped;
+        try (BuildOutcomePublisher publisher = new BuildOutcomePublisher(4)) {
+            publisher.subscribe(slow);
+            for (int i = 0; i < outcomes; i++) {
+                publisher.publish(BuildOutcome.rejected(1, i, 0)); // would block for a second if it waited
+            }
+            dropped = publisher.getDropped(); // final once every publish has returned
+        }
+
+        assertTrue(slow.completed.await(10, TimeUnit.SECONDS));
+        assertTrue(dropped > 0);
+        assertEquals((long) outcomes, slow.received.get() + dropped);
+    }
+
+    // Requests one outcome at a time and counts what it receives, sleeping 'delayMillis' after each
+    private static final class CountingSubscriber implements Flow.Subscriber<BuildOutcome> {
+        private final long delayMillis;
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong built = new AtomicLong();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile double cost;
+        private Flow.Subscription subscription;
+
+        private CountingSubscriber(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(BuildOutcome outcome) {
+            received.incrementAndGet();
+            if (outcome.isBuilt()) {
+                built.incrementAndGet();
+                cost += outcome.getCost(); // only ever called from one thread at a time
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// src/test/java/edu/curtin/city_planning_app/BuildPipelineTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.pipeline.BuildPipeline;
+import edu.curtin.city_planning_app.pipeline.PipelineSummary;
+import edu.curtin.city_planning_app.strategies.CentralStrategy;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+import edu.curtin.city_planning_app.strategies.TemplateStrategy;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildPipelineTest {
+    private static final int HEIGHT = 150;
+    private static final int WIDTH = 90;
+    private static final int QUEUE_CAPACITY = 2; // small, so every stage has to wait on the others
+
+    private final GridLoader loader = new GridLoader();
+    private Path gridFile;
+    private CityGrid grid;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        gridFile = Files.createTempFile("build-pipeline", ".txt");
+        Random random = new Random(11);
+        try (BufferedWriter writer = Files.newBufferedWriter(gridFile, Charset.defaultCharset())) {
+            writer.write(HEIGHT + "," + WIDTH);
+            writer.newLine();
+            for (int i = 0; i < HEIGHT * WIDTH; i++) {
+                writer.write(BenchmarkGrids.randomLine(random));
+                writer.newLine();
+            }
+        }
+        grid = new CityGrid(loader.loadGrid(gridFile));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(gridFile);
+    }
+
+    @Test
+    public void testCentralMatchesStrategy() throws IOException {
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        assertMatchesStrategy("central", builder,
+                new CentralStrategy(grid, new CityDisplayer(HEIGHT, WIDTH), builder));
+    }
+
+    @Test
+    public void testUniformMatchesStrategy() throws IOException {
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        assertMatchesStrategy("uniform:brick:3:stilts", builder, new UniformStrategy(grid, Material.BRICK, 3,
+                Foundation.STILTS, new CityDisplayer(HEIGHT, WIDTH), builder));
+    }
+
+    @Test
+    public void testFixedPointTotalIsIdenticalForAnyWorkerCount() throws IOException {
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        builder.getCostParameters().setMode(CostMode.FIXED_POINT);
+        builder.setStrategy(new CentralStrategy(grid, new CityDisplayer(HEIGHT, WIDTH), builder));
+        builder.buildCityWithStrategy();
+        for (int workers = 1; workers <= 3; workers++) {
+            try (GridRowReader reader = loader.openRows(gridFile)) {
+                PipelineSummary summary = new BuildPipeline(SquarePlan.parse("central", HEIGHT, WIDTH),
+                        builder.getCostParameters(), workers, QUEUE_CAPACITY).run(reader, new StringWriter());
+                assertEquals(builder.getTotalFinalCost(), summary.getTotalCost()); // not within a tolerance
+            }
+        }
+    }
+
+    @Test
+    public void testParseErrorStopsPipeline() {
+        Path filePath = Paths.get("src/test/testResources/invalid_terrain");
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            try (GridRowReader reader = loader.openRows(filePath)) {
+                new BuildPipeline(SquarePlan.parse("central", reader.getHeight(), reader.getWidth()),
+                        new CostParameters(), 2, QUEUE_CAPACITY).run(reader, new StringWriter());
+            }
+        });
+        assertTrue(exception.getMessage().contains("Invalid terrain type"));
+    }
+
+    // Runs the plan through the pipeline with several worker counts and checks each run builds
+    // the same squares, at the same total cost, as the strategy
+    private void assertMatchesStrategy(String planSpec, CityBuilderManager builder, TemplateStrategy strategy)
+            throws IOException {
+        builder.setStrategy(strategy);
+        builder.buildCityWithStrategy();
+        for (int workers = 1; workers <= 3; workers++) {
+            StringWriter out = new StringWriter();
+            PipelineSummary summary;
+            try (GridRowReader reader = loader.openRows(gridFile)) {
+                summary = new BuildPipeline(SquarePlan.parse(planSpec, HEIGHT, WIDTH), new CostParameters(),
+                        workers, QUEUE_CAPACITY).run(reader, out);
+            }
+            String[] lines = out.toString().split("\n");
+            assertEquals(HEIGHT + 1, lines.length);
+            assertEquals(HEIGHT + "," + WIDTH, lines[0]);
+            assertEquals(builder.getCostContributions().getStructures(), summary.getBuilt());
+            assertEquals(summary.getBuilt(), out.toString().chars().filter(c -> c == 'X').count());
+            assertEquals(builder.getTotalFinalCost(), summary.getTotalCost(), builder.getTotalFinalCost() * 1e-12,
+                    planSpec + " with " + workers + " workers");
+        }
+    }
+}
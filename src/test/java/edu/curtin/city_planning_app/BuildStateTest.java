@@ -0,0 +1,171 @@
+// src/test/java/edu/curtin/city_planning_app/BuildStateTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.scheduling.ConstructionJobs;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodStrategy;
+import edu.curtin.city_planning_app.versions.BuildDiff;
+import edu.curtin.city_planning_app.versions.BuildEditor;
+import edu.curtin.city_planning_app.versions.BuildHistory;
+import edu.curtin.city_planning_app.versions.BuildState;
+import edu.curtin.city_planning_app.versions.SquareChange;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildStateTest {
+    private static final int SIZE = 500;
+
+    @Test
+    public void testEditsLeaveOlderVersionsUnchanged() {
+        BuildState empty = BuildState.empty(SIZE, SIZE);
+        BuildState one = empty.withStructure(3, 4, 5, Foundation.SLAB, Material.BRICK, 150_000);
+        BuildState two = one.withStructure(3, 4, 2, Foundation.SLAB, Material.STONE, 100_000.25);
+        BuildState three = two.withoutStructure(3, 4);
+
+        assertTrue(!empty.isBuilt(3, 4));
+        assertEquals(5, one.getFloors(3, 4));
+        assertEquals(Material.BRICK, one.getMaterial(3, 4));
+        assertEquals(Material.STONE, two.getMaterial(3, 4));
+        assertEquals(1L, two.getStructures());
+        assertEquals(10_000_025L, two.getTotalCents());
+        assertEquals(0L, three.getStructures());
+        assertEquals(0L, three.getTotalCents());
+        assertEquals(null, three.getMaterial(3, 4));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> empty.withStructure(SIZE, 0, 1, Foundation.SLAB, Material.WOOD, 1));
+    }
+
+    @Test
+    public void testDiffOnlyComparesChangedTiles() {
+        BuildEditor editor = BuildState.empty(SIZE, SIZE).edit();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                editor.set(row, col, 1 + (row + col) % 7, Foundation.SLAB, Material.CONCRETE,
+                        20_000.0 * (1 + (row + col) % 7));
+            }
+        }
+        BuildState city = editor.commit();
+        assertThrows(IllegalStateException.class, () -> editor.set(0, 0, 1, Foundation.SLAB, Material.WOOD, 1));
+        assertEquals((long) SIZE * SIZE, city.getStructures());
+
+        // Two squares in one tile and one in another
+        BuildEditor change = city.edit();
+        change.set(17, 18, 9, Foundation.STILTS, Material.STONE, 450_000);
+        change.set(18, 17, 9, Foundation.SLAB, Material.STONE, 450_000);
+        change.clear(SIZE - 1, SIZE - 1);
+        BuildState changed = change.commit();
+        assertEquals(Foundation.STILTS, changed.getFoundation(17, 18));
+        assertEquals(Foundation.SLAB, changed.getFoundation(0, 0));
+        assertEquals(null, changed.getFoundation(SIZE - 1, SIZE - 1));
+
+        BuildDiff diff = city.diff(changed);
+        assertEquals(2, diff.getComparedTiles());
+        assertEquals(3, diff.getChanges().size());
+        SquareChange removed = diff.getChanges().get(2);
+        assertEquals(SIZE - 1, removed.getRow());
+        assertEquals(0, removed.getAfterFloors());
+        assertEquals(changed.getTotalCost() - city.getTotalCost(), diff.getCostDelta(), 1e-6);
+        assertEquals(0, city.diff(city).getComparedTiles());
+        assertEquals(3, changed.diff(city).getChanges().size());
+    }
+
+    @Test
+    public void testUndoRedoAndSnapshots() {
+        BuildHistory history = new BuildHistory(BuildState.empty(SIZE, SIZE));
+        history.commit(history.getCurrent().withStructure(0, 0, 2, Foundation.SLAB, Material.WOOD, 20_000));
+        history.saveSnapshot("first");
+        history.commit(history.getCurrent().withStructure(0, 1, 2, Foundation.SLAB, Material.WOOD, 20_000));
+        assertEquals(2L, history.getCurrent().getStructures());
+
+        assertTrue(history.undo());
+        assertEquals(1L, history.getCurrent().getStructures());
+        assertTrue(history.redo());
+        assertTrue(!history.redo());
+        assertEquals(2L, history.getCurrent().getStructures());
+
+        history.restoreSnapshot("first");
+        assertEquals(1L, history.getCurrent().getStructures());
+        assertEquals(0, history.getRedoCount());
+        assertTrue(history.undo()); // restoring is a change like any other
+        assertEquals(2L, history.getCurrent().getStructures());
+        assertThrows(IllegalArgumentException.class, () -> history.restoreSnapshot("missing"));
+    }
+
+    @Test
+    public void testCityBuildIsOneVersion() {
+        CityGrid grid = BenchmarkGrids.randomGrid(40, 50, 3);
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        CityDisplayer display = new CityDisplayer(40, 50);
+        builder.setStrategy(new NeighbourhoodStrategy(grid, 4, display, builder));
+        builder.buildCityWithStrategy();
+        BuildHistory history = builder.getBuildHistory();
+        BuildState built = history.getCurrent();
+        assertEquals((long) builder.getTotalBuiltStructures(), built.getStructures());
+        assertEquals(builder.getTotalFinalCost(), built.getTotalCost(), 0.01 * built.getStructures());
+
+        assertTrue(history.undo());
+        assertEquals(0L, history.getCurrent().getStructures());
+        assertTrue(history.redo());
+        assertEquals(built, history.getCurrent());
+    }
+
+    @Test
+    public void testUndoKeepsTotalsAndDisplayInStep() {
+        CityGrid grid = BenchmarkGrids.randomGrid(40, 50, 3);
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        CityDisplayer display = new CityDisplayer(40, 50);
+        builder.setStrategy(new NeighbourhoodStrategy(grid, 4, display, builder));
+        builder.buildCityWithStrategy();
+        int built = builder.getTotalBuiltStructures();
+        double cost = builder.getTotalFinalCost();
+        ConstructionJobs jobs = builder.getConstructionJobs();
+        Foundation[][] foundations = new Foundation[40][50];
+        for (int job = 0; job < jobs.size(); job++) {
+            foundations[jobs.getRow(job)][jobs.getCol(job)] = jobs.getFoundation(job);
+        }
+        builder.getBuildHistory().saveSnapshot("built");
+
+        assertTrue(builder.undo(display));
+        assertEquals(0, builder.getTotalBuiltStructures());
+        assertEquals(0, builder.getTotalFinalCost(), 0);
+        assertEquals(0, builder.getConstructionJobs().size());
+        assertEquals(0L, builder.getCostStatistics().getSketch().getCount());
+        assertEquals(0L, builder.getCostContributions().getStructures());
+        assertDisplayShows(display, builder.getBuildHistory().getCurrent());
+
+        assertTrue(builder.redo(display));
+        assertSameAsBuilt(builder, display, built, cost, foundations);
+        assertTrue(builder.undo(display));
+        builder.restoreSnapshot("built", display);
+        assertSameAsBuilt(builder, display, built, cost, foundations);
+        assertThrows(IllegalArgumentException.class, () -> builder.restoreSnapshot("missing", display));
+    }
+
+    private static void assertSameAsBuilt(CityBuilderManager builder, CityDisplayer display, int built, double cost,
+            Foundation[][] foundations) {
+        assertEquals(built, builder.getTotalBuiltStructures());
+        assertEquals(cost, builder.getTotalFinalCost(), 1e-6 * cost);
+        assertEquals(built, builder.getCostStatistics().getSketch().getCount());
+        assertEquals(built, builder.getCostContributions().getStructures());
+        ConstructionJobs jobs = builder.getConstructionJobs();
+        assertEquals(built, jobs.size());
+        for (int job = 0; job < jobs.size(); job++) {
+            assertEquals(foundations[jobs.getRow(job)][jobs.getCol(job)], jobs.getFoundation(job));
+        }
+        assertDisplayShows(display, builder.getBuildHistory().getCurrent());
+    }
+
+    private static void assertDisplayShows(CityDisplayer display, BuildState version) {
+        for (int row = 0; row < version.getHeight(); row++) {
+            for (int col = 0; col < version.getWidth(); col++) {
+                assertEquals(version.isBuilt(row, col), display.isMarked(row, col), "(" + row + "," + col + ")");
+            }
+        }
+    }
+}
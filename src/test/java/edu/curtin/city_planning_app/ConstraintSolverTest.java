@@ -0,0 +1,156 @@
+// src/test/java/edu/curtin/city_planning_app/ConstraintSolverTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.ConstraintSolver;
+import edu.curtin.city_planning_app.strategies.MaterialShareConstraint;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodFloorsConstraint;
+import edu.curtin.city_planning_app.strategies.ZoningConstraint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstraintSolverTest {
+    private static final int SIZE = 8;
+    private static final int BLOCK = 4;
+
+    @Test
+    public void testSingleShareKeepsTheFirstSquaresOfEachBlock() {
+        CityGrid grid = BenchmarkGrids.flatGrid(SIZE, SIZE);
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(SIZE, SIZE, Material.STONE, BLOCK, 0.25));
+        ConstraintSolver solver = solve(grid, constraints, Material.STONE, 3);
+
+        // 4 of each 16-square block stay stone, repairs move the last ones to concrete
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                Material expected = row % BLOCK == 0 ? Material.STONE : Material.CONCRETE;
+                assertEquals(expected, solver.getMaterial(row, col), "(" + row + "," + col + ")");
+                assertEquals(3, solver.getFloors(row, col));
+            }
+        }
+        assertEquals(SIZE * SIZE - 4L * 4, solver.getChanges());
+        assertSatisfied(grid, solver, constraints);
+    }
+
+    @Test
+    public void testCompetingSharesTerminate() {
+        // Stone, concrete and brick shares pass squares between each other; only wood is free
+        CityGrid grid = BenchmarkGrids.flatGrid(SIZE, SIZE);
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        for (Material material : new Material[] { Material.STONE, Material.CONCRETE, Material.BRICK }) {
+            constraints.add(new MaterialShareConstraint(SIZE, SIZE, material, BLOCK, 0.25));
+        }
+        ConstraintSolver solver = solve(grid, constraints, Material.STONE, 2);
+
+        assertSatisfied(grid, solver, constraints);
+        int built = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (solver.getFloors(row, col) > 0) {
+                    built++;
+                }
+            }
+        }
+        assertEquals(SIZE * SIZE, built); // wood takes whatever the shares can't
+        // Each square switches material at most three times
+        assertTrue(solver.getChanges() <= 3L * SIZE * SIZE, "changes " + solver.getChanges());
+    }
+
+    @Test
+    public void testEveryMaterialCappedLeavesSquaresUnbuilt() {
+        CityGrid grid = BenchmarkGrids.flatGrid(SIZE, SIZE);
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        for (Material material : Material.values()) {
+            constraints.add(new MaterialShareConstraint(SIZE, SIZE, material, BLOCK, 0.2));
+        }
+        ConstraintSolver solver = solve(grid, constraints, Material.BRICK, 2);
+
+        assertSatisfied(grid, solver, constraints);
+        int built = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (solver.getFloors(row, col) > 0) {
+                    built++;
+                }
+            }
+        }
+        assertTrue(built <= 4 * Material.values().length * 3, "built " + built); // 3 per material per block
+        assertTrue(built > 0);
+    }
+
+    @Test
+    public void testSharesAndNeighbourhoodFloorsOnARandomGrid() {
+        int size = 40;
+        CityGrid grid = BenchmarkGrids.randomGrid(size, size, 29);
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(size, size, Material.STONE, 5, 0.3));
+        constraints.add(new MaterialShareConstraint(size, size, Material.CONCRETE, 5, 0.3));
+        constraints.add(new NeighbourhoodFloorsConstraint(size, size, 30));
+        ConstraintSolver solver = new ConstraintSolver(grid, constraints);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Material heritage = grid.getHeritage(row, col);
+                int floors = grid.hasHeightLimit(row, col) ? Math.min(6, grid.getHeightLimit(row, col)) : 6;
+                Foundation foundation = grid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY
+                        ? Foundation.STILTS : Foundation.SLAB;
+                solver.propose(row, col, floors, heritage == null ? Material.STONE : heritage, foundation);
+            }
+        }
+        solver.solve();
+        assertSatisfied(grid, solver, constraints);
+    }
+
+    @Test
+    public void testHeritageSquareWithNoAllowedShareIsLeftUnbuilt() {
+        GridSquare[][] squares = BenchmarkGrids.flatSquares(SIZE, SIZE);
+        squares[1][1].setZoningRule("heritage", "stone");
+        CityGrid grid = new CityGrid(squares);
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(SIZE, SIZE, Material.STONE, BLOCK, 0));
+        ConstraintSolver solver = solve(grid, constraints, Material.STONE, 3);
+
+        assertEquals(0, solver.getFloors(1, 1)); // stone is the only material heritage allows
+        assertEquals(Material.CONCRETE, solver.getMaterial(0, 0));
+        assertSatisfied(grid, solver, constraints);
+    }
+
+    private static ConstraintSolver solve(CityGrid grid, List<ZoningConstraint> constraints, Material material,
+            int floors) {
+        ConstraintSolver solver = new ConstraintSolver(grid, constraints);
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                solver.propose(row, col, floors, material, Foundation.SLAB);
+            }
+        }
+        solver.solve();
+        return solver;
+    }
+
+    // Every constraint instance holds and every built square passes the per-square rules
+    private static void assertSatisfied(CityGrid grid, ConstraintSolver solver, List<ZoningConstraint> constraints) {
+        for (ZoningConstraint constraint : constraints) {
+            for (int instance = 0; instance < constraint.instanceCount(); instance++) {
+                assertTrue(constraint.isSatisfied(instance), constraint.getClass().getSimpleName() + " " + instance);
+            }
+        }
+        CheckBuildValidation validator = new CheckBuildValidation();
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                if (solver.getFloors(row, col) > 0) {
+                    assertEquals("valid", validator.validate(grid, row, col, solver.getFloors(row, col),
+                            solver.getFoundation(row, col), solver.getMaterial(row, col)));
+                }
+            }
+        }
+    }
+}
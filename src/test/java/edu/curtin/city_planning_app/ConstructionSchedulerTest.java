@@ -0,0 +1,103 @@
+// src/test/java/edu/curtin/city_planning_app/ConstructionSchedulerTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.scheduling.ConstructionJobs;
+import edu.curtin.city_planning_app.scheduling.ConstructionSchedule;
+import edu.curtin.city_planning_app.scheduling.ConstructionScheduler;
+import edu.curtin.city_planning_app.scheduling.ScheduleParameters;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodStrategy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstructionSchedulerTest {
+    private ScheduleParameters parameters;
+
+    @BeforeEach
+    public void setUp() {
+        parameters = new ScheduleParameters();
+        parameters.setHoursPerFloor(10);
+        parameters.setFloorGrowth(0);
+        parameters.setSwampMultiplier(2);
+        parameters.setFoundationHours(Foundation.SLAB, 0);
+        parameters.setFoundationHours(Foundation.STILTS, 4);
+    }
+
+    @Test
+    public void testDurations() {
+        assertEquals(20L, parameters.durationHours(2, Foundation.SLAB, false));
+        assertEquals(28L, parameters.durationHours(1, Foundation.STILTS, true)); // (4 + 10) * 2
+        parameters.setFloorGrowth(0.1);
+        assertEquals(33L, parameters.durationHours(3, Foundation.SLAB, false)); // 10 + 11 + 12
+    }
+
+    @Test
+    public void testCrewsTakeStructuresInBuildOrder() {
+        parameters.setCrews(2);
+        ConstructionJobs jobs = new ConstructionJobs();
+        jobs.record(0, 0, 2, Foundation.SLAB, Material.BRICK, false, 100);
+        jobs.record(0, 1, 1, Foundation.STILTS, Material.CONCRETE, true, 200);
+        jobs.record(0, 2, 3, Foundation.SLAB, Material.BRICK, false, 300);
+
+        ConstructionSchedule schedule = new ConstructionScheduler(parameters).simulate(jobs);
+        assertEquals(0L, schedule.getStart(0));
+        assertEquals(0L, schedule.getStart(1));
+        assertEquals(20L, schedule.getStart(2)); // first crew free after the first structure
+        assertEquals(50L, schedule.getMakespanHours());
+        assertEquals(0.78, schedule.getUtilization(), 1e-12); // 78 busy of 2 * 50 crew hours
+        assertEquals(0L, schedule.getMaterialWaitHours());
+        double[] cashFlow = schedule.getCumulativeSpend(2); // days 0-2 and 3-6
+        assertEquals(100.0, cashFlow[0]);
+        assertEquals(600.0, cashFlow[1]);
+    }
+
+    @Test
+    public void testStructuresWaitForDeliveries() {
+        parameters.setCrews(5);
+        parameters.setHoursPerFloor(1);
+        parameters.setSupplyPerDay(Material.STONE, 2);
+        ConstructionJobs jobs = new ConstructionJobs();
+        for (int col = 0; col < 3; col++) {
+            jobs.record(0, col, 2, Foundation.SLAB, Material.STONE, false, 10);
+        }
+
+        ConstructionSchedule schedule = new ConstructionScheduler(parameters).simulate(jobs);
+        // Two floors of stone arrive each morning, enough for one structure a day
+        for (int job = 0; job < 3; job++) {
+            assertEquals(job * (long) ScheduleParameters.HOURS_PER_DAY, schedule.getStart(job));
+        }
+        assertEquals(2L * ScheduleParameters.HOURS_PER_DAY + 2, schedule.getMakespanHours());
+        assertEquals(76L, schedule.getMaterialWaitHours());
+        assertEquals(3, schedule.getDays());
+        assertEquals(10.0, schedule.getDailySpend(1));
+    }
+
+    @Test
+    public void testBuiltCityIsScheduledTheSameEveryRun() {
+        CityGrid grid = BenchmarkGrids.randomGrid(60, 70, 5);
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        builder.setStrategy(new NeighbourhoodStrategy(grid, 6, new CityDisplayer(60, 70), builder));
+        builder.buildCityWithStrategy();
+        ConstructionJobs jobs = builder.getConstructionJobs();
+        assertEquals(builder.getTotalBuiltStructures(), jobs.size());
+
+        ScheduleParameters defaults = new ScheduleParameters();
+        ConstructionSchedule first = new ConstructionScheduler(defaults).simulate(jobs);
+        ConstructionSchedule second = new ConstructionScheduler(defaults).simulate(jobs);
+        for (int job = 0; job < jobs.size(); job++) {
+            assertEquals(first.getStart(job), second.getStart(job));
+            assertEquals(first.getFinish(job), second.getFinish(job));
+            assertTrue(first.getStart(job) < first.getFinish(job));
+        }
+        assertEquals(first.getMakespanHours(), second.getMakespanHours());
+        assertEquals(builder.getTotalFinalCost(), first.getTotalSpend(), builder.getTotalFinalCost() * 1e-12);
+        assertTrue(first.getUtilization() > 0 && first.getUtilization() <= 1);
+    }
+}
@@ -0,0 +1,92 @@
+// src/test/java/edu/curtin/city_planning_app/CostContributionsTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostContributions;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.CostSensitivity;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CostContributionsTest {
+    private static final int SIZE = 40;
+    private static final double TOLERANCE = 1e-9; // relative, totals are summed in a different order
+
+    private CityGrid grid;
+    private CostContributions contributions;
+    private int[] floors;
+    private Material[] materials;
+
+    @BeforeEach
+    public void setUp() {
+        // Every square is recorded, contaminated ones too, so every parameter has a contribution
+        grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 11);
+        contributions = new CostContributions();
+        floors = new int[SIZE * SIZE];
+        materials = new Material[SIZE * SIZE];
+        Random random = new Random(5);
+        for (int i = 0; i < floors.length; i++) {
+            floors[i] = random.nextInt(8) + 1;
+            materials[i] = Material.values()[random.nextInt(Material.values().length)];
+            contributions.record(grid, i / SIZE, i % SIZE, floors[i], materials[i]);
+        }
+    }
+
+    @Test
+    public void testTotalMatchesDecoratorChainAtDefaultPrices() {
+        CostParameters prices = new CostParameters();
+        assertClose(rebuiltTotal(prices), contributions.total(prices));
+    }
+
+    @Test
+    public void testTotalMatchesDecoratorChainAtChangedPrices() {
+        CostParameters prices = RowCostEvaluatorTest.changedPrices();
+        assertClose(rebuiltTotal(prices), contributions.total(prices));
+    }
+
+    @Test
+    public void testSensitivitiesAreSortedAndMatchRebuild() {
+        CostParameters prices = new CostParameters();
+        List<CostSensitivity> sensitivities = contributions.sensitivities(prices, 0.1);
+        assertEquals(CostParameters.Parameter.values().length, sensitivities.size());
+        for (int i = 1; i < sensitivities.size(); i++) {
+            assertTrue(sensitivities.get(i - 1).getSwing() >= sensitivities.get(i).getSwing());
+        }
+
+        CostSensitivity top = sensitivities.get(0);
+        CostParameters raised = new CostParameters(prices);
+        raised.set(top.getParameter(), prices.get(top.getParameter()) * 1.1);
+        assertClose(rebuiltTotal(raised), top.getHighTotal());
+    }
+
+    @Test
+    public void testResetForgetsStructures() {
+        contributions.reset();
+        assertEquals(0L, contributions.getStructures());
+        assertEquals(0.0, contributions.total(new CostParameters()));
+    }
+
+    // Total of every recorded structure, costed square by square through the decorator chain
+    private double rebuiltTotal(CostParameters prices) {
+        double total = 0;
+        for (int i = 0; i < floors.length; i++) {
+            total += CostChain.forSquare(grid, i / SIZE, i % SIZE, floors[i], materials[i], prices).calculateCost();
+        }
+        return total;
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertTrue(Math.abs(expected - actual) <= TOLERANCE * Math.abs(expected),
+                "expected " + expected + " but was " + actual);
+    }
+}
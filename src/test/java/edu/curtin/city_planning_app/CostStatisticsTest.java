@@ -0,0 +1,89 @@
+// src/test/java/edu/curtin/city_planning_app/CostStatisticsTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.statistics.CostQuantileSketch;
+import edu.curtin.city_planning_app.statistics.CostStatistics;
+import edu.curtin.city_planning_app.statistics.StructureCost;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CostStatisticsTest {
+    private static final int STRUCTURES = 20_000;
+    private static final int WIDTH = 200;
+    private static final double[] PERCENTILES = { 1, 25, 50, 90, 95, 99, 99.9 };
+
+    private double[] costs;
+
+    @BeforeEach
+    public void setUp() {
+        // Log-normal costs spanning several orders of magnitude, with some ties
+        Random random = new Random(19);
+        costs = new double[STRUCTURES];
+        for (int i = 0; i < STRUCTURES; i++) {
+            costs[i] = Math.round(Math.exp(11 + 1.5 * random.nextGaussian()) / 1000) * 1000.0;
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeAccuracy() {
+        CostStatistics statistics = recordRange(0, STRUCTURES);
+        double[] sorted = costs.clone();
+        Arrays.sort(sorted);
+        CostQuantileSketch sketch = statistics.getSketch();
+        for (double percentile : PERCENTILES) {
+            double exact = sorted[(int) Math.ceil(percentile / 100 * STRUCTURES) - 1];
+            assertEquals(exact, sketch.getPercentile(percentile), exact * CostQuantileSketch.RELATIVE_ACCURACY,
+                    "p" + percentile);
+        }
+        assertEquals(sorted[STRUCTURES - 1], sketch.getPercentile(100));
+    }
+
+    @Test
+    public void testTopKIsMostExpensive() {
+        List<StructureCost> top = recordRange(0, STRUCTURES).getMostExpensive().getMostExpensive();
+        double[] sorted = costs.clone();
+        Arrays.sort(sorted);
+        assertEquals(100, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            StructureCost structure = top.get(i);
+            assertEquals(sorted[STRUCTURES - 1 - i], structure.getCost());
+            assertEquals(structure.getCost(), costs[structure.getRow() * WIDTH + structure.getCol()]);
+        }
+    }
+
+    @Test
+    public void testMergedWorkersMatchSinglePass() {
+        CostStatistics single = recordRange(0, STRUCTURES);
+        CostStatistics merged = recordRange(STRUCTURES / 3, STRUCTURES);
+        merged.merge(recordRange(0, STRUCTURES / 3));
+
+        assertEquals(single.getSketch().getCount(), merged.getSketch().getCount());
+        for (double percentile : PERCENTILES) {
+            assertEquals(single.getSketch().getPercentile(percentile), merged.getSketch().getPercentile(percentile));
+        }
+        List<StructureCost> expected = single.getMostExpensive().getMostExpensive();
+        List<StructureCost> actual = merged.getMostExpensive().getMostExpensive();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getRow(), actual.get(i).getRow());
+            assertEquals(expected.get(i).getCol(), actual.get(i).getCol());
+        }
+    }
+
+    // Statistics of costs[from, to), as one worker would record them
+    private CostStatistics recordRange(int from, int to) {
+        CostStatistics statistics = new CostStatistics();
+        for (int i = from; i < to; i++) {
+            statistics.record(i / WIDTH, i % WIDTH, 1 + i % 5, Material.BRICK, costs[i]);
+        }
+        return statistics;
+    }
+}
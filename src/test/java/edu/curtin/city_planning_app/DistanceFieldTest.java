@@ -0,0 +1,100 @@
+// src/test/java/edu/curtin/city_planning_app/DistanceFieldTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.grids.DistanceField;
+import edu.curtin.city_planning_app.grids.WeightedDistanceField;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Distance fields checked against per-square, per-source brute force
+public class DistanceFieldTest {
+    private static final int HEIGHT = 23;
+    private static final int WIDTH = 31;
+
+    @Test
+    public void testUnweightedFieldMatchesBruteForce() {
+        Random random = new Random(27);
+        for (int sources = 1; sources <= 9; sources += 2) {
+            int[] rows = randomCoordinates(random, sources, HEIGHT);
+            int[] cols = randomCoordinates(random, sources, WIDTH);
+            DistanceField field = new DistanceField(HEIGHT, WIDTH, rows, cols);
+            double[] ones = new double[sources];
+            Arrays.fill(ones, 1);
+            WeightedDistanceField weighted = new WeightedDistanceField(HEIGHT, WIDTH, rows, cols, ones);
+            for (int row = 0; row < HEIGHT; row++) {
+                for (int col = 0; col < WIDTH; col++) {
+                    long best = Long.MAX_VALUE;
+                    for (int s = 0; s < sources; s++) {
+                        best = Math.min(best, distanceSquared(row, col, rows[s], cols[s]));
+                    }
+                    assertEquals(best, field.getDistanceSquared(row, col));
+                    int nearest = field.getNearestSource(row, col);
+                    assertEquals(best, distanceSquared(row, col, rows[nearest], cols[nearest]));
+                    assertEquals(Math.sqrt(best), weighted.getDistance(row, col), 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWeightedFieldMatchesBruteForce() {
+        Random random = new Random(72);
+        double[] weightChoices = { 0.5, 1, 1.5, 3 };
+        for (int sources = 1; sources <= 12; sources += 3) {
+            int[] rows = randomCoordinates(random, sources, HEIGHT);
+            int[] cols = randomCoordinates(random, sources, WIDTH);
+            double[] weights = new double[sources];
+            for (int s = 0; s < sources; s++) {
+                weights[s] = weightChoices[random.nextInt(weightChoices.length)];
+            }
+            WeightedDistanceField field = new WeightedDistanceField(HEIGHT, WIDTH, rows, cols, weights);
+            for (int row = 0; row < HEIGHT; row++) {
+                for (int col = 0; col < WIDTH; col++) {
+                    double best = Double.MAX_VALUE;
+                    for (int s = 0; s < sources; s++) {
+                        best = Math.min(best, Math.sqrt(distanceSquared(row, col, rows[s], cols[s])) / weights[s]);
+                    }
+                    assertEquals(best, field.getDistance(row, col), 1e-12);
+                    int source = field.getBestSource(row, col);
+                    assertEquals(best, Math.sqrt(distanceSquared(row, col, rows[source], cols[source]))
+                            / weights[source], 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHeavierFartherCentreWins() {
+        // A light centre at column 0 and a heavy one at column 10, on a 1x11 strip.
+        // Column 4 is nearer the light centre (4 vs 6) but 6 / 3 = 2 beats 4 / 1.
+        WeightedDistanceField field = new WeightedDistanceField(1, 11, new int[] { 0, 0 }, new int[] { 0, 10 },
+                new double[] { 1, 3 });
+        assertEquals(1, field.getBestSource(0, 4));
+        assertEquals(2.0, field.getDistance(0, 4), 1e-12);
+        assertEquals(0, field.getBestSource(0, 1));
+        assertEquals(1.0, field.getDistance(0, 1), 1e-12);
+        assertEquals(0, field.getBestSource(0, 2)); // 2 / 1 still beats 8 / 3
+        assertThrows(IllegalArgumentException.class, () -> new WeightedDistanceField(2, 2, new int[] { 0 },
+                new int[] { 0 }, new double[] { 0 }));
+    }
+
+    private static int[] randomCoordinates(Random random, int count, int bound) {
+        int[] coordinates = new int[count];
+        for (int i = 0; i < count; i++) {
+            coordinates[i] = random.nextInt(bound);
+        }
+        return coordinates;
+    }
+
+    private static long distanceSquared(int row, int col, int sourceRow, int sourceCol) {
+        long dr = row - sourceRow;
+        long dc = col - sourceCol;
+        return dr * dr + dc * dc;
+    }
+}
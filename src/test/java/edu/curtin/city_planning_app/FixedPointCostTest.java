@@ -0,0 +1,126 @@
+// src/test/java/edu/curtin/city_planning_app/FixedPointCostTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CentsAccumulator;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointCostTest {
+    private static final int SIZE = 80;
+
+    private Level logLevel;
+
+    // The full builds log every square at INFO, so only warnings are kept while they run
+    @BeforeEach
+    public void setUp() {
+        Logger root = Logger.getLogger("");
+        logLevel = root.getLevel();
+        root.setLevel(Level.WARNING);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Logger.getLogger("").setLevel(logLevel);
+    }
+
+    @Test
+    public void testHalfEvenRounding() {
+        assertEquals(2L, Money.multiply(5, 500_000)); // 2.5 -> 2
+        assertEquals(4L, Money.multiply(7, 500_000)); // 3.5 -> 4
+        assertEquals(-2L, Money.multiply(-5, 500_000)); // -2.5 -> -2
+        assertEquals(3L, Money.multiply(5, 500_001));
+        assertEquals(150L, Money.multiply(100, Money.toMicros(1.5)));
+        assertEquals(12L, Money.toCents(0.125)); // 12.5 cents -> 12
+        assertEquals(14L, Money.toCents(0.135)); // 13.5 cents -> 14
+    }
+
+    @Test
+    public void testOverflowThrows() {
+        CentsAccumulator accumulator = new CentsAccumulator();
+        accumulator.add(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> accumulator.add(1));
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MAX_VALUE / 2, 3_000_000));
+        assertThrows(ArithmeticException.class, () -> Money.toCents(1e18));
+    }
+
+    @Test
+    public void testCentsStayCloseToDoubles() {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 23);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                for (Material material : Material.values()) {
+                    double dollars = CostChain.forSquare(grid, row, col, 7, material).calculateCost();
+                    long cents = CostChain.forSquare(grid, row, col, 7, material).calculateCostCents();
+                    // Multipliers are rounded to millionths, so allow that on top of a cent per step
+                    assertEquals(dollars, Money.toDollars(cents), 0.05 + dollars * 2e-6);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAnyPartitionGivesTheSameTotal() {
+        Random random = new Random(29);
+        List<Long> amounts = new ArrayList<>();
+        CentsAccumulator inOrder = new CentsAccumulator();
+        for (int i = 0; i < 10_000; i++) {
+            long amount = Money.toCents(random.nextDouble() * 1_000_000);
+            amounts.add(amount);
+            inOrder.add(amount);
+        }
+        Collections.shuffle(amounts, random);
+        CentsAccumulator merged = new CentsAccumulator();
+        for (int start = 0; start < amounts.size(); start += 777) {
+            CentsAccumulator worker = new CentsAccumulator();
+            for (long amount : amounts.subList(start, Math.min(amounts.size(), start + 777))) {
+                worker.add(amount);
+            }
+            merged.merge(worker);
+        }
+        assertEquals(inOrder.getCents(), merged.getCents());
+        assertEquals(inOrder.getCount(), merged.getCount());
+    }
+
+    @Test
+    public void testUniformTotalIsExactSumOfCents() {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 31);
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        builder.getCostParameters().setMode(CostMode.FIXED_POINT);
+        builder.setStrategy(new UniformStrategy(grid, Material.STONE, 2, Foundation.STILTS,
+                new CityDisplayer(SIZE, SIZE), builder));
+        builder.buildCityWithStrategy();
+
+        // Summed backwards, column by column, and still exactly the build's total
+        CheckBuildValidation validator = new CheckBuildValidation();
+        CentsAccumulator expected = new CentsAccumulator();
+        for (int col = SIZE - 1; col >= 0; col--) {
+            for (int row = SIZE - 1; row >= 0; row--) {
+                if ("valid".equals(validator.validate(grid, row, col, 2, Foundation.STILTS, Material.STONE))) {
+                    expected.add(CostChain.forSquare(grid, row, col, 2, Material.STONE).calculateCostCents());
+                }
+            }
+        }
+        assertEquals(expected.getCount(), (long) builder.getTotalBuiltStructures());
+        assertEquals(expected.getDollars(), builder.getTotalFinalCost());
+    }
+}
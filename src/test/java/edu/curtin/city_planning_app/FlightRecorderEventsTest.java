@@ -0,0 +1,109 @@
+// src/test/java/edu/curtin/city_planning_app/FlightRecorderEventsTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.metrics.TileBuildRecorder;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+    private static final String GRID_LOAD = "edu.curtin.city_planning_app.GridLoad";
+    private static final String STRATEGY_RUN = "edu.curtin.city_planning_app.StrategyRun";
+    private static final String TILE_BUILD = "edu.curtin.city_planning_app.TileBuild";
+    private static final int SIZE = 70; // 2 x 2 tiles, the last ones partial
+
+    @Test
+    public void testRecordedRunHasDomainEvents() throws IOException {
+        Path gridFile = Paths.get("src/main/resources/grid-7x7New.txt");
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 3);
+        CityBuilderManager builder = new CityBuilderManager(grid);
+        builder.setStrategy(new UniformStrategy(grid, Material.BRICK, 2, Foundation.STILTS,
+                new CityDisplayer(SIZE, SIZE), builder));
+
+        List<RecordedEvent> events;
+        Path dump = Files.createTempFile("city-planner", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(GRID_LOAD);
+            recording.enable(STRATEGY_RUN);
+            recording.enable(TILE_BUILD);
+            recording.start();
+            new GridLoader().loadGrid(gridFile);
+            builder.buildCityWithStrategy();
+            recording.stop();
+            recording.dump(dump);
+            events = RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+
+        List<RecordedEvent> loads = named(events, GRID_LOAD);
+        assertEquals(1L, (long) loads.size());
+        RecordedEvent load = loads.get(0);
+        assertTrue(load.getString("path").endsWith("grid-7x7New.txt"));
+        assertEquals(Files.size(gridFile), load.getLong("fileSize"));
+        assertEquals(7L, (long) load.getInt("height"));
+        assertEquals(7L, (long) load.getInt("width"));
+        assertEquals("sequential", load.getString("mode"));
+        assertTrue(!load.getDuration().isNegative());
+
+        List<RecordedEvent> runs = named(events, STRATEGY_RUN);
+        assertEquals(1L, (long) runs.size());
+        RecordedEvent run = runs.get(0);
+        assertEquals("UniformStrategy", run.getString("strategy"));
+        assertEquals((long) SIZE * SIZE, run.getLong("squares"));
+        assertEquals((long) builder.getTotalBuiltStructures(), run.getLong("built"));
+        assertEquals(builder.getTotalFinalCost(), run.getDouble("totalCost"));
+        assertTrue(run.getLong("built") > 0 && run.getLong("built") < (long) SIZE * SIZE);
+
+        List<RecordedEvent> tiles = named(events, TILE_BUILD);
+        int tilesPerSide = (SIZE + TileBuildRecorder.TILE_SIZE - 1) / TileBuildRecorder.TILE_SIZE;
+        assertEquals((long) tilesPerSide * tilesPerSide, (long) tiles.size());
+        long squares = 0;
+        long rejections = 0;
+        Set<Integer> ids = new HashSet<>();
+        for (RecordedEvent tile : tiles) {
+            int id = tile.getInt("tileId");
+            ids.add(id);
+            assertEquals((long) (id / tilesPerSide) * TileBuildRecorder.TILE_SIZE, (long) tile.getInt("firstRow"));
+            assertEquals((long) (id % tilesPerSide) * TileBuildRecorder.TILE_SIZE, (long) tile.getInt("firstCol"));
+            assertTrue(tile.getInt("rejections") <= tile.getInt("squares"));
+            assertTrue(tile.getLong("buildTime") >= 0);
+            squares += tile.getInt("squares");
+            rejections += tile.getInt("rejections");
+        }
+        assertEquals((long) tilesPerSide * tilesPerSide, (long) ids.size());
+        assertEquals((long) SIZE * SIZE, squares);
+        assertEquals((long) SIZE * SIZE - builder.getTotalBuiltStructures(), rejections);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (name.equals(event.getEventType().getName())) {
+                matching.add(event);
+            }
+        }
+        return matching;
+    }
+}
@@ -0,0 +1,141 @@
+// src/test/java/edu/curtin/city_planning_app/GridLintTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.GridErrorCategory;
+import edu.curtin.city_planning_app.grids.GridLintError;
+import edu.curtin.city_planning_app.grids.GridLintReport;
+import edu.curtin.city_planning_app.grids.GridLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridLintTest {
+    private static final int MAX_PER_CATEGORY = 5;
+
+    private final GridLoader loader = new GridLoader();
+
+    @Test
+    public void testFaultyFilesGiveOneErrorOnTheLoadersLine() throws IOException {
+        Object[][] cases = { { "empty_grid", GridErrorCategory.EMPTY_GRID, 1L },
+                { "invalid_dimensions1", GridErrorCategory.INVALID_DIMENSIONS, 1L },
+                { "invalid_dimensions2", GridErrorCategory.INVALID_DIMENSIONS, 1L },
+                { "missing_records", GridErrorCategory.MISSING_RECORDS, 107L },
+                { "invalid_terrain", GridErrorCategory.INVALID_TERRAIN, 64L },
+                { "invalid_zoning_rule", GridErrorCategory.INVALID_ZONING_RULE, 80L },
+                { "invalid_heritage", GridErrorCategory.INVALID_HERITAGE, 67L },
+                { "invalid_flood_risk1", GridErrorCategory.INVALID_FLOOD_RISK, 67L },
+                { "invalid_flood_risk2", GridErrorCategory.INVALID_FLOOD_RISK, 48L },
+                { "invalid_contamination", GridErrorCategory.INVALID_CONTAMINATION, 12L },
+                { "invalid_height_limit1", GridErrorCategory.INVALID_HEIGHT_LIMIT, 49L },
+                { "invalid_height_limit2", GridErrorCategory.INVALID_HEIGHT_LIMIT, 89L } };
+        for (Object[] testCase : cases) {
+            Path file = Paths.get("src/test/testResources", (String) testCase[0]);
+            GridLintReport report = loader.lintGrid(file, 2, MAX_PER_CATEGORY);
+            assertEquals(1L, report.getErrorCount(), (String) testCase[0]);
+            GridLintError error = report.getErrors().get(0);
+            assertEquals(testCase[1], error.getCategory(), (String) testCase[0]);
+            assertEquals((long) testCase[2], error.getLine(), (String) testCase[0]);
+            // The loader stops at the same line
+            Exception loadError = assertThrows(Exception.class, () -> loader.loadGrid(file));
+            if (error.getLine() > 1) {
+                assertTrue(loadError.getMessage().contains("Line " + error.getLine()), loadError.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testAgreesWithTheLoaderOnUnusualLines() throws IOException {
+        String[] lines = { "flat", " FLAT ", "Swampy,", "rocky,,", ",flat", "", "flat, ", "flat,=", "flat,contamination",
+                "flat,contamination=", "flat, contamination = true ", "flat,contamination=yes", "flat,a=b=",
+                "flat,heritage==brick", "flat,heritage= wood", "flat,heritage=Wood", "flat,flood-risk=100",
+                "flat,flood-risk=100.000", "flat,flood-risk=100.01", "flat,flood-risk=1e2", "flat,flood-risk=NaN",
+                "flat,flood-risk=-0", "flat,flood-risk=.5", "flat,flood-risk=5.", "flat,flood-risk=.",
+                "flat,flood-risk=99.99999999999999999", "flat,flood-risk=100.0000000000000001",
+                "flat,flood-risk=00000000000000000000050", "flat,height-limit=+3", "flat,height-limit=-3",
+                "flat,height-limit=0007", "flat,height-limit=2147483647", "flat,height-limit=2147483648",
+                "flat,height-limit=", "flat,heritage=stone,height-limit=4\r", "flat\u0000" };
+        for (String line : lines) {
+            Path file = Files.createTempFile("lint-line", ".txt");
+            try {
+                Files.write(file, ("1,1\n" + line + "\n").getBytes(Charset.defaultCharset()));
+                boolean loads;
+                try {
+                    loader.loadGrid(file);
+                    loads = true;
+                } catch (IOException | IllegalArgumentException e) {
+                    loads = false;
+                }
+                assertEquals(loads, loader.lintGrid(file, 1, MAX_PER_CATEGORY).isValid(), "'" + line + "'");
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelChunksFindEveryError() throws IOException {
+        int height = 600;
+        int width = 1000; // 600,000 lines, about 12 MB, so the body is split into several chunks
+        String[] badLines = { "rockyish", "flat,swampy=1", "flat,heritage=acrylic", "flat,flood-risk=101.1",
+                "flat,contamination=0", "flat,height-limit=25.5" };
+        GridErrorCategory[] categories = { GridErrorCategory.INVALID_TERRAIN, GridErrorCategory.INVALID_ZONING_RULE,
+                GridErrorCategory.INVALID_HERITAGE, GridErrorCategory.INVALID_FLOOD_RISK,
+                GridErrorCategory.INVALID_CONTAMINATION, GridErrorCategory.INVALID_HEIGHT_LIMIT };
+        long[] expectedCounts = new long[badLines.length];
+        long[][] expectedFirstLines = new long[badLines.length][MAX_PER_CATEGORY];
+
+        Path file = Files.createTempFile("lint-grid", ".txt");
+        try {
+            Random random = new Random(50);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+                writer.write(height + "," + width);
+                writer.newLine();
+                for (int i = 0; i < height * width; i++) {
+                    if (random.nextInt(500) == 0) {
+                        int bad = random.nextInt(badLines.length);
+                        if (expectedCounts[bad] < MAX_PER_CATEGORY) {
+                            expectedFirstLines[bad][(int) expectedCounts[bad]] = i + 2L;
+                        }
+                        expectedCounts[bad]++;
+                        writer.write(badLines[bad]);
+                    } else {
+                        writer.write(BenchmarkGrids.randomLine(random));
+                    }
+                    writer.newLine();
+                }
+                writer.write("past the last square, so not checked");
+                writer.newLine();
+            }
+
+            GridLintReport sequential = loader.lintGrid(file, 1, MAX_PER_CATEGORY);
+            GridLintReport parallel = loader.lintGrid(file, 4, MAX_PER_CATEGORY);
+            for (GridLintReport report : new GridLintReport[] { sequential, parallel }) {
+                assertEquals((long) height * width, report.getSquareLines());
+                for (int bad = 0; bad < badLines.length; bad++) {
+                    assertEquals(expectedCounts[bad], report.getCount(categories[bad]));
+                    List<GridLintError> kept = report.getErrors(categories[bad]);
+                    assertEquals(MAX_PER_CATEGORY, kept.size());
+                    for (int k = 0; k < MAX_PER_CATEGORY; k++) {
+                        assertEquals(expectedFirstLines[bad][k], kept.get(k).getLine());
+                    }
+                }
+                assertEquals(0, report.getCount(GridErrorCategory.MISSING_RECORDS));
+            }
+            assertEquals(sequential.getErrors().toString(), parallel.getErrors().toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
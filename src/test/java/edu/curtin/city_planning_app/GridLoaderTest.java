@@ -2,12 +2,18 @@
 
 package edu.curtin.city_planning_app;
 
+import edu.curtin.city_planning_app.grids.CityGrid;
 import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.LazyGridFile;
+import edu.curtin.city_planning_app.grids.OffHeapGrid;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -130,4 +136,120 @@ public class GridLoaderTest {
         });
         assertTrue(exception.getMessage().contains("Height limit must be an integer"));
     }
+
+    @Test
+    public void testParallelMatchesSequentialErrors() {
+        String[] files = { "empty_grid", "invalid_dimensions1", "invalid_dimensions2", "missing_records",
+                "invalid_terrain", "invalid_zoning_rule", "invalid_heritage", "invalid_flood_risk1",
+                "invalid_flood_risk2", "invalid_contamination", "invalid_height_limit1", "invalid_height_limit2" };
+        for (String file : files) {
+            Path filePath = Paths.get("src/test/testResources", file);
+            Exception expected = assertThrows(Exception.class, () -> {
+                loader.loadGrid(filePath);
+            });
+            for (int threads = 2; threads <= 16; threads *= 2) {
+                int workers = threads;
+                Exception actual = assertThrows(Exception.class, () -> {
+                    loader.loadGridParallel(filePath, workers);
+                });
+                assertEquals(expected.getClass(), actual.getClass(), file + " with " + threads + " threads");
+                assertEquals(expected.getMessage(), actual.getMessage(), file + " with " + threads + " threads");
+            }
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequentialGrid() throws IOException {
+        Path filePath = Paths.get("src/main/resources/grid-7x7New.txt");
+        GridSquare[][] expected = loader.loadGrid(filePath);
+        for (int threads = 2; threads <= 16; threads *= 2) {
+            GridSquare[][] actual = loader.loadGridParallel(filePath, threads);
+            assertEquals(expected.length, actual.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].length, actual[i].length);
+                for (int j = 0; j < expected[i].length; j++) {
+                    assertEquals(expected[i][j].getTerrain(), actual[i][j].getTerrain());
+                    assertEquals(expected[i][j].getHeritage(), actual[i][j].getHeritage());
+                    assertEquals(expected[i][j].getFloodRisk(), actual[i][j].getFloodRisk());
+                    assertEquals(expected[i][j].isContaminated(), actual[i][j].isContaminated());
+                    assertEquals(expected[i][j].getHeightLimit(), actual[i][j].getHeightLimit());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLazyMatchesSequentialGrid() throws IOException {
+        Path filePath = Paths.get("src/main/resources/grid-7x7New.txt");
+        GridSquare[][] expected = loader.loadGrid(filePath);
+        LazyGridFile lazy = loader.openLazy(filePath, 4);
+        assertEquals(expected.length, lazy.getHeight());
+        assertEquals(expected[0].length, lazy.getWidth());
+        // Visit back to front so the small cache keeps evicting
+        for (int i = expected.length - 1; i >= 0; i--) {
+            for (int j = expected[i].length - 1; j >= 0; j--) {
+                GridSquare actual = lazy.getSquare(i, j);
+                assertEquals(expected[i][j].getTerrain(), actual.getTerrain());
+                assertEquals(expected[i][j].getHeritage(), actual.getHeritage());
+                assertEquals(expected[i][j].getFloodRisk(), actual.getFloodRisk());
+                assertEquals(expected[i][j].isContaminated(), actual.isContaminated());
+                assertEquals(expected[i][j].getHeightLimit(), actual.getHeightLimit());
+            }
+        }
+    }
+
+    @Test
+    public void testLazyInvalidSquare() throws IOException {
+        Path filePath = Paths.get("src/test/testResources/invalid_terrain");
+        Exception expected = assertThrows(IllegalArgumentException.class, () -> {
+            loader.loadGrid(filePath);
+        });
+        LazyGridFile lazy = loader.openLazy(filePath, 16);
+        Exception actual = assertThrows(IllegalArgumentException.class, () -> {
+            for (int i = 0; i < lazy.getHeight(); i++) {
+                for (int j = 0; j < lazy.getWidth(); j++) {
+                    lazy.getSquare(i, j);
+                }
+            }
+        });
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    public void testLazyMissingRecords() throws IOException {
+        Path filePath = Paths.get("src/test/testResources/missing_records");
+        Exception expected = assertThrows(IOException.class, () -> {
+            loader.loadGrid(filePath);
+        });
+        LazyGridFile lazy = loader.openLazy(filePath, 16);
+        Exception actual = assertThrows(UncheckedIOException.class, () -> {
+            lazy.getSquare(lazy.getHeight() - 1, lazy.getWidth() - 1);
+        });
+        assertEquals(expected.getMessage(), actual.getCause().getMessage());
+    }
+
+    @Test
+    public void testOffHeapMatchesSequentialGrid() throws IOException {
+        Path filePath = Paths.get("src/main/resources/grid-7x7New.txt");
+        GridSquare[][] expected = loader.loadGrid(filePath);
+        Path mapFile = Files.createTempFile("grid", ".bin");
+        try {
+            for (OffHeapGrid offHeap : new OffHeapGrid[] { loader.loadGridOffHeap(filePath, null),
+                    loader.loadGridOffHeap(filePath, mapFile) }) {
+                CityGrid grid = new CityGrid(offHeap);
+                for (int i = 0; i < expected.length; i++) {
+                    for (int j = 0; j < expected[i].length; j++) {
+                        assertEquals(expected[i][j].getTerrain(), grid.getTerrain(i, j));
+                        assertEquals(expected[i][j].getHeritage(), grid.getHeritage(i, j));
+                        assertEquals(expected[i][j].hasFloodRisk(), grid.hasFloodRisk(i, j));
+                        assertEquals(expected[i][j].getFloodRisk(), grid.getGridSquare(i, j).getFloodRisk());
+                        assertEquals(expected[i][j].isContaminated(), grid.isContaminated(i, j));
+                        assertEquals(expected[i][j].getHeightLimit(), grid.getGridSquare(i, j).getHeightLimit());
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(mapFile);
+        }
+    }
 }
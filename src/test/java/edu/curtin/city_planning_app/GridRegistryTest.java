@@ -0,0 +1,118 @@
+// src/test/java/edu/curtin/city_planning_app/GridRegistryTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridRegistryTest {
+    private static final int SIZE = 20;
+
+    private final List<Path> files = new ArrayList<>();
+    private final GridLoader loader = new GridLoader();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            files.add(writeGrid(Files.createTempFile("registry-grid", ".txt"), "flat"));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testHitsShareTheLoadedGrid() throws IOException {
+        GridRegistry registry = new GridRegistry(loader, GridRegistry.DEFAULT_BUDGET_BYTES, 1);
+        CityGrid first = registry.get(files.get(0));
+        assertSame(first, registry.get(files.get(0)));
+        assertSame(first, registry.get(files.get(0).getParent().resolve("./" + files.get(0).getFileName())));
+        assertEquals(2, registry.getHits());
+        assertEquals(1, registry.getMisses());
+        assertEquals(2.0 / 3, registry.getHitRate(), 1e-9);
+        assertEquals(1, registry.getLoadLatency().getCount());
+    }
+
+    @Test
+    public void testChangedFileIsReloaded() throws IOException {
+        GridRegistry registry = new GridRegistry(loader, GridRegistry.DEFAULT_BUDGET_BYTES, 1);
+        Path file = files.get(0);
+        CityGrid before = registry.get(file);
+        assertEquals("FLAT", before.getTerrain(0, 0).name());
+
+        writeGrid(file, "swampy");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+        CityGrid after = registry.get(file);
+        assertNotSame(before, after);
+        assertEquals("SWAMPY", after.getTerrain(0, 0).name());
+        assertEquals(1, registry.getReloads());
+        assertEquals(2, registry.getLoadLatency().getCount());
+        assertEquals(1, registry.getCachedPaths().size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        long footprint = GridRegistry.estimateFootprint(loader.loadGrid(files.get(0)));
+        GridRegistry registry = new GridRegistry(loader, footprint * 2, 1); // room for two grids
+        CityGrid first = registry.get(files.get(0));
+        registry.get(files.get(1));
+        assertSame(first, registry.get(files.get(0))); // the second file is now least recently used
+        registry.get(files.get(2));
+
+        assertEquals(1, registry.getEvictions());
+        assertEquals(footprint * 2, registry.getCachedBytes());
+        List<Path> cached = registry.getCachedPaths();
+        assertEquals(List.of(files.get(0).toAbsolutePath(), files.get(2).toAbsolutePath()), cached);
+
+        registry.get(files.get(1)); // loaded again, evicting the first file
+        assertEquals(4, registry.getMisses());
+        assertEquals(List.of(files.get(2).toAbsolutePath(), files.get(1).toAbsolutePath()),
+                registry.getCachedPaths());
+    }
+
+    @Test
+    public void testGridLargerThanBudgetIsStillServed() throws IOException {
+        GridRegistry registry = new GridRegistry(loader, 1, 1);
+        CityGrid grid = registry.get(files.get(0));
+        assertEquals(SIZE, grid.getHeight());
+        registry.get(files.get(1));
+        assertEquals(List.of(files.get(1).toAbsolutePath()), registry.getCachedPaths());
+        assertThrows(IOException.class, () -> registry.get(files.get(0).resolveSibling("missing-grid.txt")));
+    }
+
+    // Square grid with every square on the same terrain and a few zoning rules
+    private static Path writeGrid(Path file, String terrain) throws IOException {
+        StringBuilder text = new StringBuilder(SIZE + "," + SIZE + "\n");
+        for (int i = 0; i < SIZE * SIZE; i++) {
+            text.append(terrain);
+            if (i % 3 == 0) {
+                text.append(",height-limit=").append(i % 200 + 1);
+            }
+            if (i % 5 == 0) {
+                text.append(",flood-risk=").append(i % 50);
+            }
+            text.append('\n');
+        }
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,126 @@
+// src/test/java/edu/curtin/city_planning_app/NeighbourhoodStencilTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodStencil;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Neighbourhood rules checked on small hand-built grids, target 6 floors
+public class NeighbourhoodStencilTest {
+    private static final int SIZE = 5;
+    private static final int TARGET = 6;
+
+    @Test
+    public void testPlainFlatGrid() {
+        NeighbourhoodStencil stencil = evaluate(BenchmarkGrids.flatGrid(SIZE, SIZE));
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                assertEquals(TARGET, stencil.getFloors(row, col));
+                assertEquals(Material.CONCRETE, stencil.getMaterial(row, col)); // taller than 3 floors
+                assertEquals(Foundation.SLAB, stencil.getFoundation(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testHeritageStepsDownAndBlendsIn() {
+        GridSquare[][] squares = BenchmarkGrids.flatSquares(SIZE, SIZE);
+        squares[2][2].setZoningRule("heritage", "stone");
+        NeighbourhoodStencil stencil = evaluate(new CityGrid(squares));
+
+        assertEquals(TARGET, stencil.getFloors(2, 2)); // no heritage around the heritage square itself
+        assertEquals(Material.STONE, stencil.getMaterial(2, 2));
+        for (int row = 1; row <= 3; row++) {
+            for (int col = 1; col <= 3; col++) {
+                if (row != 2 || col != 2) {
+                    assertEquals(TARGET - 2, stencil.getFloors(row, col));
+                    assertEquals(Material.BRICK, stencil.getMaterial(row, col));
+                }
+            }
+        }
+        assertEquals(TARGET, stencil.getFloors(0, 0)); // two squares away, unaffected
+        assertEquals(Material.CONCRETE, stencil.getMaterial(0, 2));
+    }
+
+    @Test
+    public void testFloodRiskCapsNeighboursAndRaisesTheSquare() {
+        GridSquare[][] squares = BenchmarkGrids.flatSquares(SIZE, SIZE);
+        squares[0][0].setZoningRule("flood-risk", "40.0");
+        squares[0][1].setZoningRule("flood-risk", "40.0");
+        CityGrid grid = new CityGrid(squares);
+
+        NeighbourhoodStencil tall = evaluate(grid);
+        assertEquals(3, tall.getFloors(0, 0)); // next to the other flood square
+        assertEquals(3, tall.getFloors(1, 2));
+        assertEquals(Material.BRICK, tall.getMaterial(1, 2)); // 3 floors or fewer
+        assertEquals(TARGET, tall.getFloors(2, 2));
+
+        NeighbourhoodStencil low = new NeighbourhoodStencil(grid, 1);
+        low.evaluate(1);
+        assertEquals(2, low.getFloors(0, 0)); // flood-risk squares need two floors
+        assertEquals(1, low.getFloors(1, 0));
+    }
+
+    @Test
+    public void testHeightLimitWins() {
+        GridSquare[][] squares = BenchmarkGrids.flatSquares(SIZE, SIZE);
+        squares[4][4].setZoningRule("height-limit", "2");
+        squares[4][4].setZoningRule("flood-risk", "10.0");
+        squares[0][4].setZoningRule("height-limit", "9");
+        NeighbourhoodStencil stencil = evaluate(new CityGrid(squares));
+
+        assertEquals(2, stencil.getFloors(4, 4));
+        assertEquals(Material.BRICK, stencil.getMaterial(4, 4));
+        assertEquals(TARGET, stencil.getFloors(0, 4)); // a limit above the target changes nothing
+    }
+
+    @Test
+    public void testSwampySquaresGetConcreteOnStilts() {
+        GridSquare[][] squares = BenchmarkGrids.flatSquares(SIZE, SIZE);
+        squares[1][1] = new GridSquare(GridSquare.TerrainType.SWAMPY);
+        squares[3][3] = new GridSquare(GridSquare.TerrainType.SWAMPY);
+        squares[3][4].setZoningRule("height-limit", "1");
+        squares[3][3].setZoningRule("height-limit", "1");
+        NeighbourhoodStencil stencil = evaluate(new CityGrid(squares));
+
+        assertEquals(Foundation.STILTS, stencil.getFoundation(1, 1));
+        assertEquals(Material.CONCRETE, stencil.getMaterial(1, 1));
+        assertEquals(Material.CONCRETE, stencil.getMaterial(3, 3)); // even when low
+        assertEquals(Material.BRICK, stencil.getMaterial(3, 4));
+        assertEquals(Foundation.SLAB, stencil.getFoundation(3, 4));
+        assertEquals(Foundation.SLAB, stencil.getFoundation(1, 2));
+    }
+
+    @Test
+    public void testTilesGiveTheSameResultForAnyThreadCount() {
+        // Big enough for several tiles, so the halos cross tile edges
+        int size = NeighbourhoodStencil.TILE_SIZE * 2 + 7;
+        CityGrid grid = BenchmarkGrids.randomGrid(size, size, 28);
+        NeighbourhoodStencil single = new NeighbourhoodStencil(grid, TARGET);
+        single.evaluate(1);
+        NeighbourhoodStencil parallel = new NeighbourhoodStencil(grid, TARGET);
+        parallel.evaluate(4);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                assertEquals(single.getFloors(row, col), parallel.getFloors(row, col));
+                assertEquals(single.getMaterial(row, col), parallel.getMaterial(row, col));
+                assertEquals(single.getFoundation(row, col), parallel.getFoundation(row, col));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new NeighbourhoodStencil(grid, 0));
+    }
+
+    private static NeighbourhoodStencil evaluate(CityGrid grid) {
+        NeighbourhoodStencil stencil = new NeighbourhoodStencil(grid, TARGET);
+        stencil.evaluate(2);
+        return stencil;
+    }
+}
@@ -0,0 +1,147 @@
+// src/test/java/edu/curtin/city_planning_app/PartitionCoordinatorTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.partition.PartitionCoordinator;
+import edu.curtin.city_planning_app.partition.PartitionSummary;
+import edu.curtin.city_planning_app.partition.PartitionWorker;
+import edu.curtin.city_planning_app.pipeline.BuildPipeline;
+import edu.curtin.city_planning_app.pipeline.PipelineSummary;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every test starts real worker JVMs on localhost
+public class PartitionCoordinatorTest {
+    private static final int HEIGHT = 120;
+    private static final int WIDTH = 70;
+    private static final String PLAN = "central";
+
+    private final GridLoader loader = new GridLoader();
+    private Path gridFile;
+    private Path output;
+    private CostParameters prices;
+    private PipelineSummary expected;
+    private String expectedGrid;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        gridFile = Files.createTempFile("partition-grid", ".txt");
+        output = Files.createTempFile("partition-output", ".txt");
+        Random random = new Random(48);
+        try (BufferedWriter writer = Files.newBufferedWriter(gridFile, Charset.defaultCharset())) {
+            writer.write(HEIGHT + "," + WIDTH);
+            writer.newLine();
+            for (int i = 0; i < HEIGHT * WIDTH; i++) {
+                writer.write(BenchmarkGrids.randomLine(random));
+                writer.newLine();
+            }
+        }
+        prices = new CostParameters();
+        prices.setMode(CostMode.FIXED_POINT); // totals in cents are exact however they are split
+
+        StringWriter pipelineOut = new StringWriter();
+        try (GridRowReader reader = loader.openRows(gridFile)) {
+            expected = new BuildPipeline(SquarePlan.parse(PLAN, HEIGHT, WIDTH), prices, 1,
+                    BuildPipeline.DEFAULT_QUEUE_CAPACITY).run(reader, pipelineOut);
+        }
+        expectedGrid = pipelineOut.toString();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(gridFile);
+        Files.deleteIfExists(output);
+    }
+
+    @Test
+    public void testBandReaderStartsPartWay() throws IOException {
+        GridSquare[][] squares = loader.loadGrid(gridFile);
+        GridSquare[] row = new GridSquare[WIDTH];
+        try (GridRowReader reader = loader.openRows(gridFile, 77)) {
+            assertEquals(77, reader.readRow(row));
+            for (int col = 0; col < WIDTH; col++) {
+                assertTrue(row[col].sameZoning(squares[77][col]));
+            }
+        }
+    }
+
+    @Test
+    public void testRowOffsetsFoundInOneScanOpenEachBand() throws IOException {
+        GridSquare[][] squares = loader.loadGrid(gridFile);
+        int[] rows = { 0, 0, 1, 40, 77, HEIGHT - 1, HEIGHT };
+        long[] offsets = loader.findRowOffsets(gridFile, rows);
+        assertEquals(HEIGHT + "," + WIDTH + System.lineSeparator(),
+                new String(Files.readAllBytes(gridFile), 0, (int) offsets[0], Charset.defaultCharset()));
+        assertEquals(offsets[0], offsets[1]);
+        assertEquals(Files.size(gridFile), offsets[rows.length - 1]);
+
+        GridSquare[] row = new GridSquare[WIDTH];
+        for (int i = 0; i < rows.length - 1; i++) {
+            try (GridRowReader reader = loader.openRows(gridFile, rows[i], offsets[i], 2 + rows[i] * WIDTH)) {
+                assertEquals(rows[i], reader.readRow(row));
+                for (int col = 0; col < WIDTH; col++) {
+                    assertTrue(row[col].sameZoning(squares[rows[i]][col]), "(" + rows[i] + "," + col + ")");
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> loader.findRowOffsets(gridFile, new int[] { 5, 4 }));
+        assertThrows(IllegalArgumentException.class, () -> loader.findRowOffsets(gridFile, new int[] { HEIGHT + 1 }));
+    }
+
+    @Test
+    public void testPartitionedBuildMatchesPipeline() throws IOException {
+        PartitionCoordinator coordinator = new PartitionCoordinator(gridFile, PLAN, prices, 3);
+        coordinator.setBands(7);
+        PartitionSummary summary = coordinator.run(output);
+
+        assertEquals(7, summary.getBands());
+        assertEquals(expected.getBuilt(), summary.getBuilt());
+        assertEquals(expected.getTotalCost(), summary.getTotalCost());
+        assertEquals(0, summary.getReassignedBands());
+        assertEquals(expectedGrid, Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testCrashedWorkersBandIsReassigned() throws IOException {
+        PartitionCoordinator coordinator = new PartitionCoordinator(gridFile, PLAN, prices, 2);
+        coordinator.setBands(5);
+        coordinator.setWorkerJvmOptions(List.of("-D" + PartitionWorker.HALT_BAND_PROPERTY + "=3"));
+        PartitionSummary summary = coordinator.run(output);
+
+        assertEquals(1, summary.getReassignedBands());
+        assertEquals(1, summary.getWorkerRestarts());
+        assertEquals(expected.getBuilt(), summary.getBuilt());
+        assertEquals(expected.getTotalCost(), summary.getTotalCost());
+        assertEquals(expectedGrid, Files.readString(output, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testBandThatKeepsCrashingFailsTheBuild() {
+        PartitionCoordinator coordinator = new PartitionCoordinator(gridFile, PLAN, prices, 1);
+        coordinator.setMaxAttempts(1);
+        coordinator.setWorkerJvmOptions(List.of("-D" + PartitionWorker.HALT_BAND_PROPERTY + "=0"));
+        IOException e = assertThrows(IOException.class, () -> coordinator.run(output));
+        assertTrue(e.getMessage().contains("Band 0"));
+    }
+}
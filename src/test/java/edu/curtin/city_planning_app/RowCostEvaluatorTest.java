@@ -0,0 +1,165 @@
+// src/test/java/edu/curtin/city_planning_app/RowCostEvaluatorTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.BaseCost;
+import edu.curtin.city_planning_app.decorators.ContaminationCost;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.FloodRiskCost;
+import edu.curtin.city_planning_app.decorators.HandleCostCalculation;
+import edu.curtin.city_planning_app.decorators.HeritageCost;
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
+import edu.curtin.city_planning_app.decorators.TerrainCost;
+import edu.curtin.city_planning_app.decorators.VectorRowCostEvaluator;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowCostEvaluatorTest {
+    // Odd width, so every vector length leaves a scalar tail
+    private static final int HEIGHT = 37;
+    private static final int WIDTH = 53;
+    private static final int MAX_FLOORS = 12;
+
+    private CityGrid grid;
+
+    @BeforeEach
+    public void setUp() {
+        grid = BenchmarkGrids.randomGrid(HEIGHT, WIDTH, 7);
+    }
+
+    @Test
+    public void testScalarMatchesDecoratorChain() {
+        assertMatchesDecoratorChain(new RowCostEvaluator(grid));
+    }
+
+    @Test
+    public void testVectorMatchesDecoratorChain() {
+        assertMatchesDecoratorChain(new VectorRowCostEvaluator(grid));
+    }
+
+    @Test
+    public void testChangedPricesMatchDecoratorChain() {
+        CostParameters prices = changedPrices();
+        for (RowCostEvaluator evaluator : new RowCostEvaluator[] { new RowCostEvaluator(grid),
+                new VectorRowCostEvaluator(grid) }) {
+            double[] costs = new double[WIDTH];
+            for (Material material : Material.values()) {
+                for (int floors = 1; floors <= MAX_FLOORS; floors++) {
+                    for (int row = 0; row < HEIGHT; row++) {
+                        evaluator.evaluateRow(row, floors, Foundation.STILTS, material, prices, costs);
+                        for (int col = 0; col < WIDTH; col++) {
+                            if (costs[col] >= 0) {
+                                double expected = CostChain.forSquare(grid, row, col, floors, material, prices)
+                                        .calculateCost();
+                                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(costs[col]),
+                                        material + " " + floors + " floors at (" + row + "," + col + ")");
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCentsMatchDecoratorChainCents() {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        long[] cents = new long[WIDTH];
+        double[] costs = new double[WIDTH];
+        for (CostParameters prices : new CostParameters[] { new CostParameters(), changedPrices() }) {
+            for (RowCostEvaluator evaluator : new RowCostEvaluator[] { new RowCostEvaluator(grid),
+                    new VectorRowCostEvaluator(grid) }) {
+                for (Material material : Material.values()) {
+                    for (Foundation foundation : Foundation.values()) {
+                        for (int floors = 1; floors <= MAX_FLOORS; floors++) {
+                            for (int row = 0; row < HEIGHT; row++) {
+                                int valid = evaluator.evaluateRowCents(row, floors, foundation, material, prices,
+                                        cents);
+                                assertEquals(evaluator.evaluateRow(row, floors, foundation, material, prices, costs),
+                                        valid);
+                                for (int col = 0; col < WIDTH; col++) {
+                                    long expected = (long) RowCostEvaluator.INVALID;
+                                    if ("valid".equals(validator.validate(grid, row, col, floors, foundation,
+                                            material))) {
+                                        expected = CostChain.forSquare(grid, row, col, floors, material, prices)
+                                                .calculateCostCents();
+                                    }
+                                    assertEquals(expected, cents[col], material + " " + foundation + " " + floors
+                                            + " floors at (" + row + "," + col + ")");
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCreateUsesVectorWhenAvailable() {
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule, RowCostEvaluator.create(grid) instanceof VectorRowCostEvaluator);
+    }
+
+    private void assertMatchesDecoratorChain(RowCostEvaluator evaluator) {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        double[] costs = new double[WIDTH];
+        for (Material material : Material.values()) {
+            for (Foundation foundation : Foundation.values()) {
+                for (int floors = 1; floors <= MAX_FLOORS; floors++) {
+                    for (int row = 0; row < HEIGHT; row++) {
+                        int valid = evaluator.evaluateRow(row, floors, foundation, material, costs);
+                        int expectedValid = 0;
+                        for (int col = 0; col < WIDTH; col++) {
+                            GridSquare square = grid.getGridSquare(row, col);
+                            double expected = RowCostEvaluator.INVALID;
+                            if ("valid".equals(validator.validate(square, floors, foundation, material))) {
+                                expected = decoratorCost(square, floors, material);
+                                expectedValid++;
+                            }
+                            // Bit for bit, not within a tolerance
+                            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(costs[col]),
+                                    material + " " + foundation + " " + floors + " floors at (" + row + "," + col
+                                            + ")");
+                        }
+                        assertEquals(expectedValid, valid);
+                    }
+                }
+            }
+        }
+    }
+
+    // Every price moved away from its default
+    /* default */ static CostParameters changedPrices() {
+        CostParameters prices = new CostParameters();
+        for (CostParameters.Parameter parameter : CostParameters.Parameter.values()) {
+            prices.set(parameter, parameter.getDefaultValue() * 1.37);
+        }
+        return prices;
+    }
+
+    // The decorator chain exactly as CityBuilderManager.buildStructure builds it
+    private static double decoratorCost(GridSquare square, int floors, Material material) {
+        HandleCostCalculation cost = new BaseCost(floors, material);
+        if (square.isContaminated()) {
+            cost = new ContaminationCost(cost);
+        }
+        if (square.hasFloodRisk()) {
+            cost = new FloodRiskCost(cost, square.getFloodRisk());
+        }
+        if (square.getHeritage() != null) {
+            cost = new HeritageCost(cost);
+        }
+        cost = new TerrainCost(cost, square.getTerrain(), floors);
+        return cost.calculateCost();
+    }
+}
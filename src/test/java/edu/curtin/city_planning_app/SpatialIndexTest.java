@@ -0,0 +1,171 @@
+// src/test/java/edu/curtin/city_planning_app/SpatialIndexTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.DistanceBands;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.SpatialIndex;
+import edu.curtin.city_planning_app.grids.SummedAreaTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every query is checked against a brute-force scan of the same small grid
+public class SpatialIndexTest {
+    private static final int HEIGHT = 13;
+    private static final int WIDTH = 17;
+    private static final double[] RADII = { -1, 0, 0.5, 1, 1.5, Math.sqrt(2), 2.9, 5, 7.25, 30 };
+
+    private CityGrid grid;
+    private SpatialIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        grid = BenchmarkGrids.randomGrid(HEIGHT, WIDTH, 26);
+        index = grid.getSpatialIndex();
+    }
+
+    @Test
+    public void testRectangleCountsMatchScan() {
+        // Every rectangle, including ones hanging over each edge and ones outside the grid
+        for (SpatialIndex.Attribute attribute : SpatialIndex.Attribute.values()) {
+            for (int fromRow = -2; fromRow <= HEIGHT + 1; fromRow += 3) {
+                for (int toRow = fromRow - 1; toRow <= HEIGHT + 1; toRow += 2) {
+                    for (int fromCol = -2; fromCol <= WIDTH + 1; fromCol += 3) {
+                        for (int toCol = fromCol - 1; toCol <= WIDTH + 1; toCol += 2) {
+                            int expected = 0;
+                            for (int row = Math.max(0, fromRow); row <= Math.min(HEIGHT - 1, toRow); row++) {
+                                for (int col = Math.max(0, fromCol); col <= Math.min(WIDTH - 1, toCol); col++) {
+                                    if (matches(attribute, row, col)) {
+                                        expected++;
+                                    }
+                                }
+                            }
+                            assertEquals(expected, index.count(attribute, fromRow, fromCol, toRow, toCol),
+                                    attribute + " (" + fromRow + "," + fromCol + ")-(" + toRow + "," + toCol + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSummedAreaTableAtEdges() {
+        Random random = new Random(3);
+        double[] values = new double[HEIGHT * WIDTH];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1000) / 10.0;
+        }
+        SummedAreaTable table = new SummedAreaTable(HEIGHT, WIDTH, values);
+        int[][] rectangles = { { 0, 0, HEIGHT - 1, WIDTH - 1 }, { -5, -5, HEIGHT + 5, WIDTH + 5 }, { 0, 0, 0, 0 },
+            { HEIGHT - 1, WIDTH - 1, HEIGHT - 1, WIDTH - 1 }, { HEIGHT - 1, 0, HEIGHT + 3, 2 },
+            { 4, WIDTH - 3, 6, WIDTH }, { 5, 5, 4, 9 }, { HEIGHT, 0, HEIGHT + 2, 3 }, { -3, -3, -1, -1 } };
+        for (int[] r : rectangles) {
+            double expected = 0;
+            for (int row = Math.max(0, r[0]); row <= Math.min(HEIGHT - 1, r[2]); row++) {
+                for (int col = Math.max(0, r[1]); col <= Math.min(WIDTH - 1, r[3]); col++) {
+                    expected += values[row * WIDTH + col];
+                }
+            }
+            assertEquals(expected, table.sum(r[0], r[1], r[2], r[3]), 1e-9);
+        }
+
+        double floodRisk = 0;
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                floodRisk += grid.getFloodRisk(row, col);
+            }
+        }
+        assertEquals(floodRisk, index.sumFloodRisk(-1, -1, HEIGHT, WIDTH), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new SummedAreaTable(2, 2, new double[3]));
+    }
+
+    @Test
+    public void testRadiusQueriesAtBordersMatchScan() {
+        int[][] centres = { { 0, 0 }, { 0, WIDTH - 1 }, { HEIGHT - 1, 0 }, { HEIGHT - 1, WIDTH - 1 }, { 6, 8 },
+            { 0, 8 }, { 6, WIDTH - 1 } };
+        for (SpatialIndex.Attribute attribute : SpatialIndex.Attribute.values()) {
+            for (int[] centre : centres) {
+                for (double radius : RADII) {
+                    List<Integer> expected = new ArrayList<>();
+                    for (int row = 0; row < HEIGHT; row++) {
+                        for (int col = 0; col < WIDTH; col++) {
+                            if (matches(attribute, row, col) && radius >= 0
+                                    && distanceSquared(row, col, centre) <= radius * radius) {
+                                expected.add(row * WIDTH + col);
+                            }
+                        }
+                    }
+                    List<Integer> visited = new ArrayList<>();
+                    index.forEachWithinRadius(attribute, centre[0], centre[1], radius,
+                            (row, col) -> visited.add(row * WIDTH + col));
+                    assertEquals(expected, visited, attribute + " around (" + centre[0] + "," + centre[1] + ") r "
+                            + radius);
+                    assertEquals(expected.size(), index.countWithinRadius(attribute, centre[0], centre[1], radius));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDistanceBandsVisitEverySquareInRadiusNearestFirst() {
+        int[][] centres = { { 0, 0 }, { HEIGHT - 1, WIDTH - 1 }, { 6, 8 }, { 0, WIDTH - 1 } };
+        for (int[] centre : centres) {
+            DistanceBands bands = new DistanceBands(HEIGHT, WIDTH, centre[0], centre[1]);
+            for (double radius : RADII) {
+                int expected = 0;
+                for (int row = 0; row < HEIGHT; row++) {
+                    for (int col = 0; col < WIDTH; col++) {
+                        if (radius >= 0 && distanceSquared(row, col, centre) <= radius * radius) {
+                            expected++;
+                        }
+                    }
+                }
+                List<Integer> visited = new ArrayList<>();
+                bands.forEachWithinRadius(radius, (row, col) -> {
+                    assertTrue(row >= 0 && row < HEIGHT && col >= 0 && col < WIDTH);
+                    assertTrue(distanceSquared(row, col, centre) <= radius * radius);
+                    visited.add(bands.ring(row, col));
+                });
+                assertEquals(expected, visited.size(), "(" + centre[0] + "," + centre[1] + ") r " + radius);
+                for (int i = 1; i < visited.size(); i++) {
+                    assertTrue(visited.get(i - 1) <= visited.get(i)); // nearest rings first
+                }
+            }
+            assertEquals(distanceSquared(centre[0] < HEIGHT / 2 ? HEIGHT - 1 : 0,
+                    centre[1] < WIDTH / 2 ? WIDTH - 1 : 0, centre), bands.maxDistanceSquared());
+        }
+    }
+
+    private boolean matches(SpatialIndex.Attribute attribute, int row, int col) {
+        switch (attribute) {
+            case HERITAGE:
+                return grid.getHeritage(row, col) != null;
+            case FLOOD_RISK:
+                return grid.hasFloodRisk(row, col);
+            case CONTAMINATION:
+                return grid.isContaminated(row, col);
+            case HEIGHT_LIMIT:
+                return grid.hasHeightLimit(row, col);
+            case SWAMPY:
+                return grid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY;
+            default:
+                return grid.getTerrain(row, col) == GridSquare.TerrainType.ROCKY;
+        }
+    }
+
+    private static long distanceSquared(int row, int col, int[] centre) {
+        long dr = row - centre[0];
+        long dc = col - centre[1];
+        return dr * dr + dc * dc;
+    }
+}
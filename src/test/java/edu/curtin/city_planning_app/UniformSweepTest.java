@@ -0,0 +1,44 @@
+// src/test/java/edu/curtin/city_planning_app/UniformSweepTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.SweepResult;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+import edu.curtin.city_planning_app.strategies.UniformSweep;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UniformSweepTest {
+    private static final int SIZE = 12;
+    private static final int MAX_FLOORS = 6;
+
+    @Test
+    public void testEveryConfigurationMatchesItsOwnBuild() {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 35);
+        UniformSweep sweep = new UniformSweep(grid);
+        List<SweepResult> results = sweep.sweep(MAX_FLOORS);
+        assertEquals(Material.values().length * Foundation.values().length * MAX_FLOORS, results.size());
+        assertTrue(sweep.getProfileCount() < SIZE * SIZE); // some squares share a profile
+
+        for (SweepResult result : results) {
+            CityBuilderManager builder = new CityBuilderManager(grid);
+            builder.setStrategy(new UniformStrategy(grid, result.getMaterial(), result.getFloors(),
+                    result.getFoundation(), new CityDisplayer(SIZE, SIZE), builder));
+            builder.buildCityWithStrategy();
+
+            String configuration = result.getMaterial() + " " + result.getFoundation() + " " + result.getFloors();
+            assertEquals(builder.getTotalBuiltStructures(), result.getBuildable(), configuration);
+            // Summed per profile rather than per square, so only the last digits may differ
+            assertEquals(builder.getTotalFinalCost(), result.getTotalCost(),
+                    1e-9 * Math.max(1, builder.getTotalFinalCost()), configuration);
+        }
+    }
+}
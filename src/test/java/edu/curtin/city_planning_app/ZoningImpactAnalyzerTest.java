@@ -0,0 +1,100 @@
+// src/test/java/edu/curtin/city_planning_app/ZoningImpactAnalyzerTest.java
+
+package edu.curtin.city_planning_app;
+
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridRowReader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.pipeline.ZoningImpactAnalyzer;
+import edu.curtin.city_planning_app.pipeline.ZoningImpactReport;
+import edu.curtin.city_planning_app.strategies.SquarePlan;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZoningImpactAnalyzerTest {
+    private static final Path OLD_GRID = Paths.get("src/main/resources/grid-7x7Old.txt");
+    private static final Path NEW_GRID = Paths.get("src/main/resources/grid-7x7New.txt");
+    private static final String[] PLANS = { "central", "uniform:brick:3:stilts", "uniform:wood:1:slab" };
+
+    private final GridLoader loader = new GridLoader();
+
+    @Test
+    public void testMatchesTwoFullBuilds() throws IOException {
+        GridSquare[][] before = loader.loadGrid(OLD_GRID);
+        GridSquare[][] after = loader.loadGrid(NEW_GRID);
+        for (String planSpec : PLANS) {
+            SquarePlan plan = SquarePlan.parse(planSpec, before.length, before[0].length);
+            long buildableDelta = 0;
+            double costDelta = 0;
+            for (int row = 0; row < before.length; row++) {
+                for (int col = 0; col < before[0].length; col++) {
+                    double oldCost = cost(plan, row, col, before[row][col]);
+                    double newCost = cost(plan, row, col, after[row][col]);
+                    buildableDelta += (newCost >= 0 ? 1 : 0) - (oldCost >= 0 ? 1 : 0);
+                    costDelta += Math.max(0, newCost) - Math.max(0, oldCost);
+                }
+            }
+
+            StringWriter out = new StringWriter();
+            ZoningImpactReport report = analyze(planSpec, OLD_GRID, NEW_GRID, out);
+            assertEquals(buildableDelta, report.getBuildableDelta(), planSpec);
+            assertEquals(costDelta, report.getCostDelta(), 1e-6, planSpec);
+            assertEquals(report.getChanged() + 1, out.toString().split("\n").length);
+        }
+    }
+
+    @Test
+    public void testSameGridHasNoImpact() throws IOException {
+        StringWriter out = new StringWriter();
+        ZoningImpactReport report = analyze("central", NEW_GRID, NEW_GRID, out);
+        assertEquals(49L, report.getSquares());
+        assertEquals(0L, report.getChanged());
+        assertEquals(0.0, report.getCostDelta());
+        assertEquals(1, out.toString().split("\n").length); // only the header
+    }
+
+    @Test
+    public void testMalformedLineIsReportedEvenWhenUnchanged() throws IOException {
+        Path dir = Files.createTempDirectory("impact");
+        Path malformed = dir.resolve("malformed.txt");
+        try {
+            Files.write(malformed, Arrays.asList("2,2", "flat", "lava", "flat", "flat"));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> analyze("central", malformed, malformed, new StringWriter()));
+            assertTrue(e.getMessage().startsWith("Line 3:"), e.getMessage());
+        } finally {
+            Files.deleteIfExists(malformed);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private ZoningImpactReport analyze(String planSpec, Path beforePath, Path afterPath, StringWriter out)
+            throws IOException {
+        try (GridRowReader before = loader.openRows(beforePath); GridRowReader after = loader.openRows(afterPath)) {
+            SquarePlan plan = SquarePlan.parse(planSpec, before.getHeight(), before.getWidth());
+            return new ZoningImpactAnalyzer(plan, new CostParameters()).analyze(before, after, out);
+        }
+    }
+
+    // What a full build would cost on the square, -1 if it can't be built
+    private static double cost(SquarePlan plan, int row, int col, GridSquare square) {
+        int floors = plan.floors(row, col, square);
+        if (!"valid".equals(new CheckBuildValidation().validate(square, floors, plan.foundation(row, col, square),
+                plan.material(row, col, square)))) {
+            return -1;
+        }
+        return CostChain.forSquare(square, floors, plan.material(row, col, square), new CostParameters())
+                .calculateCost();
+    }
+}
@@ -0,0 +1,55 @@
+// AnnealingBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.strategies.AnnealingObjective;
+import edu.curtin.city_planning_app.strategies.AnnealingOptimizer;
+import edu.curtin.city_planning_app.strategies.AnnealingRound;
+
+import java.util.List;
+
+// Parallel tempering on a 1000x1000 grid (1 million squares) within a time budget: how the
+// objective converges, how many moves per second each thread count manages, and a check that the
+// incrementally tracked objective matches a full recompute of the best layout.
+// Usage: ./gradlew benchmark -Pbenchmark=AnnealingBenchmark
+public final class AnnealingBenchmark {
+    private static final int SIZE = 1000;
+    private static final long BUDGET_MILLIS = 10_000;
+    private static final int REPLICAS = 4;
+    private static final int[] THREADS = { 1, 2, 4 };
+
+    private AnnealingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 17);
+        AnnealingObjective objective = new AnnealingObjective(1, 1, 1, 6, 12);
+        System.out.printf("Grid %dx%d, %d replicas, %d ms budget, %d cores available%n", SIZE, SIZE, REPLICAS,
+                BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+
+        for (int threads : THREADS) {
+            long setupStart = System.nanoTime();
+            AnnealingOptimizer optimizer = new AnnealingOptimizer(grid, objective, new CostParameters());
+            double setupMs = (System.nanoTime() - setupStart) / 1e6;
+            List<AnnealingRound> rounds = optimizer.optimize(REPLICAS, threads, BUDGET_MILLIS, Integer.MAX_VALUE, 1);
+            AnnealingRound last = rounds.get(rounds.size() - 1);
+            double movesPerSecond = (double) SIZE * SIZE * REPLICAS * rounds.size() / (last.getElapsedMillis() / 1e3);
+
+            System.out.printf("%n%d threads: setup %.0f ms, %d rounds, %,.0f moves/sec%n", threads, setupMs,
+                    rounds.size(), movesPerSecond);
+            System.out.printf("%8s %10s %16s %10s %10s%n", "round", "ms", "best objective", "moves", "swaps");
+            int step = Math.max(1, rounds.size() / 8);
+            for (int i = 0; i < rounds.size(); i++) {
+                if (i % step == 0 || i == rounds.size() - 1) {
+                    AnnealingRound round = rounds.get(i);
+                    System.out.printf("%8d %10.0f %16.1f %9.1f%% %9.1f%%%n", round.getRound(),
+                            round.getElapsedMillis(), round.getBestEnergy(), round.getMoveAcceptance() * 100,
+                            round.getSwapAcceptance() * 100);
+                }
+            }
+            System.out.printf("Objective %.1f -> %.1f, full recompute %.1f%n", optimizer.getInitialEnergy(),
+                    optimizer.getBestEnergy(), optimizer.recomputeBestEnergy());
+        }
+    }
+}
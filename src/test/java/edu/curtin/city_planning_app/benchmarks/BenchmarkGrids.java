@@ -0,0 +1,79 @@
+// BenchmarkGrids.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.GridSquare;
+
+import java.util.Random;
+
+// Generates seeded synthetic grids with a realistic mix of zoning for the benchmarks
+public final class BenchmarkGrids {
+    private static final String[] HERITAGE = { "wood", "stone", "brick" };
+    private static final GridSquare.TerrainType[] TERRAIN = GridSquare.TerrainType.values();
+
+    private BenchmarkGrids() {
+    }
+
+    // A grid of the given size, same seed gives the same grid
+    public static CityGrid randomGrid(int height, int width, long seed) {
+        Random random = new Random(seed);
+        GridSquare[][] squares = new GridSquare[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                squares[row][col] = randomSquare(random);
+            }
+        }
+        return new CityGrid(squares);
+    }
+
+    // A grid of flat squares with no zoning, for tests that add their own rules
+    public static CityGrid flatGrid(int height, int width) {
+        return new CityGrid(flatSquares(height, width));
+    }
+
+    // The squares of a flat grid, for tests that swap some out before building it
+    public static GridSquare[][] flatSquares(int height, int width) {
+        GridSquare[][] squares = new GridSquare[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                squares[row][col] = new GridSquare(GridSquare.TerrainType.FLAT);
+            }
+        }
+        return squares;
+    }
+
+    // The line a grid file would hold for one random square
+    public static String randomLine(Random random) {
+        StringBuilder line = new StringBuilder(TERRAIN[random.nextInt(TERRAIN.length)].name().toLowerCase());
+        if (random.nextInt(10) == 0) {
+            line.append(",heritage=").append(HERITAGE[random.nextInt(HERITAGE.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            line.append(",flood-risk=").append(random.nextInt(10000) / 100.0);
+        }
+        if (random.nextInt(20) == 0) {
+            line.append(",contamination");
+        }
+        if (random.nextInt(4) == 0) {
+            line.append(",height-limit=").append(1 + random.nextInt(10));
+        }
+        return line.toString();
+    }
+
+    private static GridSquare randomSquare(Random random) {
+        GridSquare square = new GridSquare(TERRAIN[random.nextInt(TERRAIN.length)]);
+        if (random.nextInt(10) == 0) {
+            square.setZoningRule("heritage", HERITAGE[random.nextInt(HERITAGE.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            square.setZoningRule("flood-risk", Double.toString(random.nextInt(10000) / 100.0));
+        }
+        if (random.nextInt(20) == 0) {
+            square.setZoningRule("contamination", "true");
+        }
+        if (random.nextInt(4) == 0) {
+            square.setZoningRule("height-limit", Integer.toString(1 + random.nextInt(10)));
+        }
+        return square;
+    }
+}
@@ -0,0 +1,29 @@
+// BenchmarkTimer.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import java.util.Arrays;
+
+// Small timing helper shared by the benchmarks.
+// Runs a task a few times to warm up the JIT, then reports the median of the measured runs.
+public final class BenchmarkTimer {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private BenchmarkTimer() {
+    }
+
+    // Median wall time of the task in milliseconds
+    public static double medianMillis(Runnable task) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            task.run();
+        }
+        double[] times = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(times);
+        return times[MEASURED_RUNS / 2];
+    }
+}
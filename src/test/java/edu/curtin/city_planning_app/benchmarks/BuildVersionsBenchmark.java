@@ -0,0 +1,72 @@
+// BuildVersionsBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.versions.BuildDiff;
+import edu.curtin.city_planning_app.versions.BuildEditor;
+import edu.curtin.city_planning_app.versions.BuildHistory;
+import edu.curtin.city_planning_app.versions.BuildState;
+
+import java.util.SplittableRandom;
+
+// Versioned build state on a fully built 1000x1000 city: the cost of keeping every version of
+// single-square edits (time and heap per version), and diffs between close and distant versions.
+// Usage: ./gradlew benchmark -Pbenchmark=BuildVersionsBenchmark
+public final class BuildVersionsBenchmark {
+    private static final int SIZE = 1000;
+    private static final int VERSIONS = 10_000;
+
+    private BuildVersionsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        BuildEditor editor = BuildState.empty(SIZE, SIZE).edit();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                editor.set(row, col, 1 + (row * 7 + col) % 9, Foundation.SLAB, Material.BRICK,
+                        30_000.0 * (1 + (row * 7 + col) % 9));
+            }
+        }
+        BuildState city = editor.commit();
+        double buildMs = (System.nanoTime() - start) / 1e6;
+
+        BuildHistory history = new BuildHistory(city);
+        long heapBefore = usedHeap();
+        SplittableRandom random = new SplittableRandom(47);
+        start = System.nanoTime();
+        for (int i = 0; i < VERSIONS; i++) {
+            int row = random.nextInt(SIZE);
+            int col = random.nextInt(SIZE);
+            history.commit(
+                    history.getCurrent().withStructure(row, col, 12, Foundation.SLAB, Material.STONE, 600_000));
+        }
+        double editMs = (System.nanoTime() - start) / 1e6;
+        long heapPerVersion = (usedHeap() - heapBefore) / VERSIONS;
+        BuildState last = history.getCurrent();
+        history.undo();
+        BuildState previous = history.getCurrent();
+
+        BuildDiff[] diff = new BuildDiff[1];
+        double adjacentMs = BenchmarkTimer.medianMillis(() -> diff[0] = previous.diff(last));
+        int adjacentTiles = diff[0].getComparedTiles();
+        double distantMs = BenchmarkTimer.medianMillis(() -> diff[0] = city.diff(last));
+
+        System.out.printf("%dx%d city, %,d single-square versions kept%n", SIZE, SIZE, VERSIONS);
+        System.out.printf("Whole city through one editor: %.1f ms%n", buildMs);
+        System.out.printf("Edit + commit per version:     %.2f us, about %,d bytes of heap each (a full copy is %,d)%n",
+                editMs * 1000 / VERSIONS, heapPerVersion, (long) SIZE * SIZE * 13);
+        System.out.printf("Diff of adjacent versions:     %.4f ms, %d tiles compared%n", adjacentMs, adjacentTiles);
+        System.out.printf("Diff of first and last:        %.2f ms, %d tiles compared, %,d squares changed%n",
+                distantMs, diff[0].getComparedTiles(), diff[0].getChanges().size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
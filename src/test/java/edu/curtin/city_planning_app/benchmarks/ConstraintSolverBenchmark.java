@@ -0,0 +1,100 @@
+// ConstraintSolverBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.GridSquare;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.ConstraintSolver;
+import edu.curtin.city_planning_app.strategies.MaterialShareConstraint;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodFloorsConstraint;
+import edu.curtin.city_planning_app.strategies.ZoningConstraint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Measures worklist propagation against rescanning every constraint instance until a full pass
+// needs no repair, with two competing material shares and a neighbourhood floor limit,
+// up to a 1000x1000 (1M square) grid.
+// Usage: ./gradlew benchmark -Pbenchmark=ConstraintSolverBenchmark
+public final class ConstraintSolverBenchmark {
+    private static final int[] SIZES = { 250, 500, 1000 };
+    private static final int FLOORS = 6;
+
+    private ConstraintSolverBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %10s %12s %12s %10s %12s %12s %8s%n", "grid", "propose ms", "solve ms",
+                "checks", "changes", "rescan ms", "checks", "passes");
+        for (int size : SIZES) {
+            CityGrid grid = BenchmarkGrids.randomGrid(size, size, 29);
+            double propose = BenchmarkTimer.medianMillis(() -> proposeAll(grid));
+            ConstraintSolver[] solved = new ConstraintSolver[1];
+            double solve = BenchmarkTimer.medianMillis(() -> {
+                solved[0] = proposeAll(grid);
+                solved[0].solve();
+            }) - propose;
+            long[] rescan = new long[2];
+            double rescanMs = BenchmarkTimer.medianMillis(() -> rescan(grid, rescan)) - propose;
+            System.out.printf("%-10s %10.1f %12.1f %,12d %,10d %12.1f %,12d %8d%n", size + "x" + size, propose,
+                    solve, solved[0].getChecks(), solved[0].getChanges(), rescanMs, rescan[0], rescan[1]);
+        }
+    }
+
+    // Same repairs as solve(), but every instance is re-checked on every pass
+    private static void rescan(CityGrid grid, long[] checksAndPasses) {
+        List<ZoningConstraint> constraints = constraints(grid);
+        ConstraintSolver solver = propose(grid, new ConstraintSolver(grid, constraints));
+        long checks = 0;
+        long passes = 0;
+        boolean repaired = true;
+        while (repaired) {
+            repaired = false;
+            passes++;
+            for (ZoningConstraint constraint : constraints) {
+                for (int instance = 0; instance < constraint.instanceCount(); instance++) {
+                    checks++;
+                    if (!constraint.isSatisfied(instance)) {
+                        constraint.repair(instance, solver);
+                        repaired = true;
+                    }
+                }
+            }
+        }
+        checksAndPasses[0] = checks;
+        checksAndPasses[1] = passes;
+    }
+
+    private static ConstraintSolver proposeAll(CityGrid grid) {
+        return propose(grid, new ConstraintSolver(grid, constraints(grid)));
+    }
+
+    private static List<ZoningConstraint> constraints(CityGrid grid) {
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(grid.getHeight(), grid.getWidth(), Material.STONE, 4, 0.3));
+        constraints.add(new MaterialShareConstraint(grid.getHeight(), grid.getWidth(), Material.CONCRETE, 4, 0.3));
+        constraints.add(new NeighbourhoodFloorsConstraint(grid.getHeight(), grid.getWidth(), 30));
+        return constraints;
+    }
+
+    // Same starting assignment as ConstraintStrategy, preferring stone
+    private static ConstraintSolver propose(CityGrid grid, ConstraintSolver solver) {
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                int floors = FLOORS;
+                if (grid.hasHeightLimit(row, col)) {
+                    floors = Math.min(floors, grid.getHeightLimit(row, col));
+                }
+                if (grid.hasFloodRisk(row, col)) {
+                    floors = Math.max(floors, 2);
+                }
+                Material heritage = grid.getHeritage(row, col);
+                Foundation foundation = grid.getTerrain(row, col) == GridSquare.TerrainType.SWAMPY
+                        ? Foundation.STILTS : Foundation.SLAB;
+                solver.propose(row, col, floors, heritage == null ? Material.STONE : heritage, foundation);
+            }
+        }
+        return solver;
+    }
+}
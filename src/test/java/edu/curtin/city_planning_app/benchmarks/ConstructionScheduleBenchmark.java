@@ -0,0 +1,58 @@
+// ConstructionScheduleBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.scheduling.ConstructionJobs;
+import edu.curtin.city_planning_app.scheduling.ConstructionSchedule;
+import edu.curtin.city_planning_app.scheduling.ConstructionScheduler;
+import edu.curtin.city_planning_app.scheduling.ScheduleParameters;
+
+import java.util.SplittableRandom;
+
+// Simulates the construction of a million structures with crew-bound and supply-bound
+// parameters, and checks two runs give the same timeline.
+// Usage: ./gradlew benchmark -Pbenchmark=ConstructionScheduleBenchmark
+public final class ConstructionScheduleBenchmark {
+    private static final int STRUCTURES = 1_000_000;
+    private static final int[] CREWS = { 20, 2_000, 50_000 };
+
+    private ConstructionScheduleBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        ConstructionJobs jobs = new ConstructionJobs();
+        SplittableRandom random = new SplittableRandom(46);
+        Material[] materials = Material.values();
+        for (int i = 0; i < STRUCTURES; i++) {
+            boolean swampy = random.nextInt(10) == 0;
+            Material material = swampy ? Material.CONCRETE : materials[random.nextInt(materials.length)];
+            int floors = 1 + random.nextInt(12);
+            jobs.record(i / 1000, i % 1000, floors, swampy ? Foundation.STILTS : Foundation.SLAB, material, swampy,
+                    floors * material.getRatePerFloor());
+        }
+
+        System.out.printf("%,d structures%n", STRUCTURES);
+        System.out.printf("%8s %10s %14s %12s %16s %10s%n", "crews", "ms", "structures/s", "makespan d", "utilization",
+                "same run");
+        for (int crews : CREWS) {
+            ScheduleParameters parameters = new ScheduleParameters();
+            parameters.setCrews(crews);
+            ConstructionScheduler scheduler = new ConstructionScheduler(parameters);
+            ConstructionSchedule[] last = new ConstructionSchedule[1];
+            double ms = BenchmarkTimer.medianMillis(() -> last[0] = scheduler.simulate(jobs));
+            ConstructionSchedule other = scheduler.simulate(jobs);
+            System.out.printf("%8d %10.1f %14.0f %12.1f %15.1f%% %10s%n", crews, ms, STRUCTURES / (ms / 1000),
+                    last[0].getMakespanDays(), last[0].getUtilization() * 100, identical(last[0], other));
+        }
+    }
+
+    private static boolean identical(ConstructionSchedule a, ConstructionSchedule b) {
+        for (int job = 0; job < a.getStructures(); job++) {
+            if (a.getStart(job) != b.getStart(job) || a.getFinish(job) != b.getFinish(job)) {
+                return false;
+            }
+        }
+        return a.getTotalSpend() == b.getTotalSpend();
+    }
+}
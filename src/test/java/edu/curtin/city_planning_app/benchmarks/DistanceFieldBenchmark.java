@@ -0,0 +1,111 @@
+// DistanceFieldBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.DistanceField;
+import edu.curtin.city_planning_app.grids.WeightedDistanceField;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Compares the multi-centre distance field against the naive approach of
+// computing sqrt distances from every square to every centre, first unweighted, then with
+// weighted centres (one field per distinct weight).
+// Usage: ./gradlew benchmark -Pbenchmark=DistanceFieldBenchmark
+public final class DistanceFieldBenchmark {
+    private static final int SIZE = 2000; // 4 million squares
+    private static final int[] CENTRE_COUNTS = { 1, 4, 12, 24, 48 };
+    private static final double[] WEIGHTS = { 1, 1.5, 2, 3 }; // centres get one of these, so up to 4 fields
+
+    private DistanceFieldBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("Grid %dx%d (%d squares)%n", SIZE, SIZE, SIZE * SIZE);
+        System.out.printf("%-8s %12s %12s %9s %10s%n", "centres", "naive ms", "field ms", "speedup", "mismatch");
+
+        for (int count : CENTRE_COUNTS) {
+            Random random = new Random(count);
+            int[] rows = new int[count];
+            int[] cols = new int[count];
+            for (int i = 0; i < count; i++) {
+                rows[i] = random.nextInt(SIZE);
+                cols[i] = random.nextInt(SIZE);
+            }
+
+            long[] naive = new long[SIZE * SIZE];
+            double naiveMs = BenchmarkTimer.medianMillis(() -> naiveDistances(rows, cols, naive));
+            DistanceField[] field = new DistanceField[1];
+            double fieldMs = BenchmarkTimer.medianMillis(() -> field[0] = new DistanceField(SIZE, SIZE, rows, cols));
+
+            int mismatches = 0;
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    if (naive[row * SIZE + col] != field[0].getDistanceSquared(row, col)) {
+                        mismatches++;
+                    }
+                }
+            }
+            System.out.printf("%-8d %12.1f %12.1f %8.1fx %10d%n", count, naiveMs, fieldMs, naiveMs / fieldMs,
+                    mismatches);
+        }
+
+        System.out.printf("%nWeighted centres (weights %s)%n", Arrays.toString(WEIGHTS));
+        System.out.printf("%-8s %12s %12s %9s %10s%n", "centres", "naive ms", "field ms", "speedup", "mismatch");
+        for (int count : CENTRE_COUNTS) {
+            Random random = new Random(count);
+            int[] rows = new int[count];
+            int[] cols = new int[count];
+            double[] weights = new double[count];
+            for (int i = 0; i < count; i++) {
+                rows[i] = random.nextInt(SIZE);
+                cols[i] = random.nextInt(SIZE);
+                weights[i] = WEIGHTS[i % WEIGHTS.length];
+            }
+
+            double[] naive = new double[SIZE * SIZE];
+            double naiveMs = BenchmarkTimer.medianMillis(() -> naiveWeightedDistances(rows, cols, weights, naive));
+            WeightedDistanceField[] field = new WeightedDistanceField[1];
+            double fieldMs = BenchmarkTimer.medianMillis(
+                    () -> field[0] = new WeightedDistanceField(SIZE, SIZE, rows, cols, weights));
+
+            int mismatches = 0;
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    if (Math.abs(naive[row * SIZE + col] - field[0].getDistance(row, col)) > 1e-9) {
+                        mismatches++;
+                    }
+                }
+            }
+            System.out.printf("%-8d %12.1f %12.1f %8.1fx %10d%n", count, naiveMs, fieldMs, naiveMs / fieldMs,
+                    mismatches);
+        }
+    }
+
+    // Per square, per centre: the smallest distance / weight
+    private static void naiveWeightedDistances(int[] rows, int[] cols, double[] weights, double[] out) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                double best = Double.MAX_VALUE;
+                for (int i = 0; i < rows.length; i++) {
+                    double distance = Math.sqrt(Math.pow(row - rows[i], 2) + Math.pow(col - cols[i], 2));
+                    best = Math.min(best, distance / weights[i]);
+                }
+                out[row * SIZE + col] = best;
+            }
+        }
+    }
+
+    // Per square, per centre: the computation a straightforward multi-centre strategy would do
+    private static void naiveDistances(int[] rows, int[] cols, long[] out) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                double best = Double.MAX_VALUE;
+                for (int i = 0; i < rows.length; i++) {
+                    double distance = Math.sqrt(Math.pow(row - rows[i], 2) + Math.pow(col - cols[i], 2));
+                    best = Math.min(best, distance);
+                }
+                out[row * SIZE + col] = Math.round(best * best);
+            }
+        }
+    }
+}
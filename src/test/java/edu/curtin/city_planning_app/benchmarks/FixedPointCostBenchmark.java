@@ -0,0 +1,166 @@
+// FixedPointCostBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.decorators.CentsAccumulator;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.decorators.CostMode;
+import edu.curtin.city_planning_app.decorators.CostParameters;
+import edu.curtin.city_planning_app.decorators.HandleCostCalculation;
+import edu.curtin.city_planning_app.decorators.Money;
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.UniformStrategy;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+// Double vs. fixed-point cents cost arithmetic: evaluating the decorator chain of every square,
+// costing Uniform rows with the row evaluator, a whole Uniform build, and summing the grid's costs.
+// Also shows that the double total changes with the summation order while the cents total doesn't.
+// Usage: ./gradlew benchmark -Pbenchmark=FixedPointCostBenchmark
+public final class FixedPointCostBenchmark {
+    private static final int SIZE = 1000;
+    private static final PrintStream CONSOLE = System.out; // restored after each discarded build
+
+    private FixedPointCostBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 13);
+        HandleCostCalculation[] chains = new HandleCostCalculation[SIZE * SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                chains[row * SIZE + col] = CostChain.forSquare(grid, row, col, 1 + (row + col) % 10,
+                        Material.values()[(row * 31 + col) % Material.values().length]);
+            }
+        }
+
+        double[] dollars = new double[chains.length];
+        long[] cents = new long[chains.length];
+        double buildDoubleMs = BenchmarkTimer.medianMillis(() -> buildAndCost(grid, dollars, null));
+        double buildCentsMs = BenchmarkTimer.medianMillis(() -> buildAndCost(grid, null, cents));
+        double chainDoubleMs = BenchmarkTimer.medianMillis(() -> {
+            for (int i = 0; i < chains.length; i++) {
+                dollars[i] = chains[i].calculateCost();
+            }
+        });
+        double chainCentsMs = BenchmarkTimer.medianMillis(() -> {
+            for (int i = 0; i < chains.length; i++) {
+                cents[i] = chains[i].calculateCostCents();
+            }
+        });
+
+        RowCostEvaluator evaluator = RowCostEvaluator.create(grid);
+        CostParameters prices = new CostParameters();
+        double[] rowCosts = new double[SIZE];
+        long[] rowCents = new long[SIZE];
+        double rowDoubleMs = BenchmarkTimer.medianMillis(() -> {
+            for (int row = 0; row < SIZE; row++) {
+                evaluator.evaluateRow(row, 2, Foundation.STILTS, Material.BRICK, prices, rowCosts);
+            }
+        });
+        double rowCentsMs = BenchmarkTimer.medianMillis(() -> {
+            for (int row = 0; row < SIZE; row++) {
+                evaluator.evaluateRowCents(row, 2, Foundation.STILTS, Material.BRICK, prices, rowCents);
+            }
+        });
+        double uniformDoubleMs = BenchmarkTimer.medianMillis(() -> buildUniform(grid, CostMode.FLOATING_POINT));
+        double uniformCentsMs = BenchmarkTimer.medianMillis(() -> buildUniform(grid, CostMode.FIXED_POINT));
+
+        int[] shuffled = shuffledOrder(chains.length);
+        double[] doubleTotals = new double[2];
+        long[] centsTotals = new long[2];
+        double sumDoubleMs = BenchmarkTimer.medianMillis(() -> doubleTotals[0] = sum(dollars, null));
+        double sumCentsMs = BenchmarkTimer.medianMillis(() -> centsTotals[0] = sum(cents, null));
+        doubleTotals[1] = sum(dollars, shuffled);
+        centsTotals[1] = sum(cents, shuffled);
+
+        System.out.printf("%dx%d grid, %d cost chains%n", SIZE, SIZE, chains.length);
+        System.out.printf("%-40s %10s %12s%n", "path", "ms", "ns/square");
+        print("build + cost chain, double", buildDoubleMs, chains.length);
+        print("build + cost chain, cents", buildCentsMs, chains.length);
+        print("decorator chain, double", chainDoubleMs, chains.length);
+        print("decorator chain, cents", chainCentsMs, chains.length);
+        print("Uniform rows, " + evaluator.getClass().getSimpleName(), rowDoubleMs, chains.length);
+        print("Uniform rows, evaluateRowCents", rowCentsMs, chains.length);
+        print("Uniform build, double", uniformDoubleMs, chains.length);
+        print("Uniform build, cents", uniformCentsMs, chains.length);
+        print("grid total, double +=", sumDoubleMs, chains.length);
+        print("grid total, CentsAccumulator", sumCentsMs, chains.length);
+        System.out.printf("%nDouble total: %.6f in row order, %.6f shuffled (difference %.3g)%n", doubleTotals[0],
+                doubleTotals[1], doubleTotals[0] - doubleTotals[1]);
+        System.out.printf("Cents total:  %d in row order, %d shuffled (identical: %s)%n", centsTotals[0],
+                centsTotals[1], centsTotals[0] == centsTotals[1]);
+        System.out.printf("Cents vs. double total: $%.2f apart%n", Money.toDollars(centsTotals[0]) - doubleTotals[0]);
+    }
+
+    private static void print(String name, double ms, int squares) {
+        System.out.printf("%-40s %10.1f %12.2f%n", name, ms, ms * 1_000_000 / squares);
+    }
+
+    // A whole Uniform strategy build in the given cost mode, with the per-structure output discarded
+    private static void buildUniform(CityGrid grid, CostMode mode) {
+        try (PrintStream discard = new PrintStream(OutputStream.nullOutputStream())) {
+            System.setOut(discard);
+            CityBuilderManager builder = new CityBuilderManager(grid);
+            builder.getCostParameters().setMode(mode);
+            builder.setStrategy(new UniformStrategy(grid, Material.BRICK, 2, Foundation.STILTS,
+                    new CityDisplayer(SIZE, SIZE), builder));
+            builder.buildCityWithStrategy();
+        } finally {
+            System.setOut(CONSOLE);
+        }
+    }
+
+    // Builds and evaluates every square's chain, as buildStructure does, into whichever array is given
+    private static void buildAndCost(CityGrid grid, double[] dollars, long[] cents) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                HandleCostCalculation chain = CostChain.forSquare(grid, row, col, 1 + (row + col) % 10,
+                        Material.values()[(row * 31 + col) % Material.values().length]);
+                if (dollars == null) {
+                    cents[row * SIZE + col] = chain.calculateCostCents();
+                } else {
+                    dollars[row * SIZE + col] = chain.calculateCost();
+                }
+            }
+        }
+    }
+
+    // Sums in the given order, or in index order when 'order' is null
+    private static double sum(double[] values, int[] order) {
+        double total = 0;
+        for (int i = 0; i < values.length; i++) {
+            total += values[order == null ? i : order[i]];
+        }
+        return total;
+    }
+
+    private static long sum(long[] values, int[] order) {
+        CentsAccumulator total = new CentsAccumulator();
+        for (int i = 0; i < values.length; i++) {
+            total.add(values[order == null ? i : order[i]]);
+        }
+        return total.getCents();
+    }
+
+    private static int[] shuffledOrder(int length) {
+        Random random = new Random(5);
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,109 @@
+// GridLintBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.GridLintReport;
+import edu.curtin.city_planning_app.grids.GridLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Measures the grid linter against just reading the file and against loading it, on a file
+// with an error on about one line in a thousand, and checks every thread count finds the same errors.
+// Usage: ./gradlew benchmark -Pbenchmark=GridLintBenchmark
+public final class GridLintBenchmark {
+    private static final int SIZE = 2000; // 4 million lines
+    private static final int[] THREADS = { 1, 2, 4, 8 };
+    private static final String[] BAD_LINES = { "rockyish", "flat,swampy=1", "flat,heritage=acrylic",
+        "flat,flood-risk=101.1", "flat,contamination=0", "flat,height-limit=25.5" };
+
+    private GridLintBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("grid-lint-benchmark", ".txt");
+        Path valid = Files.createTempFile("grid-lint-benchmark-valid", ".txt");
+        try {
+            writeGrid(file, true);
+            writeGrid(valid, false);
+            GridLoader loader = new GridLoader();
+            double megabytes = Files.size(file) / (1024.0 * 1024.0);
+            GridLintReport reference = lint(loader, file, 1);
+
+            System.out.printf("Grid %dx%d (%.0f MB), %,d errors, %d cores available%n", SIZE, SIZE, megabytes,
+                    reference.getErrorCount(), Runtime.getRuntime().availableProcessors());
+            System.out.printf("%-22s %10s %10s %12s%n", "", "ms", "MB/s", "same errors");
+            double read = BenchmarkTimer.medianMillis(() -> readAll(file));
+            System.out.printf("%-22s %10.1f %10.0f %12s%n", "read only", read, megabytes / read * 1000, "-");
+            double load = BenchmarkTimer.medianMillis(() -> load(loader, valid));
+            System.out.printf("%-22s %10.1f %10.0f %12s%n", "loadGrid (valid file)", load,
+                    megabytes / load * 1000, "-");
+            for (int threads : THREADS) {
+                double ms = BenchmarkTimer.medianMillis(() -> lint(loader, file, threads));
+                boolean same = reference.getErrors().toString()
+                        .equals(lint(loader, file, threads).getErrors().toString());
+                System.out.printf("%-22s %10.1f %10.0f %12s%n", "lint, " + threads + " threads", ms,
+                        megabytes / ms * 1000, same);
+            }
+        } finally {
+            Files.delete(file);
+            Files.delete(valid);
+        }
+    }
+
+    // Random grid, with an error on about one line in a thousand when 'errors' is set
+    private static void writeGrid(Path file, boolean errors) throws IOException {
+        Random random = new Random(50);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            writer.write(SIZE + "," + SIZE);
+            writer.newLine();
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                String line = BenchmarkGrids.randomLine(random);
+                if (random.nextInt(1000) == 0 && errors) {
+                    line = BAD_LINES[random.nextInt(BAD_LINES.length)];
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    private static GridLintReport lint(GridLoader loader, Path file, int threads) {
+        try {
+            return loader.lintGrid(file, threads, 100);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void load(GridLoader loader, Path file) {
+        try {
+            loader.loadGrid(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Reads the whole file through the same 1 MB buffer, touching no bytes
+    private static void readAll(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+            long position = 0;
+            int read = channel.read(buffer, position);
+            while (read > 0) {
+                position += read;
+                buffer.clear();
+                read = channel.read(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// GridLoadBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.GridLoader;
+import edu.curtin.city_planning_app.grids.GridSquare;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Measures how the parallel grid loader scales with worker threads against the sequential loader,
+// and checks every thread count loads exactly the same grid.
+// Usage: ./gradlew benchmark -Pbenchmark=GridLoadBenchmark
+public final class GridLoadBenchmark {
+    private static final int SIZE = 1000; // 1 million lines
+    private static final int[] THREADS = { 1, 2, 4, 8, 16 };
+
+    private GridLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("grid-load-benchmark", ".txt");
+        try {
+            writeGrid(file);
+            GridLoader loader = new GridLoader();
+            GridSquare[][] reference = loader.loadGrid(file);
+
+            System.out.printf("Grid %dx%d (%d MB), %d cores available%n", SIZE, SIZE, Files.size(file) >> 20,
+                    Runtime.getRuntime().availableProcessors());
+            System.out.printf("%-12s %10s %9s %12s%n", "threads", "ms", "speedup", "identical");
+            double baseline = BenchmarkTimer.medianMillis(() -> load(loader, file, 0));
+            System.out.printf("%-12s %10.1f %8.2fx %12s%n", "sequential", baseline, 1.0, true);
+            for (int threads : THREADS) {
+                double ms = BenchmarkTimer.medianMillis(() -> load(loader, file, threads));
+                System.out.printf("%-12d %10.1f %8.2fx %12s%n", threads, ms, baseline / ms,
+                        sameGrid(reference, load(loader, file, threads)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void writeGrid(Path file) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            writer.write(SIZE + "," + SIZE);
+            writer.newLine();
+            for (int i = 0; i < SIZE * SIZE; i++) {
+                writer.write(BenchmarkGrids.randomLine(random));
+                writer.newLine();
+            }
+        }
+    }
+
+    // Loads sequentially when threads is 0
+    private static GridSquare[][] load(GridLoader loader, Path file, int threads) {
+        try {
+            return threads == 0 ? loader.loadGrid(file) : loader.loadGridParallel(file, threads);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean sameGrid(GridSquare[][] a, GridSquare[][] b) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                GridSquare x = a[row][col];
+                GridSquare y = b[row][col];
+                if (x.getTerrain() != y.getTerrain() || x.getHeritage() != y.getHeritage()
+                        || x.isContaminated() != y.isContaminated()
+                        || !String.valueOf(x.getFloodRisk()).equals(String.valueOf(y.getFloodRisk()))
+                        || !String.valueOf(x.getHeightLimit()).equals(String.valueOf(y.getHeightLimit()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
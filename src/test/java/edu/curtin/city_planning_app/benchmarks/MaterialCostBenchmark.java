@@ -0,0 +1,86 @@
+// MaterialCostBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.decorators.BaseCost;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.util.Locale;
+import java.util.Random;
+
+// Before/after comparison of the base cost lookup: the old per-call
+// toLowerCase() + string switch against the ordinal-indexed Material rate table.
+// Usage: ./gradlew benchmark -Pbenchmark=MaterialCostBenchmark
+public final class MaterialCostBenchmark {
+    private static final int SQUARES = 5_000_000;
+
+    private MaterialCostBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        Material[] materials = new Material[SQUARES];
+        String[] names = new String[SQUARES];
+        int[] floors = new int[SQUARES];
+        for (int i = 0; i < SQUARES; i++) {
+            materials[i] = Material.values()[random.nextInt(Material.values().length)];
+            names[i] = materials[i].toString();
+            floors[i] = 1 + random.nextInt(10);
+        }
+
+        double[] sums = new double[3];
+        double stringMs = BenchmarkTimer.medianMillis(() -> sums[0] = stringPath(names, floors));
+        double tableMs = BenchmarkTimer.medianMillis(() -> sums[1] = tablePath(materials, floors));
+        double decoratorMs = BenchmarkTimer.medianMillis(() -> sums[2] = decoratorPath(materials, floors));
+
+        System.out.printf("%d squares%n", SQUARES);
+        System.out.printf("%-34s %10s %12s%n", "path", "ms", "ns/square");
+        print("string switch (before)", stringMs);
+        print("Material rate table (after)", tableMs);
+        print("BaseCost decorator (after)", decoratorMs);
+        System.out.printf("Totals agree: %s%n", sums[0] == sums[1] && sums[1] == sums[2]);
+    }
+
+    private static void print(String name, double ms) {
+        System.out.printf("%-34s %10.1f %12.2f%n", name, ms, ms * 1_000_000 / SQUARES);
+    }
+
+    private static double stringPath(String[] names, int[] floors) {
+        double total = 0;
+        for (int i = 0; i < names.length; i++) {
+            total += legacyMaterialCost(names[i]) * floors[i];
+        }
+        return total;
+    }
+
+    private static double tablePath(Material[] materials, int[] floors) {
+        double total = 0;
+        for (int i = 0; i < materials.length; i++) {
+            total += Material.ratePerFloor(materials[i].ordinal()) * floors[i];
+        }
+        return total;
+    }
+
+    private static double decoratorPath(Material[] materials, int[] floors) {
+        double total = 0;
+        for (int i = 0; i < materials.length; i++) {
+            total += new BaseCost(floors[i], materials[i]).calculateCost();
+        }
+        return total;
+    }
+
+    // The lookup BaseCost used to do on every call
+    private static double legacyMaterialCost(String material) {
+        switch (material.toLowerCase(Locale.ROOT)) {
+            case "wood":
+                return 10000;
+            case "stone":
+                return 50000;
+            case "brick":
+                return 30000;
+            case "concrete":
+                return 20000;
+            default:
+                throw new IllegalArgumentException("Unknown material: " + material);
+        }
+    }
+}
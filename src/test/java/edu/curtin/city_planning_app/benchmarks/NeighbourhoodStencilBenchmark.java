@@ -0,0 +1,47 @@
+// NeighbourhoodStencilBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.strategies.NeighbourhoodStencil;
+
+// Measures how the tile-parallel neighbourhood stencil scales with worker threads,
+// and checks every thread count gives exactly the single-threaded result.
+// Usage: ./gradlew benchmark -Pbenchmark=NeighbourhoodStencilBenchmark
+public final class NeighbourhoodStencilBenchmark {
+    private static final int SIZE = 3000; // 9 million squares
+    private static final int[] THREADS = { 1, 2, 4, 8, 16 };
+
+    private NeighbourhoodStencilBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 42);
+        NeighbourhoodStencil reference = new NeighbourhoodStencil(grid, 6);
+        reference.evaluate(1);
+
+        System.out.printf("Grid %dx%d, %d cores available%n", SIZE, SIZE, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %10s %9s %12s%n", "threads", "ms", "speedup", "identical");
+        double baseline = 0;
+        for (int threads : THREADS) {
+            NeighbourhoodStencil stencil = new NeighbourhoodStencil(grid, 6);
+            double ms = BenchmarkTimer.medianMillis(() -> stencil.evaluate(threads));
+            if (threads == 1) {
+                baseline = ms;
+            }
+            System.out.printf("%-8d %10.1f %8.2fx %12s%n", threads, ms, baseline / ms, sameResult(reference, stencil));
+        }
+    }
+
+    private static boolean sameResult(NeighbourhoodStencil a, NeighbourhoodStencil b) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (a.getFloors(row, col) != b.getFloors(row, col)
+                        || !a.getMaterial(row, col).equals(b.getMaterial(row, col))
+                        || !a.getFoundation(row, col).equals(b.getFoundation(row, col))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+// OffHeapGridBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.decorators.BaseCost;
+import edu.curtin.city_planning_app.decorators.ContaminationCost;
+import edu.curtin.city_planning_app.decorators.FloodRiskCost;
+import edu.curtin.city_planning_app.decorators.HandleCostCalculation;
+import edu.curtin.city_planning_app.decorators.HeritageCost;
+import edu.curtin.city_planning_app.decorators.TerrainCost;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.grids.OffHeapGrid;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares garbage collection with the grid held as GridSquare objects against the off-heap grid.
+// While each grid is alive it times full collections and a burst of short-lived allocation
+// (what a long interactive session produces), then a validation and cost pass over every square.
+// Usage: ./gradlew benchmark -Pbenchmark=OffHeapGridBenchmark
+public final class OffHeapGridBenchmark {
+    private static final int SIZE = 2000; // 4 million squares
+    private static final int FULL_COLLECTIONS = 5;
+    private static final long CHURN_BYTES = 4L << 30;
+    private static final int CHURN_BLOCK = 64 * 1024;
+
+    private static long sink; // keeps the churn and cost pass from being optimised away
+
+    private OffHeapGridBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("Grid %dx%d%n", SIZE, SIZE);
+        System.out.printf("%-10s %10s %14s %12s %12s %12s%n", "layout", "heap MB", "full GC ms", "churn GCs",
+                "churn GC ms", "pass ms");
+
+        CityGrid offHeap = reportOnHeap(); // only the off-heap copy stays reachable
+        report("off-heap", offHeap);
+        System.out.println(sink == 0 ? "" : "(checksum " + (sink & 0xff) + ")");
+    }
+
+    // Reports an on-heap grid and returns an off-heap copy of it
+    private static CityGrid reportOnHeap() {
+        CityGrid onHeap = BenchmarkGrids.randomGrid(SIZE, SIZE, 42);
+        report("on-heap", onHeap);
+        return new CityGrid(copyOffHeap(onHeap));
+    }
+
+    private static void report(String layout, CityGrid grid) {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+
+        long fullStart = System.nanoTime();
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+        double fullMs = (System.nanoTime() - fullStart) / 1e6 / FULL_COLLECTIONS;
+
+        long countBefore = gcCount();
+        long timeBefore = gcMillis();
+        churn();
+        long churnCount = gcCount() - countBefore;
+        long churnMs = gcMillis() - timeBefore;
+
+        double passMs = BenchmarkTimer.medianMillis(() -> sink += costPass(grid));
+        System.out.printf("%-10s %10d %14.1f %12d %12d %12.1f%n", layout, heapMb, fullMs, churnCount, churnMs,
+                passMs);
+    }
+
+    private static OffHeapGrid copyOffHeap(CityGrid grid) {
+        OffHeapGrid offHeap = OffHeapGrid.allocate(SIZE, SIZE);
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                offHeap.set(row, col, grid.getGridSquare(row, col));
+            }
+        }
+        return offHeap;
+    }
+
+    // Short-lived allocation with a small window kept alive, so some of it survives a young collection
+    private static void churn() {
+        List<byte[]> window = new ArrayList<>();
+        for (long allocated = 0; allocated < CHURN_BYTES; allocated += CHURN_BLOCK) {
+            window.add(new byte[CHURN_BLOCK]);
+            if (window.size() > 256) {
+                window.clear();
+            }
+        }
+        sink += window.size();
+    }
+
+    // Validation and cost for a 3 floor brick building on every square, as buildStructure does it
+    private static long costPass(CityGrid grid) {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        double total = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (!"valid".equals(validator.validate(grid, row, col, 3, Foundation.STILTS, Material.BRICK))) {
+                    continue;
+                }
+                HandleCostCalculation cost = new BaseCost(3, Material.BRICK);
+                if (grid.isContaminated(row, col)) {
+                    cost = new ContaminationCost(cost);
+                }
+                if (grid.hasFloodRisk(row, col)) {
+                    cost = new FloodRiskCost(cost, grid.getFloodRisk(row, col));
+                }
+                if (grid.getHeritage(row, col) != null) {
+                    cost = new HeritageCost(cost);
+                }
+                cost = new TerrainCost(cost, grid.getTerrain(row, col), 3);
+                total += cost.calculateCost();
+            }
+        }
+        return (long) total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += bean.getCollectionCount();
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += bean.getCollectionTime();
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,88 @@
+// RowCostBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.decorators.BaseCost;
+import edu.curtin.city_planning_app.decorators.ContaminationCost;
+import edu.curtin.city_planning_app.decorators.FloodRiskCost;
+import edu.curtin.city_planning_app.decorators.HandleCostCalculation;
+import edu.curtin.city_planning_app.decorators.HeritageCost;
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
+import edu.curtin.city_planning_app.decorators.TerrainCost;
+import edu.curtin.city_planning_app.decorators.VectorRowCostEvaluator;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+// Costs a uniform build over the whole grid three ways: validation plus the decorator chain per
+// square, the scalar row evaluator and the vectorized row evaluator. All three totals must match.
+// Usage: ./gradlew benchmark -Pbenchmark=RowCostBenchmark
+public final class RowCostBenchmark {
+    private static final int SIZE = 2000; // 4 million squares
+    private static final int FLOORS = 3;
+    private static final Foundation FOUNDATION = Foundation.STILTS;
+    private static final Material MATERIAL = Material.BRICK;
+
+    private static double total; // last total, checked between variants
+
+    private RowCostBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 42);
+        RowCostEvaluator scalar = new RowCostEvaluator(grid);
+        RowCostEvaluator vector = new VectorRowCostEvaluator(grid);
+
+        System.out.printf("Grid %dx%d, %d floors of %s on %s%n", SIZE, SIZE, FLOORS, MATERIAL, FOUNDATION);
+        System.out.printf("%-18s %10s %9s %20s%n", "variant", "ms", "speedup", "total");
+        double decoratorMs = BenchmarkTimer.medianMillis(() -> total = decoratorTotal(grid));
+        double expected = total;
+        System.out.printf("%-18s %10.1f %8.2fx %20.2f%n", "decorator chain", decoratorMs, 1.0, total);
+        double scalarMs = BenchmarkTimer.medianMillis(() -> total = rowTotal(scalar));
+        System.out.printf("%-18s %10.1f %8.2fx %20.2f %s%n", "scalar rows", scalarMs, decoratorMs / scalarMs, total,
+                total == expected ? "" : "MISMATCH");
+        double vectorMs = BenchmarkTimer.medianMillis(() -> total = rowTotal(vector));
+        System.out.printf("%-18s %10.1f %8.2fx %20.2f %s%n", "vector rows", vectorMs, decoratorMs / vectorMs, total,
+                total == expected ? "" : "MISMATCH");
+    }
+
+    private static double decoratorTotal(CityGrid grid) {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        double sum = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                if (!"valid".equals(validator.validate(grid, row, col, FLOORS, FOUNDATION, MATERIAL))) {
+                    continue;
+                }
+                HandleCostCalculation cost = new BaseCost(FLOORS, MATERIAL);
+                if (grid.isContaminated(row, col)) {
+                    cost = new ContaminationCost(cost);
+                }
+                if (grid.hasFloodRisk(row, col)) {
+                    cost = new FloodRiskCost(cost, grid.getFloodRisk(row, col));
+                }
+                if (grid.getHeritage(row, col) != null) {
+                    cost = new HeritageCost(cost);
+                }
+                cost = new TerrainCost(cost, grid.getTerrain(row, col), FLOORS);
+                sum += cost.calculateCost();
+            }
+        }
+        return sum;
+    }
+
+    // Sums in the same square order as decoratorTotal, so the totals are comparable exactly
+    private static double rowTotal(RowCostEvaluator evaluator) {
+        double[] costs = new double[SIZE];
+        double sum = 0;
+        for (int row = 0; row < SIZE; row++) {
+            evaluator.evaluateRow(row, FLOORS, FOUNDATION, MATERIAL, costs);
+            for (double cost : costs) {
+                if (cost >= 0) {
+                    sum += cost;
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,61 @@
+// UniformSweepBenchmark.java
+package edu.curtin.city_planning_app.benchmarks;
+
+import edu.curtin.city_planning_app.decorators.RowCostEvaluator;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+import edu.curtin.city_planning_app.strategies.SweepResult;
+import edu.curtin.city_planning_app.strategies.UniformSweep;
+
+import java.util.List;
+
+// Compares sweeping every Uniform configuration from the zoning histogram against costing one
+// configuration over the whole grid, and checks the sweep against a full pass for every configuration.
+// Usage: ./gradlew benchmark -Pbenchmark=UniformSweepBenchmark
+public final class UniformSweepBenchmark {
+    private static final int SIZE = 2000; // 4 million squares
+    private static final int MAX_FLOORS = 20;
+
+    private static List<SweepResult> results;
+
+    private UniformSweepBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        CityGrid grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 42);
+        RowCostEvaluator evaluator = RowCostEvaluator.create(grid);
+        double[] costs = new double[SIZE];
+
+        double onePassMs = BenchmarkTimer.medianMillis(() -> {
+            for (int row = 0; row < SIZE; row++) {
+                evaluator.evaluateRow(row, 3, Foundation.STILTS, Material.BRICK, costs);
+            }
+        });
+        double sweepMs = BenchmarkTimer.medianMillis(() -> results = new UniformSweep(grid).sweep(MAX_FLOORS));
+
+        System.out.printf("Grid %dx%d, %d profiles%n", SIZE, SIZE, new UniformSweep(grid).getProfileCount());
+        System.out.printf("one configuration, full grid pass: %10.1f ms%n", onePassMs);
+        System.out.printf("%d configurations, sweep:          %10.1f ms%n", results.size(), sweepMs);
+        System.out.printf("%d configurations, full passes:    %10.1f ms (estimated)%n", results.size(),
+                onePassMs * results.size());
+
+        int mismatches = 0;
+        for (SweepResult result : results) {
+            long buildable = 0;
+            double total = 0;
+            for (int row = 0; row < SIZE; row++) {
+                buildable += evaluator.evaluateRow(row, result.getFloors(), result.getFoundation(),
+                        result.getMaterial(), costs);
+                for (double cost : costs) {
+                    total += Math.max(cost, 0);
+                }
+            }
+            // Totals are summed in a different order, so only the last few digits may differ
+            if (buildable != result.getBuildable() || Math.abs(total - result.getTotalCost()) > total * 1e-12) {
+                mismatches++;
+            }
+        }
+        System.out.println("configurations differing from a full pass: " + mismatches);
+    }
+}
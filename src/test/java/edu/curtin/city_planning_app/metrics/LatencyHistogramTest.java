@@ -0,0 +1,118 @@
+// src/test/java/edu/curtin/city_planning_app/metrics/LatencyHistogramTest.java
+
+package edu.curtin.city_planning_app.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testBucketsAtPowersOfTwo() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value)); // one bucket each below 8
+            assertEquals(value, LatencyHistogram.lowerBound(value), 0);
+        }
+        for (int exponent = 3; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            int bucket = LatencyHistogram.bucketOf(power);
+            assertEquals((exponent - 2) * 8, bucket, "2^" + exponent);
+            assertEquals((double) power, LatencyHistogram.lowerBound(bucket), 0, "2^" + exponent);
+            assertEquals(bucket - 1, LatencyHistogram.bucketOf(power - 1), "2^" + exponent + " - 1");
+            // The next power of two starts 8 buckets later, each sub-bucket an eighth of the span
+            assertEquals(power + power / 8.0, LatencyHistogram.lowerBound(bucket + 1), 0);
+        }
+        assertEquals((62 - 2) * 8 + 7, LatencyHistogram.bucketOf(Long.MAX_VALUE)); // last sub-bucket of 2^62
+    }
+
+    @Test
+    public void testEveryValueFallsInsideItsBucket() {
+        Random random = new Random(37);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowerBound(bucket) <= value, value + " in bucket " + bucket);
+            assertTrue(value < LatencyHistogram.lowerBound(bucket + 1), value + " in bucket " + bucket);
+            // No bucket is wider than 12.5% of its lower bound
+            assertTrue(LatencyHistogram.lowerBound(bucket + 1) - LatencyHistogram.lowerBound(bucket)
+                    <= Math.max(1, LatencyHistogram.lowerBound(bucket) / 8));
+        }
+    }
+
+    @Test
+    public void testPercentilesAreTheMiddleOfTheRanksBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(73);
+        long[] values = new long[10_001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + random.nextInt(5_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] { 0, 1, 25, 50, 90, 99, 99.9, 100 }) {
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * values.length));
+            long exact = values[(int) rank - 1];
+            int bucket = LatencyHistogram.bucketOf(exact);
+            double expected = Math.min(values[values.length - 1],
+                    (LatencyHistogram.lowerBound(bucket) + LatencyHistogram.lowerBound(bucket + 1)) / 2);
+            assertEquals(expected, histogram.getPercentileNanos(percentile), 0, "p" + percentile);
+            assertEquals(exact, histogram.getPercentileNanos(percentile), exact / 16.0, "p" + percentile);
+        }
+        assertEquals(histogram.getPercentileNanos(100), histogram.getPercentileNanos(250), 0);
+        assertEquals(histogram.getPercentileNanos(0), histogram.getPercentileNanos(-5), 0);
+        assertEquals(values[values.length - 1], histogram.getMaxNanos());
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(Arrays.stream(values).sum(), histogram.getTotalNanos());
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos(), 0);
+        assertEquals(0, histogram.getPercentileNanos(50), 0);
+        assertEquals(0L, histogram.getMaxNanos());
+
+        histogram.record(-40); // a clock going backwards counts as 0
+        assertEquals(1L, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(99), 0.5);
+        histogram.record(12);
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getTotalNanos());
+        assertEquals(0, histogram.getPercentileNanos(99), 0);
+    }
+
+    @Test
+    public void testPipelineMetricsMXBeanIsRegistered() throws JMException {
+        PipelineMetrics.register();
+        PipelineMetrics.register(); // safe twice
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("edu.curtin.city_planning_app:type=PipelineMetrics");
+        assertTrue(server.isRegistered(name));
+
+        PipelineMetrics metrics = PipelineMetrics.getInstance();
+        metrics.recordRun(1_000, 2_000_000);
+        assertEquals(1_000L, server.getAttribute(name, "LastRunSquares"));
+        assertEquals(2.0, (Double) server.getAttribute(name, "LastRunMillis"), 1e-9);
+        assertEquals(500_000.0, (Double) server.getAttribute(name, "LastRunSquaresPerSecond"), 1e-6);
+
+        long before = metrics.getHistogram(PipelinePhase.RENDER).getCount();
+        metrics.record(PipelinePhase.RENDER, System.nanoTime());
+        Object count = server.invoke(name, "getCount", new Object[] { " render " },
+                new String[] { String.class.getName() });
+        assertEquals(before + 1, count);
+        String[] summaries = (String[]) server.getAttribute(name, "PhaseSummaries");
+        assertEquals(PipelinePhase.values().length, summaries.length);
+        assertTrue(summaries[PipelinePhase.RENDER.ordinal()].startsWith("RENDER: count=" + (before + 1)),
+                summaries[PipelinePhase.RENDER.ordinal()]);
+    }
+}
@@ -0,0 +1,159 @@
+// src/test/java/edu/curtin/city_planning_app/strategies/AllocationBudgetTest.java
+
+package edu.curtin.city_planning_app.strategies;
+
+import edu.curtin.city_planning_app.CheckBuildValidation;
+import edu.curtin.city_planning_app.CityBuilderManager;
+import edu.curtin.city_planning_app.CityDisplayer;
+import edu.curtin.city_planning_app.benchmarks.BenchmarkGrids;
+import edu.curtin.city_planning_app.decorators.CostChain;
+import edu.curtin.city_planning_app.grids.CityGrid;
+import edu.curtin.city_planning_app.grids.Foundation;
+import edu.curtin.city_planning_app.grids.Material;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bytes allocated per square on the build path, measured with the thread's allocation counter.
+// Each check fails when its budget is exceeded, and prints the measured number so the budget can
+// be tightened as allocations are removed. Budgets are bytes per square and can be overridden
+// with -Dallocation.budget.<name>=<bytes> (eg. -Dallocation.budget.validation=8).
+// Logging is turned down to warnings and System.out is discarded while measuring, so the numbers
+// are the build path's own allocations and not the console's.
+public class AllocationBudgetTest {
+    private static final int SIZE = 64;
+    private static final int WARMUP_PASSES = 5; // let the JIT compile (and scalar-replace) first
+    private static final int MEASURED_PASSES = 5;
+
+    private CityGrid grid;
+    private CityBuilderManager builder;
+    private CityDisplayer display;
+    private PrintStream console;
+    private Level logLevel;
+
+    @BeforeEach
+    public void setUp() {
+        grid = BenchmarkGrids.randomGrid(SIZE, SIZE, 13);
+        builder = new CityBuilderManager(grid);
+        display = new CityDisplayer(SIZE, SIZE);
+        console = System.out;
+        Logger root = Logger.getLogger("");
+        logLevel = root.getLevel();
+        root.setLevel(Level.WARNING);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(console);
+        Logger.getLogger("").setLevel(logLevel);
+    }
+
+    @Test
+    public void testValidationBudget() {
+        CheckBuildValidation validator = new CheckBuildValidation();
+        assertWithinBudget("validation", 16, (row, col) -> validator.validate(grid, row, col, 3, Foundation.SLAB,
+                Material.BRICK));
+    }
+
+    @Test
+    public void testCostChainBudget() {
+        assertWithinBudget("cost", 256, (row, col) -> CostChain.forSquare(grid, row, col, 3, Material.BRICK,
+                builder.getCostParameters()).calculateCost());
+    }
+
+    @Test
+    public void testUniformBudget() {
+        assertStrategyWithinBudget("uniform", 4096,
+                new UniformStrategy(grid, Material.BRICK, 3, Foundation.STILTS, display, builder));
+    }
+
+    @Test
+    public void testRandomBudget() {
+        assertStrategyWithinBudget("random", 5120, new RandomStrategy(grid, display, builder));
+    }
+
+    @Test
+    public void testCentralBudget() {
+        assertStrategyWithinBudget("central", 5120, new CentralStrategy(grid, display, builder));
+    }
+
+    @Test
+    public void testMultiCentreBudget() {
+        List<CityCentre> centres = new ArrayList<>();
+        centres.add(new CityCentre(10, 10, 1.0));
+        centres.add(new CityCentre(50, 40, 2.0));
+        assertStrategyWithinBudget("multicentre", 5120, new MultiCentreStrategy(grid, centres, display, builder));
+    }
+
+    @Test
+    public void testNeighbourhoodBudget() {
+        assertStrategyWithinBudget("neighbourhood", 3072, new NeighbourhoodStrategy(grid, 4, display, builder));
+    }
+
+    @Test
+    public void testConstraintBudget() {
+        List<ZoningConstraint> constraints = new ArrayList<>();
+        constraints.add(new MaterialShareConstraint(SIZE, SIZE, Material.STONE, 4, 0.3));
+        constraints.add(new NeighbourhoodFloorsConstraint(SIZE, SIZE, 20));
+        assertStrategyWithinBudget("constraint", 3072,
+                new ConstraintStrategy(grid, Material.BRICK, 3, constraints, display, builder));
+    }
+
+    // The strategy's whole per-square path, including validation, cost and the structure details
+    private void assertStrategyWithinBudget(String name, long defaultBudget, TemplateStrategy strategy) {
+        assertWithinBudget(name, defaultBudget, strategy::buildStructureWithStrategy);
+    }
+
+    private void assertWithinBudget(String name, long defaultBudget, SquareAction action) {
+        long budget = Long.getLong("allocation.budget." + name, defaultBudget);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        double bytesPerSquare;
+        try {
+            for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+                runPass(action);
+            }
+            long fewest = Long.MAX_VALUE; // the quietest pass, in case something else allocated on this thread
+            for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+                long before = allocatedBytes();
+                runPass(action);
+                fewest = Math.min(fewest, allocatedBytes() - before);
+            }
+            bytesPerSquare = (double) fewest / (SIZE * SIZE);
+        } finally {
+            System.setOut(console);
+        }
+        System.out.printf("Allocation %-14s %10.1f bytes/square (budget %d)%n", name, bytesPerSquare, budget);
+        assertTrue(bytesPerSquare <= budget, name + " allocates " + bytesPerSquare + " bytes per square, budget is "
+                + budget + " (-Dallocation.budget." + name + ")");
+    }
+
+    private void runPass(SquareAction action) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                action.run(row, col);
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Work done on one square
+    private interface SquareAction {
+        void run(int row, int col);
+    }
+}